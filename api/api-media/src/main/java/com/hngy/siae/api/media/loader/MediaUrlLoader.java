@@ -0,0 +1,63 @@
+package com.hngy.siae.api.media.loader;
+
+import com.hngy.siae.api.media.client.MediaFeignClient;
+import com.hngy.siae.api.media.dto.request.BatchUrlDTO;
+import com.hngy.siae.api.media.dto.response.BatchUrlVO;
+import com.hngy.siae.feign.batch.ChunkedBatchExecutor;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 媒体文件URL加载器
+ * <p>
+ * 对 {@link MediaFeignClient#batchGetFileUrls} 的分片封装：文件ID按分片上限拆分后并行调用并合并结果，
+ * 替代各处手工构造 {@link BatchUrlDTO} 一次性请求全部文件ID。
+ *
+ * @author KEYKB
+ */
+@Component
+@RequiredArgsConstructor
+public class MediaUrlLoader {
+
+    /**
+     * 默认URL过期时间（秒），24小时
+     */
+    public static final int DEFAULT_EXPIRY_SECONDS = 86400;
+
+    private final MediaFeignClient mediaFeignClient;
+    private final ChunkedBatchExecutor batchExecutor;
+
+    /**
+     * 批量获取文件访问URL，过期时间为 24 小时
+     *
+     * @param fileIds 文件ID集合，数量不受限制
+     * @return 文件ID -> URL 的映射，不包含获取失败的文件
+     */
+    public Map<String, String> getUrls(Collection<String> fileIds) {
+        return getUrls(fileIds, DEFAULT_EXPIRY_SECONDS);
+    }
+
+    /**
+     * 批量获取文件访问URL
+     *
+     * @param fileIds       文件ID集合，数量不受限制
+     * @param expirySeconds URL过期时间（秒）
+     * @return 文件ID -> URL 的映射，不包含获取失败的文件
+     */
+    public Map<String, String> getUrls(Collection<String> fileIds, int expirySeconds) {
+        return batchExecutor.execute("media-url", fileIds, chunk -> load(chunk, expirySeconds));
+    }
+
+    private Map<String, String> load(List<String> fileIds, int expirySeconds) {
+        BatchUrlDTO request = new BatchUrlDTO();
+        request.setFileIds(fileIds);
+        request.setExpirySeconds(expirySeconds);
+        BatchUrlVO response = mediaFeignClient.batchGetFileUrls(request);
+        return response != null && response.getUrls() != null ? response.getUrls() : Collections.emptyMap();
+    }
+}
@@ -0,0 +1,43 @@
+package com.hngy.siae.api.user.cache;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * 用户资料缓存失效消息监听器
+ * 消息体为逗号分隔的用户ID，收到后剔除对应的近端缓存；消息体为 {@value #INVALIDATE_ALL} 时清空全部缓存
+ *
+ * @author KEYKB
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class UserProfileInvalidationListener implements MessageListener {
+
+    /**
+     * 全量失效消息体
+     */
+    public static final String INVALIDATE_ALL = "*";
+
+    private final UserProfileNearCache nearCache;
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String body = new String(message.getBody(), StandardCharsets.UTF_8).trim();
+        if (INVALIDATE_ALL.equals(body)) {
+            nearCache.invalidateAll();
+            return;
+        }
+        try {
+            for (String userId : body.split(",")) {
+                nearCache.invalidate(Long.parseLong(userId.trim()));
+            }
+        } catch (NumberFormatException e) {
+            log.warn("【用户资料缓存】无法解析失效消息: {}，清空全部缓存", body);
+            nearCache.invalidateAll();
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package com.hngy.siae.api.user.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.hngy.siae.api.user.config.UserProfileCacheProperties;
+import com.hngy.siae.api.user.dto.response.UserProfileSimpleVO;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * 用户资料近端缓存
+ * <p>
+ * 在调用方进程内缓存 {@link UserProfileSimpleVO}，短 TTL + 容量上限（Caffeine 按访问频率淘汰）。siae-user 更新或删除用户时通过 Redis 发布订阅
+ * 广播失效消息，各服务收到后立即剔除；即使消息丢失，陈旧数据最多保留一个 TTL。不存在的用户不缓存。
+ *
+ * @author KEYKB
+ */
+@Slf4j
+@Component
+public class UserProfileNearCache {
+
+    private final UserProfileCacheProperties properties;
+    private final Cache<Long, UserProfileSimpleVO> cache;
+
+    /**
+     * 失效代数：加载期间若发生失效，则放弃写入，避免把失效前读到的旧值放回缓存
+     */
+    private final AtomicLong generation = new AtomicLong();
+
+    public UserProfileNearCache(UserProfileCacheProperties properties) {
+        this.properties = properties;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(properties.getMaxSize())
+                .expireAfterWrite(Duration.ofSeconds(properties.getExpiration()))
+                .build();
+    }
+
+    /**
+     * 获取单个用户资料，未命中或已过期时调用 loader 加载
+     */
+    public UserProfileSimpleVO get(Long userId, Function<Long, UserProfileSimpleVO> loader) {
+        if (!properties.isEnabled() || userId == null) {
+            return loader.apply(userId);
+        }
+
+        UserProfileSimpleVO cached = cache.getIfPresent(userId);
+        if (cached != null) {
+            return cached;
+        }
+
+        long loadGeneration = generation.get();
+        UserProfileSimpleVO profile = loader.apply(userId);
+        if (profile != null && generation.get() == loadGeneration) {
+            cache.put(userId, profile);
+        }
+        return profile;
+    }
+
+    /**
+     * 批量获取用户资料，仅对未命中的用户调用 loader 批量加载
+     *
+     * @return 用户ID -> 用户资料的映射，不包含不存在的用户
+     */
+    public Map<Long, UserProfileSimpleVO> getAll(Collection<Long> userIds,
+                                                 Function<List<Long>, Map<Long, UserProfileSimpleVO>> loader) {
+        if (userIds == null || userIds.isEmpty()) {
+            return Map.of();
+        }
+        if (!properties.isEnabled()) {
+            return loader.apply(userIds.stream().distinct().toList());
+        }
+
+        Map<Long, UserProfileSimpleVO> result = new LinkedHashMap<>();
+        Set<Long> misses = new LinkedHashSet<>();
+        for (Long userId : userIds) {
+            if (userId == null || result.containsKey(userId)) {
+                continue;
+            }
+            UserProfileSimpleVO cached = cache.getIfPresent(userId);
+            if (cached != null) {
+                result.put(userId, cached);
+            } else {
+                misses.add(userId);
+            }
+        }
+        if (misses.isEmpty()) {
+            return result;
+        }
+
+        long loadGeneration = generation.get();
+        Map<Long, UserProfileSimpleVO> loaded = loader.apply(new ArrayList<>(misses));
+        if (loaded == null || loaded.isEmpty()) {
+            return result;
+        }
+        boolean cacheable = generation.get() == loadGeneration;
+        for (Long userId : misses) {
+            UserProfileSimpleVO profile = loaded.get(userId);
+            if (profile == null) {
+                continue;
+            }
+            result.put(userId, profile);
+            if (cacheable) {
+                cache.put(userId, profile);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 剔除单个用户的缓存
+     */
+    public void invalidate(Long userId) {
+        generation.incrementAndGet();
+        cache.invalidate(userId);
+        log.debug("【用户资料缓存】已失效，用户ID: {}", userId);
+    }
+
+    /**
+     * 清空缓存
+     */
+    public void invalidateAll() {
+        generation.incrementAndGet();
+        cache.invalidateAll();
+    }
+}
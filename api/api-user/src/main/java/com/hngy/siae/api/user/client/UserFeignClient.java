@@ -91,13 +91,28 @@ public interface UserFeignClient {
     
     /**
      * 批量查询用户信息
+     * <p>
+     * 用户ID作为查询参数传递，ID较多时URL过长，请改用 {@link #batchQueryUserProfiles}
      *
      * @param userIds 用户ID列表
      * @return 用户ID -> 用户信息的映射
+     * @deprecated 使用请求体传参的 {@link #batchQueryUserProfiles}，或经由 {@code UserProfileLoader} 分片调用
      */
+    @Deprecated
     @GetMapping("/batch")
     Map<Long, UserProfileSimpleVO> batchGetUserProfiles(@RequestParam("userIds") List<Long> userIds);
 
+    /**
+     * 批量查询用户信息（请求体传参）
+     * <p>
+     * 单次调用的ID数量应不超过分片上限，大批量查询请经由 {@code UserProfileLoader} 自动分片并行调用
+     *
+     * @param userIds 用户ID列表
+     * @return 用户ID -> 用户信息的映射
+     */
+    @PostMapping("/batch")
+    Map<Long, UserProfileSimpleVO> batchQueryUserProfiles(@RequestBody List<Long> userIds);
+
     /**
      * 获取所有用户ID列表（用于广播通知）
      *
@@ -0,0 +1,38 @@
+package com.hngy.siae.api.user.config;
+
+import com.hngy.siae.api.user.cache.UserProfileInvalidationListener;
+import com.hngy.siae.api.user.cache.UserProfileNearCache;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+/**
+ * 用户资料缓存广播订阅配置
+ * 订阅 siae-user 广播的用户资料变更消息，剔除本服务的用户资料近端缓存
+ *
+ * @author KEYKB
+ */
+@Slf4j
+@Configuration
+@ConditionalOnClass(RedisMessageListenerContainer.class)
+public class UserProfileCacheConfig {
+
+    @Bean
+    public RedisMessageListenerContainer userProfileInvalidationListenerContainer(RedisConnectionFactory connectionFactory,
+                                                                                  UserProfileNearCache nearCache,
+                                                                                  UserProfileCacheProperties properties) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        if (properties.isEnabled()) {
+            container.addMessageListener(new UserProfileInvalidationListener(nearCache),
+                    new ChannelTopic(properties.getInvalidationChannel()));
+            log.info("用户资料近端缓存已启用，订阅失效频道: {}, 过期时间: {}秒",
+                    properties.getInvalidationChannel(), properties.getExpiration());
+        }
+        return container;
+    }
+}
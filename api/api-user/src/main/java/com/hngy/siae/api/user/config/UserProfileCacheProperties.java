@@ -0,0 +1,37 @@
+package com.hngy.siae.api.user.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * 用户资料近端缓存配置属性
+ * 调用方（内容、考勤、通知、AI 等服务）缓存用户展示信息，siae-user 在资料变更时广播失效消息
+ *
+ * @author KEYKB
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "siae.user.profile-cache")
+public class UserProfileCacheProperties {
+
+    /**
+     * 是否启用用户资料近端缓存
+     */
+    private boolean enabled = true;
+
+    /**
+     * 缓存过期时间（秒），即失效消息丢失时资料变更的最大可见延迟，应小于头像访问链接的有效期
+     */
+    private long expiration = 300;
+
+    /**
+     * 缓存最大用户数
+     */
+    private int maxSize = 10000;
+
+    /**
+     * 用户资料失效广播的 Redis 频道
+     */
+    private String invalidationChannel = "siae:user:profile:invalidate";
+}
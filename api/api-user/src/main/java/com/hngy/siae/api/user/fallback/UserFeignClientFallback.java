@@ -71,6 +71,7 @@ public class UserFeignClientFallback implements UserFeignClient {
     }
     
     @Override
+    @Deprecated
     public Map<Long, UserProfileSimpleVO> batchGetUserProfiles(List<Long> userIds) {
         log.error("批量查询用户信息服务不可用，触发降级。用户ID数量: {}", 
             userIds != null ? userIds.size() : 0);
@@ -79,6 +80,15 @@ public class UserFeignClientFallback implements UserFeignClient {
         return Collections.emptyMap();
     }
 
+    @Override
+    public Map<Long, UserProfileSimpleVO> batchQueryUserProfiles(List<Long> userIds) {
+        log.error("批量查询用户信息服务不可用，触发降级。用户ID数量: {}", 
+            userIds != null ? userIds.size() : 0);
+        // 降级策略：返回空Map，避免空指针异常
+        log.warn("降级策略：返回空Map");
+        return Collections.emptyMap();
+    }
+
     @Override
     public List<Long> getAllUserIds() {
         log.error("获取所有用户ID服务不可用，触发降级");
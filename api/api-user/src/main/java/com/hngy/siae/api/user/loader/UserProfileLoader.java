@@ -0,0 +1,69 @@
+package com.hngy.siae.api.user.loader;
+
+import com.hngy.siae.api.user.cache.UserProfileNearCache;
+import com.hngy.siae.api.user.client.UserFeignClient;
+import com.hngy.siae.api.user.dto.response.UserProfileSimpleVO;
+import com.hngy.siae.feign.batch.ChunkedBatchExecutor;
+import com.hngy.siae.feign.collapser.RequestCollapser;
+import com.hngy.siae.feign.collapser.RequestCollapserFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 用户资料加载器
+ * <p>
+ * 对 {@link UserFeignClient#batchQueryUserProfiles} 的请求合并封装：
+ * 并发的单个或少量用户查询在合并窗口内合并为一次批量调用，替代直接以 {@code List.of(userId)} 调用批量接口；
+ * 未命中数超过分片上限的大批量查询不经过合并器，直接按分片并行调用。
+ * 查询先经过 {@link UserProfileNearCache}，只有未命中的用户才会发起远程调用。
+ *
+ * @author KEYKB
+ */
+@Component
+public class UserProfileLoader {
+
+    private static final String NAME = "user-profile";
+
+    private final UserFeignClient userFeignClient;
+    private final RequestCollapser<Long, UserProfileSimpleVO> collapser;
+    private final ChunkedBatchExecutor batchExecutor;
+    private final UserProfileNearCache nearCache;
+
+    public UserProfileLoader(UserFeignClient userFeignClient, RequestCollapserFactory collapserFactory,
+                             ChunkedBatchExecutor batchExecutor, UserProfileNearCache nearCache) {
+        this.userFeignClient = userFeignClient;
+        this.batchExecutor = batchExecutor;
+        this.nearCache = nearCache;
+        this.collapser = collapserFactory.create(NAME, userFeignClient::batchQueryUserProfiles);
+    }
+
+    /**
+     * 获取单个用户资料
+     *
+     * @param userId 用户ID
+     * @return 用户资料，不存在时返回 null
+     */
+    public UserProfileSimpleVO get(Long userId) {
+        return nearCache.get(userId, collapser::get);
+    }
+
+    /**
+     * 批量获取用户资料
+     *
+     * @param userIds 用户ID集合，数量不受限制
+     * @return 用户ID -> 用户资料的映射，不包含不存在的用户
+     */
+    public Map<Long, UserProfileSimpleVO> getAll(Collection<Long> userIds) {
+        return nearCache.getAll(userIds, this::load);
+    }
+
+    private Map<Long, UserProfileSimpleVO> load(List<Long> userIds) {
+        if (userIds.size() > batchExecutor.getMaxBatchSize()) {
+            return batchExecutor.execute(NAME, userIds, userFeignClient::batchQueryUserProfiles);
+        }
+        return collapser.getAll(userIds);
+    }
+}
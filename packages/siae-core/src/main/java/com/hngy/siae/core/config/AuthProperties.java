@@ -39,4 +39,14 @@ public class AuthProperties {
      * 网关密钥有效期（秒）- 防重放攻击
      */
     private int gatewaySecretValidSeconds = 300;
+
+    /**
+     * Token 吊销广播的 Redis 频道，消息体为 {@code <Token SHA-256 摘要>:<过期时间戳毫秒>}
+     */
+    private String tokenRevocationChannel = "siae:auth:token:revoked";
+
+    /**
+     * 已吊销 Token 摘要的 Redis 有序集合（score 为过期时间戳毫秒），供网关启动时补齐错过的广播
+     */
+    private String tokenRevocationKey = "auth:token:revoked";
 }
\ No newline at end of file
@@ -1,6 +1,7 @@
 package com.hngy.siae.core.converter;
 
 import com.hngy.siae.core.enums.BaseEnum;
+import com.hngy.siae.core.enums.BaseEnumRegistry;
 import org.springframework.core.convert.converter.Converter;
 import org.springframework.core.convert.converter.ConverterFactory;
 import org.springframework.lang.NonNull;
@@ -19,32 +20,25 @@ public class StringToBaseEnumConverterFactory implements ConverterFactory<String
     @SuppressWarnings({"unchecked", "rawtypes"})
     @Override
     public <T extends BaseEnum> Converter<String, T> getConverter(@NonNull Class<T> targetType) {
-        return new StringToBaseEnumConverter(targetType);
+        return new StringToBaseEnumConverter(BaseEnumRegistry.of((Class) targetType));
     }
 
-    private record StringToBaseEnumConverter<T extends Enum<T> & BaseEnum>(Class<T> enumType) 
+    private record StringToBaseEnumConverter<T extends Enum<T> & BaseEnum>(BaseEnumRegistry<T> registry) 
             implements Converter<String, T> {
 
         @Override
         public T convert(@NonNull String source) {
-            // 尝试按 code 转换
-            try {
-                int code = Integer.parseInt(source);
-                T result = BaseEnum.fromCode(enumType, code);
-                if (result != null) {
-                    return result;
-                }
-            } catch (NumberFormatException ignored) {
+            // 先按 code 转换，再按 description 转换
+            T result = registry.byCode(source);
+            if (result == null) {
+                result = registry.byDesc(source);
             }
-
-            // 尝试按 description 转换
-            T result = BaseEnum.fromDesc(enumType, source);
             if (result != null) {
                 return result;
             }
 
             throw new IllegalArgumentException(
-                "无法将 '" + source + "' 转换为枚举类型: " + enumType.getName()
+                "无法将 '" + source + "' 转换为枚举类型: " + registry.getEnumClass().getName()
             );
         }
     }
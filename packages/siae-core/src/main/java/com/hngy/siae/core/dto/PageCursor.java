@@ -0,0 +1,88 @@
+package com.hngy.siae.core.dto;
+
+import com.hngy.siae.core.exception.BusinessException;
+import com.hngy.siae.core.result.CommonResultCodeEnum;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+/**
+ * 键集分页游标
+ * <p>
+ * 记录上一页最后一条记录的排序键与 ID（同值排序键的决胜字段），编码为 URL 安全的 Base64 字符串返回给客户端，
+ * 客户端原样回传即可，不应解析其内容。编码格式：{@code v1:<类型>:<id>:<排序键>}。
+ *
+ * @param sortValue 排序键的值，按 ID 排序时为 null
+ * @param id        记录ID
+ * @author KEYKB
+ */
+public record PageCursor(Object sortValue, long id) {
+
+    private static final String VERSION = "v1";
+
+    /**
+     * 编码为不透明游标
+     */
+    public String encode() {
+        String raw = VERSION + ':' + typeOf(sortValue) + ':' + id + ':' + (sortValue != null ? sortValue : "");
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * 解码游标，格式不合法时抛出参数校验异常
+     */
+    public static PageCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = raw.split(":", 4);
+            if (parts.length != 4 || !VERSION.equals(parts[0])) {
+                throw invalid();
+            }
+            return new PageCursor(parseValue(parts[1], parts[3]), Long.parseLong(parts[2]));
+        } catch (IllegalArgumentException | DateTimeException e) {
+            throw invalid();
+        }
+    }
+
+    private static String typeOf(Object value) {
+        if (value == null) {
+            return "";
+        }
+        if (value instanceof Long || value instanceof Integer || value instanceof Short || value instanceof Byte) {
+            return "L";
+        }
+        if (value instanceof BigDecimal) {
+            return "N";
+        }
+        if (value instanceof LocalDateTime) {
+            return "T";
+        }
+        if (value instanceof LocalDate) {
+            return "D";
+        }
+        if (value instanceof String) {
+            return "S";
+        }
+        throw new IllegalArgumentException("不支持的游标排序键类型: " + value.getClass().getName());
+    }
+
+    private static Object parseValue(String type, String value) {
+        return switch (type) {
+            case "" -> null;
+            case "L" -> Long.parseLong(value);
+            case "N" -> new BigDecimal(value);
+            case "T" -> LocalDateTime.parse(value);
+            case "D" -> LocalDate.parse(value);
+            case "S" -> value;
+            default -> throw invalid();
+        };
+    }
+
+    private static BusinessException invalid() {
+        return new BusinessException(CommonResultCodeEnum.VALIDATE_FAILED, "分页游标无效");
+    }
+}
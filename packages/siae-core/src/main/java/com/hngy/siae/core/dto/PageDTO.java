@@ -28,6 +28,12 @@ public class PageDTO<Q> {
      */
     private Q params;
 
+    /**
+     * 键集分页游标，取上一页响应中的 nextCursor 原样回传；为空时表示第一页
+     * 仅对支持键集分页的接口生效，此时忽略 pageNum 且不统计总数
+     */
+    private String cursor;
+
     public Integer getPage() {
         return this.pageNum;
     }
@@ -17,6 +17,8 @@ public class PageVO<T> {
     private Integer pageNum;   // 当前页
     private Integer pageSize;  // 每页条数
     private List<T> records;   // 当前页数据列表
+    private String nextCursor; // 键集分页：下一页游标，无下一页时为 null
+    private Boolean hasMore;   // 键集分页：是否还有下一页
 
     // 兼容旧版本的字段名和类型
     public Integer getPage() {
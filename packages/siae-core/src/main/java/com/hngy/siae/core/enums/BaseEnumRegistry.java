@@ -0,0 +1,193 @@
+package com.hngy.siae.core.enums;
+
+import com.fasterxml.jackson.annotation.JsonValue;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 枚举查找注册表
+ * <p>
+ * 每个 {@link BaseEnum} 枚举类在首次使用时构建一次 code、名称、description、@JsonValue 值到常量的映射，
+ * 之后 {@link BaseEnum#fromCode}、{@link BaseEnum#fromDesc}、Jackson 反序列化与 Spring 参数转换
+ * 均共享同一份映射，单次查找为一次哈希查询，不再逐个遍历常量或反射读取 @JsonValue。
+ *
+ * @author KEYKB
+ */
+public final class BaseEnumRegistry<T extends Enum<T> & BaseEnum> {
+
+    private static final ClassValue<BaseEnumRegistry<?>> REGISTRIES = new ClassValue<>() {
+        @Override
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        protected BaseEnumRegistry<?> computeValue(Class<?> type) {
+            return new BaseEnumRegistry(type);
+        }
+    };
+
+    private final Class<T> enumClass;
+    private final Map<Integer, T> byCode;
+    private final Map<String, T> byName;
+    private final Map<String, T> byDesc;
+    private final Map<String, T> byJsonValue;
+
+    private BaseEnumRegistry(Class<T> enumClass) {
+        if (!enumClass.isEnum() || !BaseEnum.class.isAssignableFrom(enumClass)) {
+            throw new IllegalArgumentException("不是 BaseEnum 枚举类型: " + enumClass.getName());
+        }
+        this.enumClass = enumClass;
+        T[] constants = enumClass.getEnumConstants();
+        Map<Integer, T> codes = new HashMap<>();
+        Map<String, T> names = new HashMap<>();
+        Map<String, T> descs = new HashMap<>();
+        for (T constant : constants) {
+            codes.putIfAbsent(constant.getCode(), constant);
+            names.put(constant.name(), constant);
+            if (constant.getDescription() != null) {
+                descs.putIfAbsent(constant.getDescription(), constant);
+            }
+        }
+        this.byCode = Map.copyOf(codes);
+        this.byName = Map.copyOf(names);
+        this.byDesc = Map.copyOf(descs);
+        this.byJsonValue = Map.copyOf(resolveJsonValues(enumClass, constants));
+    }
+
+    /**
+     * 获取枚举类的注册表，首次调用时构建
+     */
+    @SuppressWarnings("unchecked")
+    public static <T extends Enum<T> & BaseEnum> BaseEnumRegistry<T> of(Class<T> enumClass) {
+        return (BaseEnumRegistry<T>) REGISTRIES.get(enumClass);
+    }
+
+    public Class<T> getEnumClass() {
+        return enumClass;
+    }
+
+    /**
+     * 根据 code 查找
+     */
+    public T byCode(int code) {
+        return byCode.get(code);
+    }
+
+    /**
+     * 根据字符串形式的 code 查找，非整数时返回 null（不抛出 NumberFormatException）
+     */
+    public T byCode(String code) {
+        Integer parsed = parseInt(code);
+        return parsed != null ? byCode.get(parsed) : null;
+    }
+
+    /**
+     * 根据枚举名称查找（大小写不敏感）
+     */
+    public T byName(String name) {
+        T result = byName.get(name);
+        return result != null ? result : byName.get(name.toUpperCase());
+    }
+
+    /**
+     * 根据描述查找
+     */
+    public T byDesc(String desc) {
+        return desc != null ? byDesc.get(desc) : null;
+    }
+
+    /**
+     * 根据枚举类自身声明的 @JsonValue 字段或方法值查找
+     */
+    public T byJsonValue(String value) {
+        return byJsonValue.isEmpty() ? null : byJsonValue.get(value);
+    }
+
+    /**
+     * 依次按 code、枚举名称、@JsonValue 值、description 查找
+     */
+    public T resolve(String value) {
+        T result = byCode(value);
+        if (result == null) {
+            result = byName(value);
+        }
+        if (result == null) {
+            result = byJsonValue(value);
+        }
+        if (result == null) {
+            result = byDesc(value);
+        }
+        return result;
+    }
+
+    /**
+     * 读取 @JsonValue 标注的字段与无参方法的值，字段优先、先声明者优先
+     */
+    private static <T> Map<String, T> resolveJsonValues(Class<T> enumClass, T[] constants) {
+        Map<String, T> values = new HashMap<>();
+        for (Field field : enumClass.getDeclaredFields()) {
+            if (!field.isAnnotationPresent(JsonValue.class)) {
+                continue;
+            }
+            field.setAccessible(true);
+            for (T constant : constants) {
+                try {
+                    Object value = field.get(constant);
+                    if (value != null) {
+                        values.putIfAbsent(value.toString(), constant);
+                    }
+                } catch (IllegalAccessException ignored) {
+                }
+            }
+        }
+        for (Method method : enumClass.getDeclaredMethods()) {
+            if (!method.isAnnotationPresent(JsonValue.class) || method.getParameterCount() != 0) {
+                continue;
+            }
+            method.setAccessible(true);
+            for (T constant : constants) {
+                try {
+                    Object value = method.invoke(constant);
+                    if (value != null) {
+                        values.putIfAbsent(value.toString(), constant);
+                    }
+                } catch (Exception ignored) {
+                }
+            }
+        }
+        return values;
+    }
+
+    /**
+     * 与 {@link Integer#parseInt(String)} 接受的十进制格式一致，无法解析或溢出时返回 null
+     */
+    private static Integer parseInt(String value) {
+        int length = value.length();
+        if (length == 0 || length > 11) {
+            return null;
+        }
+        int start = 0;
+        char first = value.charAt(0);
+        if (first == '-' || first == '+') {
+            if (length == 1) {
+                return null;
+            }
+            start = 1;
+        }
+        long result = 0;
+        for (int i = start; i < length; i++) {
+            char c = value.charAt(i);
+            if (c < '0' || c > '9') {
+                return null;
+            }
+            result = result * 10 + (c - '0');
+        }
+        if (first == '-') {
+            result = -result;
+        }
+        if (result < Integer.MIN_VALUE || result > Integer.MAX_VALUE) {
+            return null;
+        }
+        return (int) result;
+    }
+}
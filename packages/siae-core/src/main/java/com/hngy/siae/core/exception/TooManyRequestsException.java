@@ -0,0 +1,24 @@
+package com.hngy.siae.core.exception;
+
+import com.hngy.siae.core.result.CommonResultCodeEnum;
+import lombok.Getter;
+
+/**
+ * 过载拒绝异常
+ * 服务端资源饱和时提前拒绝请求，由全局异常处理器映射为 HTTP 429
+ *
+ * @author KEYKB
+ */
+@Getter
+public class TooManyRequestsException extends BusinessException {
+
+    /**
+     * 建议客户端重试前等待的秒数
+     */
+    private final long retryAfterSeconds;
+
+    public TooManyRequestsException(String message, long retryAfterSeconds) {
+        super(CommonResultCodeEnum.TOO_MANY_REQUESTS, message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+}
@@ -10,7 +10,8 @@ public enum CommonResultCodeEnum implements IResultCode {
     UNAUTHORIZED(401, "未授权或登录过期"),
     FORBIDDEN(403, "无访问权限"),
     NOT_FOUND(404, "资源未找到"),
-    DB_SAVE_FAILED(405, "数据保存失败");
+    DB_SAVE_FAILED(405, "数据保存失败"),
+    TOO_MANY_REQUESTS(429, "请求过于频繁，请稍后重试");
 
     private final int code;
     private final String message;
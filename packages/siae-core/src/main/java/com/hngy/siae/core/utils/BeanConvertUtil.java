@@ -1,13 +1,12 @@
 package com.hngy.siae.core.utils;
 
-import cn.hutool.core.bean.BeanUtil;
-
+import java.util.ArrayList;
 import java.util.List;
-import java.util.stream.Collectors;
 
 /**
  * Bean 属性转换工具类
  * 支持 Entity ↔ DTO ↔ VO 等对象之间的属性复制
+ * 复制由按类型对缓存的 {@link BeanCopier} 完成，匹配规则与 Hutool BeanUtil 一致
  *
  * @author KEYKB
  */
@@ -23,7 +22,7 @@ public class BeanConvertUtil {
         if (source == null) {
             return null;
         }
-        return BeanUtil.copyProperties(source, targetClass);
+        return BeanConvertUtil.<T>copier(source, targetClass).copy(source);
     }
 
     /**
@@ -37,7 +36,7 @@ public class BeanConvertUtil {
         if (source == null) {
             return null;
         }
-        return BeanUtil.copyProperties(source, targetClass, ignoreProperties);
+        return BeanConvertUtil.<T>copier(source, targetClass).copy(source, ignoreProperties);
     }
 
     /**
@@ -51,7 +50,7 @@ public class BeanConvertUtil {
         if (source == null || target == null) {
             return;
         }
-        BeanUtil.copyProperties(source, target, ignoreProperties);
+        copier(source, target.getClass()).copy(source, target, false, ignoreProperties);
     }
 
     /**
@@ -66,10 +65,7 @@ public class BeanConvertUtil {
         if (source == null || target == null) {
             return;
         }
-        BeanUtil.copyProperties(source, target, 
-            cn.hutool.core.bean.copier.CopyOptions.create()
-                .setIgnoreNullValue(ignoreNullValue)
-                .setIgnoreProperties(ignoreProperties));
+        copier(source, target.getClass()).copy(source, target, ignoreNullValue, ignoreProperties);
     }
 
     /**
@@ -82,9 +78,25 @@ public class BeanConvertUtil {
         if (sourceList == null || sourceList.isEmpty()) {
             return List.of();
         }
-        return sourceList.stream()
-                .map(source -> BeanUtil.copyProperties(source, targetClass))
-                .collect(Collectors.toList());
+        List<T> result = new ArrayList<>(sourceList.size());
+        BeanCopier<Object, T> copier = null;
+        for (S source : sourceList) {
+            if (source == null) {
+                result.add(null);
+                continue;
+            }
+            // 列表元素通常同类型，复用上一个复制器
+            if (copier == null || copier.getSourceClass() != source.getClass()) {
+                copier = copier(source, targetClass);
+            }
+            result.add(copier.copy(source));
+        }
+        return result;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> BeanCopier<Object, T> copier(Object source, Class<?> targetClass) {
+        return (BeanCopier<Object, T>) BeanCopier.of(source.getClass(), targetClass);
     }
 
 }
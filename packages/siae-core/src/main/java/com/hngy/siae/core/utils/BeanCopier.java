@@ -0,0 +1,360 @@
+package com.hngy.siae.core.utils;
+
+import cn.hutool.core.annotation.Alias;
+import cn.hutool.core.annotation.PropIgnore;
+import cn.hutool.core.bean.BeanUtil;
+import cn.hutool.core.bean.copier.CopyOptions;
+import cn.hutool.core.convert.BasicType;
+import cn.hutool.core.convert.Convert;
+import cn.hutool.core.util.BooleanUtil;
+import cn.hutool.core.util.ClassUtil;
+import cn.hutool.core.util.StrUtil;
+import lombok.extern.slf4j.Slf4j;
+
+import java.lang.invoke.CallSite;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.AnnotatedElement;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Bean 属性复制器
+ * <p>
+ * 每个（源类型, 目标类型）组合首次使用时解析一次同名属性，借助 {@link LambdaMetafactory} 为 getter、setter
+ * 与无参构造生成直接调用的函数对象并缓存，之后的复制不再反射遍历属性。
+ * 属性匹配规则与 Hutool {@code BeanUtil.copyProperties} 一致（按字段名匹配、跳过 transient 字段、
+ * 不可直接赋值及集合/Map 类型的属性经 {@link Convert} 转换）；源或目标为 Map、缺少无参构造、
+ * 使用 Hutool 属性注解等无法生成的组合整体回退到 Hutool。
+ *
+ * @author KEYKB
+ */
+@Slf4j
+public final class BeanCopier<S, T> {
+
+    private static final ClassValue<Map<Class<?>, BeanCopier<?, ?>>> COPIERS = new ClassValue<>() {
+        @Override
+        protected Map<Class<?>, BeanCopier<?, ?>> computeValue(Class<?> type) {
+            return new ConcurrentHashMap<>();
+        }
+    };
+
+    private static final String[] NO_IGNORE = new String[0];
+
+    private final Class<S> sourceClass;
+    private final Class<T> targetClass;
+    private final Supplier<T> constructor;
+    private final Property[] properties;
+
+    private BeanCopier(Class<S> sourceClass, Class<T> targetClass, Supplier<T> constructor, Property[] properties) {
+        this.sourceClass = sourceClass;
+        this.targetClass = targetClass;
+        this.constructor = constructor;
+        this.properties = properties;
+    }
+
+    /**
+     * 获取（源类型, 目标类型）的复制器，首次调用时生成
+     */
+    @SuppressWarnings("unchecked")
+    public static <S, T> BeanCopier<S, T> of(Class<S> sourceClass, Class<T> targetClass) {
+        return (BeanCopier<S, T>) COPIERS.get(sourceClass)
+                .computeIfAbsent(targetClass, type -> create(sourceClass, type));
+    }
+
+    public Class<S> getSourceClass() {
+        return sourceClass;
+    }
+
+    /**
+     * 是否为生成的复制器（false 表示回退到 Hutool）
+     */
+    public boolean isGenerated() {
+        return properties != null;
+    }
+
+    /**
+     * 创建目标对象并复制属性
+     */
+    public T copy(S source) {
+        return copy(source, NO_IGNORE);
+    }
+
+    /**
+     * 创建目标对象并复制属性，忽略指定字段
+     */
+    public T copy(S source, String... ignoreProperties) {
+        if (source == null) {
+            return null;
+        }
+        if (properties == null) {
+            return BeanUtil.copyProperties(source, targetClass, ignoreProperties);
+        }
+        T target = constructor.get();
+        copy(source, target, false, ignoreProperties);
+        return target;
+    }
+
+    /**
+     * 将源对象属性复制到已有目标对象
+     *
+     * @param ignoreNullValue  是否忽略null值
+     * @param ignoreProperties 需要忽略的字段
+     */
+    public void copy(S source, T target, boolean ignoreNullValue, String... ignoreProperties) {
+        if (properties == null) {
+            BeanUtil.copyProperties(source, target, CopyOptions.create()
+                    .setIgnoreNullValue(ignoreNullValue)
+                    .setIgnoreProperties(ignoreProperties));
+            return;
+        }
+        for (Property property : properties) {
+            if (ignoreProperties.length > 0 && contains(ignoreProperties, property.name)) {
+                continue;
+            }
+            Object value = property.getter.apply(source);
+            if (value != null && property.convertType != null) {
+                value = Convert.convertWithCheck(property.convertType, value, null, false);
+            }
+            if (value == null) {
+                if (ignoreNullValue) {
+                    continue;
+                }
+                value = property.nullValue;
+            }
+            property.setter.accept(target, value);
+        }
+    }
+
+    /**
+     * 批量复制，结果为可变列表
+     */
+    public List<T> copyList(Collection<? extends S> sources) {
+        List<T> result = new ArrayList<>(sources.size());
+        for (S source : sources) {
+            result.add(copy(source));
+        }
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return "BeanCopier[" + sourceClass.getName() + " -> " + targetClass.getName()
+                + (isGenerated() ? ", properties=" + properties.length : ", hutool") + "]";
+    }
+
+    private static <S, T> BeanCopier<S, T> create(Class<S> sourceClass, Class<T> targetClass) {
+        if (isBean(sourceClass) && isBean(targetClass)) {
+            try {
+                return generate(sourceClass, targetClass);
+            } catch (Throwable e) {
+                log.debug("生成Bean复制器失败，回退到Hutool: {} -> {}, {}",
+                        sourceClass.getName(), targetClass.getName(), e.toString());
+            }
+        }
+        return new BeanCopier<>(sourceClass, targetClass, null, null);
+    }
+
+    private static <S, T> BeanCopier<S, T> generate(Class<S> sourceClass, Class<T> targetClass) throws Throwable {
+        Supplier<T> constructor = constructor(targetClass);
+        Map<String, Accessor> sourceProps = accessors(sourceClass);
+        Map<String, Accessor> targetProps = accessors(targetClass);
+        if (sourceProps == null || targetProps == null) {
+            throw new IllegalStateException("使用了 Hutool 属性注解");
+        }
+
+        List<Property> properties = new ArrayList<>();
+        for (Accessor source : sourceProps.values()) {
+            Accessor target = targetProps.get(source.name);
+            if (source.getter == null || target == null || target.setter == null) {
+                if (isPublic(source.field) || target != null && isPublic(target.field)) {
+                    throw new IllegalStateException("存在无访问器的公有字段: " + source.name);
+                }
+                continue;
+            }
+            Class<?> valueType = BasicType.wrap(source.getter.getReturnType());
+            Class<?> paramType = target.setter.getParameterTypes()[0];
+            Type genericParamType = target.setter.getGenericParameterTypes()[0];
+            boolean convert = Collection.class.isAssignableFrom(paramType)
+                    || Map.class.isAssignableFrom(paramType)
+                    || !BasicType.wrap(paramType).isAssignableFrom(valueType);
+            properties.add(new Property(
+                    source.name,
+                    getter(source.getter),
+                    setter(target.setter),
+                    convert ? genericParamType : null,
+                    paramType.isPrimitive() ? ClassUtil.getDefaultValue(paramType) : null));
+        }
+        return new BeanCopier<>(sourceClass, targetClass, constructor, properties.toArray(new Property[0]));
+    }
+
+    /**
+     * 按字段解析属性访问器，字段来自类及其父类（子类优先），与 Hutool BeanDesc 一致；
+     * 出现 Hutool 属性注解时返回 null
+     */
+    private static Map<String, Accessor> accessors(Class<?> beanClass) {
+        Method[] methods = beanClass.getMethods();
+        Map<String, Accessor> accessors = new LinkedHashMap<>();
+        for (Class<?> type = beanClass; type != null && type != Object.class; type = type.getSuperclass()) {
+            for (Field field : type.getDeclaredFields()) {
+                int modifiers = field.getModifiers();
+                if (Modifier.isStatic(modifiers) || field.isSynthetic() || accessors.containsKey(field.getName())) {
+                    continue;
+                }
+                Method getter = findGetter(field, methods, false);
+                Method setter = findSetter(field, methods, false);
+                if (getter == null) {
+                    getter = findGetter(field, methods, true);
+                }
+                if (setter == null) {
+                    setter = findSetter(field, methods, true);
+                }
+                if (hasHutoolAnnotation(field) || hasHutoolAnnotation(getter) || hasHutoolAnnotation(setter)) {
+                    return null;
+                }
+                if (Modifier.isTransient(modifiers) || isTransient(getter)) {
+                    getter = null;
+                }
+                if (Modifier.isTransient(modifiers) || isTransient(setter)) {
+                    setter = null;
+                }
+                accessors.put(field.getName(), new Accessor(field.getName(), field, getter, setter));
+            }
+        }
+        return accessors;
+    }
+
+    private static Method findGetter(Field field, Method[] methods, boolean ignoreCase) {
+        String name = field.getName();
+        String upper = StrUtil.upperFirst(name);
+        boolean bool = BooleanUtil.isBoolean(field.getType());
+        for (Method method : methods) {
+            if (method.getParameterCount() != 0 || method.getReturnType() == void.class || method.isBridge()
+                    || Modifier.isStatic(method.getModifiers()) || method.getDeclaringClass() == Object.class) {
+                continue;
+            }
+            String methodName = method.getName();
+            if (equals(methodName, "get" + upper, ignoreCase)
+                    || bool && equals(methodName, "is" + upper, ignoreCase)
+                    || bool && name.startsWith("is") && equals(methodName, name, ignoreCase)) {
+                return method;
+            }
+        }
+        return null;
+    }
+
+    private static Method findSetter(Field field, Method[] methods, boolean ignoreCase) {
+        String name = field.getName();
+        boolean bool = BooleanUtil.isBoolean(field.getType());
+        for (Method method : methods) {
+            if (method.getParameterCount() != 1 || method.isBridge() || Modifier.isStatic(method.getModifiers())
+                    || !field.getType().isAssignableFrom(method.getParameterTypes()[0])) {
+                continue;
+            }
+            String methodName = method.getName();
+            if (equals(methodName, "set" + StrUtil.upperFirst(name), ignoreCase)
+                    || bool && name.startsWith("is")
+                    && equals(methodName, "set" + StrUtil.upperFirst(name.substring(2)), ignoreCase)) {
+                return method;
+            }
+        }
+        return null;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> Supplier<T> constructor(Class<T> type) throws Throwable {
+        MethodHandles.Lookup lookup = MethodHandles.privateLookupIn(type, MethodHandles.lookup());
+        MethodHandle handle = lookup.findConstructor(type, MethodType.methodType(void.class));
+        CallSite site = LambdaMetafactory.metafactory(lookup, "get",
+                MethodType.methodType(Supplier.class),
+                MethodType.methodType(Object.class),
+                handle,
+                MethodType.methodType(type));
+        return (Supplier<T>) site.getTarget().invoke();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Function<Object, Object> getter(Method method) throws Throwable {
+        Class<?> owner = method.getDeclaringClass();
+        MethodHandles.Lookup lookup = MethodHandles.privateLookupIn(owner, MethodHandles.lookup());
+        CallSite site = LambdaMetafactory.metafactory(lookup, "apply",
+                MethodType.methodType(Function.class),
+                MethodType.methodType(Object.class, Object.class),
+                lookup.unreflect(method),
+                MethodType.methodType(BasicType.wrap(method.getReturnType()), owner));
+        return (Function<Object, Object>) site.getTarget().invoke();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static BiConsumer<Object, Object> setter(Method method) throws Throwable {
+        Class<?> owner = method.getDeclaringClass();
+        MethodHandles.Lookup lookup = MethodHandles.privateLookupIn(owner, MethodHandles.lookup());
+        CallSite site = LambdaMetafactory.metafactory(lookup, "accept",
+                MethodType.methodType(BiConsumer.class),
+                MethodType.methodType(void.class, Object.class, Object.class),
+                lookup.unreflect(method),
+                MethodType.methodType(void.class, owner, BasicType.wrap(method.getParameterTypes()[0])));
+        return (BiConsumer<Object, Object>) site.getTarget().invoke();
+    }
+
+    private static boolean isBean(Class<?> type) {
+        return !type.isPrimitive() && !type.isArray() && !type.isInterface() && !type.isEnum()
+                && !type.isRecord() && !Modifier.isAbstract(type.getModifiers())
+                && !Map.class.isAssignableFrom(type) && !Collection.class.isAssignableFrom(type)
+                && !ClassUtil.isJdkClass(type);
+    }
+
+    private static boolean isPublic(Field field) {
+        return field != null && Modifier.isPublic(field.getModifiers()) && !Modifier.isTransient(field.getModifiers());
+    }
+
+    private static boolean isTransient(Method method) {
+        return method != null && method.isAnnotationPresent(java.beans.Transient.class);
+    }
+
+    private static boolean hasHutoolAnnotation(AnnotatedElement element) {
+        return element != null && (element.isAnnotationPresent(Alias.class) || element.isAnnotationPresent(PropIgnore.class));
+    }
+
+    private static boolean equals(String a, String b, boolean ignoreCase) {
+        return ignoreCase ? a.equalsIgnoreCase(b) : a.equals(b);
+    }
+
+    private static boolean contains(String[] names, String name) {
+        for (String candidate : names) {
+            if (name.equals(candidate)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private record Accessor(String name, Field field, Method getter, Method setter) {
+    }
+
+    /**
+     * 已生成的属性复制步骤
+     *
+     * @param convertType 需经 Convert 转换时的目标类型，可直接赋值时为 null
+     * @param nullValue   源值为 null 时写入的值（基本类型为默认值）
+     */
+    private record Property(String name,
+                            Function<Object, Object> getter,
+                            BiConsumer<Object, Object> setter,
+                            Type convertType,
+                            Object nullValue) {
+    }
+}
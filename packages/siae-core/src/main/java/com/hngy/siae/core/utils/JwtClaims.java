@@ -0,0 +1,43 @@
+package com.hngy.siae.core.utils;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * 一次解析验签得到的 JWT 声明（不可变）
+ * <p>
+ * 由 {@link JwtUtils#parseOnce(String)} 创建，请求内需要多个声明时复用同一实例，避免重复验签。
+ *
+ * @param userId      用户ID，服务间调用 Token 中为 null
+ * @param username    用户名，服务间调用 Token 中为 null
+ * @param authorities 权限声明，普通 Token 不再携带权限，通常为空列表
+ * @param issuedAt    签发时间
+ * @param expiresAt   过期时间
+ * @param jti         Token 唯一标识，旧版本签发的 Token 中为 null
+ * @author KEYKB
+ */
+public record JwtClaims(Long userId,
+                        String username,
+                        List<String> authorities,
+                        Instant issuedAt,
+                        Instant expiresAt,
+                        String jti) {
+
+    public JwtClaims {
+        authorities = authorities != null ? List.copyOf(authorities) : List.of();
+    }
+
+    /**
+     * 过期时间的毫秒时间戳
+     */
+    public long expiresAtMillis() {
+        return expiresAt.toEpochMilli();
+    }
+
+    /**
+     * 是否包含用户身份（userId 与 username 均存在）
+     */
+    public boolean hasUser() {
+        return userId != null && username != null && !username.isBlank();
+    }
+}
@@ -1,6 +1,7 @@
 package com.hngy.siae.core.utils;
 
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
 import lombok.extern.slf4j.Slf4j;
@@ -35,6 +36,9 @@ public class JwtUtils {
     // 签名密钥对象
     private final SecretKey secretKey = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
 
+    // 预构建的解析器，不可变且线程安全，避免每次解析重新构建
+    private final JwtParser jwtParser = Jwts.parserBuilder().setSigningKey(secretKey).build();
+
     // ========================= 令牌生成 =========================
 
     /**
@@ -94,6 +98,7 @@ public class JwtUtils {
 
         return Jwts.builder()
                 .setClaims(claims)
+                .setId(UUID.randomUUID().toString())
                 .setIssuedAt(now)
                 .setExpiration(expiration)
                 .signWith(secretKey)
@@ -103,11 +108,44 @@ public class JwtUtils {
     // ========================= Token解析 =========================
 
     public Claims parseToken(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(secretKey)
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+        return jwtParser.parseClaimsJws(token).getBody();
+    }
+
+    /**
+     * 解析并验签一次，返回请求内可复用的不可变声明
+     * 需要多个声明时应使用本方法，而不是分别调用 getUserId/getUsername/getExpirationDate
+     *
+     * @param token JWT Token
+     * @return 声明
+     * @throws io.jsonwebtoken.JwtException Token 无效、签名错误或已过期
+     */
+    public JwtClaims parseOnce(String token) {
+        Claims claims = parseToken(token);
+        Date issuedAt = claims.getIssuedAt();
+        Date expiration = claims.getExpiration();
+        return new JwtClaims(
+                claims.get("userId", Long.class),
+                claims.get("username", String.class),
+                authoritiesOf(claims),
+                issuedAt != null ? issuedAt.toInstant() : null,
+                expiration != null ? expiration.toInstant() : null,
+                claims.getId());
+    }
+
+    /**
+     * 解析并验签一次，Token 无效或已过期时返回 null 而不抛出异常
+     *
+     * @param token JWT Token
+     * @return 声明，无效时为 null
+     */
+    public JwtClaims tryParse(String token) {
+        try {
+            JwtClaims claims = parseOnce(token);
+            return claims.expiresAt() != null ? claims : null;
+        } catch (Exception e) {
+            log.warn("Token验证失败: {}", e.getMessage());
+            return null;
+        }
     }
 
     public Long getUserId(String token) {
@@ -128,14 +166,11 @@ public class JwtUtils {
 
     // ========================= Token校验 =========================
 
+    /**
+     * 校验签名与有效期（解析器已拒绝过期 Token）
+     */
     public boolean validateToken(String token) {
-        try {
-            Claims claims = parseToken(token);
-            return !claims.getExpiration().before(new Date());
-        } catch (Exception e) {
-            log.warn("Token验证失败: {}", e.getMessage());
-            return false;
-        }
+        return tryParse(token) != null;
     }
 
     public Date getExpirationDate(String token) {
@@ -156,4 +191,12 @@ public class JwtUtils {
         Date expiration = getExpirationDate(token);
         return expiration != null ? expiration.getTime() : null;
     }
+
+    private static List<String> authoritiesOf(Claims claims) {
+        Object authorities = claims.get("authorities");
+        if (!(authorities instanceof List<?> list) || list.isEmpty()) {
+            return Collections.emptyList();
+        }
+        return list.stream().map(String::valueOf).toList();
+    }
 }
@@ -0,0 +1,133 @@
+package com.hngy.siae.core.utils;
+
+import cn.hutool.core.util.StrUtil;
+import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import com.baomidou.mybatisplus.core.toolkit.support.SFunction;
+import com.hngy.siae.core.dto.PageCursor;
+import com.hngy.siae.core.dto.PageDTO;
+import com.hngy.siae.core.dto.PageVO;
+import com.hngy.siae.core.exception.BusinessException;
+import com.hngy.siae.core.result.CommonResultCodeEnum;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * 键集（游标）分页工具类
+ * <p>
+ * 以“排序键 + ID 决胜”的 seek 条件代替 OFFSET：{@code (sort < ?) OR (sort = ? AND id < ?)}，
+ * 配合 {@code (sort, id)} 联合索引，任意页的代价与第一页相同；多取一条判断是否还有下一页，不执行 COUNT。
+ * <p>
+ * 使用方式：
+ * <pre>
+ * LambdaQueryWrapper&lt;E&gt; wrapper = ...; // 业务过滤条件
+ * KeysetPageUtil.seek(wrapper, pageDTO, E::getCreatedAt, E::getId, true);
+ * PageVO&lt;E&gt; page = KeysetPageUtil.build(mapper.selectList(wrapper), pageDTO.getPageSize(), E::getCreatedAt, E::getId);
+ * </pre>
+ * 排序键须为非空列，取值类型见 {@link PageCursor}。
+ *
+ * @author KEYKB
+ */
+public class KeysetPageUtil {
+
+    /**
+     * 单页最大条数，与分页插件默认最大限制一致
+     */
+    public static final int MAX_PAGE_SIZE = 1000;
+
+    /**
+     * 按 PageDTO 中的游标追加 seek 条件、排序与 LIMIT
+     */
+    public static <E> LambdaQueryWrapper<E> seek(LambdaQueryWrapper<E> wrapper, PageDTO<?> pageDTO,
+                                                 SFunction<E, ?> sortColumn, SFunction<E, ?> idColumn,
+                                                 boolean desc) {
+        return seek(wrapper, pageDTO.getCursor(), pageDTO.getPageSize(), sortColumn, idColumn, desc);
+    }
+
+    /**
+     * 追加 seek 条件、排序与 LIMIT（pageSize + 1）
+     *
+     * @param cursor     上一页返回的游标，为空表示第一页
+     * @param sortColumn 排序列，为 null 时仅按 ID 排序
+     * @param idColumn   ID 列，作为排序键相同时的决胜字段
+     * @param desc       是否降序
+     */
+    public static <E> LambdaQueryWrapper<E> seek(LambdaQueryWrapper<E> wrapper, String cursor, int pageSize,
+                                                 SFunction<E, ?> sortColumn, SFunction<E, ?> idColumn,
+                                                 boolean desc) {
+        if (StrUtil.isNotBlank(cursor)) {
+            PageCursor position = PageCursor.decode(cursor);
+            long lastId = position.id();
+            if (sortColumn == null) {
+                wrapper.lt(desc, idColumn, lastId).gt(!desc, idColumn, lastId);
+            } else {
+                Object lastSort = position.sortValue();
+                if (lastSort == null) {
+                    throw new BusinessException(CommonResultCodeEnum.VALIDATE_FAILED, "分页游标无效");
+                }
+                wrapper.and(w -> w.lt(desc, sortColumn, lastSort).gt(!desc, sortColumn, lastSort)
+                        .or(o -> o.eq(sortColumn, lastSort)
+                                .lt(desc, idColumn, lastId).gt(!desc, idColumn, lastId)));
+            }
+        }
+        if (sortColumn != null) {
+            wrapper.orderBy(true, !desc, sortColumn);
+        }
+        wrapper.orderBy(true, !desc, idColumn);
+        wrapper.last("LIMIT " + (limitOf(pageSize) + 1));
+        return wrapper;
+    }
+
+    /**
+     * 由多取一条的查询结果构建分页结果：截断到 pageSize，并以最后一条记录生成下一页游标
+     *
+     * @param rows       seek 查询结果（最多 pageSize + 1 条）
+     * @param sortGetter 排序键取值函数，为 null 时仅按 ID 排序
+     * @param idGetter   ID 取值函数
+     */
+    public static <E> PageVO<E> build(List<E> rows, int pageSize,
+                                      Function<E, ?> sortGetter, Function<E, ? extends Number> idGetter) {
+        return build(rows, pageSize, sortGetter, idGetter, Function.identity());
+    }
+
+    /**
+     * 构建分页结果并转换记录，游标取自转换前的实体
+     */
+    public static <E, V> PageVO<V> build(List<E> rows, int pageSize,
+                                         Function<E, ?> sortGetter, Function<E, ? extends Number> idGetter,
+                                         Function<E, V> converter) {
+        int limit = limitOf(pageSize);
+        boolean hasMore = rows.size() > limit;
+        List<E> page = hasMore ? rows.subList(0, limit) : rows;
+
+        List<V> records = new ArrayList<>(page.size());
+        for (E row : page) {
+            records.add(converter.apply(row));
+        }
+
+        PageVO<V> result = new PageVO<>();
+        result.setPageSize(limit);
+        result.setRecords(records);
+        result.setHasMore(hasMore);
+        if (hasMore) {
+            E last = page.get(page.size() - 1);
+            Object sortValue = sortGetter != null ? sortGetter.apply(last) : null;
+            result.setNextCursor(new PageCursor(sortValue, idGetter.apply(last).longValue()).encode());
+        }
+        return result;
+    }
+
+    /**
+     * 构建分页结果并按目标类复制记录
+     */
+    public static <E, V> PageVO<V> build(List<E> rows, int pageSize,
+                                         Function<E, ?> sortGetter, Function<E, ? extends Number> idGetter,
+                                         Class<V> voClass) {
+        return build(rows, pageSize, sortGetter, idGetter, row -> BeanConvertUtil.to(row, voClass));
+    }
+
+    private static int limitOf(int pageSize) {
+        return Math.max(1, Math.min(pageSize, MAX_PAGE_SIZE));
+    }
+}
@@ -5,9 +5,9 @@ import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
 import com.hngy.siae.core.dto.PageDTO;
 import com.hngy.siae.core.dto.PageVO;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.function.Function;
-import java.util.stream.Collectors;
 
 /**
  * 分页转换工具类
@@ -72,16 +72,8 @@ public class PageConvertUtil {
      * @return PageVO<V>
      */
     public static <E, V> PageVO<V> convert(IPage<E> page, Class<V> voClass) {
-        List<V> converted = page.getRecords().stream()
-                .map(e -> BeanConvertUtil.to(e, voClass))
-                .collect(Collectors.toList());
-
-        // 构造一个新的 Page<V> 作为中转
-        Page<V> voPage = new Page<>(page.getCurrent(), page.getSize(), page.getTotal());
-        voPage.setRecords(converted);
-
-        // 调用已有的通用分页转换方法
-        return convert(voPage);
+        // 记录经缓存的 BeanCopier 批量复制，直接构建 PageVO，不再经 Page<V> 中转
+        return build(page, BeanConvertUtil.toList(page.getRecords(), voClass));
     }
 
     /**
@@ -94,16 +86,12 @@ public class PageConvertUtil {
      * @return PageVO<V>
      */
     public static <E, V> PageVO<V> convert(IPage<E> page, Function<E, V> converter) {
-        List<V> converted = page.getRecords().stream()
-                .map(converter)
-                .collect(Collectors.toList());
-
-        // 构造一个新的 Page<V> 作为中转
-        Page<V> voPage = new Page<>(page.getCurrent(), page.getSize(), page.getTotal());
-        voPage.setRecords(converted);
-
-        // 调用已有的通用分页转换方法
-        return convert(voPage);
+        List<E> records = page.getRecords();
+        List<V> converted = new ArrayList<>(records.size());
+        for (E record : records) {
+            converted.add(converter.apply(record));
+        }
+        return build(page, converted);
     }
 
     /**
@@ -0,0 +1,134 @@
+package com.hngy.siae.core.benchmark;
+
+import cn.hutool.core.bean.BeanUtil;
+import com.hngy.siae.core.utils.BeanConvertUtil;
+import lombok.Data;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bean 复制基准测试
+ * <ul>
+ *   <li>hutoolSingle / copierSingle：单个内容实体 → VO，Hutool 反射复制 vs 生成的 BeanCopier</li>
+ *   <li>hutoolPage / copierPage：一页 20 条记录的列表转换</li>
+ * </ul>
+ * 实体字段参照内容、考勤列表（Long/Integer/String/LocalDateTime/布尔/集合，含一个需类型转换的字段）
+ * 运行方式：在 IDE 中直接执行 main 方法
+ *
+ * @author KEYKB
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BeanCopyBenchmark {
+
+    private static final int PAGE_SIZE = 20;
+
+    private ContentEntity entity;
+    private List<ContentEntity> page;
+
+    @Setup
+    public void setup() {
+        entity = entity(1L);
+        page = new ArrayList<>(PAGE_SIZE);
+        for (int i = 0; i < PAGE_SIZE; i++) {
+            page.add(entity(i + 1L));
+        }
+        if (!BeanUtil.copyProperties(entity, ContentVO.class).equals(BeanConvertUtil.to(entity, ContentVO.class))) {
+            throw new IllegalStateException("BeanCopier 复制结果与 Hutool 不一致");
+        }
+    }
+
+    @Benchmark
+    public ContentVO hutoolSingle() {
+        return BeanUtil.copyProperties(entity, ContentVO.class);
+    }
+
+    @Benchmark
+    public ContentVO copierSingle() {
+        return BeanConvertUtil.to(entity, ContentVO.class);
+    }
+
+    @Benchmark
+    public List<ContentVO> hutoolPage() {
+        List<ContentVO> result = new ArrayList<>(page.size());
+        for (ContentEntity e : page) {
+            result.add(BeanUtil.copyProperties(e, ContentVO.class));
+        }
+        return result;
+    }
+
+    @Benchmark
+    public List<ContentVO> copierPage() {
+        return BeanConvertUtil.toList(page, ContentVO.class);
+    }
+
+    private static ContentEntity entity(Long id) {
+        ContentEntity e = new ContentEntity();
+        e.setId(id);
+        e.setTitle("社团活动纪要 " + id);
+        e.setDescription("本周例会与招新安排");
+        e.setType(1);
+        e.setStatus(2);
+        e.setCategoryId(12L);
+        e.setUploadedBy(10001L);
+        e.setViewCount(1024);
+        e.setIsTop(Boolean.TRUE);
+        e.setDeleted(false);
+        e.setTags(List.of("活动", "纪要"));
+        e.setCreateTime(LocalDateTime.of(2024, 9, 1, 10, 0));
+        e.setUpdateTime(LocalDateTime.of(2024, 9, 2, 18, 30));
+        return e;
+    }
+
+    @Data
+    public static class ContentEntity {
+        private Long id;
+        private String title;
+        private String description;
+        private Integer type;
+        private Integer status;
+        private Long categoryId;
+        private Long uploadedBy;
+        private long viewCount;
+        private Boolean isTop;
+        private boolean deleted;
+        private List<String> tags;
+        private LocalDateTime createTime;
+        private LocalDateTime updateTime;
+    }
+
+    @Data
+    public static class ContentVO {
+        private Long id;
+        private String title;
+        private String description;
+        private Integer type;
+        private Integer status;
+        private String categoryId;
+        private Long uploadedBy;
+        private Long viewCount;
+        private Boolean isTop;
+        private List<String> tags;
+        private LocalDateTime createTime;
+        private LocalDateTime updateTime;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(BeanCopyBenchmark.class.getSimpleName())
+                .build();
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,107 @@
+package com.hngy.siae.core.benchmark;
+
+import com.hngy.siae.core.utils.JwtClaims;
+import com.hngy.siae.core.utils.JwtUtils;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import javax.crypto.SecretKey;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JWT 解析基准测试
+ * <ul>
+ *   <li>rebuildParserEachCall / cachedParser：每次构建解析器 vs 预构建解析器（同一密钥、同一 Token）</li>
+ *   <li>legacyFourParses / parseOnce：validateToken + 三个 getter 各自解析 vs 一次解析得到声明记录</li>
+ * </ul>
+ * 运行方式：在 IDE 中直接执行 main 方法
+ *
+ * @author KEYKB
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtParseBenchmark {
+
+    private JwtUtils jwtUtils;
+    private String token;
+
+    private SecretKey key;
+    private JwtParser parser;
+    private String rawToken;
+
+    @Setup
+    public void setup() {
+        jwtUtils = new JwtUtils();
+        token = jwtUtils.createAccessToken(10001L, "benchmark-user");
+
+        key = Keys.secretKeyFor(SignatureAlgorithm.HS384);
+        parser = Jwts.parserBuilder().setSigningKey(key).build();
+        rawToken = Jwts.builder()
+                .claim("userId", 10001L)
+                .claim("username", "benchmark-user")
+                .setIssuedAt(new Date())
+                .setExpiration(new Date(System.currentTimeMillis() + TimeUnit.DAYS.toMillis(1)))
+                .signWith(key)
+                .compact();
+    }
+
+    /**
+     * 原实现：每次解析都重新构建解析器
+     */
+    @Benchmark
+    public Claims rebuildParserEachCall() {
+        return Jwts.parserBuilder()
+                .setSigningKey(key)
+                .build()
+                .parseClaimsJws(rawToken)
+                .getBody();
+    }
+
+    /**
+     * 预构建解析器
+     */
+    @Benchmark
+    public Claims cachedParser() {
+        return parser.parseClaimsJws(rawToken).getBody();
+    }
+
+    /**
+     * 原有调用方式：validateToken + getUserId + getUsername + getExpirationDate，共四次解析验签
+     */
+    @Benchmark
+    public void legacyFourParses(Blackhole bh) {
+        bh.consume(jwtUtils.validateToken(token));
+        bh.consume(jwtUtils.getUserId(token));
+        bh.consume(jwtUtils.getUsername(token));
+        bh.consume(jwtUtils.getExpirationDate(token));
+    }
+
+    /**
+     * 一次解析得到全部声明
+     */
+    @Benchmark
+    public JwtClaims parseOnce() {
+        return jwtUtils.parseOnce(token);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(JwtParseBenchmark.class.getSimpleName())
+                .build();
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,393 @@
+package com.hngy.siae.core.utils;
+
+import cn.hutool.core.bean.BeanUtil;
+import cn.hutool.core.bean.copier.CopyOptions;
+import com.baomidou.mybatisplus.annotation.EnumValue;
+import com.hngy.siae.core.enums.BaseEnum;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.Getter;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * BeanCopier 与 Hutool {@code BeanUtil.copyProperties} 的等价性测试
+ * <p>
+ * 测试 Bean 仿照服务中常见的实体/DTO → VO 组合（Long/Integer/String/LocalDateTime/{@link BaseEnum} 字段，
+ * 编码转枚举，忽略属性与 ignoreNullValue），分别以填满字段和全部为 null 的源对象比较两种复制结果；
+ * 另覆盖 null 到基本类型、Long 转 String、集合元素转换和 transient 字段。
+ *
+ * @author KEYKB
+ */
+class BeanCopierEquivalenceTest {
+
+    private static final LocalDateTime TIME = LocalDateTime.of(2024, 5, 20, 13, 14, 15);
+
+    @Test
+    void entityToVoPairsMatchHutool() {
+        assertEquivalent(BeanCopierEquivalenceTest::article, ArticleEntity::new, ArticleVO.class);
+        assertEquivalent(BeanCopierEquivalenceTest::statistics, StatisticsEntity::new, StatisticsVO.class);
+    }
+
+    @Test
+    void queryResultToVoConvertsCodesToEnums() {
+        assertEquivalent(BeanCopierEquivalenceTest::articleQueryResult, ArticleQueryResult::new, ArticleVO.class);
+    }
+
+    @Test
+    void createDtoToEntityMatchesHutoolWithIgnoredProperties() {
+        ArticleCreateDTO dto = new ArticleCreateDTO();
+        dto.setTitle("标题");
+        dto.setType("article");
+        dto.setDescription("描述");
+        dto.setUploadedBy(7L);
+        dto.setCategoryId(3L);
+        dto.setTagIds(List.of(1L, 2L));
+        dto.setStatus(ArticleStatus.PENDING);
+
+        BeanCopier<ArticleCreateDTO, ArticleEntity> copier = BeanCopier.of(ArticleCreateDTO.class, ArticleEntity.class);
+        assertThat(copier.isGenerated()).isTrue();
+        ArticleEntity expected = BeanUtil.copyProperties(dto, ArticleEntity.class, "type", "status");
+        assertThat(copier.copy(dto, "type", "status")).usingRecursiveComparison().isEqualTo(expected);
+        assertThat(BeanConvertUtil.to(dto, ArticleEntity.class, "type", "status"))
+                .usingRecursiveComparison().isEqualTo(expected);
+    }
+
+    @Test
+    void ignoreNullValueKeepsExistingTargetValues() {
+        StatisticsDTO dto = new StatisticsDTO();
+        dto.setLikeCount(11);
+        dto.setCommentCount(null);
+
+        StatisticsEntity expected = statistics();
+        BeanUtil.copyProperties(dto, expected, CopyOptions.create().setIgnoreNullValue(true));
+        StatisticsEntity actual = statistics();
+        BeanConvertUtil.to(dto, actual, true);
+
+        assertThat(actual).usingRecursiveComparison().isEqualTo(expected);
+        assertThat(actual.getLikeCount()).isEqualTo(11);
+        assertThat(actual.getCommentCount()).isEqualTo(statistics().getCommentCount());
+
+        // 不忽略 null 时 null 值覆盖目标字段
+        StatisticsEntity overwritten = statistics();
+        BeanConvertUtil.to(dto, overwritten, false);
+        StatisticsEntity hutoolOverwritten = statistics();
+        BeanUtil.copyProperties(dto, hutoolOverwritten, CopyOptions.create().setIgnoreNullValue(false));
+        assertThat(overwritten).usingRecursiveComparison().isEqualTo(hutoolOverwritten);
+        assertThat(overwritten.getCommentCount()).isNull();
+    }
+
+    @Test
+    void nullSourceValuesBecomePrimitiveDefaults() {
+        assertEquivalent(() -> {
+            WrapperBean bean = new WrapperBean();
+            bean.setCount(5);
+            bean.setEnabled(Boolean.TRUE);
+            bean.setScore(9L);
+            bean.setRatio(0.5d);
+            return bean;
+        }, WrapperBean::new, PrimitiveBean.class);
+
+        PrimitiveBean fromNulls = BeanCopier.of(WrapperBean.class, PrimitiveBean.class).copy(new WrapperBean());
+        assertThat(fromNulls.getCount()).isZero();
+        assertThat(fromNulls.isEnabled()).isFalse();
+        assertThat(fromNulls.getScore()).isZero();
+    }
+
+    @Test
+    void longValuesConvertToStrings() {
+        assertEquivalent(() -> {
+            NumericIdBean bean = new NumericIdBean();
+            bean.setId(1234567890123456789L);
+            bean.setUserId(42L);
+            return bean;
+        }, NumericIdBean::new, StringIdBean.class);
+
+        NumericIdBean source = new NumericIdBean();
+        source.setId(1234567890123456789L);
+        assertThat(BeanCopier.of(NumericIdBean.class, StringIdBean.class).copy(source).getId())
+                .isEqualTo("1234567890123456789");
+    }
+
+    @Test
+    void collectionElementsAreConverted() {
+        assertEquivalent(() -> {
+            CollectionSource bean = new CollectionSource();
+            bean.setIds(List.of(1L, 2L, 3L));
+            bean.setTags(Set.of("java"));
+            bean.setCounts(Map.of("like", 3));
+            bean.setNames(List.of("a", "b"));
+            return bean;
+        }, CollectionSource::new, CollectionTarget.class);
+
+        CollectionSource source = new CollectionSource();
+        source.setIds(List.of(1L, 2L));
+        source.setNames(List.of("a"));
+        CollectionTarget target = BeanCopier.of(CollectionSource.class, CollectionTarget.class).copy(source);
+        assertThat(target.getIds()).containsExactly("1", "2");
+        assertThat(target.getNames()).containsExactly("a");
+    }
+
+    @Test
+    void transientPropertiesAreSkipped() {
+        assertEquivalent(() -> {
+            TransientBean bean = new TransientBean();
+            bean.setName("name");
+            bean.setSecret("secret");
+            bean.setDerived("derived");
+            return bean;
+        }, TransientBean::new, TransientBean.class);
+
+        TransientBean source = new TransientBean();
+        source.setName("name");
+        source.setSecret("secret");
+        source.setDerived("derived");
+        TransientBean target = BeanCopier.of(TransientBean.class, TransientBean.class).copy(source);
+        assertThat(target.getName()).isEqualTo("name");
+        assertThat(target.getSecret()).isNull();
+        assertThat(target.getDerived()).isNull();
+    }
+
+    @Test
+    void listConversionMatchesHutool() {
+        List<ArticleEntity> articles = List.of(article(), new ArticleEntity(), article());
+        List<ArticleVO> expected = articles.stream()
+                .map(article -> BeanUtil.copyProperties(article, ArticleVO.class))
+                .toList();
+        assertThat(BeanConvertUtil.toList(articles, ArticleVO.class))
+                .usingRecursiveComparison().isEqualTo(expected);
+    }
+
+    /**
+     * 以填满字段和全部为 null 的源对象分别比较生成的复制器与 Hutool 的结果
+     */
+    private static <S, T> void assertEquivalent(Supplier<S> populated, Supplier<S> empty, Class<T> targetClass) {
+        S source = populated.get();
+        @SuppressWarnings("unchecked")
+        BeanCopier<S, T> copier = BeanCopier.of((Class<S>) source.getClass(), targetClass);
+        assertThat(copier.isGenerated()).as(copier.toString()).isTrue();
+
+        assertThat(copier.copy(source)).as(copier + " populated")
+                .usingRecursiveComparison().isEqualTo(BeanUtil.copyProperties(source, targetClass));
+        S nullSource = empty.get();
+        assertThat(copier.copy(nullSource)).as(copier + " nulls")
+                .usingRecursiveComparison().isEqualTo(BeanUtil.copyProperties(nullSource, targetClass));
+    }
+
+    private static ArticleEntity article() {
+        ArticleEntity article = new ArticleEntity();
+        article.setId(1L);
+        article.setTitle("标题");
+        article.setType(ArticleType.NOTE);
+        article.setDescription("描述");
+        article.setUploadedBy(7L);
+        article.setStatus(ArticleStatus.PUBLISHED);
+        article.setVersion(2);
+        article.setCreateTime(TIME);
+        article.setUpdateTime(TIME.plusHours(1));
+        article.setCategoryId(3L);
+        return article;
+    }
+
+    private static ArticleQueryResult articleQueryResult() {
+        ArticleQueryResult result = new ArticleQueryResult();
+        result.setId(1L);
+        result.setTitle("标题");
+        result.setType(1);
+        result.setDescription("描述");
+        result.setUploadedBy(7L);
+        result.setCategoryId(3L);
+        result.setStatus(2);
+        result.setCreateTime(TIME);
+        result.setUpdateTime(TIME);
+        result.setCategoryName("分类");
+        result.setViewCount(10);
+        result.setTagNamesStr("java,spring");
+        return result;
+    }
+
+    private static StatisticsEntity statistics() {
+        StatisticsEntity statistics = new StatisticsEntity();
+        statistics.setId(1L);
+        statistics.setContentId(2L);
+        statistics.setViewCount(100);
+        statistics.setLikeCount(10);
+        statistics.setCommentCount(3);
+        statistics.setCreateTime(TIME);
+        statistics.setUpdateTime(TIME);
+        return statistics;
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public enum ArticleType implements BaseEnum {
+        NOTE(0, "笔记"),
+        ARTICLE(1, "文章"),
+        VIDEO(2, "视频");
+
+        @EnumValue
+        private final int code;
+        private final String description;
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public enum ArticleStatus implements BaseEnum {
+        DRAFT(0, "草稿"),
+        PENDING(1, "待审核"),
+        PUBLISHED(2, "已发布"),
+        TRASH(3, "垃圾箱");
+
+        @EnumValue
+        private final int code;
+        private final String description;
+    }
+
+    @Data
+    public static class ArticleEntity {
+        private Long id;
+        private String title;
+        private ArticleType type;
+        private String description;
+        private Long uploadedBy;
+        private ArticleStatus status;
+        private Integer version;
+        private LocalDateTime createTime;
+        private LocalDateTime updateTime;
+        private Long categoryId;
+    }
+
+    @Data
+    public static class ArticleQueryResult {
+        private Long id;
+        private String title;
+        private Integer type;
+        private String description;
+        private Long uploadedBy;
+        private Long categoryId;
+        private Integer status;
+        private LocalDateTime createTime;
+        private LocalDateTime updateTime;
+        private String categoryName;
+        private Integer viewCount;
+        private String tagNamesStr;
+    }
+
+    @Data
+    public static class ArticleVO {
+        private Long id;
+        private String title;
+        private ArticleType type;
+        private String description;
+        private Long uploadedBy;
+        private String authorNickname;
+        private Long categoryId;
+        private String categoryName;
+        private ArticleStatus status;
+        private Integer viewCount;
+        private List<String> tagNames;
+        private LocalDateTime createTime;
+        private LocalDateTime updateTime;
+    }
+
+    @Data
+    public static class ArticleCreateDTO {
+        private String title;
+        private String type;
+        private String description;
+        private Long uploadedBy;
+        private Long categoryId;
+        private List<Long> tagIds;
+        private ArticleStatus status;
+    }
+
+    @Data
+    public static class StatisticsEntity {
+        private Long id;
+        private Long contentId;
+        private Integer viewCount;
+        private Integer likeCount;
+        private Integer commentCount;
+        private LocalDateTime createTime;
+        private LocalDateTime updateTime;
+    }
+
+    @Data
+    public static class StatisticsVO {
+        private Long id;
+        private Long contentId;
+        private Integer viewCount;
+        private Integer likeCount;
+        private Integer commentCount;
+        private LocalDateTime updateTime;
+    }
+
+    @Data
+    public static class StatisticsDTO {
+        private Integer likeCount;
+        private Integer commentCount;
+    }
+
+    @Data
+    public static class WrapperBean {
+        private Integer count;
+        private Boolean enabled;
+        private Long score;
+        private Double ratio;
+    }
+
+    @Data
+    public static class PrimitiveBean {
+        private int count;
+        private boolean enabled;
+        private long score;
+        private double ratio;
+    }
+
+    @Data
+    public static class NumericIdBean {
+        private Long id;
+        private Long userId;
+    }
+
+    @Data
+    public static class StringIdBean {
+        private String id;
+        private String userId;
+    }
+
+    @Data
+    public static class CollectionSource {
+        private List<Long> ids;
+        private Set<String> tags;
+        private Map<String, Integer> counts;
+        private List<String> names;
+    }
+
+    @Data
+    public static class CollectionTarget {
+        private List<String> ids;
+        private List<String> tags;
+        private Map<String, Long> counts;
+        private List<String> names;
+    }
+
+    @Data
+    public static class TransientBean {
+        private String name;
+        private transient String secret;
+        private String derived;
+
+        @java.beans.Transient
+        public String getDerived() {
+            return derived;
+        }
+    }
+}
@@ -1,15 +1,28 @@
 package com.hngy.siae.feign.autoconfigure;
 
 import com.hngy.siae.core.config.AuthProperties;
+import com.hngy.siae.feign.batch.ChunkedBatchExecutor;
+import com.hngy.siae.feign.collapser.RequestCollapserFactory;
 import com.hngy.siae.feign.decoder.ResultErrorDecoder;
 import com.hngy.siae.feign.decoder.ResultUnwrapDecoder;
+import com.hngy.siae.feign.http.InstrumentedConnectionManager;
 import com.hngy.siae.feign.interceptor.FeignAuthenticationInterceptor;
 import feign.Logger;
 import feign.RequestInterceptor;
 import feign.codec.Decoder;
 import feign.codec.ErrorDecoder;
+import feign.hc5.ApacheHttp5Client;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.httpcomponents.hc5.PoolingHttpClientConnectionManagerMetricsBinder;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.impl.DefaultConnectionKeepAliveStrategy;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.io.HttpClientConnectionManager;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.ObjectFactory;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.AutoConfiguration;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
@@ -17,8 +30,10 @@ import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.autoconfigure.http.HttpMessageConverters;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cloud.openfeign.clientconfig.HttpClient5FeignConfiguration.HttpClientBuilderCustomizer;
 import org.springframework.cloud.openfeign.support.SpringDecoder;
 import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
 
 /**
  * Feign 自动配置类
@@ -28,11 +43,15 @@ import org.springframework.context.annotation.Bean;
  *     <li>ResultUnwrapDecoder - 自动解包 Result&lt;T&gt; 对象</li>
  *     <li>ResultErrorDecoder - 自动转换错误响应为业务异常</li>
  *     <li>日志级别配置</li>
+ *     <li>RequestCollapserFactory - 合并并发的按键查询为批量调用</li>
+ *     <li>ChunkedBatchExecutor - 大批量按键查询分片并行调用</li>
+ *     <li>HTTP 连接池 - Apache HttpClient 5 连接池参数、保活与连接池指标</li>
  * </ul>
+ * 需先于 Spring Cloud OpenFeign 的自动配置加载，以便其 HttpClient 5 配置复用这里的连接池。
  *
  * @author SIAE开发团队
  */
-@AutoConfiguration
+@AutoConfiguration(beforeName = "org.springframework.cloud.openfeign.FeignAutoConfiguration")
 @ConditionalOnClass({Decoder.class, ErrorDecoder.class})
 @ConditionalOnProperty(prefix = "siae.feign", name = "enabled", havingValue = "true", matchIfMissing = true)
 @EnableConfigurationProperties(FeignProperties.class)
@@ -99,6 +118,36 @@ public class FeignAutoConfiguration {
         return logLevel;
     }
 
+    /**
+     * 配置请求合并器工厂
+     *
+     * @param registryProvider 指标注册表（可选）
+     * @return 请求合并器工厂
+     */
+    @Bean
+    @ConditionalOnMissingBean(RequestCollapserFactory.class)
+    public RequestCollapserFactory requestCollapserFactory(ObjectProvider<MeterRegistry> registryProvider) {
+        FeignProperties.Collapser collapser = properties.getCollapser();
+        log.info("[SIAE-Feign] Registering RequestCollapserFactory: enabled={}, window={}ms, maxBatchSize={}",
+                collapser.isEnabled(), collapser.getWindow(), collapser.getMaxBatchSize());
+        return new RequestCollapserFactory(collapser, registryProvider.getIfAvailable());
+    }
+
+    /**
+     * 配置分片批量调用执行器
+     *
+     * @param registryProvider 指标注册表（可选）
+     * @return 分片批量调用执行器
+     */
+    @Bean
+    @ConditionalOnMissingBean(ChunkedBatchExecutor.class)
+    public ChunkedBatchExecutor chunkedBatchExecutor(ObjectProvider<MeterRegistry> registryProvider) {
+        FeignProperties.Batch batch = properties.getBatch();
+        log.info("[SIAE-Feign] Registering ChunkedBatchExecutor: maxBatchSize={}, threads={}",
+                batch.getMaxBatchSize(), batch.getThreads());
+        return new ChunkedBatchExecutor(batch, registryProvider.getIfAvailable());
+    }
+
     /**
      * 配置 Feign 认证拦截器
      * <p>
@@ -124,6 +173,73 @@ public class FeignAutoConfiguration {
         log.info("[SIAE-Feign] AuthProperties internalSecretKey: {}", 
                 authProperties.getInternalSecretKey() != null ? 
                 authProperties.getInternalSecretKey().substring(0, Math.min(8, authProperties.getInternalSecretKey().length())) + "..." : "NULL");
-        return new FeignAuthenticationInterceptor(authProperties, applicationName);
+        return new FeignAuthenticationInterceptor(authProperties, applicationName, properties.getLogSampleRate());
+    }
+
+    /**
+     * HTTP 连接池配置
+     * <p>
+     * 提供带指标的连接池，Spring Cloud OpenFeign 的 HttpClient 5 配置检测到该连接池后不再创建默认连接池，
+     * 并通过 {@link HttpClientBuilderCustomizer} 应用保活、空闲连接清理与响应压缩设置。
+     */
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnClass({ApacheHttp5Client.class, PoolingHttpClientConnectionManager.class})
+    @ConditionalOnProperty(prefix = "siae.feign.http-client", name = "enabled", havingValue = "true", matchIfMissing = true)
+    static class HttpClientConfiguration {
+
+        /**
+         * 配置 Feign 连接池
+         *
+         * @param properties       Feign 配置
+         * @param registryProvider 指标注册表（可选）
+         * @return 连接池
+         */
+        @Bean
+        @ConditionalOnMissingBean(HttpClientConnectionManager.class)
+        public InstrumentedConnectionManager feignConnectionManager(FeignProperties properties,
+                                                                    ObjectProvider<MeterRegistry> registryProvider) {
+            FeignProperties.HttpClient httpClient = properties.getHttpClient();
+            MeterRegistry meterRegistry = registryProvider.getIfAvailable();
+
+            InstrumentedConnectionManager connectionManager = new InstrumentedConnectionManager(
+                    TimeValue.ofMilliseconds(httpClient.getTimeToLive()), meterRegistry);
+            connectionManager.setMaxTotal(httpClient.getMaxConnections());
+            connectionManager.setDefaultMaxPerRoute(httpClient.getMaxConnectionsPerRoute());
+            connectionManager.setDefaultConnectionConfig(ConnectionConfig.custom()
+                    .setConnectTimeout(Timeout.ofMilliseconds(properties.getConnectTimeout()))
+                    .setSocketTimeout(Timeout.ofMilliseconds(properties.getReadTimeout()))
+                    .setTimeToLive(TimeValue.ofMilliseconds(httpClient.getTimeToLive()))
+                    .setValidateAfterInactivity(TimeValue.ofMilliseconds(httpClient.getValidateAfterInactivity()))
+                    .build());
+            if (meterRegistry != null) {
+                new PoolingHttpClientConnectionManagerMetricsBinder(connectionManager, "siae-feign")
+                        .bindTo(meterRegistry);
+            }
+            log.info("[SIAE-Feign] Registering pooled HTTP client: maxConnections={}, maxPerRoute={}, keepAlive={}ms, compression={}",
+                    httpClient.getMaxConnections(), httpClient.getMaxConnectionsPerRoute(),
+                    httpClient.getKeepAlive(), httpClient.isCompression());
+            return connectionManager;
+        }
+
+        /**
+         * 配置 HttpClient 构建参数：保活时间取服务端声明值与配置值中的较小者，后台清理过期与空闲连接
+         *
+         * @param properties Feign 配置
+         * @return HttpClient 构建定制器
+         */
+        @Bean
+        public HttpClientBuilderCustomizer feignHttpClientBuilderCustomizer(FeignProperties properties) {
+            FeignProperties.HttpClient httpClient = properties.getHttpClient();
+            TimeValue keepAlive = TimeValue.ofMilliseconds(httpClient.getKeepAlive());
+            return builder -> {
+                builder.setKeepAliveStrategy((response, context) ->
+                        DefaultConnectionKeepAliveStrategy.INSTANCE.getKeepAliveDuration(response, context).min(keepAlive));
+                builder.evictExpiredConnections();
+                builder.evictIdleConnections(keepAlive);
+                if (!httpClient.isCompression()) {
+                    builder.disableContentCompression();
+                }
+            };
+        }
     }
 }
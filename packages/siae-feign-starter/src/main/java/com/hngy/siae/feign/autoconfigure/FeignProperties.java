@@ -40,6 +40,11 @@ public class FeignProperties {
      */
     private String logLevel = "BASIC";
 
+    /**
+     * 认证拦截器调试日志采样率（0~1），仅在 DEBUG 级别下按该比例记录出站调用，1 表示每次调用都记录
+     */
+    private double logSampleRate = 0.01;
+
     /**
      * 连接超时时间（毫秒）
      */
@@ -50,4 +55,131 @@ public class FeignProperties {
      */
     private int readTimeout = 10000;
 
+    /**
+     * HTTP 连接池配置
+     */
+    private HttpClient httpClient = new HttpClient();
+
+    /**
+     * 请求合并配置
+     */
+    private Collapser collapser = new Collapser();
+
+    /**
+     * 分片批量调用配置
+     */
+    private Batch batch = new Batch();
+
+    /**
+     * HTTP 连接池配置
+     * <p>
+     * Feign 底层使用 Apache HttpClient 5 连接池，替代 Spring Cloud 默认的
+     * {@code spring.cloud.openfeign.httpclient.*} 连接池参数
+     */
+    @Data
+    public static class HttpClient {
+
+        /**
+         * 是否启用连接池配置，关闭后使用 Spring Cloud OpenFeign 默认的连接池
+         */
+        private boolean enabled = true;
+
+        /**
+         * 连接池最大连接数
+         */
+        private int maxConnections = 200;
+
+        /**
+         * 每个目标实例（路由）的最大连接数
+         */
+        private int maxConnectionsPerRoute = 50;
+
+        /**
+         * 连接最长存活时间（毫秒），到期后不再复用，便于实例上下线后连接重新分布
+         */
+        private long timeToLive = 300000;
+
+        /**
+         * 服务端未声明 Keep-Alive 时连接的保活时间（毫秒），超过该时长的空闲连接会被后台清理
+         */
+        private long keepAlive = 30000;
+
+        /**
+         * 连接空闲超过该时长（毫秒）后再次使用前先校验可用性
+         */
+        private long validateAfterInactivity = 2000;
+
+        /**
+         * 是否接受 gzip/deflate 压缩的响应体
+         */
+        private boolean compression = true;
+    }
+
+    /**
+     * 请求合并配置
+     * <p>
+     * 并发的单键查询在合并窗口内合并为一次批量调用，再按键分发结果
+     */
+    @Data
+    public static class Collapser {
+
+        /**
+         * 是否启用请求合并，关闭后每次查询直接调用批量接口
+         */
+        private boolean enabled = true;
+
+        /**
+         * 合并窗口（毫秒），首个请求到达后等待该时长再发起批量调用
+         */
+        private long window = 5;
+
+        /**
+         * 单批最大键数，达到后立即发起批量调用
+         */
+        private int maxBatchSize = 100;
+
+        /**
+         * 调用方等待批量结果的超时时间（毫秒）
+         */
+        private long timeout = 10000;
+
+        /**
+         * 执行批量调用的线程数
+         */
+        private int threads = 8;
+
+        /**
+         * 待执行批次队列容量，队列满时该批请求直接失败
+         */
+        private int queueCapacity = 1000;
+    }
+
+    /**
+     * 分片批量调用配置
+     * <p>
+     * 大批量按键查询按单批上限拆分，并行调用后合并结果
+     */
+    @Data
+    public static class Batch {
+
+        /**
+         * 单批最大键数
+         */
+        private int maxBatchSize = 500;
+
+        /**
+         * 并行执行分片的线程数
+         */
+        private int threads = 8;
+
+        /**
+         * 待执行分片队列容量，队列满时由调用方线程直接执行
+         */
+        private int queueCapacity = 200;
+
+        /**
+         * 调用方等待全部分片完成的超时时间（毫秒）
+         */
+        private long timeout = 30000;
+    }
 }
@@ -0,0 +1,174 @@
+package com.hngy.siae.feign.batch;
+
+import com.hngy.siae.core.exception.ServiceException;
+import com.hngy.siae.feign.autoconfigure.FeignProperties;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.security.concurrent.DelegatingSecurityContextRunnable;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * 分片批量调用执行器
+ * <p>
+ * 将大批量的按键查询拆分为不超过单批上限的若干分片，最后一个分片在调用方线程执行，其余分片并行提交到
+ * 有界线程池，全部完成后合并结果。线程池满时由调用方线程直接执行（背压），不会丢弃分片。
+ * 分片执行时沿用调用方线程的安全上下文，{@code X-On-Behalf-Of-User} 等认证头与串行调用一致。
+ * <p>
+ * 任一分片失败时整体失败并抛出该分片的异常，由调用方决定降级策略。
+ *
+ * @author KEYKB
+ */
+@Slf4j
+public class ChunkedBatchExecutor implements DisposableBean {
+
+    private static final String METRIC_CHUNKS = "siae.feign.batch.chunks";
+
+    private final FeignProperties.Batch properties;
+    private final MeterRegistry meterRegistry;
+    private final ThreadPoolExecutor executor;
+
+    /**
+     * 按名称缓存的分片数指标，名称为调用点常量，数量有限
+     */
+    private final Map<String, DistributionSummary> chunkSummaries = new ConcurrentHashMap<>();
+
+    public ChunkedBatchExecutor(FeignProperties.Batch properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+        int threads = Math.max(1, properties.getThreads());
+        AtomicInteger counter = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, properties.getQueueCapacity())),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "siae-feign-batch-" + counter.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.CallerRunsPolicy());
+        this.executor.allowCoreThreadTimeOut(true);
+    }
+
+    /**
+     * 单批最大键数
+     */
+    public int getMaxBatchSize() {
+        return Math.max(1, properties.getMaxBatchSize());
+    }
+
+    /**
+     * 按配置的单批上限分片执行批量查询
+     *
+     * @param name        名称，用于日志与指标标签
+     * @param keys        键集合，null 与重复键会被剔除
+     * @param batchLoader 单个分片的批量查询函数，返回键到值的映射
+     * @return 合并后的键到值映射
+     */
+    public <K, V> Map<K, V> execute(String name, Collection<K> keys, Function<List<K>, Map<K, V>> batchLoader) {
+        return execute(name, keys, getMaxBatchSize(), batchLoader);
+    }
+
+    /**
+     * 按指定的单批上限分片执行批量查询
+     */
+    public <K, V> Map<K, V> execute(String name, Collection<K> keys, int maxBatchSize,
+                                    Function<List<K>, Map<K, V>> batchLoader) {
+        if (keys == null || keys.isEmpty()) {
+            return new LinkedHashMap<>();
+        }
+        List<List<K>> chunks = split(keys, Math.max(1, maxBatchSize));
+        record(name, chunks.size());
+        if (chunks.size() == 1) {
+            return merge(new LinkedHashMap<>(), batchLoader.apply(chunks.get(0)));
+        }
+
+        List<CompletableFuture<Map<K, V>>> futures = new ArrayList<>(chunks.size() - 1);
+        for (List<K> chunk : chunks.subList(0, chunks.size() - 1)) {
+            CompletableFuture<Map<K, V>> future = new CompletableFuture<>();
+            executor.execute(new DelegatingSecurityContextRunnable(() -> {
+                try {
+                    future.complete(batchLoader.apply(chunk));
+                } catch (Throwable e) {
+                    future.completeExceptionally(e);
+                }
+            }));
+            futures.add(future);
+        }
+
+        Map<K, V> result = new LinkedHashMap<>();
+        Map<K, V> last = batchLoader.apply(chunks.get(chunks.size() - 1));
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(properties.getTimeout());
+        for (CompletableFuture<Map<K, V>> future : futures) {
+            merge(result, await(name, future, deadline));
+        }
+        return merge(result, last);
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdown();
+    }
+
+    private static <K> List<List<K>> split(Collection<K> keys, int maxBatchSize) {
+        List<K> distinct = new ArrayList<>(new LinkedHashSet<>(keys));
+        distinct.removeIf(Objects::isNull);
+        List<List<K>> chunks = new ArrayList<>((distinct.size() + maxBatchSize - 1) / maxBatchSize);
+        for (int from = 0; from < distinct.size(); from += maxBatchSize) {
+            chunks.add(distinct.subList(from, Math.min(from + maxBatchSize, distinct.size())));
+        }
+        return chunks;
+    }
+
+    private static <K, V> Map<K, V> merge(Map<K, V> target, Map<K, V> chunkResult) {
+        if (chunkResult != null) {
+            target.putAll(chunkResult);
+        }
+        return target;
+    }
+
+    private <K, V> Map<K, V> await(String name, CompletableFuture<Map<K, V>> future, long deadline) {
+        try {
+            return future.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new ServiceException(503, "分片批量查询失败: " + name);
+        } catch (TimeoutException e) {
+            throw new ServiceException(504, "分片批量查询超时: " + name);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ServiceException(503, "分片批量查询被中断: " + name);
+        }
+    }
+
+    private void record(String name, int chunkCount) {
+        if (meterRegistry != null) {
+            chunkSummaries.computeIfAbsent(name, key -> DistributionSummary.builder(METRIC_CHUNKS)
+                            .tag("name", key)
+                            .register(meterRegistry))
+                    .record(chunkCount);
+        }
+        if (chunkCount > 1) {
+            log.debug("分片批量查询, name={}, chunks={}", name, chunkCount);
+        }
+    }
+}
@@ -0,0 +1,226 @@
+package com.hngy.siae.feign.collapser;
+
+import com.hngy.siae.core.exception.ServiceException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
+
+/**
+ * 请求合并器
+ * <p>
+ * 将并发的单键（或少量键）查询在合并窗口内合并为一次批量调用，再把结果按键分发给各调用方：
+ * 首个键到达时开启窗口，窗口到期或累计键数达到上限时发起批量调用；同一批次内重复的键只查询一次。
+ * 批量调用在合并器线程池中执行，不携带调用方线程的安全上下文，适用于与当前用户无关的按 ID 查询。
+ * <p>
+ * 通过 {@link RequestCollapserFactory#create} 创建，每个批量接口一个实例。
+ *
+ * @param <K> 键类型
+ * @param <V> 值类型
+ * @author KEYKB
+ */
+@Slf4j
+public class RequestCollapser<K, V> {
+
+    private static final String METRIC_BATCH_SIZE = "siae.feign.collapser.batch.size";
+    private static final String METRIC_REQUESTS = "siae.feign.collapser.requests";
+    private static final String METRIC_FAILURES = "siae.feign.collapser.failures";
+
+    private final String name;
+    private final Function<List<K>, Map<K, V>> batchLoader;
+    private final boolean enabled;
+    private final long windowMillis;
+    private final int maxBatchSize;
+    private final long timeoutMillis;
+    private final ScheduledExecutorService scheduler;
+    private final Executor executor;
+
+    private final DistributionSummary batchSizeSummary;
+    private final Counter requestCounter;
+    private final Counter failureCounter;
+
+    private final Object lock = new Object();
+    private Map<K, CompletableFuture<V>> pending = new LinkedHashMap<>();
+
+    RequestCollapser(String name, Function<List<K>, Map<K, V>> batchLoader, boolean enabled,
+                     long windowMillis, int maxBatchSize, long timeoutMillis,
+                     ScheduledExecutorService scheduler, Executor executor, MeterRegistry meterRegistry) {
+        this.name = name;
+        this.batchLoader = batchLoader;
+        this.enabled = enabled && windowMillis > 0;
+        this.windowMillis = windowMillis;
+        this.maxBatchSize = Math.max(1, maxBatchSize);
+        this.timeoutMillis = timeoutMillis;
+        this.scheduler = scheduler;
+        this.executor = executor;
+        if (meterRegistry != null) {
+            this.batchSizeSummary = DistributionSummary.builder(METRIC_BATCH_SIZE)
+                    .tag("name", name)
+                    .publishPercentiles(0.5, 0.99)
+                    .register(meterRegistry);
+            this.requestCounter = Counter.builder(METRIC_REQUESTS).tag("name", name).register(meterRegistry);
+            this.failureCounter = Counter.builder(METRIC_FAILURES).tag("name", name).register(meterRegistry);
+        } else {
+            this.batchSizeSummary = null;
+            this.requestCounter = null;
+            this.failureCounter = null;
+        }
+    }
+
+    /**
+     * 异步查询单个键，结果中不存在该键时以 null 完成
+     */
+    public CompletableFuture<V> load(K key) {
+        if (requestCounter != null) {
+            requestCounter.increment();
+        }
+        if (!enabled) {
+            CompletableFuture<V> future = new CompletableFuture<>();
+            Map<K, CompletableFuture<V>> batch = new LinkedHashMap<>();
+            batch.put(key, future);
+            execute(batch);
+            return future;
+        }
+
+        CompletableFuture<V> future;
+        Map<K, CompletableFuture<V>> full = null;
+        boolean first;
+        synchronized (lock) {
+            future = pending.get(key);
+            if (future != null) {
+                return future;
+            }
+            future = new CompletableFuture<>();
+            first = pending.isEmpty();
+            pending.put(key, future);
+            if (pending.size() >= maxBatchSize) {
+                full = pending;
+                pending = new LinkedHashMap<>();
+            }
+        }
+        if (full != null) {
+            dispatch(full);
+        } else if (first) {
+            scheduler.schedule(this::flush, windowMillis, TimeUnit.MILLISECONDS);
+        }
+        return future;
+    }
+
+    /**
+     * 查询单个键，阻塞等待合并后的批量结果
+     */
+    public V get(K key) {
+        if (key == null) {
+            return null;
+        }
+        return await(load(key));
+    }
+
+    /**
+     * 批量查询，键数超过单批上限时自动拆分，可与其他调用方的键合并
+     *
+     * @return 键到值的映射，不包含查询不到的键
+     */
+    public Map<K, V> getAll(Collection<K> keys) {
+        if (keys == null || keys.isEmpty()) {
+            return Map.of();
+        }
+        if (!enabled) {
+            if (requestCounter != null) {
+                requestCounter.increment(keys.size());
+            }
+            Map<K, V> result = batchLoader.apply(keys.stream().filter(Objects::nonNull).distinct().toList());
+            return result != null ? result : Map.of();
+        }
+        Map<K, CompletableFuture<V>> futures = new LinkedHashMap<>();
+        for (K key : keys) {
+            if (key != null && !futures.containsKey(key)) {
+                futures.put(key, load(key));
+            }
+        }
+        Map<K, V> result = new LinkedHashMap<>();
+        for (Map.Entry<K, CompletableFuture<V>> entry : futures.entrySet()) {
+            V value = await(entry.getValue());
+            if (value != null) {
+                result.put(entry.getKey(), value);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 窗口到期：发起当前累积批次
+     */
+    private void flush() {
+        Map<K, CompletableFuture<V>> batch;
+        synchronized (lock) {
+            if (pending.isEmpty()) {
+                return;
+            }
+            batch = pending;
+            pending = new LinkedHashMap<>();
+        }
+        dispatch(batch);
+    }
+
+    private void dispatch(Map<K, CompletableFuture<V>> batch) {
+        try {
+            executor.execute(() -> execute(batch));
+        } catch (RejectedExecutionException e) {
+            log.warn("请求合并批次被拒绝, name={}, size={}", name, batch.size());
+            fail(batch, new ServiceException(503, "批量查询繁忙，请稍后重试"));
+        }
+    }
+
+    private void execute(Map<K, CompletableFuture<V>> batch) {
+        if (batchSizeSummary != null) {
+            batchSizeSummary.record(batch.size());
+        }
+        try {
+            Map<K, V> result = batchLoader.apply(new ArrayList<>(batch.keySet()));
+            batch.forEach((key, future) -> future.complete(result != null ? result.get(key) : null));
+        } catch (Throwable e) {
+            log.warn("请求合并批量调用失败, name={}, size={}: {}", name, batch.size(), e.getMessage());
+            fail(batch, e);
+        }
+    }
+
+    private void fail(Map<K, CompletableFuture<V>> batch, Throwable cause) {
+        if (failureCounter != null) {
+            failureCounter.increment();
+        }
+        batch.values().forEach(future -> future.completeExceptionally(cause));
+    }
+
+    private V await(CompletableFuture<V> future) {
+        try {
+            return future.get(timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new ServiceException(503, "批量查询失败: " + name);
+        } catch (TimeoutException e) {
+            throw new ServiceException(504, "批量查询超时: " + name);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ServiceException(503, "批量查询被中断: " + name);
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package com.hngy.siae.feign.collapser;
+
+import com.hngy.siae.feign.autoconfigure.FeignProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.DisposableBean;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * 请求合并器工厂
+ * <p>
+ * 所有合并器共享一个窗口调度线程与一个有界的批量调用线程池，参数取自 {@code siae.feign.collapser}。
+ *
+ * @author KEYKB
+ */
+public class RequestCollapserFactory implements DisposableBean {
+
+    private final FeignProperties.Collapser properties;
+    private final MeterRegistry meterRegistry;
+    private final ScheduledExecutorService scheduler;
+    private final ThreadPoolExecutor executor;
+
+    public RequestCollapserFactory(FeignProperties.Collapser properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(threadFactory("siae-collapser-timer-"));
+        int threads = Math.max(1, properties.getThreads());
+        this.executor = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, properties.getQueueCapacity())),
+                threadFactory("siae-collapser-"), new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    /**
+     * 创建请求合并器
+     *
+     * @param name        名称，用于日志与指标标签
+     * @param batchLoader 批量查询函数，返回键到值的映射
+     */
+    public <K, V> RequestCollapser<K, V> create(String name, Function<List<K>, Map<K, V>> batchLoader) {
+        return new RequestCollapser<>(name, batchLoader, properties.isEnabled(), properties.getWindow(),
+                properties.getMaxBatchSize(), properties.getTimeout(), scheduler, executor, meterRegistry);
+    }
+
+    @Override
+    public void destroy() {
+        scheduler.shutdownNow();
+        executor.shutdown();
+    }
+
+    private static ThreadFactory threadFactory(String prefix) {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
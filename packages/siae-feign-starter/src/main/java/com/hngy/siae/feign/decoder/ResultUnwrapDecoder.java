@@ -1,31 +1,36 @@
 package com.hngy.siae.feign.decoder;
 
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.databind.DeserializationFeature;
-import com.fasterxml.jackson.databind.JavaType;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
 import com.fasterxml.jackson.databind.SerializationFeature;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 import com.fasterxml.jackson.datatype.jsr310.deser.LocalDateTimeDeserializer;
 import com.fasterxml.jackson.datatype.jsr310.ser.LocalDateTimeSerializer;
 import com.hngy.siae.core.exception.ServiceException;
-import com.hngy.siae.core.result.Result;
 import feign.FeignException;
 import feign.Response;
-import feign.Util;
 import feign.codec.DecodeException;
 import feign.codec.Decoder;
 import lombok.extern.slf4j.Slf4j;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.lang.reflect.Type;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Feign Result 解包解码器
  * <p>
  * 用于将 Provider 服务返回的 Result&lt;T&gt; 对象自动解包，提取其中的 data 字段。
  * 这样 Feign Client 接口可以直接返回 T 类型，而不需要返回 Result&lt;T&gt;。
+ * 响应体直接从输入流流式解析，不先读成字符串或 JSON 树；data 字段的读取器按返回类型缓存。
  * <p>
  * 使用方式：
  * <pre>
@@ -43,8 +48,11 @@ import java.time.format.DateTimeFormatter;
 @Slf4j
 public class ResultUnwrapDecoder implements Decoder {
     
+    private static final int SUCCESS_CODE = 200;
+
     private final Decoder delegate;
     private final ObjectMapper objectMapper;
+    private final Map<Type, ObjectReader> readers = new ConcurrentHashMap<>();
     
     /**
      * 构造函数
@@ -96,44 +104,77 @@ public class ResultUnwrapDecoder implements Decoder {
             return delegate.decode(response, type);
         }
         
-        // 如果响应状态码不是 2xx，让 ErrorDecoder 处理
-        if (response.status() < 200 || response.status() >= 300) {
+        // 如果响应状态码不是 2xx，或没有响应体，让委托解码器处理
+        if (response.status() < 200 || response.status() >= 300 || response.body() == null) {
             return delegate.decode(response, type);
         }
         
-        try {
-            // 读取响应体
-            String bodyStr = Util.toString(response.body().asReader(Util.UTF_8));
-            
-            if (log.isDebugEnabled()) {
-                log.debug("Feign 响应体: {}", bodyStr);
-            }
-            
-            // 构造 Result<T> 的 JavaType
-            JavaType resultType = objectMapper.getTypeFactory()
-                .constructParametricType(Result.class, objectMapper.constructType(type));
-            
-            // 将响应体反序列化为 Result<T>
-            Result<?> result = objectMapper.readValue(bodyStr, resultType);
-            
-            // 检查业务状态码
-            if (result.getCode() == 200) {
-                // 成功：返回 data 字段
-                return result.getData();
-            } else {
-                // 业务失败：抛出 ServiceException
-                log.warn("Feign 调用业务失败: code={}, message={}", result.getCode(), result.getMessage());
-                throw new ServiceException(result.getCode(), result.getMessage());
-            }
-            
+        // 直接从响应体输入流逐个 token 解析 Result 信封，data 字段按缓存的类型读取器反序列化
+        try (InputStream body = response.body().asInputStream();
+             JsonParser parser = objectMapper.getFactory().createParser(body)) {
+            return unwrap(parser, type);
         } catch (ServiceException e) {
             // 重新抛出业务异常
             throw e;
-        } catch (Exception e) {
-            log.error("Failed to unwrap Result object", e);
-            // 如果解包失败，尝试使用委托解码器直接解码
-            // 注意：这里需要重新创建 Response，因为 body 已经被读取
-            return delegate.decode(response, type);
+        } catch (IOException e) {
+            log.error("Failed to unwrap Result object, type={}", type.getTypeName(), e);
+            throw new DecodeException(response.status(),
+                    "Failed to unwrap Result object: " + e.getMessage(), response.request(), e);
+        }
+    }
+
+    /**
+     * 解析 {@code {"code":..,"message":..,"data":..}}：
+     * code 先于 data 出现且非 200 时跳过 data 直接抛出业务异常；
+     * data 先于 code 出现时照常反序列化，读到 code 后再判断
+     */
+    private Object unwrap(JsonParser parser, Type type) throws IOException {
+        if (parser.nextToken() != JsonToken.START_OBJECT) {
+            throw new JsonParseException(parser, "Result 响应体应为 JSON 对象");
+        }
+        int code = 0;
+        boolean codeSeen = false;
+        String message = null;
+        Object data = null;
+        
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            JsonToken value = parser.nextToken();
+            switch (field) {
+                case "code" -> {
+                    code = value == JsonToken.VALUE_NULL ? 0 : parser.getValueAsInt();
+                    codeSeen = true;
+                }
+                case "message" -> message = value == JsonToken.VALUE_NULL ? null : parser.getValueAsString();
+                case "data" -> {
+                    if (codeSeen && code != SUCCESS_CODE) {
+                        parser.skipChildren();
+                    } else if (value != JsonToken.VALUE_NULL) {
+                        data = readerFor(type).readValue(parser);
+                    }
+                }
+                default -> parser.skipChildren();
+            }
+        }
+        
+        // 检查业务状态码
+        if (code == SUCCESS_CODE) {
+            // 成功：返回 data 字段
+            return data;
+        }
+        // 业务失败：抛出 ServiceException
+        log.warn("Feign 调用业务失败: code={}, message={}", code, message);
+        throw new ServiceException(code, message);
+    }
+
+    /**
+     * 按返回类型缓存 data 字段的读取器，避免每次调用经 TypeFactory 重新构造 JavaType
+     */
+    private ObjectReader readerFor(Type type) {
+        ObjectReader reader = readers.get(type);
+        if (reader == null) {
+            reader = readers.computeIfAbsent(type, t -> objectMapper.readerFor(objectMapper.constructType(t)));
         }
+        return reader;
     }
 }
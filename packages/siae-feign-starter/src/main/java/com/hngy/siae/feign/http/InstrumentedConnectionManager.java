@@ -0,0 +1,97 @@
+package com.hngy.siae.feign.http;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.apache.hc.client5.http.HttpRoute;
+import org.apache.hc.client5.http.impl.io.DefaultHttpClientConnectionOperator;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.io.ConnectionEndpoint;
+import org.apache.hc.client5.http.io.LeaseRequest;
+import org.apache.hc.client5.http.ssl.DefaultClientTlsStrategy;
+import org.apache.hc.client5.http.ssl.TlsSocketStrategy;
+import org.apache.hc.core5.http.URIScheme;
+import org.apache.hc.core5.http.config.RegistryBuilder;
+import org.apache.hc.core5.pool.PoolConcurrencyPolicy;
+import org.apache.hc.core5.pool.PoolReusePolicy;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * 带连接获取耗时指标的连接池
+ * <p>
+ * 在 {@link PoolingHttpClientConnectionManager} 基础上记录每次从池中取得连接的等待时间
+ * （{@value #METRIC_ACQUIRE}，按结果打 outcome 标签），池满排队时该指标随之上升；
+ * 连接数、租用数、等待数等池状态指标由 Micrometer 的 HttpComponents 绑定器提供。
+ * <p>
+ * 采用 LIFO 复用策略，优先复用最近归还的连接，使空闲连接尽快过期回收。
+ *
+ * @author KEYKB
+ */
+public class InstrumentedConnectionManager extends PoolingHttpClientConnectionManager {
+
+    private static final String METRIC_ACQUIRE = "siae.feign.http.pool.acquire";
+
+    private final Timer successTimer;
+    private final Timer timeoutTimer;
+    private final Timer errorTimer;
+
+    public InstrumentedConnectionManager(TimeValue timeToLive, MeterRegistry meterRegistry) {
+        super(new DefaultHttpClientConnectionOperator(null, null,
+                        RegistryBuilder.<TlsSocketStrategy>create()
+                                .register(URIScheme.HTTPS.id, DefaultClientTlsStrategy.createDefault())
+                                .build()),
+                PoolConcurrencyPolicy.STRICT, PoolReusePolicy.LIFO, timeToLive, null);
+        if (meterRegistry != null) {
+            this.successTimer = acquireTimer("success", meterRegistry);
+            this.timeoutTimer = acquireTimer("timeout", meterRegistry);
+            this.errorTimer = acquireTimer("error", meterRegistry);
+        } else {
+            this.successTimer = null;
+            this.timeoutTimer = null;
+            this.errorTimer = null;
+        }
+    }
+
+    private static Timer acquireTimer(String outcome, MeterRegistry meterRegistry) {
+        return Timer.builder(METRIC_ACQUIRE)
+                .tag("outcome", outcome)
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+    }
+
+    @Override
+    public LeaseRequest lease(String id, HttpRoute route, Timeout requestTimeout, Object state) {
+        LeaseRequest leaseRequest = super.lease(id, route, requestTimeout, state);
+        if (successTimer == null) {
+            return leaseRequest;
+        }
+        return new LeaseRequest() {
+            @Override
+            public ConnectionEndpoint get(Timeout timeout)
+                    throws InterruptedException, ExecutionException, TimeoutException {
+                long start = System.nanoTime();
+                Timer timer = successTimer;
+                try {
+                    return leaseRequest.get(timeout);
+                } catch (TimeoutException e) {
+                    timer = timeoutTimer;
+                    throw e;
+                } catch (InterruptedException | ExecutionException | RuntimeException e) {
+                    timer = errorTimer;
+                    throw e;
+                } finally {
+                    timer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                }
+            }
+
+            @Override
+            public boolean cancel() {
+                return leaseRequest.cancel();
+            }
+        };
+    }
+}
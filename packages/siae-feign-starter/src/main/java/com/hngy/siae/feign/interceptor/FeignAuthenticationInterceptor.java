@@ -5,13 +5,16 @@ import feign.RequestInterceptor;
 import feign.RequestTemplate;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 
+import java.util.concurrent.ThreadLocalRandom;
+
 /**
  * Feign服务间调用认证拦截器
  * 职责：自动为服务间调用添加认证头
+ * <p>
+ * 每次出站调用都会经过该拦截器，调用日志仅在 DEBUG 级别下按采样率记录，避免高扇出时日志量随调用数线性增长
  *
  * @author SIAE开发团队
  */
@@ -22,16 +25,16 @@ public class FeignAuthenticationInterceptor implements RequestInterceptor {
     private final AuthProperties authProperties;
     private final String currentServiceName;
 
+    /**
+     * 调试日志采样率（0~1）
+     */
+    private final double logSampleRate;
+
     @Override
     public void apply(RequestTemplate template) {
         try {
-            log.info("[Feign拦截器] 开始添加认证头, 服务: {}, 目标URL: {}", currentServiceName, template.url());
-            
             // 1. 添加内部服务调用标识
-            String secretKey = authProperties.getInternalSecretKey();
-            log.info("[Feign拦截器] internalSecretKey: {}", secretKey != null ? secretKey.substring(0, Math.min(8, secretKey.length())) + "..." : "NULL");
-            
-            template.header("X-Internal-Service-Call", secretKey);
+            template.header("X-Internal-Service-Call", authProperties.getInternalSecretKey());
             template.header("X-Caller-Service", currentServiceName);
             template.header("X-Call-Timestamp", String.valueOf(System.currentTimeMillis()));
             
@@ -39,19 +42,26 @@ public class FeignAuthenticationInterceptor implements RequestInterceptor {
             template.header("User-Agent", "Feign/" + currentServiceName);
 
             // 3. 如果当前有用户上下文，传递用户ID
+            Object onBehalfOf = null;
             Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
             if (authentication != null && authentication.isAuthenticated()) {
                 Object details = authentication.getDetails();
                 if (details instanceof Long) {
                     template.header("X-On-Behalf-Of-User", details.toString());
-                    log.info("[Feign拦截器] 添加用户上下文: user={}", details);
+                    onBehalfOf = details;
                 }
             }
 
-            log.info("[Feign拦截器] 认证头添加完成: {} -> {}", currentServiceName, template.url());
-
+            if (log.isDebugEnabled() && sampled()) {
+                log.debug("[Feign拦截器] 认证头添加完成: {} -> {} {}, user={}",
+                        currentServiceName, template.method(), template.url(), onBehalfOf);
+            }
         } catch (Exception e) {
             log.error("Failed to add authentication headers for Feign request", e);
         }
     }
+
+    private boolean sampled() {
+        return logSampleRate >= 1 || (logSampleRate > 0 && ThreadLocalRandom.current().nextDouble() < logSampleRate);
+    }
 }
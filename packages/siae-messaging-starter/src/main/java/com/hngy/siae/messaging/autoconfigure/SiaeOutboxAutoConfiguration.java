@@ -0,0 +1,58 @@
+package com.hngy.siae.messaging.autoconfigure;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hngy.siae.messaging.outbox.OutboxPublisher;
+import com.hngy.siae.messaging.outbox.OutboxRelay;
+import com.hngy.siae.messaging.producer.SiaeMessagingTemplate;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.util.Assert;
+
+import javax.sql.DataSource;
+import java.util.regex.Pattern;
+
+/**
+ * 事务发件箱自动配置，{@code siae.messaging.rabbit.outbox.enabled=true} 且应用中存在 DataSource 时生效。
+ */
+@AutoConfiguration(after = SiaeRabbitAutoConfiguration.class, afterName = {
+        "org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration",
+        "org.springframework.boot.autoconfigure.jdbc.DataSourceTransactionManagerAutoConfiguration"
+})
+@ConditionalOnClass(JdbcTemplate.class)
+@ConditionalOnBean({DataSource.class, PlatformTransactionManager.class, SiaeMessagingTemplate.class})
+@ConditionalOnProperty(prefix = "siae.messaging.rabbit.outbox", name = "enabled", havingValue = "true")
+public class SiaeOutboxAutoConfiguration {
+
+    private static final Pattern TABLE_NAME = Pattern.compile("[A-Za-z0-9_.]+");
+
+    private final SiaeRabbitProperties.Outbox properties;
+
+    public SiaeOutboxAutoConfiguration(SiaeRabbitProperties properties) {
+        this.properties = properties.getOutbox();
+        Assert.isTrue(TABLE_NAME.matcher(this.properties.getTable()).matches(),
+                "Invalid outbox table name: " + this.properties.getTable());
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    public OutboxRelay siaeOutboxRelay(DataSource dataSource,
+                                       PlatformTransactionManager transactionManager,
+                                       SiaeMessagingTemplate messagingTemplate,
+                                       ObjectMapper objectMapper) {
+        return new OutboxRelay(new JdbcTemplate(dataSource), transactionManager, messagingTemplate, objectMapper, properties);
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    public OutboxPublisher siaeOutboxPublisher(DataSource dataSource,
+                                               ObjectMapper objectMapper,
+                                               OutboxRelay outboxRelay) {
+        return new OutboxPublisher(new JdbcTemplate(dataSource), objectMapper, outboxRelay, properties.getTable());
+    }
+}
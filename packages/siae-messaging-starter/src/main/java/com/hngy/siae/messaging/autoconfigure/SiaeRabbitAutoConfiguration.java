@@ -2,8 +2,11 @@ package com.hngy.siae.messaging.autoconfigure;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.hngy.siae.messaging.annotation.DeclareQueueRegistrar;
+import com.hngy.siae.messaging.consumer.BatchAcknowledger;
+import com.hngy.siae.messaging.consumer.SiaeRabbitListenerContainerFactory;
 import com.hngy.siae.messaging.consumer.SiaeRabbitListenerErrorHandler;
 import com.hngy.siae.messaging.producer.MessageSendInterceptor;
+import com.hngy.siae.messaging.producer.PublisherExecutor;
 import com.hngy.siae.messaging.producer.SiaeMessagingTemplate;
 import com.hngy.siae.messaging.support.headers.DefaultMessageHeaderEnricher;
 import com.hngy.siae.messaging.support.headers.MessageHeaderEnricher;
@@ -11,14 +14,18 @@ import com.hngy.siae.messaging.support.headers.MessageHeaderEnricher;
 import com.hngy.siae.messaging.support.interceptor.HeaderEnrichingInterceptor;
 import com.hngy.siae.messaging.support.interceptor.MessagingMetricsInterceptor;
 import com.hngy.siae.messaging.support.logging.RabbitStartupLogger;
+import com.hngy.siae.messaging.support.metrics.ConsumerMetricsAdvice;
+import com.hngy.siae.messaging.support.metrics.QueueDepthMonitor;
 import com.hngy.siae.messaging.support.refresh.SiaeRabbitConnectionRefresher;
 import com.hngy.siae.messaging.support.refresh.SiaeRabbitEnvironmentChangeListener;
 import com.hngy.siae.messaging.support.serializer.JacksonMessageConverterAdapter;
 import io.micrometer.core.instrument.MeterRegistry;
+import org.aopalliance.aop.Advice;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.amqp.AmqpRejectAndDontRequeueException;
 import org.springframework.amqp.core.Declarables;
+import org.springframework.amqp.core.Message;
 import org.springframework.amqp.rabbit.annotation.EnableRabbit;
 import org.springframework.amqp.rabbit.config.RetryInterceptorBuilder;
 import org.springframework.amqp.rabbit.config.SimpleRabbitListenerContainerFactory;
@@ -26,9 +33,11 @@ import org.springframework.amqp.rabbit.connection.CachingConnectionFactory;
 import org.springframework.amqp.rabbit.connection.CachingConnectionFactory.CacheMode;
 import org.springframework.amqp.rabbit.core.RabbitAdmin;
 import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.amqp.rabbit.retry.MessageBatchRecoverer;
 import org.springframework.amqp.rabbit.retry.MessageRecoverer;
 import org.springframework.amqp.support.converter.MessageConverter;
 import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
 
 import org.springframework.boot.autoconfigure.AutoConfiguration;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
@@ -38,11 +47,18 @@ import org.springframework.boot.context.properties.EnableConfigurationProperties
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Primary;
 import org.springframework.core.env.Environment;
+import org.springframework.retry.RetryCallback;
+import org.springframework.retry.RetryContext;
+import org.springframework.retry.RetryListener;
+import org.springframework.retry.backoff.ExponentialBackOffPolicy;
 import org.springframework.retry.interceptor.RetryOperationsInterceptor;
+import org.springframework.retry.policy.SimpleRetryPolicy;
+import org.springframework.retry.support.RetryTemplate;
 import org.springframework.cloud.context.environment.EnvironmentChangeEvent;
 
 import java.security.KeyManagementException;
 import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
 import java.util.stream.Collectors;
@@ -140,11 +156,20 @@ public class SiaeRabbitAutoConfiguration {
         );
     }
 
+    @Bean
+    public QueueDepthMonitor siaeQueueDepthMonitor(RabbitAdmin rabbitAdmin,
+                                                   ObjectProvider<MeterRegistry> registryProvider) {
+        return new QueueDepthMonitor(rabbitAdmin, registryProvider.getIfAvailable(),
+                properties.getConsumer().getQueueDepthInterval());
+    }
+
     @Bean
     @ConditionalOnMissingBean
     public SimpleRabbitListenerContainerFactory siaeListenerContainerFactory(CachingConnectionFactory connectionFactory,
-                                                                             MessageConverter messageConverter) {
-        SimpleRabbitListenerContainerFactory factory = new SimpleRabbitListenerContainerFactory();
+                                                                             MessageConverter messageConverter,
+                                                                             ObjectProvider<MeterRegistry> registryProvider,
+                                                                             QueueDepthMonitor queueDepthMonitor) {
+        SiaeRabbitListenerContainerFactory factory = new SiaeRabbitListenerContainerFactory();
         factory.setConnectionFactory(connectionFactory);
         factory.setMessageConverter(messageConverter);
 
@@ -157,25 +182,61 @@ public class SiaeRabbitAutoConfiguration {
         factory.setAcknowledgeMode(consumer.getAcknowledgeMode());
         factory.setMissingQueuesFatal(false);
         factory.setDefaultRequeueRejected(false);
+        factory.setContainerCustomizer(container -> queueDepthMonitor.register(container.getQueueNames()));
+
+        // 指标 advice 置于最外层，处理耗时包含容器内重试
+        List<Advice> adviceChain = new ArrayList<>(2);
+        MeterRegistry meterRegistry = registryProvider.getIfAvailable();
+        if (meterRegistry != null) {
+            adviceChain.add(new ConsumerMetricsAdvice(meterRegistry));
+        }
 
         SiaeRabbitProperties.Consumer.Retry retryProps = consumer.getRetry();
         if (retryProps.isEnabled() && retryProps.getMaxAttempts() > 1) {
-            MessageRecoverer recoverer = (message, cause) -> {
-                log.error("[SIAE-MQ] Message exhausted retries -> DLQ (queue={}, messageId={})",
-                        message.getMessageProperties().getConsumerQueue(),
-                        message.getMessageProperties().getMessageId(),
-                        cause);
-                throw new AmqpRejectAndDontRequeueException("Message retries exhausted", cause);
+            // 默认与批量容器均为 MANUAL 确认：rejectManual=true 才会让容器 nack(requeue=false) 转入死信
+            MessageRecoverer recoverer = new MessageBatchRecoverer() {
+                @Override
+                public void recover(Message message, Throwable cause) {
+                    log.error("[SIAE-MQ] Message exhausted retries -> DLQ (queue={}, messageId={})",
+                            message.getMessageProperties().getConsumerQueue(),
+                            message.getMessageProperties().getMessageId(),
+                            cause);
+                    throw new AmqpRejectAndDontRequeueException("Message retries exhausted", true, cause);
+                }
+
+                @Override
+                public void recover(List<Message> messages, Throwable cause) {
+                    log.error("[SIAE-MQ] Batch exhausted retries -> DLQ (queue={}, size={})",
+                            messages.isEmpty() ? "unknown" : messages.get(0).getMessageProperties().getConsumerQueue(),
+                            messages.size(),
+                            cause);
+                    throw new AmqpRejectAndDontRequeueException("Batch retries exhausted", true, cause);
+                }
             };
+            int maxAttempts = Math.max(1, retryProps.getMaxAttempts());
+            ExponentialBackOffPolicy backOffPolicy = new ExponentialBackOffPolicy();
+            backOffPolicy.setInitialInterval(Math.max(1L, retryProps.getInitialInterval()));
+            backOffPolicy.setMultiplier(Math.max(1.0d, retryProps.getMultiplier()));
+            backOffPolicy.setMaxInterval(Math.max(retryProps.getInitialInterval(), retryProps.getMaxInterval()));
+            RetryTemplate retryTemplate = new RetryTemplate();
+            retryTemplate.setRetryPolicy(new SimpleRetryPolicy(maxAttempts));
+            retryTemplate.setBackOffPolicy(backOffPolicy);
+            // 记录最大尝试次数，供 BatchAcknowledger.isFinalAttempt() 判断是否为最后一次尝试
+            retryTemplate.registerListener(new RetryListener() {
+                @Override
+                public <T, E extends Throwable> boolean open(RetryContext context, RetryCallback<T, E> callback) {
+                    context.setAttribute(BatchAcknowledger.MAX_ATTEMPTS_ATTRIBUTE, maxAttempts);
+                    return true;
+                }
+            });
             RetryOperationsInterceptor interceptor = RetryInterceptorBuilder.stateless()
-                    .maxAttempts(Math.max(1, retryProps.getMaxAttempts()))
-                    .backOffOptions(
-                            Math.max(1L, retryProps.getInitialInterval()),
-                            Math.max(1.0d, retryProps.getMultiplier()),
-                            Math.max(retryProps.getInitialInterval(), retryProps.getMaxInterval()))
+                    .retryOperations(retryTemplate)
                     .recoverer(recoverer)
                     .build();
-            factory.setAdviceChain(interceptor);
+            adviceChain.add(interceptor);
+        }
+        if (!adviceChain.isEmpty()) {
+            factory.setAdviceChain(adviceChain.toArray(new Advice[0]));
         }
 
         log.info("[SIAE-MQ] Listener container configured: concurrency={}~{}, prefetch={}, ackMode={}",
@@ -186,19 +247,32 @@ public class SiaeRabbitAutoConfiguration {
         return factory;
     }
 
+    @Bean(name = "siaePublisherExecutor", destroyMethod = "shutdown")
+    @ConditionalOnMissingBean(name = "siaePublisherExecutor")
+    public PublisherExecutor siaePublisherExecutor(ObjectProvider<MeterRegistry> registryProvider) {
+        SiaeRabbitProperties.Publisher.Async async = properties.getPublisher().getAsync();
+        log.info("[SIAE-MQ] Publisher executor configured: threads={}, queueCapacity={}, rejectionPolicy={}",
+                async.getThreads(),
+                async.getQueueCapacity(),
+                async.getRejectionPolicy());
+        return new PublisherExecutor("default", async, registryProvider.getIfAvailable());
+    }
+
     @Bean
     @ConditionalOnMissingBean
     public SiaeMessagingTemplate siaeMessagingTemplate(RabbitTemplate rabbitTemplate,
-                                                       ObjectProvider<MessageSendInterceptor> interceptorProvider) {
+                                                       ObjectProvider<MessageSendInterceptor> interceptorProvider,
+                                                       @Qualifier("siaePublisherExecutor") PublisherExecutor publisherExecutor) {
         List<MessageSendInterceptor> interceptors = interceptorProvider.orderedStream().collect(Collectors.toList());
-        return new SiaeMessagingTemplate(rabbitTemplate, properties.getPublisher(), interceptors);
+        return new SiaeMessagingTemplate(rabbitTemplate, properties.getPublisher(), interceptors, publisherExecutor::execute);
     }
 
     @Bean
     public SiaeRabbitInstanceManager siaeRabbitInstanceManager(ObjectProvider<MessageSendInterceptor> interceptorProvider,
-                                                               MessageConverter messageConverter) {
+                                                               MessageConverter messageConverter,
+                                                               ObjectProvider<MeterRegistry> registryProvider) {
         List<MessageSendInterceptor> interceptors = interceptorProvider.orderedStream().collect(Collectors.toList());
-        return new SiaeRabbitInstanceManager(properties, interceptors, messageConverter);
+        return new SiaeRabbitInstanceManager(properties, interceptors, messageConverter, registryProvider.getIfAvailable());
     }
 
     @Bean(name = "siaeRabbitListenerErrorHandler")
@@ -1,9 +1,12 @@
 package com.hngy.siae.messaging.autoconfigure;
 
 import com.hngy.siae.messaging.producer.MessageSendInterceptor;
+import com.hngy.siae.messaging.producer.PublisherExecutor;
 import com.hngy.siae.messaging.producer.SiaeMessagingTemplate;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
 import org.springframework.amqp.core.Declarables;
 import org.springframework.amqp.rabbit.connection.CachingConnectionFactory;
 import org.springframework.amqp.rabbit.core.RabbitAdmin;
@@ -20,19 +23,22 @@ import java.util.List;
 /**
  * 管理多套 RabbitMQ 实例的连接、模板与拓扑声明。
  */
-public class SiaeRabbitInstanceManager {
+public class SiaeRabbitInstanceManager implements DisposableBean {
 
     private static final Logger log = LoggerFactory.getLogger(SiaeRabbitInstanceManager.class);
 
     private final Map<String, InstanceContext> instances;
     private final List<MessageSendInterceptor> interceptors;
     private final MessageConverter messageConverter;
+    private final MeterRegistry meterRegistry;
 
     public SiaeRabbitInstanceManager(SiaeRabbitProperties properties,
                                      List<MessageSendInterceptor> interceptors,
-                                     MessageConverter messageConverter) {
+                                     MessageConverter messageConverter,
+                                     MeterRegistry meterRegistry) {
         this.interceptors = interceptors == null ? List.of() : List.copyOf(interceptors);
         this.messageConverter = messageConverter;
+        this.meterRegistry = meterRegistry;
         if (properties.getInstances().isEmpty()) {
             this.instances = Collections.emptyMap();
             return;
@@ -54,6 +60,11 @@ public class SiaeRabbitInstanceManager {
         return instances;
     }
 
+    @Override
+    public void destroy() {
+        instances.values().forEach(context -> context.getPublisherExecutor().shutdown());
+    }
+
 
     private InstanceContext createInstanceContext(String name, SiaeRabbitProperties.Instance instance) {
         CachingConnectionFactory connectionFactory = buildConnectionFactory(name, instance);
@@ -76,13 +87,17 @@ public class SiaeRabbitInstanceManager {
                 instance.getQueues().size(),
                 instance.getExchanges().size());
 
+        PublisherExecutor publisherExecutor = new PublisherExecutor(name, instance.getPublisher().getAsync(), meterRegistry);
         SiaeMessagingTemplate messagingTemplate = new SiaeMessagingTemplate(
+                name,
                 rabbitTemplate,
                 instance.getPublisher(),
-                interceptors
+                interceptors,
+                publisherExecutor::execute
         );
 
-        return new InstanceContext(connectionFactory, rabbitTemplate, messagingTemplate, rabbitAdmin, declarables);
+        return new InstanceContext(connectionFactory, rabbitTemplate, messagingTemplate, publisherExecutor,
+                rabbitAdmin, declarables);
     }
 
     private CachingConnectionFactory buildConnectionFactory(String name, SiaeRabbitProperties.Instance instance) {
@@ -130,17 +145,20 @@ public class SiaeRabbitInstanceManager {
         private final CachingConnectionFactory connectionFactory;
         private final RabbitTemplate rabbitTemplate;
         private final SiaeMessagingTemplate messagingTemplate;
+        private final PublisherExecutor publisherExecutor;
         private final RabbitAdmin rabbitAdmin;
         private final Declarables declarables;
 
         InstanceContext(CachingConnectionFactory connectionFactory,
                         RabbitTemplate rabbitTemplate,
                         SiaeMessagingTemplate messagingTemplate,
+                        PublisherExecutor publisherExecutor,
                         RabbitAdmin rabbitAdmin,
                         Declarables declarables) {
             this.connectionFactory = connectionFactory;
             this.rabbitTemplate = rabbitTemplate;
             this.messagingTemplate = messagingTemplate;
+            this.publisherExecutor = publisherExecutor;
             this.rabbitAdmin = rabbitAdmin;
             this.declarables = declarables;
         }
@@ -157,6 +175,10 @@ public class SiaeRabbitInstanceManager {
             return messagingTemplate;
         }
 
+        public PublisherExecutor getPublisherExecutor() {
+            return publisherExecutor;
+        }
+
         public RabbitAdmin getRabbitAdmin() {
             return rabbitAdmin;
         }
@@ -27,6 +27,9 @@ public class SiaeRabbitProperties {
     @NotNull
     private final Consumer consumer = new Consumer();
 
+    @NotNull
+    private final Outbox outbox = new Outbox();
+
     @NotNull
     private final Map<String, Exchange> exchanges = new LinkedHashMap<>();
 
@@ -59,6 +62,10 @@ public class SiaeRabbitProperties {
         return consumer;
     }
 
+    public Outbox getOutbox() {
+        return outbox;
+    }
+
     public Map<String, Exchange> getExchanges() {
         return exchanges;
     }
@@ -76,6 +83,74 @@ public class SiaeRabbitProperties {
     }
 
 
+    public static class Outbox {
+
+        /**
+         * 是否启用事务发件箱，需要应用中存在 DataSource。
+         */
+        private boolean enabled = false;
+
+        /**
+         * 发件箱表名。
+         */
+        private String table = "siae_mq_outbox";
+
+        /**
+         * 后台轮询发件箱的间隔（毫秒），事务提交后还会立即触发一次投递。
+         */
+        private long pollInterval = 1000L;
+
+        /**
+         * 每批从发件箱取出并投递的最大消息数。
+         */
+        private int batchSize = 200;
+
+        /**
+         * 无法路由或无法反序列化等不可重试失败的最大次数，达到后该消息停止投递并保留在表中待人工处理。
+         */
+        private int maxAttempts = 5;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public String getTable() {
+            return table;
+        }
+
+        public void setTable(String table) {
+            this.table = table;
+        }
+
+        public long getPollInterval() {
+            return pollInterval;
+        }
+
+        public void setPollInterval(long pollInterval) {
+            this.pollInterval = pollInterval;
+        }
+
+        public int getBatchSize() {
+            return batchSize;
+        }
+
+        public void setBatchSize(int batchSize) {
+            this.batchSize = batchSize;
+        }
+
+        public int getMaxAttempts() {
+            return maxAttempts;
+        }
+
+        public void setMaxAttempts(int maxAttempts) {
+            this.maxAttempts = maxAttempts;
+        }
+    }
+
     @Validated
     public static class Connection {
 
@@ -163,6 +238,19 @@ public class SiaeRabbitProperties {
          */
         private boolean returns = true;
 
+        /**
+         * 批量发送时等待 publisher confirm 的超时时间（毫秒），超时未确认的消息按失败重试。
+         */
+        private long confirmTimeout = 5000L;
+
+        /**
+         * 批量发送时单个确认窗口的消息数：每发布一个窗口等待其全部确认后再发布下一个，限制未确认消息的积压。
+         */
+        private int batchWindow = 500;
+
+        @NotNull
+        private final Async async = new Async();
+
         @NotNull
         private final Retry retry = new Retry();
 
@@ -182,10 +270,107 @@ public class SiaeRabbitProperties {
             this.returns = returns;
         }
 
+        public long getConfirmTimeout() {
+            return confirmTimeout;
+        }
+
+        public void setConfirmTimeout(long confirmTimeout) {
+            this.confirmTimeout = confirmTimeout;
+        }
+
+        public int getBatchWindow() {
+            return batchWindow;
+        }
+
+        public void setBatchWindow(int batchWindow) {
+            this.batchWindow = batchWindow;
+        }
+
+        public Async getAsync() {
+            return async;
+        }
+
         public Retry getRetry() {
             return retry;
         }
 
+        /**
+         * sendAsync 使用的有界发布线程池。
+         */
+        @Validated
+        public static class Async {
+
+            /**
+             * 发布线程数。
+             */
+            private int threads = 4;
+
+            /**
+             * 等待队列容量，队列满时按拒绝策略处理。
+             */
+            private int queueCapacity = 1000;
+
+            /**
+             * 队列满时的处理策略。
+             */
+            private RejectionPolicy rejectionPolicy = RejectionPolicy.BLOCK;
+
+            /**
+             * BLOCK 策略下调用方等待队列空位的最长时间（毫秒），超时后拒绝。
+             */
+            private long blockTimeout = 5000L;
+
+            public int getThreads() {
+                return threads;
+            }
+
+            public void setThreads(int threads) {
+                this.threads = threads;
+            }
+
+            public int getQueueCapacity() {
+                return queueCapacity;
+            }
+
+            public void setQueueCapacity(int queueCapacity) {
+                this.queueCapacity = queueCapacity;
+            }
+
+            public RejectionPolicy getRejectionPolicy() {
+                return rejectionPolicy;
+            }
+
+            public void setRejectionPolicy(RejectionPolicy rejectionPolicy) {
+                this.rejectionPolicy = rejectionPolicy;
+            }
+
+            public long getBlockTimeout() {
+                return blockTimeout;
+            }
+
+            public void setBlockTimeout(long blockTimeout) {
+                this.blockTimeout = blockTimeout;
+            }
+
+            public enum RejectionPolicy {
+
+                /**
+                 * 立即拒绝，sendAsync 返回异常完成的 Future。
+                 */
+                ABORT,
+
+                /**
+                 * 在调用方线程同步发送。
+                 */
+                CALLER_RUNS,
+
+                /**
+                 * 调用方阻塞等待队列空位，最长 blockTimeout 毫秒。
+                 */
+                BLOCK
+            }
+        }
+
         @Validated
         public static class Retry {
 
@@ -265,6 +450,11 @@ public class SiaeRabbitProperties {
         private org.springframework.amqp.core.AcknowledgeMode acknowledgeMode =
                 org.springframework.amqp.core.AcknowledgeMode.MANUAL;
 
+        /**
+         * 监听队列积压消息数的查询间隔（毫秒），0 表示不查询。
+         */
+        private long queueDepthInterval = 30000L;
+
         @NotNull
         private final Retry retry = new Retry();
 
@@ -300,6 +490,14 @@ public class SiaeRabbitProperties {
             this.acknowledgeMode = acknowledgeMode;
         }
 
+        public long getQueueDepthInterval() {
+            return queueDepthInterval;
+        }
+
+        public void setQueueDepthInterval(long queueDepthInterval) {
+            this.queueDepthInterval = queueDepthInterval;
+        }
+
         public Retry getRetry() {
             return retry;
         }
@@ -0,0 +1,63 @@
+package com.hngy.siae.messaging.consumer;
+
+import com.rabbitmq.client.Channel;
+import org.springframework.amqp.rabbit.support.RabbitExceptionTranslator;
+import org.springframework.amqp.support.AmqpHeaders;
+import org.springframework.messaging.Message;
+import org.springframework.retry.RetryContext;
+import org.springframework.retry.support.RetrySynchronizationManager;
+
+import java.io.IOException;
+
+/**
+ * 批量模式监听方法的逐条确认工具。
+ * <p>
+ * 每条消息必须且只能确认一次：{@link #ack} 表示处理成功，{@link #reject} 不重新入队，
+ * 按队列配置进入死信队列。确认后不要再从监听方法抛出异常，否则容器会再次拒绝整批消息。
+ */
+public final class BatchAcknowledger {
+
+    /**
+     * 消费重试上下文中记录最大尝试次数的属性名
+     */
+    public static final String MAX_ATTEMPTS_ATTRIBUTE = "siae.consumer.maxAttempts";
+
+    private BatchAcknowledger() {
+    }
+
+    public static void ack(Channel channel, Message<?> message) {
+        try {
+            channel.basicAck(deliveryTag(message), false);
+        } catch (IOException ex) {
+            throw RabbitExceptionTranslator.convertRabbitAccessException(ex);
+        }
+    }
+
+    public static void reject(Channel channel, Message<?> message) {
+        try {
+            channel.basicNack(deliveryTag(message), false, false);
+        } catch (IOException ex) {
+            throw RabbitExceptionTranslator.convertRabbitAccessException(ex);
+        }
+    }
+
+    /**
+     * 判断当前是否为消费重试的最后一次尝试：此后再抛出异常整批消息将直接进入死信队列。
+     * 未启用消费重试时始终返回 true；须在监听方法所在线程中调用。
+     */
+    public static boolean isFinalAttempt() {
+        RetryContext context = RetrySynchronizationManager.getContext();
+        if (context == null || !(context.getAttribute(MAX_ATTEMPTS_ATTRIBUTE) instanceof Integer maxAttempts)) {
+            return true;
+        }
+        return context.getRetryCount() + 1 >= maxAttempts;
+    }
+
+    private static long deliveryTag(Message<?> message) {
+        Long deliveryTag = message.getHeaders().get(AmqpHeaders.DELIVERY_TAG, Long.class);
+        if (deliveryTag == null) {
+            throw new IllegalArgumentException("Message has no delivery tag: " + message.getHeaders().getId());
+        }
+        return deliveryTag;
+    }
+}
@@ -53,4 +53,18 @@ public @interface SiaeRabbitListener {
      */
     @AliasFor(annotation = RabbitListener.class, attribute = "queuesToDeclare")
     Queue[] queuesToDeclare() default {};
+
+    /**
+     * 批量消费：每批最多消息数，大于 1 时启用批量模式。
+     * <p>
+     * 批量模式下监听方法接收 {@code List}（如 {@code List<Message<T>>}），容器使用 MANUAL 确认，
+     * 方法须通过 {@link BatchAcknowledger} 对每条消息逐一 ack 或 reject；抛出异常视为整批失败，
+     * 按消费者重试配置重试整批，重试耗尽后整批进入死信队列。
+     */
+    int batchSize() default 1;
+
+    /**
+     * 批量消费：凑满一批的最长等待时间（毫秒），超时后以已收到的消息作为一批交付。
+     */
+    long batchMaxWait() default 1000L;
 }
@@ -0,0 +1,49 @@
+package com.hngy.siae.messaging.consumer;
+
+import org.springframework.amqp.core.AcknowledgeMode;
+import org.springframework.amqp.rabbit.config.SimpleRabbitListenerContainerFactory;
+import org.springframework.amqp.rabbit.listener.MethodRabbitListenerEndpoint;
+import org.springframework.amqp.rabbit.listener.RabbitListenerEndpoint;
+import org.springframework.amqp.rabbit.listener.SimpleMessageListenerContainer;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+
+/**
+ * siaeListenerContainerFactory 的实现：按 {@link SiaeRabbitListener#batchSize()} 与
+ * {@link SiaeRabbitListener#batchMaxWait()} 为单个监听方法开启消费端批量模式，其余监听方法保持逐条消费。
+ * <p>
+ * 批量模式的容器一次从队列取出最多 batchSize 条消息（预取数不足时自动提升到 batchSize），
+ * 以 {@code List} 交给监听方法，并固定使用 MANUAL 确认，由监听方法逐条 ack 或 reject。
+ */
+public class SiaeRabbitListenerContainerFactory extends SimpleRabbitListenerContainerFactory {
+
+    @Override
+    public SimpleMessageListenerContainer createListenerContainer(RabbitListenerEndpoint endpoint) {
+        if (batchListener(endpoint) != null) {
+            endpoint.setBatchListener(true);
+        }
+        return super.createListenerContainer(endpoint);
+    }
+
+    @Override
+    protected void initializeContainer(SimpleMessageListenerContainer instance, RabbitListenerEndpoint endpoint) {
+        super.initializeContainer(instance, endpoint);
+        SiaeRabbitListener listener = batchListener(endpoint);
+        if (listener == null) {
+            return;
+        }
+        long maxWait = Math.max(1L, listener.batchMaxWait());
+        instance.setConsumerBatchEnabled(true);
+        instance.setBatchSize(listener.batchSize());
+        instance.setBatchReceiveTimeout(maxWait);
+        instance.setReceiveTimeout(Math.min(SimpleMessageListenerContainer.DEFAULT_RECEIVE_TIMEOUT, maxWait));
+        instance.setAcknowledgeMode(AcknowledgeMode.MANUAL);
+    }
+
+    private static SiaeRabbitListener batchListener(RabbitListenerEndpoint endpoint) {
+        if (!(endpoint instanceof MethodRabbitListenerEndpoint methodEndpoint) || methodEndpoint.getMethod() == null) {
+            return null;
+        }
+        SiaeRabbitListener listener = AnnotatedElementUtils.findMergedAnnotation(methodEndpoint.getMethod(), SiaeRabbitListener.class);
+        return listener != null && listener.batchSize() > 1 ? listener : null;
+    }
+}
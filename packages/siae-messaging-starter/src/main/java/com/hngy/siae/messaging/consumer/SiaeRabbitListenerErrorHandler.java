@@ -10,6 +10,8 @@ import org.springframework.amqp.rabbit.listener.api.RabbitListenerErrorHandler;
 import org.springframework.messaging.MessageHeaders;
 import org.springframework.util.StringUtils;
 
+import java.util.List;
+
 public class SiaeRabbitListenerErrorHandler implements RabbitListenerErrorHandler {
 
     private static final Logger log = LoggerFactory.getLogger(SiaeRabbitListenerErrorHandler.class);
@@ -30,6 +32,15 @@ public class SiaeRabbitListenerErrorHandler implements RabbitListenerErrorHandle
     private Object handleErrorInternal(Message amqpMessage,
                                        org.springframework.messaging.Message<?> message,
                                        ListenerExecutionFailedException exception) {
+        if (amqpMessage == null) {
+            // 批量监听失败时没有单条原始消息，整批按失败处理
+            Object payload = message != null ? message.getPayload() : null;
+            log.error("[SIAE-MQ] Batch listener error -> DLQ (size={})",
+                    payload instanceof List<?> batch ? batch.size() : "unknown",
+                    exception);
+            // 批量容器为 MANUAL 确认，rejectManual=true 时容器才会 nack 整批，否则消息一直未确认
+            throw new AmqpRejectAndDontRequeueException("Batch listener processing failed", true, exception);
+        }
         String queue = amqpMessage.getMessageProperties().getConsumerQueue();
         String messageId = amqpMessage.getMessageProperties().getMessageId();
         MessageHeaders headers = message != null ? message.getHeaders() : null;
@@ -43,6 +54,6 @@ public class SiaeRabbitListenerErrorHandler implements RabbitListenerErrorHandle
                 StringUtils.hasText(traceId) ? traceId : "N/A",
                 exception);
 
-        throw new AmqpRejectAndDontRequeueException("Listener processing failed", exception);
+        throw new AmqpRejectAndDontRequeueException("Listener processing failed", true, exception);
     }
 }
@@ -0,0 +1,97 @@
+package com.hngy.siae.messaging.outbox;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hngy.siae.messaging.producer.MessageSendException;
+import com.hngy.siae.messaging.support.headers.DefaultMessageHeaderEnricher;
+import org.slf4j.MDC;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.util.Assert;
+import org.springframework.util.StringUtils;
+
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * 事务发件箱：在业务事务内把待发送消息写入发件箱表，事务提交后由 {@link OutboxRelay} 批量投递到 RabbitMQ。
+ * <p>
+ * 发件箱记录与业务数据在同一事务中提交或回滚，Broker 缓慢或不可用时既不阻塞业务事务，也不丢失事件。
+ * 投递为至少一次，消费者需按 messageId 幂等；相同 aggregateKey 的消息按写入顺序投递。
+ * 不在事务中调用时直接写入并立即触发投递。
+ */
+public class OutboxPublisher {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+    private final OutboxRelay relay;
+    private final String insertSql;
+
+    public OutboxPublisher(JdbcTemplate jdbcTemplate, ObjectMapper objectMapper, OutboxRelay relay, String table) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.objectMapper = objectMapper;
+        this.relay = relay;
+        this.insertSql = "INSERT INTO " + table
+                + " (aggregate_key, exchange, routing_key, payload_type, payload, headers) VALUES (?, ?, ?, ?, ?, ?)";
+    }
+
+    public void publish(String exchange, String routingKey, Object payload) {
+        publish(exchange, routingKey, payload, null);
+    }
+
+    /**
+     * 写入一条待发送消息。
+     *
+     * @param aggregateKey 聚合键（如 {@code user:1001}），相同键的消息按写入顺序投递，为空表示不要求顺序
+     */
+    public void publish(String exchange, String routingKey, Object payload, String aggregateKey) {
+        Assert.notNull(payload, "payload must not be null");
+        jdbcTemplate.update(insertSql,
+                StringUtils.hasText(aggregateKey) ? aggregateKey : "",
+                exchange != null ? exchange : "",
+                routingKey != null ? routingKey : "",
+                payload.getClass().getName(),
+                toJson(payload),
+                toJson(captureHeaders()));
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    relay.wakeUp();
+                }
+            });
+        } else {
+            relay.wakeUp();
+        }
+    }
+
+    /**
+     * 写入时确定 messageId 与 sentAt，并保留当前线程的 traceId、tenantId，投递线程中不再可得
+     */
+    private Map<String, Object> captureHeaders() {
+        Map<String, Object> headers = new LinkedHashMap<>(4);
+        headers.put(DefaultMessageHeaderEnricher.HEADER_MESSAGE_ID, UUID.randomUUID().toString());
+        headers.put(DefaultMessageHeaderEnricher.HEADER_SENT_AT, Instant.now().toString());
+        String traceId = MDC.get(DefaultMessageHeaderEnricher.HEADER_TRACE_ID);
+        if (StringUtils.hasText(traceId)) {
+            headers.put(DefaultMessageHeaderEnricher.HEADER_TRACE_ID, traceId);
+        }
+        String tenantId = MDC.get(DefaultMessageHeaderEnricher.HEADER_TENANT_ID);
+        if (StringUtils.hasText(tenantId)) {
+            headers.put(DefaultMessageHeaderEnricher.HEADER_TENANT_ID, tenantId);
+        }
+        return headers;
+    }
+
+    private String toJson(Object value) {
+        try {
+            return objectMapper.writeValueAsString(value);
+        } catch (JsonProcessingException ex) {
+            throw new MessageSendException("Failed to serialize outbox message: " + value.getClass().getName(), ex);
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package com.hngy.siae.messaging.outbox;
+
+/**
+ * 发件箱中的一条待投递消息。
+ */
+record OutboxRecord(long id,
+                    String aggregateKey,
+                    String exchange,
+                    String routingKey,
+                    String payloadType,
+                    String payload,
+                    String headers,
+                    int attempts) {
+
+    boolean ordered() {
+        return aggregateKey != null && !aggregateKey.isEmpty();
+    }
+}
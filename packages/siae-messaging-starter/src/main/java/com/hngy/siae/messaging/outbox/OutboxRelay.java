@@ -0,0 +1,286 @@
+package com.hngy.siae.messaging.outbox;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hngy.siae.messaging.autoconfigure.SiaeRabbitProperties;
+import com.hngy.siae.messaging.producer.BatchMessage;
+import com.hngy.siae.messaging.producer.BatchSendResult;
+import com.hngy.siae.messaging.producer.SiaeMessagingTemplate;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.StringUtils;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 发件箱投递器：在单独线程中按 id 顺序取出一批发件箱消息，经 {@link SiaeMessagingTemplate#sendBatch(List, boolean)}
+ * 发布并等待确认，删除已确认的记录。不同键的消息在同一轮中批量发布，同键消息逐轮发布，前一条确认后才发布下一条。
+ * <p>
+ * 由 {@link OutboxPublisher} 在事务提交后唤醒，同时按 pollInterval 轮询，兜底进程重启或其他实例写入的记录。
+ * 取数使用 {@code SELECT ... FOR UPDATE}，多个实例的投递互相串行，不会乱序或重复投递同一批记录。
+ * <p>
+ * 同一 aggregateKey 中某条消息失败时，该键其后的消息不再发布，留在发件箱中，下次与它一起按原顺序重新投递。
+ * 出现失败后暂停唤醒直到下次轮询。Broker 拒绝、确认超时等可重试失败不计次数；无法路由、无法反序列化等失败
+ * 计入 attempts，达到 maxAttempts 后停止投递并保留在表中，不再阻塞同键的后续消息。
+ */
+public class OutboxRelay implements SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(OutboxRelay.class);
+
+    private static final long SHUTDOWN_TIMEOUT_SECONDS = 10L;
+    private static final int MAX_ERROR_LENGTH = 500;
+    private static final TypeReference<Map<String, Object>> HEADERS_TYPE = new TypeReference<>() {
+    };
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final SiaeMessagingTemplate messagingTemplate;
+    private final ObjectMapper objectMapper;
+    private final String table;
+    private final long pollInterval;
+    private final int batchSize;
+    private final int maxAttempts;
+    private final String selectSql;
+    private final String failSql;
+    private final RowMapper<OutboxRecord> rowMapper = (rs, rowNum) -> new OutboxRecord(
+            rs.getLong("id"),
+            rs.getString("aggregate_key"),
+            rs.getString("exchange"),
+            rs.getString("routing_key"),
+            rs.getString("payload_type"),
+            rs.getString("payload"),
+            rs.getString("headers"),
+            rs.getInt("attempts"));
+
+    private final AtomicBoolean wakeUpPending = new AtomicBoolean();
+    private ScheduledExecutorService scheduler;
+    private volatile boolean running;
+    private volatile long pausedUntil;
+
+    public OutboxRelay(JdbcTemplate jdbcTemplate,
+                       PlatformTransactionManager transactionManager,
+                       SiaeMessagingTemplate messagingTemplate,
+                       ObjectMapper objectMapper,
+                       SiaeRabbitProperties.Outbox properties) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        // 读已提交：取数加锁不产生间隙锁，不阻塞业务事务继续写入发件箱
+        this.transactionTemplate.setIsolationLevel(TransactionDefinition.ISOLATION_READ_COMMITTED);
+        this.messagingTemplate = messagingTemplate;
+        this.objectMapper = objectMapper;
+        this.table = properties.getTable();
+        this.pollInterval = Math.max(100L, properties.getPollInterval());
+        this.batchSize = Math.max(1, properties.getBatchSize());
+        this.maxAttempts = Math.max(1, properties.getMaxAttempts());
+        this.selectSql = "SELECT id, aggregate_key, exchange, routing_key, payload_type, payload, headers, attempts FROM "
+                + table + " WHERE attempts < ? ORDER BY id LIMIT ? FOR UPDATE";
+        this.failSql = "UPDATE " + table + " SET attempts = attempts + 1, last_error = ? WHERE id = ?";
+    }
+
+    /**
+     * 请求尽快投递一次，多次请求在投递线程空闲前合并为一次
+     */
+    public void wakeUp() {
+        if (!running || System.currentTimeMillis() < pausedUntil || !wakeUpPending.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            scheduler.execute(() -> {
+                wakeUpPending.set(false);
+                relay();
+            });
+        } catch (RejectedExecutionException ex) {
+            wakeUpPending.set(false);
+        }
+    }
+
+    @Override
+    public void start() {
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "siae-mq-outbox-relay");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::relay, 0L, pollInterval, TimeUnit.MILLISECONDS);
+        running = true;
+        log.info("[SIAE-MQ] Outbox relay started (table={}, pollInterval={}ms, batchSize={})", table, pollInterval, batchSize);
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        if (scheduler == null) {
+            return;
+        }
+        scheduler.shutdown();
+        try {
+            if (!scheduler.awaitTermination(SHUTDOWN_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                scheduler.shutdownNow();
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            scheduler.shutdownNow();
+        }
+        scheduler = null;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * 投递线程执行一次：连续投递直到发件箱取空或出现失败
+     */
+    void relay() {
+        try {
+            Boolean drained;
+            do {
+                drained = transactionTemplate.execute(status -> relayBatch());
+            } while (Boolean.FALSE.equals(drained) && running);
+        } catch (RuntimeException ex) {
+            pause();
+            log.warn("[SIAE-MQ] Outbox relay failed (table={}): {}", table, ex.getMessage());
+        }
+    }
+
+    /**
+     * 投递一批记录，返回 false 表示整批投递成功且可能还有剩余记录。
+     * <p>
+     * 同键记录分轮发布：第 n 轮发布每个键的第 n 条，前一条确认后才发布下一条。
+     * 若同一轮发布同键的多条，前一条被 nack 而后一条确认时，消费者会先收到后一条，重投后顺序颠倒。
+     */
+    private boolean relayBatch() {
+        List<OutboxRecord> records = jdbcTemplate.query(selectSql, rowMapper, maxAttempts, batchSize);
+        if (records.isEmpty()) {
+            return true;
+        }
+
+        // 聚合键 -> 该键首条失败消息的 id，之后的同键消息本轮不投递
+        Map<String, Long> blockedKeys = new HashMap<>();
+        List<Object[]> failedRows = new ArrayList<>();
+        List<List<Map.Entry<OutboxRecord, BatchMessage>>> rounds = new ArrayList<>();
+        Map<String, Integer> roundByKey = new HashMap<>();
+        for (OutboxRecord record : records) {
+            if (blocked(blockedKeys, record)) {
+                continue;
+            }
+            BatchMessage message;
+            try {
+                message = toBatchMessage(record);
+            } catch (Exception ex) {
+                failedRows.add(failedRow(record, ex.getClass().getSimpleName() + ": " + ex.getMessage()));
+                block(blockedKeys, record);
+                continue;
+            }
+            int round = record.ordered() ? roundByKey.merge(record.aggregateKey(), 1, Integer::sum) - 1 : 0;
+            if (round == rounds.size()) {
+                rounds.add(new ArrayList<>());
+            }
+            rounds.get(round).add(Map.entry(record, message));
+        }
+
+        List<Long> delivered = new ArrayList<>(records.size());
+        boolean failed = !failedRows.isEmpty();
+        for (List<Map.Entry<OutboxRecord, BatchMessage>> round : rounds) {
+            List<BatchMessage> messages = new ArrayList<>(round.size());
+            Map<BatchMessage, OutboxRecord> recordByMessage = new IdentityHashMap<>(round.size());
+            for (Map.Entry<OutboxRecord, BatchMessage> entry : round) {
+                if (!blocked(blockedKeys, entry.getKey())) {
+                    messages.add(entry.getValue());
+                    recordByMessage.put(entry.getValue(), entry.getKey());
+                }
+            }
+            if (messages.isEmpty()) {
+                continue;
+            }
+
+            Map<BatchMessage, BatchSendResult.Failure> failures = new IdentityHashMap<>();
+            messagingTemplate.sendBatch(messages, false).getFailures()
+                    .forEach(failure -> failures.put(failure.message(), failure));
+            for (BatchMessage message : messages) {
+                OutboxRecord record = recordByMessage.get(message);
+                BatchSendResult.Failure failure = failures.get(message);
+                if (failure == null) {
+                    delivered.add(record.id());
+                } else {
+                    if (failure.permanent()) {
+                        failedRows.add(failedRow(record, failure.cause()));
+                    }
+                    failed = true;
+                    block(blockedKeys, record);
+                }
+            }
+        }
+
+        if (!delivered.isEmpty()) {
+            jdbcTemplate.update("DELETE FROM " + table + " WHERE id IN ("
+                    + String.join(",", Collections.nCopies(delivered.size(), "?")) + ")", delivered.toArray());
+        }
+        if (!failedRows.isEmpty()) {
+            jdbcTemplate.batchUpdate(failSql, failedRows);
+        }
+        if (failed) {
+            pause();
+        }
+        log.debug("[SIAE-MQ] Outbox relayed {}/{} messages in {} rounds (table={})",
+                delivered.size(), records.size(), rounds.size(), table);
+        return delivered.size() < records.size() || records.size() < batchSize;
+    }
+
+    private BatchMessage toBatchMessage(OutboxRecord record) throws Exception {
+        Class<?> payloadType = ClassUtils.forName(record.payloadType(), ClassUtils.getDefaultClassLoader());
+        Object payload = objectMapper.readValue(record.payload(), payloadType);
+        Map<String, Object> headers = StringUtils.hasText(record.headers())
+                ? objectMapper.readValue(record.headers(), HEADERS_TYPE)
+                : Map.of();
+        return BatchMessage.of(record.exchange(), record.routingKey(), payload, headers);
+    }
+
+    private Object[] failedRow(OutboxRecord record, String cause) {
+        String error = cause != null && cause.length() > MAX_ERROR_LENGTH ? cause.substring(0, MAX_ERROR_LENGTH) : cause;
+        if (record.attempts() + 1 >= maxAttempts) {
+            log.error("[SIAE-MQ] Outbox message parked after {} attempts (table={}, id={}, exchange={}, routingKey={}): {}",
+                    record.attempts() + 1, table, record.id(), record.exchange(), record.routingKey(), error);
+        } else {
+            log.warn("[SIAE-MQ] Outbox message failed (table={}, id={}, attempt={}): {}",
+                    table, record.id(), record.attempts() + 1, error);
+        }
+        return new Object[]{error, record.id()};
+    }
+
+    private static void block(Map<String, Long> blockedKeys, OutboxRecord record) {
+        if (record.ordered()) {
+            blockedKeys.putIfAbsent(record.aggregateKey(), record.id());
+        }
+    }
+
+    private static boolean blocked(Map<String, Long> blockedKeys, OutboxRecord record) {
+        Long firstFailed = record.ordered() ? blockedKeys.get(record.aggregateKey()) : null;
+        return firstFailed != null && record.id() > firstFailed;
+    }
+
+    /**
+     * 出现失败后停止响应唤醒，等下次轮询再试，避免每次事务提交都重试，失败次数按轮询间隔累计
+     */
+    private void pause() {
+        pausedUntil = System.currentTimeMillis() + pollInterval;
+    }
+}
@@ -0,0 +1,52 @@
+package com.hngy.siae.messaging.producer;
+
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * 批量发送中的单条消息。
+ */
+public class BatchMessage {
+
+    private final String exchange;
+    private final String routingKey;
+    private final Object payload;
+    private final Map<String, Object> headers;
+
+    public BatchMessage(String exchange,
+                        String routingKey,
+                        Object payload,
+                        Map<String, Object> headers) {
+        this.exchange = exchange;
+        this.routingKey = routingKey;
+        this.payload = payload;
+        this.headers = headers == null ? Collections.emptyMap() : headers;
+    }
+
+    public static BatchMessage of(String exchange, String routingKey, Object payload) {
+        return new BatchMessage(exchange, routingKey, payload, null);
+    }
+
+    public static BatchMessage of(String exchange,
+                                  String routingKey,
+                                  Object payload,
+                                  Map<String, Object> headers) {
+        return new BatchMessage(exchange, routingKey, payload, headers);
+    }
+
+    public String getExchange() {
+        return exchange;
+    }
+
+    public String getRoutingKey() {
+        return routingKey;
+    }
+
+    public Object getPayload() {
+        return payload;
+    }
+
+    public Map<String, Object> getHeaders() {
+        return headers;
+    }
+}
@@ -0,0 +1,44 @@
+package com.hngy.siae.messaging.producer;
+
+import java.util.List;
+
+/**
+ * 批量发送结果：重试耗尽后仍未被 Broker 确认或无法路由的消息记录在 failures 中。
+ */
+public class BatchSendResult {
+
+    private final int total;
+    private final List<Failure> failures;
+
+    public BatchSendResult(int total, List<Failure> failures) {
+        this.total = total;
+        this.failures = failures == null ? List.of() : List.copyOf(failures);
+    }
+
+    public int getTotal() {
+        return total;
+    }
+
+    public int getConfirmed() {
+        return total - failures.size();
+    }
+
+    public List<Failure> getFailures() {
+        return failures;
+    }
+
+    public boolean isAllConfirmed() {
+        return failures.isEmpty();
+    }
+
+    /**
+     * 发送失败的消息。
+     *
+     * @param message   原始消息
+     * @param messageId 消息ID，各次重试保持不变
+     * @param cause     失败原因：nack 原因、确认超时、无法路由或发布异常
+     * @param permanent 是否为重发也无法成功的失败（无法路由、消息转换失败）
+     */
+    public record Failure(BatchMessage message, String messageId, String cause, boolean permanent) {
+    }
+}
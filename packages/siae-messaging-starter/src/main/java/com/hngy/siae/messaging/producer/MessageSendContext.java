@@ -13,6 +13,8 @@ public class MessageSendContext {
     private final String routingKey;
     private final Object payload;
     private final Map<String, Object> headers;
+    private final long startNanos;
+    private String instance = "default";
     private int attempt;
     private String messageId;
     private Message message;
@@ -28,6 +30,7 @@ public class MessageSendContext {
         this.headers = headers == null
                 ? new LinkedHashMap<>()
                 : new LinkedHashMap<>(headers);
+        this.startNanos = System.nanoTime();
     }
 
     public String getExchange() {
@@ -50,6 +53,24 @@ public class MessageSendContext {
         return Collections.unmodifiableMap(headers);
     }
 
+    /**
+     * 上下文创建时的 {@link System#nanoTime()}，用于计算本次发送耗时，不依赖线程绑定状态。
+     */
+    public long getStartNanos() {
+        return startNanos;
+    }
+
+    /**
+     * 发送所用的 RabbitMQ 实例名，默认连接为 "default"。
+     */
+    public String getInstance() {
+        return instance;
+    }
+
+    void setInstance(String instance) {
+        this.instance = instance;
+    }
+
     public int getAttempt() {
         return attempt;
     }
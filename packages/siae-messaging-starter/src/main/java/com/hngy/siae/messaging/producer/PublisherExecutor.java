@@ -0,0 +1,147 @@
+package com.hngy.siae.messaging.producer;
+
+import com.hngy.siae.messaging.autoconfigure.SiaeRabbitProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * sendAsync 使用的有界发布线程池：固定线程数 + 有界队列，队列满时按
+ * {@link SiaeRabbitProperties.Publisher.Async.RejectionPolicy} 对调用方施加背压，而不是无限堆积任务。
+ * <p>
+ * 有 MeterRegistry 时注册 Micrometer 线程池指标（前缀 {@code siae.messaging.executor}，含队列深度
+ * {@code .queued}、排队等待时间 {@code .idle}、执行时间），以及队列满的次数与 BLOCK 策略下调用方的阻塞时间。
+ * <p>
+ * 不实现 {@link java.util.concurrent.Executor}：注册为 Bean 时不会顶替 Spring Boot 默认的 applicationTaskExecutor。
+ */
+public class PublisherExecutor {
+
+    private static final Logger log = LoggerFactory.getLogger(PublisherExecutor.class);
+
+    private static final String METRIC_PREFIX = "siae.messaging";
+    private static final String METRIC_SATURATED = "siae.messaging.producer.async.saturated";
+    private static final String METRIC_BLOCKED = "siae.messaging.producer.async.blocked";
+    private static final long SHUTDOWN_TIMEOUT_SECONDS = 10L;
+
+    private final String name;
+    private final ThreadPoolExecutor threadPool;
+    private final ExecutorService executor;
+    private final Counter saturatedCounter;
+    private final Timer blockedTimer;
+
+    public PublisherExecutor(String instanceName,
+                             SiaeRabbitProperties.Publisher.Async properties,
+                             MeterRegistry meterRegistry) {
+        this.name = "siae-mq-publisher-" + instanceName;
+        if (meterRegistry != null) {
+            this.saturatedCounter = Counter.builder(METRIC_SATURATED)
+                    .tag("instance", instanceName)
+                    .register(meterRegistry);
+            this.blockedTimer = Timer.builder(METRIC_BLOCKED)
+                    .tag("instance", instanceName)
+                    .register(meterRegistry);
+        } else {
+            this.saturatedCounter = null;
+            this.blockedTimer = null;
+        }
+
+        int threads = Math.max(1, properties.getThreads());
+        this.threadPool = new ThreadPoolExecutor(threads, threads, 60L, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, properties.getQueueCapacity())),
+                threadFactory(name + "-"),
+                rejectionHandler(properties));
+        this.executor = meterRegistry != null
+                ? ExecutorServiceMetrics.monitor(meterRegistry, threadPool, name, METRIC_PREFIX, Tags.of("instance", instanceName))
+                : threadPool;
+    }
+
+    /**
+     * 提交发布任务，队列已满且策略为 ABORT 或 BLOCK 超时时抛出 {@link RejectedExecutionException}。
+     */
+    public void execute(Runnable command) {
+        executor.execute(command);
+    }
+
+    public int getQueueSize() {
+        return threadPool.getQueue().size();
+    }
+
+    /**
+     * 停止接收新任务，并在限定时间内发送完已排队的消息。
+     */
+    public void shutdown() {
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(SHUTDOWN_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                int dropped = executor.shutdownNow().size();
+                log.warn("[SIAE-MQ] Publisher executor '{}' did not drain in {}s, {} queued sends dropped",
+                        name, SHUTDOWN_TIMEOUT_SECONDS, dropped);
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            executor.shutdownNow();
+        }
+    }
+
+    private RejectedExecutionHandler rejectionHandler(SiaeRabbitProperties.Publisher.Async properties) {
+        SiaeRabbitProperties.Publisher.Async.RejectionPolicy policy = properties.getRejectionPolicy() != null
+                ? properties.getRejectionPolicy()
+                : SiaeRabbitProperties.Publisher.Async.RejectionPolicy.BLOCK;
+        long blockTimeout = Math.max(0L, properties.getBlockTimeout());
+        return (runnable, pool) -> {
+            if (saturatedCounter != null) {
+                saturatedCounter.increment();
+            }
+            if (pool.isShutdown()) {
+                throw new RejectedExecutionException("Publisher executor '" + name + "' is shut down");
+            }
+            switch (policy) {
+                case CALLER_RUNS -> runnable.run();
+                case BLOCK -> block(runnable, pool, blockTimeout);
+                default -> throw new RejectedExecutionException(
+                        "Publisher executor '" + name + "' queue is full (capacity=" + properties.getQueueCapacity() + ")");
+            }
+        };
+    }
+
+    private void block(Runnable runnable, ThreadPoolExecutor pool, long blockTimeout) {
+        long start = System.nanoTime();
+        boolean queued;
+        try {
+            queued = pool.getQueue().offer(runnable, blockTimeout, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new RejectedExecutionException("Interrupted while waiting for publisher executor '" + name + "'", ex);
+        } finally {
+            if (blockedTimer != null) {
+                blockedTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            }
+        }
+        if (!queued) {
+            throw new RejectedExecutionException(
+                    "Publisher executor '" + name + "' queue stayed full for " + blockTimeout + "ms");
+        }
+    }
+
+    private static ThreadFactory threadFactory(String prefix) {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
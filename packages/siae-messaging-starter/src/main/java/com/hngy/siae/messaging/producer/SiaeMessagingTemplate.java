@@ -1,17 +1,26 @@
 package com.hngy.siae.messaging.producer;
 
 import com.hngy.siae.messaging.autoconfigure.SiaeRabbitProperties;
+import com.rabbitmq.client.AMQP;
+import com.rabbitmq.client.Return;
+import com.rabbitmq.client.ReturnListener;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.amqp.core.Message;
 import org.springframework.amqp.core.MessagePostProcessor;
+import org.springframework.amqp.core.ReturnedMessage;
+import org.springframework.amqp.rabbit.connection.ConnectionFactory;
 import org.springframework.amqp.rabbit.connection.CorrelationData;
+import org.springframework.amqp.rabbit.core.RabbitOperations;
 import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.amqp.support.converter.MessageConversionException;
 import org.springframework.retry.support.RetryTemplate;
 import org.springframework.retry.support.RetryTemplateBuilder;
 import org.springframework.util.CollectionUtils;
 import org.springframework.util.StringUtils;
 
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.LinkedHashMap;
 import java.util.List;
@@ -19,23 +28,50 @@ import java.util.Map;
 import java.util.Objects;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicReference;
 
 public class SiaeMessagingTemplate {
 
     private static final Logger log = LoggerFactory.getLogger(SiaeMessagingTemplate.class);
 
+    private final String instanceName;
     private final RabbitTemplate rabbitTemplate;
     private final List<MessageSendInterceptor> interceptors;
+    private final Executor asyncExecutor;
     private final RetryTemplate retryTemplate;
     private final int maxAttempts;
+    private final long confirmTimeout;
+    private final int batchWindow;
 
     public SiaeMessagingTemplate(RabbitTemplate rabbitTemplate,
                                  SiaeRabbitProperties.Publisher publisherProperties,
-                                 List<MessageSendInterceptor> interceptors) {
+                                 List<MessageSendInterceptor> interceptors,
+                                 Executor asyncExecutor) {
+        this("default", rabbitTemplate, publisherProperties, interceptors, asyncExecutor);
+    }
+
+    /**
+     * @param instanceName RabbitMQ 实例名，写入 {@link MessageSendContext#getInstance()} 供拦截器区分
+     */
+    public SiaeMessagingTemplate(String instanceName,
+                                 RabbitTemplate rabbitTemplate,
+                                 SiaeRabbitProperties.Publisher publisherProperties,
+                                 List<MessageSendInterceptor> interceptors,
+                                 Executor asyncExecutor) {
+        this.instanceName = StringUtils.hasText(instanceName) ? instanceName : "default";
         this.rabbitTemplate = Objects.requireNonNull(rabbitTemplate, "rabbitTemplate");
         this.interceptors = interceptors == null ? List.of() : List.copyOf(interceptors);
+        this.asyncExecutor = Objects.requireNonNull(asyncExecutor, "asyncExecutor");
         this.retryTemplate = buildRetryTemplate(publisherProperties);
         this.maxAttempts = resolveMaxAttempts(publisherProperties, this.retryTemplate);
+        this.confirmTimeout = publisherProperties != null ? Math.max(1L, publisherProperties.getConfirmTimeout()) : 5000L;
+        this.batchWindow = publisherProperties != null ? Math.max(1, publisherProperties.getBatchWindow()) : 500;
     }
 
     public void send(String exchange, String routingKey, Object payload) {
@@ -57,12 +93,22 @@ public class SiaeMessagingTemplate {
         executeSend(exchange, routingKey, payload, headers, postProcessor);
     }
 
+    /**
+     * 在有界发布线程池中发送。队列满时按配置的拒绝策略阻塞调用方、在调用方线程发送或拒绝，
+     * 被拒绝时返回以 {@link MessageSendException} 异常完成的 Future。
+     */
     public CompletableFuture<Void> sendAsync(String exchange,
                                              String routingKey,
                                              Object payload,
                                              Map<String, Object> headers,
                                              MessagePostProcessor postProcessor) {
-        return CompletableFuture.runAsync(() -> executeSend(exchange, routingKey, payload, headers, postProcessor));
+        try {
+            return CompletableFuture.runAsync(
+                    () -> executeSend(exchange, routingKey, payload, headers, postProcessor), asyncExecutor);
+        } catch (RejectedExecutionException ex) {
+            log.warn("[SIAE-MQ] Async send rejected (exchange={}, routingKey={}): {}", exchange, routingKey, ex.getMessage());
+            return CompletableFuture.failedFuture(new MessageSendException("Async send rejected", ex));
+        }
     }
 
     public CompletableFuture<Void> sendAsync(String exchange,
@@ -78,6 +124,250 @@ public class SiaeMessagingTemplate {
         return sendAsync(exchange, routingKey, payload, headers, null);
     }
 
+    public BatchSendResult sendBatch(String exchange,
+                                     String routingKey,
+                                     Collection<?> payloads) {
+        if (payloads == null || payloads.isEmpty()) {
+            return new BatchSendResult(0, List.of());
+        }
+        List<BatchMessage> messages = new ArrayList<>(payloads.size());
+        for (Object payload : payloads) {
+            messages.add(BatchMessage.of(exchange, routingKey, payload));
+        }
+        return sendBatch(messages);
+    }
+
+    /**
+     * 批量发送：按确认窗口在同一信道上连续发布，再统一等待 publisher confirm，
+     * 重试时只重新发布被 nack、确认超时或发布异常的消息，消息ID在各次重试间保持不变。
+     * 无法路由（被 return）与消息转换失败的消息不重试，直接记入结果。未开启 confirm 时仅保证发布到信道。
+     */
+    public BatchSendResult sendBatch(List<BatchMessage> messages) {
+        return sendBatch(messages, true);
+    }
+
+    /**
+     * 批量发送，retry 为 false 时只发布一轮，不按发布重试配置重发。
+     * <p>
+     * 重试会把失败的消息排在已确认的消息之后重新发布，需要保持消息先后顺序、自行处理失败的调用方应关闭重试。
+     */
+    public BatchSendResult sendBatch(List<BatchMessage> messages, boolean retry) {
+        if (messages == null || messages.isEmpty()) {
+            return new BatchSendResult(0, List.of());
+        }
+        List<BatchEntry> entries = new ArrayList<>(messages.size());
+        for (BatchMessage message : messages) {
+            String messageId = resolveMessageId(message.getHeaders());
+            entries.add(new BatchEntry(message, StringUtils.hasText(messageId) ? messageId : generateMessageId()));
+        }
+
+        List<BatchSendResult.Failure> failures = new ArrayList<>();
+        List<BatchEntry> unconfirmed;
+        if (retry && retryTemplate != null) {
+            AtomicReference<List<BatchEntry>> pending = new AtomicReference<>(entries);
+            retryTemplate.execute(context -> {
+                List<BatchEntry> retryable = publishBatch(pending.get(), context.getRetryCount() + 1, failures);
+                pending.set(retryable);
+                if (!retryable.isEmpty()) {
+                    throw new MessageSendException(retryable.size() + " messages not confirmed");
+                }
+                return null;
+            }, context -> null);
+            unconfirmed = pending.get();
+        } else {
+            unconfirmed = publishBatch(entries, 1, failures);
+        }
+        for (BatchEntry entry : unconfirmed) {
+            failures.add(entry.toFailure());
+        }
+
+        if (!failures.isEmpty()) {
+            log.error("[SIAE-MQ] Batch send finished with {}/{} failed messages (first: messageId={}, cause={})",
+                    failures.size(),
+                    entries.size(),
+                    failures.get(0).messageId(),
+                    failures.get(0).cause());
+        }
+        return new BatchSendResult(entries.size(), failures);
+    }
+
+    /**
+     * 发布一轮批量消息，不可重试的失败写入 failures，返回需要重试的消息。
+     */
+    private List<BatchEntry> publishBatch(List<BatchEntry> entries,
+                                          int attempt,
+                                          List<BatchSendResult.Failure> failures) {
+        ConnectionFactory connectionFactory = rabbitTemplate.getConnectionFactory();
+        boolean confirms = connectionFactory.isPublisherConfirms();
+        boolean returns = connectionFactory.isPublisherReturns();
+        List<BatchEntry> retryable = new ArrayList<>();
+        for (int from = 0; from < entries.size(); from += batchWindow) {
+            List<BatchEntry> window = entries.subList(from, Math.min(entries.size(), from + batchWindow));
+            publishWindow(window, attempt, confirms, returns);
+            for (BatchEntry entry : window) {
+                if (entry.cause == null) {
+                    continue;
+                }
+                if (entry.permanent) {
+                    failures.add(entry.toFailure());
+                } else {
+                    retryable.add(entry);
+                }
+            }
+        }
+        if (!retryable.isEmpty()) {
+            log.warn("[SIAE-MQ] Batch send attempt {}/{}: {}/{} messages not confirmed (first: messageId={}, cause={})",
+                    attempt,
+                    maxAttempts,
+                    retryable.size(),
+                    entries.size(),
+                    retryable.get(0).messageId,
+                    retryable.get(0).cause);
+        }
+        return retryable;
+    }
+
+    /**
+     * 在同一信道上发布一个窗口并等待其 confirm。
+     * <p>
+     * RabbitMQ 先 return 后 ack 无法路由的 mandatory 消息，return 会关联到 CorrelationData；
+     * 部分 Broker（如 Qpid）先 nack 后 return，此时 return 无法再关联。因此窗口期间在信道上单独收集 return，
+     * 出现 nack 时再做一次同步 RPC，信道上的帧按序到达，RPC 返回时此前的 return 均已处理。
+     * 只有 NO_ROUTE/NO_CONSUMERS 的 return 视为不可重试，其它回复码（如 Qpid 队列满时的 506）按临时失败重试。
+     */
+    private void publishWindow(List<BatchEntry> window, int attempt, boolean confirms, boolean returns) {
+        window.forEach(BatchEntry::reset);
+        Map<String, Return> returned = new ConcurrentHashMap<>();
+        try {
+            rabbitTemplate.invoke(operations -> {
+                ReturnListener returnListener = returns
+                        ? operations.execute(channel -> channel.addReturnListener(message -> {
+                            String messageId = message.getProperties().getMessageId();
+                            if (messageId != null) {
+                                returned.put(messageId, message);
+                            }
+                        }))
+                        : null;
+                try {
+                    for (BatchEntry entry : window) {
+                        publishEntry(operations, entry, attempt);
+                    }
+                    if (confirms) {
+                        awaitConfirms(operations, window, returnListener != null);
+                    }
+                } finally {
+                    if (returnListener != null) {
+                        operations.execute(channel -> channel.removeReturnListener(returnListener));
+                    }
+                }
+                return null;
+            });
+        } catch (RuntimeException ex) {
+            // 获取或关闭信道失败：本窗口中未能发布的消息按本轮失败处理
+            for (BatchEntry entry : window) {
+                if (entry.correlationData == null && entry.cause == null) {
+                    entry.fail(describe(ex), false);
+                }
+            }
+        }
+
+        for (BatchEntry entry : window) {
+            if (!entry.confirmFailed) {
+                continue;
+            }
+            Return reply = returned.get(entry.messageId);
+            if (reply != null) {
+                failReturned(entry, reply.getReplyCode(), reply.getReplyText());
+            }
+            notifyErrorInterceptors(entry.context, new MessageSendException(entry.cause));
+        }
+    }
+
+    private void awaitConfirms(RabbitOperations operations, List<BatchEntry> window, boolean collectReturns) {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(confirmTimeout);
+        boolean nacked = false;
+        for (BatchEntry entry : window) {
+            if (entry.cause == null) {
+                awaitConfirm(entry, deadline);
+                nacked |= entry.nacked;
+            }
+        }
+        if (nacked && collectReturns) {
+            try {
+                operations.execute(channel -> channel.exchangeDeclarePassive("amq.direct"));
+            } catch (RuntimeException ex) {
+                // 信道已关闭（如交换机不存在），不会再有 return
+                log.debug("[SIAE-MQ] Return barrier skipped: {}", ex.getMessage());
+            }
+        }
+    }
+
+    private void publishEntry(RabbitOperations operations, BatchEntry entry, int attempt) {
+        BatchMessage batchMessage = entry.message;
+        MessageSendContext context = new MessageSendContext(
+                batchMessage.getExchange(),
+                batchMessage.getRoutingKey(),
+                batchMessage.getPayload(),
+                batchMessage.getHeaders());
+        context.setInstance(instanceName);
+        context.setAttempt(attempt);
+        context.setMessageId(entry.messageId);
+        context.getHeaders().putIfAbsent("X-Retry-Count", attempt - 1);
+        entry.context = context;
+
+        notifyBefore(context);
+
+        CorrelationData correlationData = new CorrelationData(entry.messageId);
+        context.setCorrelationData(correlationData);
+        try {
+            operations.convertAndSend(batchMessage.getExchange(), batchMessage.getRoutingKey(), batchMessage.getPayload(),
+                    message -> postProcess(message, context, null), correlationData);
+            entry.correlationData = correlationData;
+            notifyAfter(context);
+        } catch (RuntimeException ex) {
+            entry.fail(describe(ex), ex instanceof MessageConversionException);
+            notifyErrorInterceptors(context, ex);
+        }
+    }
+
+    private void awaitConfirm(BatchEntry entry, long deadline) {
+        CorrelationData correlationData = entry.correlationData;
+        try {
+            CorrelationData.Confirm confirm = correlationData.getFuture()
+                    .get(Math.max(0L, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+            ReturnedMessage returned = correlationData.getReturned();
+            if (returned != null) {
+                failReturned(entry, returned.getReplyCode(), returned.getReplyText());
+            } else if (!confirm.isAck()) {
+                entry.nacked = true;
+                entry.fail("nack: " + (StringUtils.hasText(confirm.getReason()) ? confirm.getReason() : "unknown"), false);
+            }
+        } catch (TimeoutException ex) {
+            entry.fail("confirm timeout after " + confirmTimeout + "ms", false);
+        } catch (ExecutionException ex) {
+            entry.fail(describe(ex.getCause()), false);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            entry.fail("interrupted while waiting for confirm", false);
+        }
+        entry.confirmFailed = entry.cause != null;
+    }
+
+    private static void failReturned(BatchEntry entry, int replyCode, String replyText) {
+        if (replyCode == AMQP.NO_ROUTE || replyCode == AMQP.NO_CONSUMERS) {
+            entry.fail("unroutable: " + replyCode + " " + replyText, true);
+        } else {
+            entry.fail("returned: " + replyCode + " " + replyText, false);
+        }
+    }
+
+    private static String describe(Throwable throwable) {
+        if (throwable == null) {
+            return "unknown";
+        }
+        return throwable.getClass().getSimpleName() + ": " + throwable.getMessage();
+    }
+
     private void executeSend(String exchange,
                              String routingKey,
                              Object payload,
@@ -128,6 +418,7 @@ public class SiaeMessagingTemplate {
                 ? new LinkedHashMap<>()
                 : new LinkedHashMap<>(headers);
         MessageSendContext context = new MessageSendContext(exchange, routingKey, payload, headerMap);
+        context.setInstance(instanceName);
         context.setAttempt(attempt);
 
         String providedMessageId = resolveMessageId(headerMap);
@@ -146,23 +437,8 @@ public class SiaeMessagingTemplate {
         context.setCorrelationData(correlationData);
 
         try {
-            rabbitTemplate.convertAndSend(exchange, routingKey, payload, message -> {
-                message.getMessageProperties().setMessageId(context.getMessageId());
-                if (!CollectionUtils.isEmpty(context.getHeaders())) {
-                    context.getHeaders().forEach((key, value) -> {
-                        if (value != null) {
-                            message.getMessageProperties().setHeader(key, value);
-                        }
-                    });
-                }
-                if (userPostProcessor != null) {
-                    Message processed = userPostProcessor.postProcessMessage(message);
-                    context.setMessage(processed);
-                    return processed;
-                }
-                context.setMessage(message);
-                return message;
-            }, correlationData);
+            rabbitTemplate.convertAndSend(exchange, routingKey, payload,
+                    message -> postProcess(message, context, userPostProcessor), correlationData);
 
             notifyAfter(context);
         } catch (RuntimeException ex) {
@@ -171,6 +447,26 @@ public class SiaeMessagingTemplate {
         }
     }
 
+    private Message postProcess(Message message,
+                                MessageSendContext context,
+                                MessagePostProcessor userPostProcessor) {
+        message.getMessageProperties().setMessageId(context.getMessageId());
+        if (!CollectionUtils.isEmpty(context.getHeaders())) {
+            context.getHeaders().forEach((key, value) -> {
+                if (value != null) {
+                    message.getMessageProperties().setHeader(key, value);
+                }
+            });
+        }
+        if (userPostProcessor != null) {
+            Message processed = userPostProcessor.postProcessMessage(message);
+            context.setMessage(processed);
+            return processed;
+        }
+        context.setMessage(message);
+        return message;
+    }
+
     private RetryTemplate buildRetryTemplate(SiaeRabbitProperties.Publisher publisherProperties) {
         if (publisherProperties == null
                 || publisherProperties.getRetry() == null
@@ -242,6 +538,10 @@ public class SiaeMessagingTemplate {
                     context.getMessageId(),
                     throwable);
         }
+        notifyErrorInterceptors(context, throwable);
+    }
+
+    private void notifyErrorInterceptors(MessageSendContext context, Throwable throwable) {
         for (MessageSendInterceptor interceptor : interceptors) {
             try {
                 interceptor.onError(context, throwable);
@@ -265,4 +565,42 @@ public class SiaeMessagingTemplate {
         }
         return candidate instanceof String ? (String) candidate : null;
     }
+
+    /**
+     * 批量发送中单条消息的发布状态，每轮发布前重置。
+     */
+    private static final class BatchEntry {
+
+        private final BatchMessage message;
+        private final String messageId;
+        private MessageSendContext context;
+        private CorrelationData correlationData;
+        private String cause;
+        private boolean permanent;
+        private boolean nacked;
+        private boolean confirmFailed;
+
+        private BatchEntry(BatchMessage message, String messageId) {
+            this.message = message;
+            this.messageId = messageId;
+        }
+
+        private void reset() {
+            context = null;
+            correlationData = null;
+            cause = null;
+            permanent = false;
+            nacked = false;
+            confirmFailed = false;
+        }
+
+        private void fail(String cause, boolean permanent) {
+            this.cause = cause;
+            this.permanent = permanent;
+        }
+
+        private BatchSendResult.Failure toFailure() {
+            return new BatchSendResult.Failure(message, messageId, cause, permanent);
+        }
+    }
 }
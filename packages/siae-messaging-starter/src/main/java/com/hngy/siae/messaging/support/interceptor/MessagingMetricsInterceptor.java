@@ -4,24 +4,30 @@ import com.hngy.siae.messaging.producer.MessageSendContext;
 import com.hngy.siae.messaging.producer.MessageSendInterceptor;
 import io.micrometer.core.instrument.Counter;
 import io.micrometer.core.instrument.MeterRegistry;
-import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.Tags;
 import io.micrometer.core.instrument.Timer;
 import org.springframework.util.StringUtils;
 
-import java.util.ArrayList;
-import java.util.List;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
 
+/**
+ * 生产者指标：按 (instance, exchange, routingKey) 注册一组发送计数、失败计数、重试计数与发送耗时。
+ * <p>
+ * 每组指标只在首次出现时注册，之后经三级 Map 查找复用，发送路径上不再访问 MeterRegistry，也不拼接缓存键；
+ * 耗时取自 {@link MessageSendContext#getStartNanos()}，不使用 ThreadLocal，跨线程发送同样正确。
+ */
 public class MessagingMetricsInterceptor implements MessageSendInterceptor {
 
     private static final String METRIC_SENT = "siae.messaging.producer.sent";
     private static final String METRIC_FAILED = "siae.messaging.producer.failed";
+    private static final String METRIC_RETRIES = "siae.messaging.producer.retries";
     private static final String METRIC_LATENCY = "siae.messaging.producer.latency";
 
     private final MeterRegistry meterRegistry;
-    private final ThreadLocal<Timer.Sample> sampleThreadLocal = new ThreadLocal<>();
-    private final ConcurrentMap<String, Counter> counterCache = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, ConcurrentMap<String, ConcurrentMap<String, ProducerMeters>>> meters =
+            new ConcurrentHashMap<>();
 
     public MessagingMetricsInterceptor(MeterRegistry meterRegistry) {
         this.meterRegistry = meterRegistry;
@@ -29,10 +35,10 @@ public class MessagingMetricsInterceptor implements MessageSendInterceptor {
 
     @Override
     public void beforeSend(MessageSendContext context) {
-        if (meterRegistry == null) {
+        if (meterRegistry == null || context.getAttempt() <= 1) {
             return;
         }
-        sampleThreadLocal.set(Timer.start(meterRegistry));
+        meters(context).retries.increment();
     }
 
     @Override
@@ -40,8 +46,9 @@ public class MessagingMetricsInterceptor implements MessageSendInterceptor {
         if (meterRegistry == null) {
             return;
         }
-        stopTimer(context, METRIC_LATENCY);
-        counter(context, METRIC_SENT).increment();
+        ProducerMeters producerMeters = meters(context);
+        producerMeters.latency.record(System.nanoTime() - context.getStartNanos(), TimeUnit.NANOSECONDS);
+        producerMeters.sent.increment();
     }
 
     @Override
@@ -49,44 +56,40 @@ public class MessagingMetricsInterceptor implements MessageSendInterceptor {
         if (meterRegistry == null) {
             return;
         }
-        stopTimer(context, METRIC_LATENCY);
-        counter(context, METRIC_FAILED).increment();
+        meters(context).failed.increment();
     }
 
-    private void stopTimer(MessageSendContext context, String metricName) {
-        Timer.Sample sample = sampleThreadLocal.get();
-        sampleThreadLocal.remove();
-        if (sample == null) {
-            return;
+    private ProducerMeters meters(MessageSendContext context) {
+        String instance = safeTagValue(context.getInstance());
+        String exchange = safeTagValue(context.getExchange());
+        String routingKey = safeTagValue(context.getRoutingKey());
+        ConcurrentMap<String, ProducerMeters> byRoutingKey = meters
+                .computeIfAbsent(instance, key -> new ConcurrentHashMap<>())
+                .computeIfAbsent(exchange, key -> new ConcurrentHashMap<>());
+        ProducerMeters existing = byRoutingKey.get(routingKey);
+        if (existing != null) {
+            return existing;
         }
-        List<Tag> tags = tags(context);
-        sample.stop(Timer.builder(metricName).tags(tags).register(meterRegistry));
+        return byRoutingKey.computeIfAbsent(routingKey, key -> new ProducerMeters(meterRegistry,
+                Tags.of("instance", instance, "exchange", exchange, "routingKey", routingKey)));
     }
 
-    private Counter counter(MessageSendContext context, String metricName) {
-        return counterCache.computeIfAbsent(metricName + tagsKey(context),
-                key -> Counter.builder(metricName)
-                        .tags(tags(context))
-                        .register(meterRegistry));
+    private String safeTagValue(String value) {
+        return StringUtils.hasText(value) ? value : "unknown";
     }
 
-    private List<Tag> tags(MessageSendContext context) {
-        List<Tag> tags = new ArrayList<>(4);
-        tags.add(Tag.of("exchange", safeTagValue(context.getExchange())));
-        tags.add(Tag.of("routingKey", safeTagValue(context.getRoutingKey())));
-        tags.add(Tag.of("attempt", Integer.toString(context.getAttempt())));
-        tags.add(Tag.of("tenantId", safeTagValue(String.valueOf(context.getHeaders().getOrDefault("tenantId", "unknown")))));
-        return tags;
-    }
+    private static final class ProducerMeters {
 
-    private String tagsKey(MessageSendContext context) {
-        return safeTagValue(context.getExchange()) + "|" +
-                safeTagValue(context.getRoutingKey()) + "|" +
-                context.getAttempt() + "|" +
-                safeTagValue(String.valueOf(context.getHeaders().getOrDefault("tenantId", "unknown")));
-    }
+        private final Counter sent;
+        private final Counter failed;
+        private final Counter retries;
+        private final Timer latency;
 
-    private String safeTagValue(String value) {
-        return StringUtils.hasText(value) ? value : "unknown";
+        private ProducerMeters(MeterRegistry registry, Tags tags) {
+            this.sent = Counter.builder(METRIC_SENT).tags(tags).register(registry);
+            this.failed = Counter.builder(METRIC_FAILED).tags(tags).register(registry);
+            this.retries = Counter.builder(METRIC_RETRIES).tags(tags).register(registry);
+            this.latency = Timer.builder(METRIC_LATENCY).tags(tags).register(registry);
+        }
     }
 }
@@ -0,0 +1,123 @@
+package com.hngy.siae.messaging.support.metrics;
+
+import com.hngy.siae.messaging.support.headers.DefaultMessageHeaderEnricher;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.util.StringUtils;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 消费者指标，作为监听容器 adviceChain 的最外层，按队列记录：
+ * <ul>
+ *   <li>{@code siae.messaging.consumer.process}：监听方法处理耗时（含容器内重试），按 outcome 区分成功与失败</li>
+ *   <li>{@code siae.messaging.consumer.redelivered}：Broker 标记为重投的消息数</li>
+ *   <li>{@code siae.messaging.consumer.lag}：生产者 sentAt 消息头到开始处理的时间，反映消息在队列中的积压</li>
+ * </ul>
+ * 每个队列的指标首次出现时注册，之后按队列名查找复用。
+ */
+public class ConsumerMetricsAdvice implements MethodInterceptor {
+
+    private static final String METRIC_PROCESS = "siae.messaging.consumer.process";
+    private static final String METRIC_REDELIVERED = "siae.messaging.consumer.redelivered";
+    private static final String METRIC_LAG = "siae.messaging.consumer.lag";
+
+    private final MeterRegistry meterRegistry;
+    private final ConcurrentMap<String, ConsumerMeters> meters = new ConcurrentHashMap<>();
+
+    public ConsumerMetricsAdvice(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        Object[] arguments = invocation.getArguments();
+        Object data = arguments.length > 1 ? arguments[1] : null;
+        Message first = firstMessage(data);
+        if (first == null) {
+            return invocation.proceed();
+        }
+
+        ConsumerMeters consumerMeters = meters(first.getMessageProperties().getConsumerQueue());
+        if (data instanceof List<?> messages) {
+            for (Object message : messages) {
+                recordDelivery(consumerMeters, (Message) message);
+            }
+        } else {
+            recordDelivery(consumerMeters, first);
+        }
+
+        long start = System.nanoTime();
+        try {
+            Object result = invocation.proceed();
+            consumerMeters.success.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            return result;
+        } catch (Throwable ex) {
+            consumerMeters.failure.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            throw ex;
+        }
+    }
+
+    private void recordDelivery(ConsumerMeters consumerMeters, Message message) {
+        MessageProperties properties = message.getMessageProperties();
+        if (Boolean.TRUE.equals(properties.isRedelivered())) {
+            consumerMeters.redelivered.increment();
+        }
+        Object sentAt = properties.getHeader(DefaultMessageHeaderEnricher.HEADER_SENT_AT);
+        if (sentAt instanceof String text && StringUtils.hasText(text)) {
+            try {
+                Duration lag = Duration.between(Instant.parse(text), Instant.now());
+                if (!lag.isNegative()) {
+                    consumerMeters.lag.record(lag);
+                }
+            } catch (DateTimeParseException ignored) {
+                // 非本 Starter 发送的消息，sentAt 格式不可识别时不记录
+            }
+        }
+    }
+
+    private static Message firstMessage(Object data) {
+        if (data instanceof Message message) {
+            return message;
+        }
+        if (data instanceof List<?> messages && !messages.isEmpty() && messages.get(0) instanceof Message message) {
+            return message;
+        }
+        return null;
+    }
+
+    private ConsumerMeters meters(String queue) {
+        String name = StringUtils.hasText(queue) ? queue : "unknown";
+        ConsumerMeters existing = meters.get(name);
+        if (existing != null) {
+            return existing;
+        }
+        return meters.computeIfAbsent(name, key -> new ConsumerMeters(meterRegistry, key));
+    }
+
+    private static final class ConsumerMeters {
+
+        private final Timer success;
+        private final Timer failure;
+        private final Counter redelivered;
+        private final Timer lag;
+
+        private ConsumerMeters(MeterRegistry registry, String queue) {
+            this.success = Timer.builder(METRIC_PROCESS).tag("queue", queue).tag("outcome", "success").register(registry);
+            this.failure = Timer.builder(METRIC_PROCESS).tag("queue", queue).tag("outcome", "failure").register(registry);
+            this.redelivered = Counter.builder(METRIC_REDELIVERED).tag("queue", queue).register(registry);
+            this.lag = Timer.builder(METRIC_LAG).tag("queue", queue).register(registry);
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package com.hngy.siae.messaging.support.metrics;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.amqp.core.QueueInformation;
+import org.springframework.amqp.rabbit.core.RabbitAdmin;
+import org.springframework.context.SmartLifecycle;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 定时查询监听队列的积压消息数与消费者数，注册为 {@code siae.messaging.consumer.queue.depth}
+ * 与 {@code siae.messaging.consumer.queue.consumers} 两个 Gauge。
+ * <p>
+ * 队列由 siaeListenerContainerFactory 创建容器时登记；查询在独立线程中按固定间隔执行，
+ * 指标抓取时只读取上次结果，不访问 Broker。首次查询完成前及查询失败的队列值为 NaN。
+ */
+public class QueueDepthMonitor implements SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(QueueDepthMonitor.class);
+
+    private static final String METRIC_DEPTH = "siae.messaging.consumer.queue.depth";
+    private static final String METRIC_CONSUMERS = "siae.messaging.consumer.queue.consumers";
+
+    private final RabbitAdmin rabbitAdmin;
+    private final MeterRegistry meterRegistry;
+    private final long intervalMillis;
+    private final ConcurrentMap<String, QueueState> queues = new ConcurrentHashMap<>();
+
+    private ScheduledExecutorService scheduler;
+    private volatile boolean running;
+
+    public QueueDepthMonitor(RabbitAdmin rabbitAdmin, MeterRegistry meterRegistry, long intervalMillis) {
+        this.rabbitAdmin = rabbitAdmin;
+        this.meterRegistry = meterRegistry;
+        this.intervalMillis = intervalMillis;
+    }
+
+    /**
+     * 登记需要监控的队列，重复登记忽略
+     */
+    public void register(String... queueNames) {
+        if (meterRegistry == null || queueNames == null) {
+            return;
+        }
+        for (String queueName : queueNames) {
+            queues.computeIfAbsent(queueName, name -> {
+                QueueState state = new QueueState();
+                Gauge.builder(METRIC_DEPTH, state, s -> s.depth).tag("queue", name).register(meterRegistry);
+                Gauge.builder(METRIC_CONSUMERS, state, s -> s.consumers).tag("queue", name).register(meterRegistry);
+                return state;
+            });
+        }
+    }
+
+    @Override
+    public void start() {
+        if (meterRegistry == null || intervalMillis <= 0) {
+            return;
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "siae-mq-queue-depth");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::poll, 0L, intervalMillis, TimeUnit.MILLISECONDS);
+        running = true;
+    }
+
+    @Override
+    public void stop() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+            scheduler = null;
+        }
+        running = false;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void poll() {
+        queues.forEach((name, state) -> {
+            try {
+                QueueInformation info = rabbitAdmin.getQueueInfo(name);
+                state.depth = info != null ? info.getMessageCount() : Double.NaN;
+                state.consumers = info != null ? info.getConsumerCount() : Double.NaN;
+            } catch (RuntimeException ex) {
+                state.depth = Double.NaN;
+                state.consumers = Double.NaN;
+                log.debug("[SIAE-MQ] Queue depth query failed (queue={}): {}", name, ex.getMessage());
+            }
+        });
+    }
+
+    private static final class QueueState {
+
+        private volatile double depth = Double.NaN;
+        private volatile double consumers = Double.NaN;
+    }
+}
@@ -0,0 +1,158 @@
+package com.hngy.siae.messaging.benchmark;
+
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.hngy.siae.messaging.autoconfigure.SiaeRabbitProperties;
+import com.hngy.siae.messaging.event.NotificationMessage;
+import com.hngy.siae.messaging.producer.BatchSendResult;
+import com.hngy.siae.messaging.producer.SiaeMessagingTemplate;
+import com.hngy.siae.messaging.support.headers.DefaultMessageHeaderEnricher;
+import com.hngy.siae.messaging.support.interceptor.HeaderEnrichingInterceptor;
+import com.hngy.siae.messaging.support.serializer.JacksonMessageConverterAdapter;
+import org.apache.qpid.server.SystemLauncher;
+import org.apache.qpid.server.model.SystemConfig;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.amqp.core.Queue;
+import org.springframework.amqp.rabbit.connection.CachingConnectionFactory;
+import org.springframework.amqp.rabbit.connection.CorrelationData;
+import org.springframework.amqp.rabbit.core.RabbitAdmin;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 批量发送基准测试，在进程内启动 Qpid Broker-J（AMQP 0-9-1，内存存储），吞吐量单位为消息/秒
+ * <ul>
+ *   <li>sendEach：逐条调用 send，不等待 publisher confirm（当前通知、事件发送的写法）</li>
+ *   <li>sendEachConfirmed：逐条发送并等待各自的 confirm，即逐条路径获得与批量相同投递保证时的代价</li>
+ *   <li>sendBatch：一次 sendBatch 发送整批，按窗口异步等待 confirm</li>
+ * </ul>
+ * 每次调用发送 {@value #BATCH_SIZE} 条通知消息，每轮迭代后清空队列
+ * 运行方式：在 IDE 中直接执行 main 方法
+ *
+ * @author KEYKB
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BatchPublishBenchmark {
+
+    private static final int BATCH_SIZE = 1000;
+    private static final String QUEUE = "siae.benchmark.notification";
+
+    private SystemLauncher broker;
+    private CachingConnectionFactory connectionFactory;
+    private RabbitAdmin rabbitAdmin;
+    private RabbitTemplate rabbitTemplate;
+    private SiaeMessagingTemplate messagingTemplate;
+    private List<NotificationMessage> payloads;
+
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+        int port = freePort();
+        Map<String, Object> attributes = new HashMap<>();
+        attributes.put(SystemConfig.TYPE, "Memory");
+        attributes.put(SystemConfig.INITIAL_CONFIGURATION_LOCATION,
+                BatchPublishBenchmark.class.getResource("/benchmark/qpid-embedded.json").toExternalForm());
+        attributes.put(SystemConfig.STARTUP_LOGGED_TO_SYSTEM_OUT, false);
+        attributes.put(SystemConfig.CONTEXT, Map.of(
+                "qpid.amqp_port", Integer.toString(port),
+                "qpid.work_dir", Files.createTempDirectory("siae-qpid").toString()));
+        broker = new SystemLauncher();
+        broker.startup(attributes);
+
+        SiaeRabbitProperties.Publisher publisher = new SiaeRabbitProperties.Publisher();
+        connectionFactory = new CachingConnectionFactory("localhost", port);
+        connectionFactory.setPublisherConfirmType(CachingConnectionFactory.ConfirmType.CORRELATED);
+        connectionFactory.setPublisherReturns(true);
+        rabbitTemplate = new RabbitTemplate(connectionFactory);
+        rabbitTemplate.setMandatory(true);
+        rabbitTemplate.setMessageConverter(new JacksonMessageConverterAdapter(JsonMapper.builder().findAndAddModules().build()));
+        messagingTemplate = new SiaeMessagingTemplate(rabbitTemplate, publisher,
+                List.of(new HeaderEnrichingInterceptor(new DefaultMessageHeaderEnricher())), Runnable::run);
+
+        rabbitAdmin = new RabbitAdmin(connectionFactory);
+        rabbitAdmin.declareQueue(new Queue(QUEUE, false));
+
+        payloads = new ArrayList<>(BATCH_SIZE);
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            payloads.add(NotificationMessage.builder()
+                    .userId(10000L + i)
+                    .type(1)
+                    .title("社团招新公告")
+                    .content("本周六下午两点在实验楼 302 举行招新宣讲，欢迎参加")
+                    .linkUrl("/notice/detail/42")
+                    .businessId(42L)
+                    .businessType("ANNOUNCEMENT")
+                    .build());
+        }
+
+        BatchSendResult result = messagingTemplate.sendBatch("", QUEUE, payloads);
+        if (!result.isAllConfirmed()) {
+            throw new IllegalStateException("批量发送未全部确认: " + result.getFailures());
+        }
+    }
+
+    @TearDown(Level.Iteration)
+    public void purge() {
+        rabbitAdmin.purgeQueue(QUEUE, false);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        connectionFactory.destroy();
+        broker.shutdown();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH_SIZE)
+    public void sendEach() {
+        for (NotificationMessage payload : payloads) {
+            messagingTemplate.send("", QUEUE, payload);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH_SIZE)
+    public void sendEachConfirmed() throws Exception {
+        for (NotificationMessage payload : payloads) {
+            CorrelationData correlationData = new CorrelationData();
+            rabbitTemplate.convertAndSend("", QUEUE, payload, correlationData);
+            if (!correlationData.getFuture().get(5, TimeUnit.SECONDS).isAck()) {
+                throw new IllegalStateException("消息被 Broker 拒绝");
+            }
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH_SIZE)
+    public BatchSendResult sendBatch() {
+        return messagingTemplate.sendBatch("", QUEUE, payloads);
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(BatchPublishBenchmark.class.getSimpleName())
+                .build();
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,120 @@
+package com.hngy.siae.messaging.consumer;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hngy.siae.messaging.autoconfigure.SiaeRabbitAutoConfiguration;
+import com.hngy.siae.messaging.support.EmbeddedBroker;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.amqp.core.Queue;
+import org.springframework.amqp.rabbit.connection.CachingConnectionFactory;
+import org.springframework.amqp.rabbit.core.RabbitAdmin;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.amqp.support.converter.Jackson2JsonMessageConverter;
+import org.springframework.boot.autoconfigure.AutoConfigurations;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+/**
+ * 批量监听在嵌入式 Qpid 上的死信测试：监听方法抛出异常、重试耗尽后整批被拒绝并进入死信队列，
+ * 而不是在 MANUAL 确认模式下一直占用预取额度。
+ * <p>
+ * Qpid 的声明参数 {@code x-qpid-dlq-enabled} 把队列的备用目的地设为 {@code <队列名>_DLQ}（需先声明），
+ * 配合 {@code maximumDeliveryAttempts=1} 时被拒绝且不重新入队的消息转入其中。
+ * 与 RabbitMQ 的差异：Qpid 对 {@code multiple=true} 的 nack 只把指定的最后一个投递标签转入死信，
+ * 其余消息不再投递给拒绝它们的消费者，连接关闭后留在原队列；未拒绝时死信队列始终为空。
+ *
+ * @author KEYKB
+ */
+class SiaeRabbitListenerDeadLetterTest {
+
+    private static final String QUEUE = "siae.test.batch.listener";
+    private static final String DLQ = QUEUE + "_DLQ";
+    private static final int MAX_ATTEMPTS = 2;
+
+    private static EmbeddedBroker broker;
+    private static CachingConnectionFactory connectionFactory;
+
+    @BeforeAll
+    static void startBroker() throws Exception {
+        broker = EmbeddedBroker.start();
+        connectionFactory = new CachingConnectionFactory("localhost", broker.getPort());
+        RabbitAdmin rabbitAdmin = new RabbitAdmin(connectionFactory);
+        rabbitAdmin.declareQueue(new Queue(DLQ, true));
+        rabbitAdmin.declareQueue(new Queue(QUEUE, true, false, false,
+                Map.of("x-qpid-dlq-enabled", true, "maximumDeliveryAttempts", 1)));
+    }
+
+    @AfterAll
+    static void stopBroker() {
+        connectionFactory.destroy();
+        broker.close();
+    }
+
+    @Test
+    void failingBatchIsDeadLettered() {
+        // 监听容器启动前先入队，保证三条消息落在同一批
+        RabbitTemplate producer = new RabbitTemplate(connectionFactory);
+        producer.setMessageConverter(new Jackson2JsonMessageConverter());
+        for (String payload : List.of("a", "b", "c")) {
+            producer.convertAndSend("", QUEUE, payload);
+        }
+
+        new ApplicationContextRunner()
+                .withConfiguration(AutoConfigurations.of(SiaeRabbitAutoConfiguration.class))
+                .withUserConfiguration(ListenerConfiguration.class)
+                .withPropertyValues(
+                        "siae.messaging.rabbit.connection.addresses=localhost:" + broker.getPort(),
+                        "siae.messaging.rabbit.consumer.concurrency=1",
+                        "siae.messaging.rabbit.consumer.max-concurrency=1",
+                        "siae.messaging.rabbit.consumer.queue-depth-interval=0",
+                        "siae.messaging.rabbit.consumer.retry.max-attempts=" + MAX_ATTEMPTS,
+                        "siae.messaging.rabbit.consumer.retry.initial-interval=10",
+                        "siae.messaging.rabbit.consumer.retry.max-interval=20")
+                .run(context -> {
+                    FailingBatchListener listener = context.getBean(FailingBatchListener.class);
+                    await().until(() -> messageCount(DLQ) == 1);
+                    assertThat(listener.attempts.get()).isEqualTo(MAX_ATTEMPTS);
+                    assertThat(producer.receiveAndConvert(DLQ, 1000)).isEqualTo("c");
+                });
+        assertThat(producer.receiveAndConvert(QUEUE, 1000)).isEqualTo("a");
+        assertThat(producer.receiveAndConvert(QUEUE, 1000)).isEqualTo("b");
+    }
+
+    private static int messageCount(String queue) {
+        return new RabbitAdmin(connectionFactory).getQueueInfo(queue).getMessageCount();
+    }
+
+    @Configuration(proxyBeanMethods = false)
+    static class ListenerConfiguration {
+
+        @Bean
+        ObjectMapper objectMapper() {
+            return new ObjectMapper();
+        }
+
+        @Bean
+        FailingBatchListener failingBatchListener() {
+            return new FailingBatchListener();
+        }
+    }
+
+    static class FailingBatchListener {
+
+        private final AtomicInteger attempts = new AtomicInteger();
+
+        @SiaeRabbitListener(queues = QUEUE, batchSize = 3, batchMaxWait = 500L)
+        public void onBatch(List<String> payloads) {
+            attempts.incrementAndGet();
+            throw new IllegalStateException("batch insert failed: " + payloads.size());
+        }
+    }
+}
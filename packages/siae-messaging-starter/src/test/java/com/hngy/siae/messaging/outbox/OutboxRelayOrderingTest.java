@@ -0,0 +1,127 @@
+package com.hngy.siae.messaging.outbox;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hngy.siae.messaging.autoconfigure.SiaeRabbitProperties;
+import com.hngy.siae.messaging.producer.SiaeMessagingTemplate;
+import com.hngy.siae.messaging.support.EmbeddedBroker;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.Queue;
+import org.springframework.amqp.rabbit.connection.CachingConnectionFactory;
+import org.springframework.amqp.rabbit.core.RabbitAdmin;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * {@link OutboxRelay} 在嵌入式 Qpid 与 H2 上的同键顺序测试。
+ * <p>
+ * 队列按字节数限长并拒绝溢出的新消息：大消息只能在队列为空时入队，小消息随后入队。
+ * 同键的中间一条被 nack 时，其后的消息不能先于它到达消费者。
+ *
+ * @author KEYKB
+ */
+class OutboxRelayOrderingTest {
+
+    private static final String QUEUE = "siae.test.outbox";
+    private static final String TABLE = "siae_mq_outbox";
+    private static final int MAX_QUEUE_BYTES = 2048;
+
+    private static EmbeddedBroker broker;
+    private static CachingConnectionFactory connectionFactory;
+    private static JdbcTemplate jdbcTemplate;
+    private static OutboxPublisher publisher;
+    private static OutboxRelay relay;
+    private static RabbitTemplate consumer;
+
+    @BeforeAll
+    static void setUp() throws Exception {
+        broker = EmbeddedBroker.start();
+        connectionFactory = EmbeddedBroker.confirmingConnectionFactory(broker.getPort());
+        new RabbitAdmin(connectionFactory).declareQueue(new Queue(QUEUE, false, false, false,
+                Map.of("overflowPolicy", "REJECT", "maximumQueueDepthBytes", MAX_QUEUE_BYTES)));
+        consumer = new RabbitTemplate(connectionFactory);
+
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:outbox;MODE=MySQL;DB_CLOSE_DELAY=-1", "sa", "");
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("CREATE TABLE " + TABLE + " ("
+                + "id BIGINT AUTO_INCREMENT PRIMARY KEY, "
+                + "aggregate_key VARCHAR(128) NOT NULL DEFAULT '', "
+                + "exchange VARCHAR(255) NOT NULL DEFAULT '', "
+                + "routing_key VARCHAR(255) NOT NULL DEFAULT '', "
+                + "payload_type VARCHAR(255) NOT NULL, "
+                + "payload CLOB NOT NULL, "
+                + "headers CLOB, "
+                + "attempts INT NOT NULL DEFAULT 0, "
+                + "last_error VARCHAR(500), "
+                + "created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP)");
+
+        SiaeRabbitProperties.Publisher publisherProperties = new SiaeRabbitProperties.Publisher();
+        publisherProperties.setConfirmTimeout(5000L);
+        RabbitTemplate rabbitTemplate = new RabbitTemplate(connectionFactory);
+        rabbitTemplate.setMandatory(true);
+        SiaeMessagingTemplate messagingTemplate =
+                new SiaeMessagingTemplate(rabbitTemplate, publisherProperties, List.of(), Runnable::run);
+
+        ObjectMapper objectMapper = new ObjectMapper();
+        SiaeRabbitProperties.Outbox outbox = new SiaeRabbitProperties.Outbox();
+        outbox.setTable(TABLE);
+        // 未调用 start()，由测试逐次触发投递
+        relay = new OutboxRelay(jdbcTemplate, new DataSourceTransactionManager(dataSource),
+                messagingTemplate, objectMapper, outbox);
+        publisher = new OutboxPublisher(jdbcTemplate, objectMapper, relay, TABLE);
+    }
+
+    @AfterAll
+    static void tearDown() {
+        connectionFactory.destroy();
+        broker.close();
+    }
+
+    @Test
+    void laterMessagesOfKeyWaitForNackedMessage() {
+        // 小消息连同消息头约 370 字节；大消息单独可以入队，与任一小消息同在队列时超出上限
+        String large = "B".repeat(1500);
+        publisher.publish("", QUEUE, "A", "order:1");
+        publisher.publish("", QUEUE, large, "order:1");
+        publisher.publish("", QUEUE, "C", "order:1");
+
+        // 第一次投递：A 入队，B 与 A 同在队列时超出字节上限被 nack，C 不能先于 B 发布
+        relay.relay();
+        List<String> received = new ArrayList<>(drain());
+        assertThat(received).containsExactly("A");
+        assertThat(outboxSize()).isEqualTo(2);
+
+        for (int pass = 0; pass < 5 && outboxSize() > 0; pass++) {
+            relay.relay();
+            received.addAll(drain());
+        }
+
+        assertThat(received).containsExactly("A", large, "C");
+        assertThat(outboxSize()).isZero();
+    }
+
+    private static List<String> drain() {
+        List<String> bodies = new ArrayList<>();
+        Message message;
+        while ((message = consumer.receive(QUEUE, 200)) != null) {
+            bodies.add(new String(message.getBody(), StandardCharsets.UTF_8));
+        }
+        return bodies;
+    }
+
+    private static int outboxSize() {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM " + TABLE, Integer.class);
+    }
+}
@@ -0,0 +1,189 @@
+package com.hngy.siae.messaging.producer;
+
+import com.hngy.siae.messaging.autoconfigure.SiaeRabbitProperties;
+import com.hngy.siae.messaging.support.EmbeddedBroker;
+import com.hngy.siae.messaging.support.PausableRelay;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.Queue;
+import org.springframework.amqp.rabbit.connection.CachingConnectionFactory;
+import org.springframework.amqp.rabbit.core.RabbitAdmin;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * {@link SiaeMessagingTemplate#sendBatch} 在嵌入式 Qpid 上的发布确认测试：
+ * nack 重试、无法路由、confirm 超时。客户端经 {@link PausableRelay} 连接 Broker，以便扣留 confirm。
+ *
+ * @author KEYKB
+ */
+class SiaeMessagingTemplateBatchTest {
+
+    private static final String REJECT_QUEUE = "siae.test.batch.reject";
+    private static final String QUEUE = "siae.test.batch";
+
+    private static EmbeddedBroker broker;
+    private static PausableRelay relay;
+    private static CachingConnectionFactory connectionFactory;
+    private static RabbitAdmin rabbitAdmin;
+    private static RabbitTemplate consumer;
+
+    @BeforeAll
+    static void startBroker() throws Exception {
+        broker = EmbeddedBroker.start();
+        relay = new PausableRelay(broker.getPort());
+        connectionFactory = EmbeddedBroker.confirmingConnectionFactory(relay.getPort());
+        rabbitAdmin = new RabbitAdmin(connectionFactory);
+        // 最多容纳 3 条消息，超出的新消息被 nack（Qpid 同时以 506 return）
+        rabbitAdmin.declareQueue(new Queue(REJECT_QUEUE, false, false, false,
+                Map.of("overflowPolicy", "REJECT", "maximumQueueDepthMessages", 3)));
+        rabbitAdmin.declareQueue(new Queue(QUEUE, false));
+        consumer = new RabbitTemplate(connectionFactory);
+    }
+
+    @AfterAll
+    static void stopBroker() throws Exception {
+        connectionFactory.destroy();
+        relay.close();
+        broker.close();
+    }
+
+    @AfterEach
+    void purge() {
+        relay.resume();
+        rabbitAdmin.purgeQueue(REJECT_QUEUE, false);
+        rabbitAdmin.purgeQueue(QUEUE, false);
+    }
+
+    @Test
+    void nackedSubsetIsRetriedWithSameMessageIds() {
+        List<String> consumed = new CopyOnWriteArrayList<>();
+        // 第二轮发布前消费掉队列中已确认的消息，腾出空间
+        RecordingInterceptor interceptor = new RecordingInterceptor(context -> {
+            if (context.getAttempt() == 2 && consumed.isEmpty()) {
+                consumed.addAll(drain(REJECT_QUEUE));
+            }
+        });
+        SiaeMessagingTemplate template = template(5000L, 3, interceptor);
+
+        BatchSendResult result = template.sendBatch("", REJECT_QUEUE, List.of("m0", "m1", "m2", "m3", "m4"));
+
+        assertThat(result.isAllConfirmed()).as(result.getFailures().toString()).isTrue();
+        List<String> firstAttempt = interceptor.sent(1);
+        assertThat(firstAttempt).hasSize(5);
+        assertThat(interceptor.failed(1)).containsExactlyElementsOf(firstAttempt.subList(3, 5));
+        assertThat(interceptor.sent(2)).containsExactlyElementsOf(firstAttempt.subList(3, 5));
+        assertThat(interceptor.sent(3)).isEmpty();
+
+        assertThat(consumed).containsExactlyElementsOf(firstAttempt.subList(0, 3));
+        assertThat(drain(REJECT_QUEUE)).containsExactlyElementsOf(firstAttempt.subList(3, 5));
+    }
+
+    @Test
+    void unroutableMessageIsPermanentAndNotRetried() {
+        RecordingInterceptor interceptor = new RecordingInterceptor(context -> { });
+        SiaeMessagingTemplate template = template(5000L, 3, interceptor);
+
+        BatchSendResult result = template.sendBatch(List.of(
+                BatchMessage.of("", QUEUE, "routed-1"),
+                BatchMessage.of("amq.direct", "siae.test.nobody", "unroutable"),
+                BatchMessage.of("", QUEUE, "routed-2")));
+
+        assertThat(result.getTotal()).isEqualTo(3);
+        assertThat(result.getConfirmed()).isEqualTo(2);
+        assertThat(result.getFailures()).singleElement().satisfies(failure -> {
+            assertThat(failure.permanent()).isTrue();
+            assertThat(failure.cause()).startsWith("unroutable: 312");
+            assertThat(failure.message().getPayload()).isEqualTo("unroutable");
+            assertThat(failure.messageId()).isEqualTo(interceptor.sent(1).get(1));
+        });
+        assertThat(interceptor.sent(2)).isEmpty();
+        assertThat(drain(QUEUE)).containsExactly(interceptor.sent(1).get(0), interceptor.sent(1).get(2));
+    }
+
+    @Test
+    void confirmTimeoutIsReportedInResult() {
+        SiaeMessagingTemplate template = template(200L, 3, new RecordingInterceptor(context -> { }));
+        // 先建立连接并缓存信道，暂停后只扣留 confirm；暂停前不再使用其它信道，避免缓存信道被占用或关闭
+        assertThat(template.sendBatch("", QUEUE, List.of("warm-up")).isAllConfirmed()).isTrue();
+
+        relay.pause();
+        BatchSendResult result = template.sendBatch(List.of(
+                BatchMessage.of("", QUEUE, "a"),
+                BatchMessage.of("", QUEUE, "b")), false);
+        relay.resume();
+
+        assertThat(result.getConfirmed()).isZero();
+        assertThat(result.getFailures()).hasSize(2).allSatisfy(failure -> {
+            assertThat(failure.permanent()).isFalse();
+            assertThat(failure.cause()).isEqualTo("confirm timeout after 200ms");
+        });
+    }
+
+    private static SiaeMessagingTemplate template(long confirmTimeout, int maxAttempts, MessageSendInterceptor interceptor) {
+        SiaeRabbitProperties.Publisher publisher = new SiaeRabbitProperties.Publisher();
+        publisher.setConfirmTimeout(confirmTimeout);
+        publisher.getRetry().setMaxAttempts(maxAttempts);
+        publisher.getRetry().setInitialInterval(10L);
+        publisher.getRetry().setMaxInterval(20L);
+        RabbitTemplate rabbitTemplate = new RabbitTemplate(connectionFactory);
+        rabbitTemplate.setMandatory(true);
+        return new SiaeMessagingTemplate(rabbitTemplate, publisher, List.of(interceptor), Runnable::run);
+    }
+
+    /**
+     * 取出队列中的全部消息，返回消息ID
+     */
+    private static List<String> drain(String queue) {
+        List<String> messageIds = new ArrayList<>();
+        Message message;
+        while ((message = consumer.receive(queue, 200)) != null) {
+            messageIds.add(message.getMessageProperties().getMessageId());
+        }
+        return messageIds;
+    }
+
+    /**
+     * 按发布轮次记录发布和失败的消息ID
+     */
+    private static final class RecordingInterceptor implements MessageSendInterceptor {
+
+        private final Map<Integer, List<String>> sent = new ConcurrentHashMap<>();
+        private final Map<Integer, List<String>> failed = new ConcurrentHashMap<>();
+        private final Consumer<MessageSendContext> beforeSend;
+
+        private RecordingInterceptor(Consumer<MessageSendContext> beforeSend) {
+            this.beforeSend = beforeSend;
+        }
+
+        @Override
+        public void beforeSend(MessageSendContext context) {
+            beforeSend.accept(context);
+            sent.computeIfAbsent(context.getAttempt(), key -> new CopyOnWriteArrayList<>()).add(context.getMessageId());
+        }
+
+        @Override
+        public void onError(MessageSendContext context, Throwable throwable) {
+            failed.computeIfAbsent(context.getAttempt(), key -> new CopyOnWriteArrayList<>()).add(context.getMessageId());
+        }
+
+        private List<String> sent(int attempt) {
+            return sent.getOrDefault(attempt, List.of());
+        }
+
+        private List<String> failed(int attempt) {
+            return failed.getOrDefault(attempt, List.of());
+        }
+    }
+}
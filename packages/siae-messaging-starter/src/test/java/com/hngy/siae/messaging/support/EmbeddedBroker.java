@@ -0,0 +1,70 @@
+package com.hngy.siae.messaging.support;
+
+import org.apache.qpid.server.SystemLauncher;
+import org.apache.qpid.server.model.SystemConfig;
+import org.springframework.amqp.rabbit.connection.CachingConnectionFactory;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.nio.file.Files;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 测试用进程内 Qpid Broker-J（AMQP 0-9-1，内存存储），与基准测试共用 {@code /benchmark/qpid-embedded.json}
+ * <p>
+ * 与 RabbitMQ 的差异：无法路由的 mandatory 消息先 nack 再 return；
+ * 队列可用声明参数 {@code overflowPolicy=REJECT}、{@code maximumQueueDepthMessages} 在超出长度时 nack 新消息。
+ *
+ * @author KEYKB
+ */
+public final class EmbeddedBroker implements AutoCloseable {
+
+    private final SystemLauncher launcher;
+    private final int port;
+
+    private EmbeddedBroker(SystemLauncher launcher, int port) {
+        this.launcher = launcher;
+        this.port = port;
+    }
+
+    public static EmbeddedBroker start() throws Exception {
+        int port = freePort();
+        Map<String, Object> attributes = new HashMap<>();
+        attributes.put(SystemConfig.TYPE, "Memory");
+        attributes.put(SystemConfig.INITIAL_CONFIGURATION_LOCATION,
+                EmbeddedBroker.class.getResource("/benchmark/qpid-embedded.json").toExternalForm());
+        attributes.put(SystemConfig.STARTUP_LOGGED_TO_SYSTEM_OUT, false);
+        attributes.put(SystemConfig.CONTEXT, Map.of(
+                "qpid.amqp_port", Integer.toString(port),
+                "qpid.work_dir", Files.createTempDirectory("siae-qpid").toString()));
+        SystemLauncher launcher = new SystemLauncher();
+        launcher.startup(attributes);
+        return new EmbeddedBroker(launcher, port);
+    }
+
+    public int getPort() {
+        return port;
+    }
+
+    /**
+     * 开启 publisher confirm（CORRELATED）与 return 的连接工厂
+     */
+    public static CachingConnectionFactory confirmingConnectionFactory(int port) {
+        CachingConnectionFactory connectionFactory = new CachingConnectionFactory("localhost", port);
+        connectionFactory.setPublisherConfirmType(CachingConnectionFactory.ConfirmType.CORRELATED);
+        connectionFactory.setPublisherReturns(true);
+        return connectionFactory;
+    }
+
+    public static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+    @Override
+    public void close() {
+        launcher.shutdown();
+    }
+}
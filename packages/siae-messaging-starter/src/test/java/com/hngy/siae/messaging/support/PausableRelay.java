@@ -0,0 +1,89 @@
+package com.hngy.siae.messaging.support;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * 测试用 TCP 中继：客户端连接中继端口，数据原样转发到 Broker。
+ * 暂停后 Broker 发往客户端的数据（confirm、return 等）被扣留，恢复后按原顺序送达，用于模拟 confirm 超时。
+ *
+ * @author KEYKB
+ */
+public final class PausableRelay implements AutoCloseable {
+
+    private final ServerSocket serverSocket;
+    private final int targetPort;
+    private final List<Socket> sockets = new CopyOnWriteArrayList<>();
+    private volatile boolean paused;
+
+    public PausableRelay(int targetPort) throws IOException {
+        this.serverSocket = new ServerSocket(0);
+        this.targetPort = targetPort;
+        Thread acceptor = new Thread(this::accept, "relay-accept");
+        acceptor.setDaemon(true);
+        acceptor.start();
+    }
+
+    public int getPort() {
+        return serverSocket.getLocalPort();
+    }
+
+    /**
+     * 扣留 Broker 发往客户端的数据
+     */
+    public void pause() {
+        paused = true;
+    }
+
+    public void resume() {
+        paused = false;
+    }
+
+    private void accept() {
+        while (!serverSocket.isClosed()) {
+            try {
+                Socket client = serverSocket.accept();
+                Socket broker = new Socket("localhost", targetPort);
+                sockets.add(client);
+                sockets.add(broker);
+                pump(client, broker, false);
+                pump(broker, client, true);
+            } catch (IOException e) {
+                return;
+            }
+        }
+    }
+
+    private void pump(Socket from, Socket to, boolean pausable) {
+        Thread thread = new Thread(() -> {
+            byte[] buffer = new byte[8192];
+            try (InputStream in = from.getInputStream(); OutputStream out = to.getOutputStream()) {
+                int read;
+                while ((read = in.read(buffer)) != -1) {
+                    while (pausable && paused) {
+                        Thread.sleep(5);
+                    }
+                    out.write(buffer, 0, read);
+                    out.flush();
+                }
+            } catch (IOException | InterruptedException ignored) {
+                // 连接关闭
+            }
+        }, pausable ? "relay-downstream" : "relay-upstream");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    @Override
+    public void close() throws IOException {
+        serverSocket.close();
+        for (Socket socket : sockets) {
+            socket.close();
+        }
+    }
+}
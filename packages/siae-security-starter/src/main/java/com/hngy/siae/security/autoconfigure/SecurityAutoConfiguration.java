@@ -1,6 +1,11 @@
 package com.hngy.siae.security.autoconfigure;
 
 import com.hngy.siae.security.aop.SiaeAuthorizeAspect;
+import com.hngy.siae.security.cache.LocalAuthorityCache;
+import com.hngy.siae.security.cache.PermissionIndexRegistry;
+import com.hngy.siae.security.cache.RolePermissionCache;
+import com.hngy.siae.security.cache.TokenRevocationPublisher;
+import com.hngy.siae.security.config.AuthorityCacheConfig;
 import com.hngy.siae.security.config.SimpleEnhancedPermissionConfig;
 import com.hngy.siae.security.filter.ServiceAuthenticationFilter;
 // import com.hngy.siae.security.filter.JwtAuthenticationFilter; // 旧版本，已废弃
@@ -49,6 +54,11 @@ import org.springframework.context.ApplicationContext;
 @EnableConfigurationProperties(SecurityProperties.class)
 @EnableWebSecurity
 @Import({
+    LocalAuthorityCache.class,
+    PermissionIndexRegistry.class, // 权限位图索引
+    RolePermissionCache.class, // 角色共享权限集合
+    TokenRevocationPublisher.class, // Token吊销广播
+    AuthorityCacheConfig.class, // 本地权限缓存失效与权限索引刷新订阅
     SecurityCacheServiceImpl.class,
     ServiceAuthenticationFilter.class, // 新版本：优化的认证过滤器
     SimpleEnhancedPermissionConfig.class, // 方法级安全控制，根据 siae.security.enabled 自动启用
@@ -236,6 +246,7 @@ public class SecurityAutoConfiguration {
         log.info("JWT认证: {}", securityProperties.getJwt().isEnabled() ? "启用" : "禁用");
         log.info("权限缓存: {}", securityProperties.getPermission().isCacheEnabled() ? "启用" : "禁用");
         log.info("Redis权限服务: {}", securityProperties.getPermission().isRedisEnabled() ? "启用" : "禁用");
+        log.info("本地权限缓存: {}", securityProperties.getPermission().getLocalCache().isEnabled() ? "启用" : "禁用");
         log.info("简化增强权限控制: {}", securityProperties.getEnhancedPermission().isEnabled() ? "启用" : "禁用");
         log.info("SiaeAuthorize注解支持: 启用");
         log.info("✅ ServiceAuthenticationFilter: 启用（支持网关请求、内部调用、直接访问）");
@@ -0,0 +1,41 @@
+package com.hngy.siae.security.cache;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * 权限缓存失效消息监听器
+ * 消息体为用户ID，收到后剔除本地权限缓存；消息体为 {@value #INVALIDATE_ALL} 时清空全部本地缓存
+ *
+ * @author KEYKB
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class AuthorityInvalidationListener implements MessageListener {
+
+    /**
+     * 全量失效消息体，角色权限集合变更时广播
+     */
+    public static final String INVALIDATE_ALL = "*";
+
+    private final LocalAuthorityCache localAuthorityCache;
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String body = new String(message.getBody(), StandardCharsets.UTF_8).trim();
+        if (INVALIDATE_ALL.equals(body)) {
+            localAuthorityCache.invalidateAll();
+            return;
+        }
+        try {
+            localAuthorityCache.invalidate(Long.parseLong(body));
+        } catch (NumberFormatException e) {
+            log.warn("【本地权限缓存】无法解析失效消息: {}，清空全部本地缓存", body);
+            localAuthorityCache.invalidateAll();
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package com.hngy.siae.security.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.hngy.siae.security.properties.SecurityProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * 进程内用户权限缓存（L1）
+ * <p>
+ * 位于 Redis 权限缓存之前，短 TTL + 容量上限（Caffeine 按访问频率淘汰）。siae-auth 写入或清除权限时通过 Redis 发布订阅
+ * 广播失效消息，各服务收到后立即剔除；即使消息丢失，陈旧数据最多保留一个 TTL。
+ *
+ * @author KEYKB
+ */
+@Slf4j
+@Component
+public class LocalAuthorityCache {
+
+    private final SecurityProperties.LocalCache properties;
+    private final Cache<Long, UserAuthorities> cache;
+
+    /**
+     * 按用户记录进行中的加载：失效时移除该用户的守卫，加载完成时守卫已不在则放弃写入，
+     * 避免把失效前读到的旧值放回缓存，且只影响被失效的用户
+     */
+    private final Map<Long, Object> loadGuards = new ConcurrentHashMap<>();
+
+    public LocalAuthorityCache(SecurityProperties securityProperties) {
+        this.properties = securityProperties.getPermission().getLocalCache();
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(properties.getMaxSize())
+                .expireAfterWrite(Duration.ofSeconds(properties.getExpiration()))
+                .build();
+    }
+
+    /**
+     * 获取用户权限，未命中或已过期时调用 loader 从 Redis 加载
+     */
+    public UserAuthorities get(Long userId, Supplier<UserAuthorities> loader) {
+        if (!properties.isEnabled() || userId == null) {
+            return loader.get();
+        }
+
+        UserAuthorities cached = cache.getIfPresent(userId);
+        if (cached != null) {
+            return cached;
+        }
+
+        Object guard = new Object();
+        loadGuards.put(userId, guard);
+        UserAuthorities authorities;
+        try {
+            authorities = loader.get();
+        } catch (RuntimeException e) {
+            loadGuards.remove(userId, guard);
+            throw e;
+        }
+        // 写入与失效在同一个键上互斥：失效先移除守卫再剔除缓存，不会被这里的写入覆盖
+        loadGuards.computeIfPresent(userId, (key, current) -> {
+            if (current != guard) {
+                return current;
+            }
+            if (authorities != null) {
+                cache.put(key, authorities);
+            }
+            return null;
+        });
+        return authorities;
+    }
+
+    /**
+     * 剔除单个用户的本地缓存
+     */
+    public void invalidate(Long userId) {
+        loadGuards.remove(userId);
+        cache.invalidate(userId);
+        log.debug("【本地权限缓存】已失效，用户ID: {}", userId);
+    }
+
+    /**
+     * 清空本地缓存
+     */
+    public void invalidateAll() {
+        loadGuards.clear();
+        cache.invalidateAll();
+    }
+}
@@ -0,0 +1,36 @@
+package com.hngy.siae.security.cache;
+
+import lombok.Builder;
+
+import java.util.List;
+
+/**
+ * 登录会话写入批次
+ * <p>
+ * 登录成功后需要落到 Redis 的全部会话状态：权限与角色缓存、同端旧 Token 的清理与吊销、
+ * 设备映射以及访问/刷新令牌会话，由 {@code SecurityCacheService#writeLoginSession} 在一次管道往返中写入。
+ *
+ * @param userId        用户ID
+ * @param username      用户名
+ * @param status        用户状态，写入旧会话键供旧版本实例读取
+ * @param deviceType    设备类型
+ * @param accessToken   访问令牌
+ * @param refreshToken  刷新令牌
+ * @param expireAt      会话过期时间（毫秒时间戳），权限缓存与会话 TTL 均与之一致
+ * @param permissions   需缓存的权限编码
+ * @param roles         需缓存的角色编码
+ * @param staleTokens   同端旧登录的访问/刷新令牌，将被删除并吊销
+ * @author KEYKB
+ */
+@Builder
+public record LoginSession(Long userId,
+                           String username,
+                           Integer status,
+                           String deviceType,
+                           String accessToken,
+                           String refreshToken,
+                           long expireAt,
+                           List<String> permissions,
+                           List<String> roles,
+                           List<String> staleTokens) {
+}
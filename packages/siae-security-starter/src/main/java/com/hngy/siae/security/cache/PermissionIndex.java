@@ -0,0 +1,131 @@
+package com.hngy.siae.security.cache;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 权限编码与位下标的映射快照（不可变）
+ * <p>
+ * 位下标取权限表主键 ID，新增权限只会追加新位，已有位不变，因此旧位图在索引更新后仍然有效。
+ * 同一编码对应多条权限记录时，由发布方统一取最小 ID。
+ *
+ * @author KEYKB
+ */
+public final class PermissionIndex {
+
+    public static final PermissionIndex EMPTY = new PermissionIndex(Collections.emptyMap());
+
+    private final Map<String, Integer> codeToBit;
+    private final String[] bitToCode;
+
+    private PermissionIndex(Map<String, Integer> codeToBit, String[] bitToCode) {
+        this.codeToBit = codeToBit;
+        this.bitToCode = bitToCode;
+    }
+
+    private PermissionIndex(Map<String, Integer> codeToBit) {
+        this(codeToBit, new String[0]);
+    }
+
+    /**
+     * 由权限编码到权限 ID 的映射构建索引，非法的 ID 会被忽略
+     */
+    public static PermissionIndex of(Map<String, Long> codeToId) {
+        if (codeToId == null || codeToId.isEmpty()) {
+            return EMPTY;
+        }
+        int maxBit = -1;
+        Map<String, Integer> codeToBit = new HashMap<>(codeToId.size() * 2);
+        for (Map.Entry<String, Long> entry : codeToId.entrySet()) {
+            Long id = entry.getValue();
+            if (entry.getKey() == null || id == null || id < 0 || id >= Integer.MAX_VALUE) {
+                continue;
+            }
+            int bit = id.intValue();
+            codeToBit.put(entry.getKey(), bit);
+            maxBit = Math.max(maxBit, bit);
+        }
+
+        String[] bitToCode = new String[maxBit + 1];
+        codeToBit.forEach((code, bit) -> bitToCode[bit] = code);
+        return new PermissionIndex(Collections.unmodifiableMap(codeToBit), bitToCode);
+    }
+
+    /**
+     * 权限编码对应的位下标，未收录时返回 -1
+     */
+    public int bitOf(String code) {
+        Integer bit = codeToBit.get(code);
+        return bit != null ? bit : -1;
+    }
+
+    public boolean isEmpty() {
+        return codeToBit.isEmpty();
+    }
+
+    public int size() {
+        return codeToBit.size();
+    }
+
+    /**
+     * 将权限编码编码为位图，存在未收录的编码时返回 null
+     */
+    public BitSet encode(Collection<String> codes) {
+        BitSet bits = new BitSet();
+        for (String code : codes) {
+            int bit = bitOf(code);
+            if (bit < 0) {
+                return null;
+            }
+            bits.set(bit);
+        }
+        return bits;
+    }
+
+    /**
+     * 将位图中已收录的权限编码置位，未收录的编码忽略
+     */
+    public BitSet encodeKnown(Collection<String> codes) {
+        BitSet bits = new BitSet();
+        for (String code : codes) {
+            int bit = bitOf(code);
+            if (bit >= 0) {
+                bits.set(bit);
+            }
+        }
+        return bits;
+    }
+
+    /**
+     * 将位图解码为权限编码列表，存在未收录的位时返回 null
+     */
+    public List<String> decode(BitSet bits) {
+        List<String> codes = new ArrayList<>(bits.cardinality());
+        for (int bit = bits.nextSetBit(0); bit >= 0; bit = bits.nextSetBit(bit + 1)) {
+            String code = bit < bitToCode.length ? bitToCode[bit] : null;
+            if (code == null) {
+                return null;
+            }
+            codes.add(code);
+        }
+        return codes;
+    }
+
+    /**
+     * 将位图解码为权限编码列表，忽略未收录的位
+     */
+    public List<String> decodeKnown(BitSet bits) {
+        List<String> codes = new ArrayList<>(bits.cardinality());
+        for (int bit = bits.nextSetBit(0); bit >= 0 && bit < bitToCode.length; bit = bits.nextSetBit(bit + 1)) {
+            if (bitToCode[bit] != null) {
+                codes.add(bitToCode[bit]);
+            }
+        }
+        return codes;
+    }
+}
@@ -0,0 +1,117 @@
+package com.hngy.siae.security.cache;
+
+import com.hngy.siae.security.properties.SecurityProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.RedisOperations;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 权限位图索引注册表
+ * <p>
+ * siae-auth 在权限增删改及启动时调用 {@link #publish(Map)} 将编码到 ID 的映射写入 Redis 哈希并广播刷新消息；
+ * 各服务懒加载索引快照，收到刷新消息或解码遇到未知位时重新加载（按最小间隔限流）。
+ *
+ * @author KEYKB
+ */
+@Slf4j
+@Component
+public class PermissionIndexRegistry {
+
+    private final StringRedisTemplate redisTemplate;
+    private final SecurityProperties.BitIndex properties;
+
+    private volatile PermissionIndex current;
+    private volatile long lastReloadNanos;
+
+    public PermissionIndexRegistry(StringRedisTemplate redisTemplate, SecurityProperties securityProperties) {
+        this.redisTemplate = redisTemplate;
+        this.properties = securityProperties.getPermission().getBitIndex();
+    }
+
+    /**
+     * 当前索引快照，首次访问时从 Redis 加载；未启用或加载失败时返回空索引
+     */
+    public PermissionIndex current() {
+        if (!properties.isEnabled()) {
+            return PermissionIndex.EMPTY;
+        }
+        PermissionIndex index = current;
+        if (index == null) {
+            index = reload();
+        }
+        return index;
+    }
+
+    /**
+     * 从 Redis 重新加载索引
+     */
+    public synchronized PermissionIndex reload() {
+        PermissionIndex index;
+        try {
+            Map<Object, Object> entries = redisTemplate.opsForHash().entries(properties.getIndexKey());
+            Map<String, Long> codeToId = new HashMap<>(entries.size() * 2);
+            entries.forEach((code, id) -> {
+                try {
+                    codeToId.put(code.toString(), Long.parseLong(id.toString()));
+                } catch (NumberFormatException e) {
+                    log.warn("【权限索引】忽略非法索引项: {}={}", code, id);
+                }
+            });
+            index = PermissionIndex.of(codeToId);
+            log.debug("【权限索引】加载完成，权限数量: {}", index.size());
+        } catch (Exception e) {
+            log.error("【权限索引】加载失败，回退为字符串权限判断", e);
+            index = current != null ? current : PermissionIndex.EMPTY;
+        }
+        current = index;
+        lastReloadNanos = System.nanoTime();
+        return index;
+    }
+
+    /**
+     * 遇到未知位下标时按最小间隔重新加载索引，间隔内直接返回当前快照
+     */
+    public PermissionIndex reloadIfStale() {
+        long interval = TimeUnit.SECONDS.toNanos(properties.getMinReloadInterval());
+        if (current != null && System.nanoTime() - lastReloadNanos < interval) {
+            return current;
+        }
+        return reload();
+    }
+
+    /**
+     * 发布完整索引并广播刷新消息（由 siae-auth 调用）
+     *
+     * @param codeToId 权限编码到权限 ID 的映射
+     */
+    public void publish(Map<String, Long> codeToId) {
+        String indexKey = properties.getIndexKey();
+        Map<String, String> values = new HashMap<>(codeToId.size() * 2);
+        codeToId.forEach((code, id) -> values.put(code, String.valueOf(id)));
+
+        // 事务内先删后写，读取方不会看到清空后尚未写入的中间状态
+        redisTemplate.execute(new SessionCallback<Object>() {
+            @Override
+            @SuppressWarnings("unchecked")
+            public Object execute(RedisOperations operations) throws DataAccessException {
+                operations.multi();
+                operations.delete(indexKey);
+                if (!values.isEmpty()) {
+                    operations.opsForHash().putAll(indexKey, values);
+                }
+                return operations.exec();
+            }
+        });
+        current = PermissionIndex.of(codeToId);
+        lastReloadNanos = System.nanoTime();
+        redisTemplate.convertAndSend(properties.getRefreshChannel(), String.valueOf(codeToId.size()));
+        log.info("【权限索引】已发布，权限数量: {}", codeToId.size());
+    }
+}
@@ -0,0 +1,175 @@
+package com.hngy.siae.security.cache;
+
+import com.hngy.siae.security.properties.SecurityProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.RedisOperations;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * 角色权限集合缓存（全局共享、按版本失效）
+ * <p>
+ * Redis 中以哈希 {@code <prefix>role:permissions} 保存角色编码到权限编码（逗号分隔）的映射，
+ * 以字符串 {@code <prefix>role:version} 作为版本号，任何角色集合变更都会在同一事务中递增版本号。
+ * 读取方随用户缓存一起读取版本号，版本变化时整体重载进程内快照，版本不变时不访问 Redis。
+ * <p>
+ * 版本号缺失（启动发布失败或 Redis 被清空）时告警并继续使用最近一次加载的快照，由 siae-auth 检测到缺失后重新发布。
+ *
+ * @author KEYKB
+ */
+@Slf4j
+@Component
+public class RolePermissionCache {
+
+    private static final String DELIMITER = ",";
+    private static final long MISSING_VERSION_WARN_INTERVAL = TimeUnit.MINUTES.toMillis(1);
+
+    private final StringRedisTemplate redisTemplate;
+    private final SecurityProperties.Permission properties;
+
+    private volatile Snapshot snapshot = Snapshot.EMPTY;
+    private final AtomicLong lastMissingVersionWarn = new AtomicLong();
+
+    private record Snapshot(String version, Map<String, List<String>> rolePermissions) {
+
+        private static final Snapshot EMPTY = new Snapshot(null, Collections.emptyMap());
+    }
+
+    public RolePermissionCache(StringRedisTemplate redisTemplate, SecurityProperties securityProperties) {
+        this.redisTemplate = redisTemplate;
+        this.properties = securityProperties.getPermission();
+    }
+
+    public String hashKey() {
+        return properties.getCacheKeyPrefix() + "role:permissions";
+    }
+
+    public String versionKey() {
+        return properties.getCacheKeyPrefix() + "role:version";
+    }
+
+    /**
+     * 合并多个角色的权限集合
+     *
+     * @param roles   角色编码
+     * @param version 与用户缓存一起读取到的版本号，为 null 表示角色集合未发布或已丢失
+     * @return 去重后的权限编码，无角色集合时返回空列表
+     */
+    public List<String> permissionsOf(Collection<String> roles, String version) {
+        if (roles.isEmpty()) {
+            return Collections.emptyList();
+        }
+        Snapshot current = snapshot;
+        if (version == null) {
+            warnMissingVersion(current);
+        } else if (!version.equals(current.version())) {
+            current = reload(version);
+        }
+
+        Set<String> permissions = new LinkedHashSet<>();
+        for (String role : roles) {
+            permissions.addAll(current.rolePermissions().getOrDefault(role, Collections.emptyList()));
+        }
+        return List.copyOf(permissions);
+    }
+
+    /**
+     * 重载全部角色集合；先读版本号再读集合，集合内容不会早于所标记的版本
+     */
+    private synchronized Snapshot reload(String version) {
+        if (version.equals(snapshot.version())) {
+            return snapshot;
+        }
+        Map<Object, Object> entries = redisTemplate.opsForHash().entries(hashKey());
+        Map<String, List<String>> rolePermissions = new HashMap<>(entries.size() * 2);
+        entries.forEach((role, value) -> rolePermissions.put(role.toString(), splitValue(value.toString())));
+
+        snapshot = new Snapshot(version, Collections.unmodifiableMap(rolePermissions));
+        log.debug("【角色权限缓存】已重载，版本: {}, 角色数量: {}", version, rolePermissions.size());
+        return snapshot;
+    }
+
+    /**
+     * 角色集合是否已发布（版本号存在）
+     */
+    public boolean isPublished() {
+        return Boolean.TRUE.equals(redisTemplate.hasKey(versionKey()));
+    }
+
+    private void warnMissingVersion(Snapshot current) {
+        long now = System.currentTimeMillis();
+        long last = lastMissingVersionWarn.get();
+        if (now - last >= MISSING_VERSION_WARN_INTERVAL && lastMissingVersionWarn.compareAndSet(last, now)) {
+            log.warn("【角色权限缓存】版本号 {} 缺失，角色集合未发布或已丢失，沿用进程内快照（版本: {}, 角色数量: {}），等待 siae-auth 重新发布",
+                    versionKey(), current.version(), current.rolePermissions().size());
+        }
+    }
+
+    /**
+     * 写入单个角色的权限集合并递增版本号
+     */
+    public void put(String roleCode, List<String> permissions) {
+        String value = String.join(DELIMITER, permissions);
+        execute(operations -> operations.opsForHash().put(hashKey(), roleCode, value));
+    }
+
+    /**
+     * 整体替换全部角色的权限集合并递增版本号
+     */
+    public void putAll(Map<String, List<String>> rolePermissions) {
+        Map<String, String> values = new HashMap<>(rolePermissions.size() * 2);
+        rolePermissions.forEach((role, permissions) -> values.put(role, String.join(DELIMITER, permissions)));
+        execute(operations -> {
+            operations.delete(hashKey());
+            if (!values.isEmpty()) {
+                operations.opsForHash().putAll(hashKey(), values);
+            }
+        });
+    }
+
+    /**
+     * 删除角色的权限集合并递增版本号
+     */
+    public void remove(String roleCode) {
+        execute(operations -> operations.opsForHash().delete(hashKey(), roleCode));
+    }
+
+    /**
+     * 在事务中执行写操作并递增版本号
+     */
+    private void execute(Consumer<RedisOperations<String, String>> writer) {
+        redisTemplate.execute(new SessionCallback<Object>() {
+            @Override
+            @SuppressWarnings("unchecked")
+            public Object execute(RedisOperations operations) throws DataAccessException {
+                operations.multi();
+                writer.accept(operations);
+                operations.opsForValue().increment(versionKey());
+                return operations.exec();
+            }
+        });
+    }
+
+    private List<String> splitValue(String value) {
+        if (value.isEmpty()) {
+            return Collections.emptyList();
+        }
+        return Arrays.stream(value.split(DELIMITER))
+                .filter(item -> !item.trim().isEmpty())
+                .toList();
+    }
+}
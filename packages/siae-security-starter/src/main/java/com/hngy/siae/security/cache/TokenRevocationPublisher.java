@@ -0,0 +1,95 @@
+package com.hngy.siae.security.cache;
+
+import com.hngy.siae.core.config.AuthProperties;
+import com.hngy.siae.core.utils.JwtUtils;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.StringRedisConnection;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Token 吊销广播
+ * <p>
+ * 登出、同端互斥踢下线等删除 Token 的场景调用 {@link #revoke(String)}（只持有摘要时调用 {@link #revoke(String, long)}）：
+ * 以 Token 的 SHA-256 摘要写入吊销有序集合（score 为过期时间），并通过发布订阅通知网关，
+ * 网关据此在内存中拒绝已吊销的 Token，正常请求无需访问 Redis。
+ *
+ * @author KEYKB
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class TokenRevocationPublisher {
+
+    private final StringRedisTemplate redisTemplate;
+    private final AuthProperties authProperties;
+    private final JwtUtils jwtUtils;
+
+    /**
+     * 吊销 Token；已过期或无法解析的 Token 网关本就会拒绝，直接忽略
+     */
+    public void revoke(String token) {
+        long expireAt;
+        try {
+            expireAt = jwtUtils.getExpirationDate(token).getTime();
+        } catch (Exception e) {
+            log.debug("Token已失效，无需广播吊销: {}", e.getMessage());
+            return;
+        }
+        revoke(TokenSession.digestOf(token), expireAt);
+    }
+
+    /**
+     * 按摘要吊销 Token
+     *
+     * @param digest   Token 的 SHA-256 摘要
+     * @param expireAt Token 过期时间（毫秒时间戳）
+     */
+    public void revoke(String digest, long expireAt) {
+        long now = System.currentTimeMillis();
+        if (expireAt <= now) {
+            return;
+        }
+
+        try {
+            redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                append((StringRedisConnection) connection, digest, expireAt, now);
+                return null;
+            });
+            log.debug("Token吊销已广播: digest={}, expireAt={}", digest, expireAt);
+        } catch (Exception e) {
+            log.error("广播Token吊销失败: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * 在调用方的管道中追加吊销命令（登录会话批量写入时使用），已过期或无法解析的 Token 直接忽略
+     *
+     * @return 是否追加了吊销命令
+     */
+    public boolean appendRevocation(StringRedisConnection connection, String token) {
+        long expireAt;
+        try {
+            expireAt = jwtUtils.getExpirationDate(token).getTime();
+        } catch (Exception e) {
+            log.debug("Token已失效，无需广播吊销: {}", e.getMessage());
+            return false;
+        }
+        long now = System.currentTimeMillis();
+        if (expireAt <= now) {
+            return false;
+        }
+        append(connection, TokenSession.digestOf(token), expireAt, now);
+        return true;
+    }
+
+    private void append(StringRedisConnection connection, String digest, long expireAt, long now) {
+        String key = authProperties.getTokenRevocationKey();
+        connection.zAdd(key, expireAt, digest);
+        // 顺带清理已过期的吊销记录，集合大小不超过有效期内的吊销数量
+        connection.zRemRangeByScore(key, 0, now);
+        connection.publish(authProperties.getTokenRevocationChannel(), digest + ":" + expireAt);
+    }
+}
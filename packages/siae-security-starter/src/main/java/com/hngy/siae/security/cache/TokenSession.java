@@ -0,0 +1,73 @@
+package com.hngy.siae.security.cache;
+
+import cn.hutool.crypto.digest.DigestUtil;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Token 会话记录
+ * <p>
+ * 以 Token 的 SHA-256 摘要（64 位十六进制）为键，值为定长头部加用户名的二进制编码：
+ * {@code [版本 1B][userId 8B][expireAt 8B][username UTF-8]}，约 20 余字节，
+ * 取代以完整 JWT 为键、JSON 用户信息为值的旧会话。
+ *
+ * @param userId   用户ID
+ * @param username 用户名
+ * @param expireAt 过期时间（毫秒时间戳）
+ * @author KEYKB
+ */
+public record TokenSession(long userId, String username, long expireAt) {
+
+    private static final byte VERSION = 1;
+    private static final int HEADER_LENGTH = 1 + Long.BYTES + Long.BYTES;
+    private static final int DIGEST_LENGTH = 64;
+
+    /**
+     * 计算 Token 摘要
+     */
+    public static String digestOf(String token) {
+        return DigestUtil.sha256Hex(token);
+    }
+
+    /**
+     * 是否为摘要而非 JWT（JWT 必含 '.'，摘要为定长十六进制）
+     */
+    public static boolean isDigest(String value) {
+        if (value == null || value.length() != DIGEST_LENGTH) {
+            return false;
+        }
+        for (int i = 0; i < DIGEST_LENGTH; i++) {
+            char c = value.charAt(i);
+            if ((c < '0' || c > '9') && (c < 'a' || c > 'f')) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public byte[] encode() {
+        byte[] name = username != null ? username.getBytes(StandardCharsets.UTF_8) : new byte[0];
+        return ByteBuffer.allocate(HEADER_LENGTH + name.length)
+                .put(VERSION)
+                .putLong(userId)
+                .putLong(expireAt)
+                .put(name)
+                .array();
+    }
+
+    /**
+     * 解码会话记录，版本不识别或长度不足时返回 null
+     */
+    public static TokenSession decode(byte[] bytes) {
+        if (bytes == null || bytes.length < HEADER_LENGTH || bytes[0] != VERSION) {
+            return null;
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        buffer.get();
+        long userId = buffer.getLong();
+        long expireAt = buffer.getLong();
+        String username = new String(bytes, HEADER_LENGTH, bytes.length - HEADER_LENGTH, StandardCharsets.UTF_8);
+        return new TokenSession(userId, username, expireAt);
+    }
+}
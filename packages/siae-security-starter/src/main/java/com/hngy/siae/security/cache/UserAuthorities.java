@@ -0,0 +1,139 @@
+package com.hngy.siae.security.cache;
+
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * 用户权限快照（不可变）
+ * <p>
+ * 从缓存读取后解析一次，供权限、角色和合并后的认证信息查询复用。
+ * 权限判断优先按 {@link PermissionIndex} 做位测试，索引未收录的编码回退到哈希集合查找，均为 O(1)。
+ *
+ * @author KEYKB
+ */
+public final class UserAuthorities {
+
+    public static final UserAuthorities EMPTY = new UserAuthorities(
+            Collections.emptyList(), Collections.emptyList(), Collections.emptyList(),
+            PermissionIndex.EMPTY, new BitSet());
+
+    private static final String ROLE_PREFIX = "ROLE_";
+
+    private final List<String> permissions;
+    private final List<String> roles;
+    private final List<String> authorities;
+    private final Set<String> authoritySet;
+    private final PermissionIndex index;
+    private final BitSet permissionBits;
+
+    private UserAuthorities(List<String> permissions, List<String> roles, List<String> authorities,
+                            PermissionIndex index, BitSet permissionBits) {
+        this.permissions = permissions;
+        this.roles = roles;
+        this.authorities = authorities;
+        this.authoritySet = Set.copyOf(authorities);
+        this.index = index;
+        this.permissionBits = permissionBits;
+    }
+
+    /**
+     * 由权限和角色列表构建快照，角色添加 ROLE_ 前缀以符合 Spring Security 规范
+     */
+    public static UserAuthorities of(List<String> permissions, List<String> roles) {
+        return of(permissions, roles, PermissionIndex.EMPTY);
+    }
+
+    /**
+     * 由权限和角色列表构建快照，并按索引生成权限位图
+     */
+    public static UserAuthorities of(List<String> permissions, List<String> roles, PermissionIndex index) {
+        if (permissions.isEmpty() && roles.isEmpty()) {
+            return EMPTY;
+        }
+        List<String> authorities = Stream.concat(
+                        permissions.stream(),
+                        roles.stream().map(role -> role.startsWith(ROLE_PREFIX) ? role : ROLE_PREFIX + role))
+                .distinct()
+                .collect(Collectors.toUnmodifiableList());
+        return new UserAuthorities(List.copyOf(permissions), List.copyOf(roles), authorities,
+                index, index.encodeKnown(permissions));
+    }
+
+    /**
+     * 权限编码列表
+     */
+    public List<String> permissions() {
+        return permissions;
+    }
+
+    /**
+     * 角色编码列表（原始值）
+     */
+    public List<String> roles() {
+        return roles;
+    }
+
+    /**
+     * 权限与带 ROLE_ 前缀的角色合并结果
+     */
+    public List<String> authorities() {
+        return authorities;
+    }
+
+    public boolean isEmpty() {
+        return authorities.isEmpty();
+    }
+
+    /**
+     * 是否拥有指定权限
+     */
+    public boolean hasPermission(String permission) {
+        int bit = index.bitOf(permission);
+        if (bit >= 0) {
+            return permissionBits.get(bit);
+        }
+        return authoritySet.contains(permission);
+    }
+
+    /**
+     * 是否拥有任意一个权限
+     */
+    public boolean hasAnyPermission(String... permissions) {
+        for (String permission : permissions) {
+            if (hasPermission(permission)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 是否拥有全部权限
+     */
+    public boolean hasAllPermissions(String... permissions) {
+        for (String permission : permissions) {
+            if (!hasPermission(permission)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 是否拥有指定角色，带或不带 ROLE_ 前缀均可
+     */
+    public boolean hasRole(String role) {
+        return authoritySet.contains(role.startsWith(ROLE_PREFIX) ? role : ROLE_PREFIX + role);
+    }
+
+    /**
+     * 是否拥有指定权限或带前缀的角色（与 GrantedAuthority 语义一致）
+     */
+    public boolean hasAuthority(String authority) {
+        return authority.startsWith(ROLE_PREFIX) ? authoritySet.contains(authority) : hasPermission(authority);
+    }
+}
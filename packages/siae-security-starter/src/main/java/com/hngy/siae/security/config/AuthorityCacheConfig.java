@@ -0,0 +1,49 @@
+package com.hngy.siae.security.config;
+
+import com.hngy.siae.security.cache.AuthorityInvalidationListener;
+import com.hngy.siae.security.cache.LocalAuthorityCache;
+import com.hngy.siae.security.cache.PermissionIndexRegistry;
+import com.hngy.siae.security.properties.SecurityProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+/**
+ * 权限缓存广播订阅配置
+ * 订阅 siae-auth 广播的权限变更消息剔除本地权限缓存，以及权限索引变更消息重新加载位图索引
+ *
+ * @author KEYKB
+ */
+@Slf4j
+@Configuration
+@ConditionalOnClass(RedisMessageListenerContainer.class)
+public class AuthorityCacheConfig {
+
+    @Bean
+    public RedisMessageListenerContainer authorityInvalidationListenerContainer(RedisConnectionFactory connectionFactory,
+                                                                                LocalAuthorityCache localAuthorityCache,
+                                                                                PermissionIndexRegistry permissionIndexRegistry,
+                                                                                SecurityProperties securityProperties) {
+        SecurityProperties.LocalCache localCache = securityProperties.getPermission().getLocalCache();
+        SecurityProperties.BitIndex bitIndex = securityProperties.getPermission().getBitIndex();
+
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        if (localCache.isEnabled()) {
+            container.addMessageListener(new AuthorityInvalidationListener(localAuthorityCache),
+                    new ChannelTopic(localCache.getInvalidationChannel()));
+            log.info("本地权限缓存已启用，订阅失效频道: {}, 过期时间: {}秒",
+                    localCache.getInvalidationChannel(), localCache.getExpiration());
+        }
+        if (bitIndex.isEnabled()) {
+            container.addMessageListener((message, pattern) -> permissionIndexRegistry.reload(),
+                    new ChannelTopic(bitIndex.getRefreshChannel()));
+            log.info("权限位图索引已启用，订阅刷新频道: {}", bitIndex.getRefreshChannel());
+        }
+        return container;
+    }
+}
@@ -0,0 +1,58 @@
+package com.hngy.siae.security.expression;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.expression.Expression;
+import org.springframework.expression.spel.SpelCompilerMode;
+import org.springframework.expression.spel.SpelParserConfiguration;
+import org.springframework.expression.spel.standard.SpelExpressionParser;
+import org.springframework.expression.spel.support.StandardEvaluationContext;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * {@code @SiaeAuthorize} 权限表达式求值器
+ *
+ * <p>每个表达式只解析一次并缓存；在 MIXED/IMMEDIATE 模式下，表达式形态稳定后由 SpEL 编译为字节码，
+ * 无法编译的表达式自动回退为解释执行。求值上下文不持有根对象和变量，可在线程间共享复用，
+ * 每次求值只需传入当前用户的 {@link SiaeSecurityExpressionRoot}。</p>
+ *
+ * @author SIAE Team
+ */
+@Slf4j
+public class SiaeExpressionEvaluator {
+
+    private final SpelExpressionParser parser;
+    private final StandardEvaluationContext sharedContext;
+    private final Map<String, Expression> expressionCache = new ConcurrentHashMap<>();
+
+    public SiaeExpressionEvaluator(SpelCompilerMode compilerMode) {
+        this.parser = new SpelExpressionParser(
+                new SpelParserConfiguration(compilerMode, SiaeExpressionEvaluator.class.getClassLoader()));
+        this.sharedContext = new StandardEvaluationContext();
+        // 提前初始化懒加载的解析器列表，避免并发求值时重复初始化
+        this.sharedContext.getMethodResolvers();
+        this.sharedContext.getPropertyAccessors();
+        this.sharedContext.getConstructorResolvers();
+        log.info("SiaeAuthorize 表达式求值器已初始化，SpEL编译模式: {}", compilerMode);
+    }
+
+    /**
+     * 以给定根对象对表达式求值
+     *
+     * @param expressionString SpEL 表达式
+     * @param root             当前用户的表达式根对象
+     * @return 表达式结果为 true 时返回 true
+     */
+    public boolean evaluate(String expressionString, SiaeSecurityExpressionRoot root) {
+        Expression expression = expressionCache.computeIfAbsent(expressionString, parser::parseExpression);
+        return Boolean.TRUE.equals(expression.getValue(sharedContext, root, Boolean.class));
+    }
+
+    /**
+     * 已缓存的表达式数量
+     */
+    public int cachedExpressionCount() {
+        return expressionCache.size();
+    }
+}
@@ -23,6 +23,9 @@ import org.springframework.security.core.Authentication;
 @Slf4j
 public class SiaeSecurityExpressionRoot extends SecurityExpressionRoot {
 
+    /** 无状态的认证类型判断器，所有根对象共享 */
+    private static final AuthenticationTrustResolver TRUST_RESOLVER = new AuthenticationTrustResolverImpl();
+
     /** 安全工具类，实际的权限检查逻辑都委托给它 */
     private final SecurityUtil securityUtil;
 
@@ -31,7 +34,7 @@ public class SiaeSecurityExpressionRoot extends SecurityExpressionRoot {
         super(authentication);
         this.securityUtil = securityUtil;
         // 初始化 trustResolver，否则 isAuthenticated() 等方法会报 NullPointerException
-        setTrustResolver(new AuthenticationTrustResolverImpl());
+        setTrustResolver(TRUST_RESOLVER);
     }
 
     // ==================== 所有者判断 ====================
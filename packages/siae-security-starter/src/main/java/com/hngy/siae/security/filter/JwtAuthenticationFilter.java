@@ -1,6 +1,7 @@
 package com.hngy.siae.security.filter;
 
 import com.hngy.siae.security.properties.SecurityProperties;
+import com.hngy.siae.core.utils.JwtClaims;
 import com.hngy.siae.core.utils.JwtUtils;
 import com.hngy.siae.security.service.SecurityCacheService;
 import jakarta.servlet.FilterChain;
@@ -109,11 +110,12 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             // 从请求头中获取JWT（仅用户请求需要完整验证）
             String jwt = getJwtFromRequest(request);
 
-            // 验证JWT是否有效（用户请求的完整验证流程）
-            if (jwt != null && isTokenValidInDatabase(jwt) && jwtUtils.validateToken(jwt)) {
+            // 验证JWT是否有效（用户请求的完整验证流程，只解析验签一次）
+            JwtClaims claims = jwt != null ? jwtUtils.tryParse(jwt) : null;
+            if (claims != null && isTokenValidInDatabase(jwt)) {
                 // 从JWT中提取基本用户信息
-                Long userId = jwtUtils.getUserId(jwt);
-                String username = jwtUtils.getUsername(jwt);
+                Long userId = claims.userId();
+                String username = claims.username();
 
                 log.info("用户请求JWT验证成功: userId={}, username={}, 路径: {}", userId, username, requestPath);
 
@@ -261,7 +263,7 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
      */
     private boolean isTokenValidInDatabase(String jwt) {
         try {
-            boolean isValid = securityCacheService.validateToken(jwt);
+            boolean isValid = securityCacheService.isTokenSessionActive(jwt);
             if (!isValid) {
                 log.debug("Token在Redis中不存在，用户可能已登出");
             }
@@ -7,7 +7,9 @@ import com.hngy.siae.core.enums.RequestSource;
 import com.hngy.siae.core.config.AuthProperties;
 import com.hngy.siae.core.result.CommonResultCodeEnum;
 import com.hngy.siae.core.result.Result;
+import com.hngy.siae.security.cache.UserAuthorities;
 import com.hngy.siae.security.service.SecurityCacheService;
+import com.hngy.siae.core.utils.JwtClaims;
 import com.hngy.siae.core.utils.JwtUtils;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
@@ -25,10 +27,7 @@ import org.springframework.web.filter.OncePerRequestFilter;
 import javax.naming.AuthenticationException;
 import java.io.IOException;
 import java.util.Arrays;
-import java.util.Collection;
-import java.util.Collections;
 import java.util.List;
-import java.util.stream.Collectors;
 
 /**
  * 微服务认证过滤器
@@ -158,18 +157,16 @@ public class ServiceAuthenticationFilter extends OncePerRequestFilter {
             log.info("Gateway request user info received: userId={}, username={}", userIdHeader, usernameHeader);
 
             // 从Redis查询用户权限（这里是唯一的权限查询点）
-            List<String> permissions = securityCacheService.getAllUserAuthorities(userId);
-            if (permissions == null) {
-                log.warn("User permissions not found in cache for user: {}, loading from database", usernameHeader);
-                // 这里可以添加从数据库加载权限的逻辑
-                permissions = Collections.emptyList();
+            UserAuthorities authorities = securityCacheService.getUserAuthorities(userId);
+            if (authorities.isEmpty()) {
+                log.warn("User permissions not found in cache for user: {}", usernameHeader);
             }
 
             // 设置Spring Security上下文
-            setSecurityContext(userId, usernameHeader, permissions);
+            setSecurityContext(userId, usernameHeader, authorities);
 
             log.info("Gateway request authenticated for user: {} with {} permissions",
-                    usernameHeader, permissions.size());
+                    usernameHeader, authorities.authorities().size());
 
         } catch (NumberFormatException e) {
             throw new AuthenticationException("Invalid user ID from gateway");
@@ -188,9 +185,7 @@ public class ServiceAuthenticationFilter extends OncePerRequestFilter {
         if (StrUtil.isNotBlank(onBehalfOfUser)) {
             try {
                 Long userId = Long.parseLong(onBehalfOfUser);
-                List<String> permissions = securityCacheService.getAllUserAuthorities(userId);
-
-                setSecurityContext(userId, "service-call-user", permissions != null ? permissions : Collections.emptyList());
+                setSecurityContext(userId, "service-call-user", securityCacheService.getUserAuthorities(userId));
                 log.info("Internal service call authenticated from: {} on behalf of user: {}", callerService, userId);
 
             } catch (NumberFormatException e) {
@@ -226,33 +221,27 @@ public class ServiceAuthenticationFilter extends OncePerRequestFilter {
             throw new AuthenticationException("Missing token for direct access");
         }
 
-        if (!jwtUtils.validateToken(token)) {
+        JwtClaims claims = jwtUtils.tryParse(token);
+        if (claims == null) {
             throw new AuthenticationException("Invalid token for direct access");
         }
 
-        Long userId = jwtUtils.getUserIdFromToken(token);
-        String username = jwtUtils.getUsernameFromToken(token);
-        List<String> permissions = securityCacheService.getAllUserAuthorities(userId);
-
-        setSecurityContext(userId, username, permissions != null ? permissions : Collections.emptyList());
+        Long userId = claims.userId();
+        String username = claims.username();
+        setSecurityContext(userId, username, securityCacheService.getUserAuthorities(userId));
 
         log.warn("Direct external access for user: {} (should use gateway in production)", username);
     }
 
     /**
      * 设置Spring Security上下文
+     * 令牌携带权限快照，用户ID存储在 details 中供后续使用
      */
-    private void setSecurityContext(Long userId, String username, List<String> permissions) {
-        Collection<GrantedAuthority> authorities = permissions.stream()
-                .map(SimpleGrantedAuthority::new)
-                .collect(Collectors.toList());
-
-        UsernamePasswordAuthenticationToken authToken =
-            new UsernamePasswordAuthenticationToken(username, null, authorities);
-        authToken.setDetails(userId); // 存储用户ID供后续使用
+    private void setSecurityContext(Long userId, String username, UserAuthorities authorities) {
+        SiaeAuthenticationToken authToken = new SiaeAuthenticationToken(username, userId, authorities);
 
         SecurityContextHolder.getContext().setAuthentication(authToken);
-        log.info("Security context set for user: {} with {} authorities", username, authorities.size());
+        log.info("Security context set for user: {} with {} authorities", username, authToken.getAuthorities().size());
     }
 
     /**
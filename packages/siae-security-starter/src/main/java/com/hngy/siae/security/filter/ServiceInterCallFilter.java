@@ -207,14 +207,10 @@ public class ServiceInterCallFilter extends OncePerRequestFilter {
         String token = authHeader.substring(7);
         
         try {
-            // 1. 验证token格式和签名
-            if (!jwtUtils.validateToken(token)) {
-                log.warn("服务间调用token格式或签名验证失败");
-                return false;
-            }
-            
-            // 2. 验证token中的服务标识
+            // 1. 验证token格式和签名（解析器拒绝签名错误和已过期的token）
             var claims = jwtUtils.parseToken(token);
+
+            // 2. 验证token中的服务标识
             String serviceIdentifier = claims.get("service", String.class);
             
             if (serviceIdentifier == null || !VALID_SERVICE_TOKENS.contains(serviceIdentifier)) {
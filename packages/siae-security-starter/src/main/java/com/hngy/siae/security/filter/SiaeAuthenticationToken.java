@@ -0,0 +1,39 @@
+package com.hngy.siae.security.filter;
+
+import com.hngy.siae.security.cache.UserAuthorities;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * 携带用户权限快照的认证令牌
+ * <p>
+ * 由 {@link ServiceAuthenticationFilter} 创建，details 仍为用户ID。
+ * {@link com.hngy.siae.security.utils.SecurityUtil} 识别该类型后直接对快照做位测试，
+ * 无需在每次权限判断时遍历 GrantedAuthority 集合。
+ *
+ * @author KEYKB
+ */
+public class SiaeAuthenticationToken extends UsernamePasswordAuthenticationToken {
+
+    private final transient UserAuthorities userAuthorities;
+
+    public SiaeAuthenticationToken(String username, Long userId, UserAuthorities userAuthorities) {
+        super(username, null, toGrantedAuthorities(userAuthorities));
+        this.userAuthorities = userAuthorities;
+        setDetails(userId);
+    }
+
+    public UserAuthorities getUserAuthorities() {
+        return userAuthorities;
+    }
+
+    private static List<GrantedAuthority> toGrantedAuthorities(UserAuthorities userAuthorities) {
+        return userAuthorities.authorities().stream()
+                .map(SimpleGrantedAuthority::new)
+                .collect(Collectors.toList());
+    }
+}
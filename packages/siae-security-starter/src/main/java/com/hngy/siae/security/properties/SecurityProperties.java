@@ -1,6 +1,7 @@
 package com.hngy.siae.security.properties;
 
 import lombok.Data;
+import org.springframework.expression.spel.SpelCompilerMode;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 
 import java.util.List;
@@ -98,6 +99,16 @@ public class SecurityProperties {
          * 令牌发行者
          */
         private String issuer = "siae-system";
+
+        /**
+         * Token 会话存储布局
+         */
+        private TokenSessionLayout sessionLayout = TokenSessionLayout.DUAL;
+
+        /**
+         * 摘要会话键前缀，完整键为 {@code <prefix><SHA-256 摘要>}
+         */
+        private String sessionKeyPrefix = "auth:session:";
     }
 
     /**
@@ -134,6 +145,122 @@ public class SecurityProperties {
          * 是否启用权限日志
          */
         private boolean logEnabled = false;
+
+        /**
+         * 权限与角色缓存的存储布局
+         * 迁移步骤：全部服务升级到 DUAL 后，等旧键自然过期（不超过最长令牌有效期）再切换为 HASH
+         */
+        private AuthorityLayout layout = AuthorityLayout.DUAL;
+
+        /**
+         * 进程内权限缓存（L1）配置
+         */
+        private LocalCache localCache = new LocalCache();
+
+        /**
+         * 权限位图索引配置
+         */
+        private BitIndex bitIndex = new BitIndex();
+
+        /**
+         * 是否按角色共享权限集合解析有效权限
+         * 启用后用户缓存只保存直接分配的权限和角色，角色权限集合全局共享并由版本号失效，
+         * 修改角色权限只需重写一个角色集合，无需逐个刷新角色成员的缓存
+         * 迁移步骤：先在读取权限的服务上开启，最后开启 siae-auth，详见 README
+         */
+        private boolean roleVersioned = false;
+    }
+
+    /**
+     * 权限位图索引配置
+     */
+    @Data
+    public static class BitIndex {
+        /**
+         * 是否以位图存储和判断用户权限（HASH/DUAL 布局下生效）
+         */
+        private boolean enabled = true;
+
+        /**
+         * 权限编码到位下标的索引哈希键，由 siae-auth 发布
+         */
+        private String indexKey = "siae:permission:index";
+
+        /**
+         * 索引变更广播的 Redis 频道
+         */
+        private String refreshChannel = "siae:security:permission-index:refresh";
+
+        /**
+         * 遇到未知位下标时重新加载索引的最小间隔（秒）
+         */
+        private long minReloadInterval = 10;
+    }
+
+    /**
+     * 进程内权限缓存（L1）配置
+     */
+    @Data
+    public static class LocalCache {
+        /**
+         * 是否启用进程内权限缓存
+         */
+        private boolean enabled = true;
+
+        /**
+         * 本地缓存过期时间（秒），即权限撤销在失效消息丢失时的最大延迟
+         */
+        private long expiration = 5;
+
+        /**
+         * 本地缓存最大用户数
+         */
+        private int maxSize = 10000;
+
+        /**
+         * 权限缓存失效广播的 Redis 频道
+         */
+        private String invalidationChannel = "siae:security:authority:invalidate";
+    }
+
+    /**
+     * 权限与角色缓存存储布局
+     */
+    public enum AuthorityLayout {
+        /**
+         * 旧布局：{@code <prefix><userId>:permissions} 与 {@code :roles} 两个字符串键
+         */
+        LEGACY,
+
+        /**
+         * 迁移布局：双写两种布局，优先读哈希，未命中时回退读取旧键
+         */
+        DUAL,
+
+        /**
+         * 新布局：每个用户一个哈希 {@code <prefix><userId>:authorities}，一次 HMGET 读取权限和角色
+         */
+        HASH
+    }
+
+    /**
+     * Token 会话存储布局
+     */
+    public enum TokenSessionLayout {
+        /**
+         * 旧布局：{@code auth:token:<完整JWT>} 键保存 JSON 用户信息，设备映射保存完整 Token
+         */
+        LEGACY,
+
+        /**
+         * 迁移布局：双写摘要会话和旧键（旧键值与旧版本格式一致），校验以旧键为准，旧版本实例登出只删除旧键时会话同样失效
+         */
+        DUAL,
+
+        /**
+         * 新布局：只读写 {@code <sessionKeyPrefix><摘要>} 二进制会话记录，设备映射保存摘要
+         */
+        DIGEST
     }
 
     /**
@@ -192,6 +319,11 @@ public class SecurityProperties {
          * 是否启用权限缓存优化
          */
         private boolean cacheOptimizationEnabled = true;
+
+        /**
+         * {@code @SiaeAuthorize} 表达式的SpEL编译模式：OFF（解释执行）、MIXED（热点后编译，失败回退）、IMMEDIATE（首次求值即编译）
+         */
+        private SpelCompilerMode spelCompilerMode = SpelCompilerMode.MIXED;
     }
 
     /**
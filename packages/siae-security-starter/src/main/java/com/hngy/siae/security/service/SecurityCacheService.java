@@ -1,6 +1,11 @@
 package com.hngy.siae.security.service;
 
+import com.hngy.siae.security.cache.LoginSession;
+import com.hngy.siae.security.cache.TokenSession;
+import com.hngy.siae.security.cache.UserAuthorities;
+
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.TimeUnit;
 
 /**
@@ -38,6 +43,14 @@ public interface SecurityCacheService {
      */
     List<String> getAllUserAuthorities(Long userId);
 
+    /**
+     * 获取用户权限快照，支持 O(1) 的权限和角色判断
+     *
+     * @param userId 用户ID
+     * @return 权限快照，如果缓存不存在或获取失败返回空快照
+     */
+    UserAuthorities getUserAuthorities(Long userId);
+
     // ==================== 权限检查方法 ====================
 
     /**
@@ -161,6 +174,45 @@ public interface SecurityCacheService {
      */
     void refreshUserRolesCache(Long userId, long expireTime, TimeUnit timeUnit);
 
+    // ==================== 角色权限集合方法 ====================
+
+    /**
+     * 是否按角色共享权限集合解析有效权限
+     * 启用时用户权限缓存只应写入直接分配的权限，角色权限通过 {@link #cacheRolePermissions} 维护
+     *
+     * @return true表示启用
+     */
+    boolean isRoleVersioned();
+
+    /**
+     * 缓存角色的权限集合并递增角色集合版本号
+     *
+     * @param roleCode 角色编码
+     * @param permissions 角色拥有的权限编码
+     */
+    void cacheRolePermissions(String roleCode, List<String> permissions);
+
+    /**
+     * 角色权限集合是否已发布；版本号缺失说明启动发布失败或 Redis 被清空，需要重新全量发布
+     *
+     * @return true表示已发布
+     */
+    boolean isRolePermissionsPublished();
+
+    /**
+     * 整体替换全部角色的权限集合（服务启动时发布）
+     *
+     * @param rolePermissions 角色编码到权限编码的映射
+     */
+    void cacheAllRolePermissions(Map<String, List<String>> rolePermissions);
+
+    /**
+     * 清除角色的权限集合
+     *
+     * @param roleCode 角色编码
+     */
+    void clearRolePermissions(String roleCode);
+
     // ==================== Token管理方法 ====================
 
     /**
@@ -171,6 +223,14 @@ public interface SecurityCacheService {
      */
     boolean validateToken(String token);
 
+    /**
+     * 检查token会话在Redis中是否存在（不验签，调用方已通过 JwtUtils#parseOnce 验签时使用）
+     *
+     * @param token JWT token
+     * @return true表示会话存在
+     */
+    boolean isTokenSessionActive(String token);
+
     /**
      * 存储token到Redis
      *
@@ -181,12 +241,40 @@ public interface SecurityCacheService {
     void storeToken(String token, Object userInfo, long expireSeconds);
 
     /**
-     * 从Redis中删除token（登出时使用）
+     * 以已知的会话信息存储token，无需再次解析JWT（登录、注册签发后使用）
+     *
+     * @param token JWT token
+     * @param session 会话记录，过期时间即Redis TTL
+     * @param status 用户状态，写入旧会话键供旧版本实例读取
+     */
+    void storeTokenSession(String token, TokenSession session, Integer status);
+
+    /**
+     * 在一次管道往返中写入登录产生的全部会话状态：清理并吊销同端旧Token、缓存权限与角色、
+     * 更新设备映射、存储访问与刷新令牌会话，并广播权限缓存失效
+     * <p>
+     * 与其他缓存方法不同，写入失败时异常会抛给调用方，登录不应在会话缺失的情况下返回令牌
+     *
+     * @param loginSession 登录会话批次
+     */
+    void writeLoginSession(LoginSession loginSession);
+
+    /**
+     * 从Redis中删除token并广播吊销（同端互斥踢下线时使用）
      *
      * @param token JWT token
      */
     void removeToken(String token);
 
+    /**
+     * 一次管道删除多个 Token 的会话并广播吊销（登出时使用）
+     * <p>
+     * 写入失败时异常抛给调用方，登出不应在 Token 仍然有效的情况下返回成功
+     *
+     * @param tokens 访问令牌与刷新令牌
+     */
+    void removeTokens(List<String> tokens);
+
     // ==================== 单点登录（同端互斥）方法 ====================
 
     /**
@@ -194,7 +282,7 @@ public interface SecurityCacheService {
      *
      * @param userId 用户ID
      * @param deviceType 设备类型（web、mobile、desktop）
-     * @param token JWT token
+     * @param token JWT token（DIGEST会话布局下只保存其摘要）
      * @param expireSeconds 过期时间（秒）
      */
     void storeUserDeviceToken(Long userId, String deviceType, String token, long expireSeconds);
@@ -204,7 +292,7 @@ public interface SecurityCacheService {
      *
      * @param userId 用户ID
      * @param deviceType 设备类型
-     * @return token，如果不存在返回null
+     * @return token或其摘要（取决于写入时的会话布局），如果不存在返回null
      */
     String getUserDeviceToken(Long userId, String deviceType);
 
@@ -1,27 +1,76 @@
 package com.hngy.siae.security.service.impl;
 
+import com.hngy.siae.core.utils.JwtClaims;
 import com.hngy.siae.core.utils.JwtUtils;
+import com.hngy.siae.security.cache.AuthorityInvalidationListener;
+import com.hngy.siae.security.cache.LocalAuthorityCache;
+import com.hngy.siae.security.cache.LoginSession;
+import com.hngy.siae.security.cache.PermissionIndex;
+import com.hngy.siae.security.cache.PermissionIndexRegistry;
+import com.hngy.siae.security.cache.RolePermissionCache;
+import com.hngy.siae.security.cache.TokenRevocationPublisher;
+import com.hngy.siae.security.cache.TokenSession;
+import com.hngy.siae.security.cache.UserAuthorities;
 import com.hngy.siae.security.properties.SecurityProperties;
+import com.hngy.siae.security.properties.SecurityProperties.AuthorityLayout;
+import com.hngy.siae.security.properties.SecurityProperties.TokenSessionLayout;
 import com.hngy.siae.security.service.SecurityCacheService;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisStringCommands;
+import org.springframework.data.redis.connection.StringRedisConnection;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisOperations;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.SessionCallback;
 import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.types.Expiration;
+import org.springframework.data.redis.serializer.RedisSerializer;
 import org.springframework.stereotype.Service;
 
+import java.nio.charset.StandardCharsets;
 import java.util.Arrays;
+import java.util.Base64;
+import java.util.BitSet;
 import java.util.Collections;
 import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
-import java.util.stream.Stream;
 
 /**
  * 安全缓存服务实现类
  * 统一管理用户权限、角色、Token的Redis缓存操作
+ *
+ * <p>权限与角色的存储布局由 {@code siae.security.permission.layout} 控制：</p>
+ * <ul>
+ *   <li>LEGACY：{@code <prefix><userId>:permissions} 与 {@code :roles} 两个字符串键</li>
+ *   <li>HASH：每个用户一个哈希 {@code <prefix><userId>:authorities}，字段为 permissions/roles，一次 HMGET 读取</li>
+ *   <li>DUAL：迁移期双写两种布局，优先读哈希，未命中再用一次 MGET 读取旧键</li>
+ * </ul>
+ *
+ * <p>非 LEGACY 布局下，权限还以位图形式写入哈希字段 permissionBits（Base64 编码，位下标见
+ * {@link PermissionIndexRegistry}）。HASH 布局只保留位图，DUAL 布局同时保留字符串以兼容旧版本；
+ * 存在索引未收录的权限编码时退回字符串存储。</p>
+ *
+ * <p>启用 {@code siae.security.permission.role-versioned} 时，用户缓存只保存直接分配的权限和角色，
+ * 角色的权限集合由 {@link RolePermissionCache} 全局共享，读取时随用户缓存一并读取版本号并合并。</p>
+ *
+ * <p>Token 会话的存储布局由 {@code siae.security.jwt.session-layout} 控制：DIGEST 布局以 Token 的
+ * SHA-256 摘要为键保存 {@link TokenSession} 二进制记录，DUAL 布局迁移期内同时写入旧的
+ * {@code auth:token:<完整JWT>} 键（值与旧版本格式一致），并以旧键是否存在判断会话有效。</p>
+ *
+ * <p>读取结果经 {@link LocalAuthorityCache} 在进程内短暂缓存，任何写入或清除都会通过
+ * Redis 发布订阅广播失效消息。</p>
  * 
  * @author KEYKB
  */
@@ -47,35 +96,39 @@ public class SecurityCacheServiceImpl implements SecurityCacheService {
     private final RedisTemplate<String, Object> objectRedisTemplate;
     private final SecurityProperties securityProperties;
     private final JwtUtils jwtUtils;
+    private final LocalAuthorityCache localAuthorityCache;
+    private final PermissionIndexRegistry permissionIndexRegistry;
+    private final RolePermissionCache rolePermissionCache;
+    private final TokenRevocationPublisher tokenRevocationPublisher;
 
     /**
      * Redis键前缀常量
      */
     private static final String PERMISSION_SUFFIX = "permissions";
     private static final String ROLE_SUFFIX = "roles";
+    private static final String AUTHORITY_SUFFIX = "authorities";
+    private static final String PERMISSION_BITS_FIELD = "permissionBits";
     private static final String TOKEN_KEY_PREFIX = "auth:token:";
     private static final String DELIMITER = ",";
+    private static final List<Object> AUTHORITY_FIELDS = List.of(PERMISSION_SUFFIX, ROLE_SUFFIX, PERMISSION_BITS_FIELD);
+
+    /**
+     * 权限与角色的原始缓存值（逗号分隔）及权限位图（Base64），未缓存时为 null；
+     * roleVersion 为同一次往返读取到的角色权限集合版本号
+     */
+    private record AuthorityValues(String permissions, String roles, String permissionBits, String roleVersion) {
+
+        private static final AuthorityValues EMPTY = new AuthorityValues(null, null, null, null);
+
+        boolean isEmpty() {
+            return permissions == null && roles == null && permissionBits == null;
+        }
+    }
     
     @Override
     public List<String> getUserPermissions(Long userId) {
         try {
-            String key = buildPermissionKey(userId);
-            String value = redisTemplate.opsForValue().get(key);
-            
-            // 获取TTL用于调试
-            Long ttl = redisTemplate.getExpire(key);
-            
-            if (value == null || value.isEmpty()) {
-                log.warn("【权限缓存】用户权限缓存不存在或为空，用户ID: {}, key: {}, TTL: {}", userId, key, ttl);
-                return Collections.emptyList();
-            }
-            
-            List<String> permissions = Arrays.stream(value.split(DELIMITER))
-                    .filter(perm -> !perm.trim().isEmpty())
-                    .collect(Collectors.toList());
-            
-            log.debug("【权限缓存】获取权限成功，用户ID: {}, 权限数量: {}, 剩余TTL: {}秒", userId, permissions.size(), ttl);
-            return permissions;
+            return loadUserAuthorities(userId).permissions();
         } catch (Exception e) {
             log.error("从缓存获取用户权限失败，用户ID: {}", userId, e);
             return Collections.emptyList();
@@ -85,23 +138,7 @@ public class SecurityCacheServiceImpl implements SecurityCacheService {
     @Override
     public List<String> getUserRoles(Long userId) {
         try {
-            String key = buildRoleKey(userId);
-            String value = redisTemplate.opsForValue().get(key);
-            
-            // 获取TTL用于调试
-            Long ttl = redisTemplate.getExpire(key);
-            
-            if (value == null || value.isEmpty()) {
-                log.warn("【角色缓存】用户角色缓存不存在或为空，用户ID: {}, key: {}, TTL: {}", userId, key, ttl);
-                return Collections.emptyList();
-            }
-            
-            List<String> roles = Arrays.stream(value.split(DELIMITER))
-                    .filter(role -> !role.trim().isEmpty())
-                    .collect(Collectors.toList());
-            
-            log.debug("【角色缓存】获取角色成功，用户ID: {}, 角色数量: {}, 剩余TTL: {}秒", userId, roles.size(), ttl);
-            return roles;
+            return loadUserAuthorities(userId).roles();
         } catch (Exception e) {
             log.error("从缓存获取用户角色失败，用户ID: {}", userId, e);
             return Collections.emptyList();
@@ -110,31 +147,11 @@ public class SecurityCacheServiceImpl implements SecurityCacheService {
     
     @Override
     public List<String> getAllUserAuthorities(Long userId) {
-        log.info("开始获取用户所有权限，用户ID: {}", userId);
-
         try {
-            // 获取用户权限
-            List<String> permissions = getUserPermissions(userId);
-            log.info("获取用户权限完成，用户ID: {}, 权限列表: {}", userId, permissions);
-
-            // 获取用户角色（添加ROLE_前缀以符合Spring Security规范）
-            List<String> rawRoles = getUserRoles(userId);
-            log.info("获取用户角色完成，用户ID: {}, 原始角色列表: {}", userId, rawRoles);
-
-            List<String> roles = rawRoles.stream()
-                    .map(role -> role.startsWith("ROLE_") ? role : "ROLE_" + role)
-                    .toList();
-            log.info("角色前缀处理完成，用户ID: {}, 处理后角色列表: {}", userId, roles);
-
-            // 合并权限和角色
-            List<String> allAuthorities = Stream.concat(permissions.stream(), roles.stream())
-                    .distinct()
-                    .collect(Collectors.toList());
-
-            log.info("权限合并完成，用户ID: {}, 最终权限列表: {}", userId, allAuthorities);
-
+            List<String> allAuthorities = loadUserAuthorities(userId).authorities();
             if (securityProperties.getPermission().isLogEnabled()) {
-                log.debug("获取用户所有权限成功，用户ID: {}, 权限总数: {}", userId, allAuthorities.size());
+                log.debug("获取用户所有权限成功，用户ID: {}, 权限总数: {}, 最终权限列表: {}",
+                        userId, allAuthorities.size(), allAuthorities);
             }
             return allAuthorities;
         } catch (Exception e) {
@@ -142,28 +159,125 @@ public class SecurityCacheServiceImpl implements SecurityCacheService {
             return Collections.emptyList();
         }
     }
+
+    @Override
+    public UserAuthorities getUserAuthorities(Long userId) {
+        try {
+            return loadUserAuthorities(userId);
+        } catch (Exception e) {
+            log.error("获取用户权限快照失败，用户ID: {}", userId, e);
+            return UserAuthorities.EMPTY;
+        }
+    }
+
+    /**
+     * 获取用户权限快照：优先读本地缓存，未命中时一次往返读取 Redis 并解析
+     */
+    private UserAuthorities loadUserAuthorities(Long userId) {
+        return localAuthorityCache.get(userId, () -> {
+            // 权限、角色与角色集合版本号一次往返读取（HASH 布局为 HMGET+GET 管道，LEGACY 布局为一次 MGET）
+            AuthorityValues values = readAuthorityValues(userId);
+            if (values.isEmpty()) {
+                log.warn("【权限缓存】用户权限和角色缓存均不存在，用户ID: {}", userId);
+                return UserAuthorities.EMPTY;
+            }
+            List<String> roles = splitValue(values.roles());
+            List<String> permissions = mergeRolePermissions(
+                    resolvePermissions(userId, values), roles, values.roleVersion());
+            UserAuthorities authorities = UserAuthorities.of(permissions, roles, permissionIndexRegistry.current());
+            log.debug("【权限缓存】加载权限成功，用户ID: {}, 权限数量: {}, 角色数量: {}",
+                    userId, authorities.permissions().size(), authorities.roles().size());
+            return authorities;
+        });
+    }
+
+    /**
+     * 合并用户直接权限与其角色的共享权限集合
+     */
+    private List<String> mergeRolePermissions(List<String> permissions, List<String> roles, String roleVersion) {
+        if (!isRoleVersioned()) {
+            return permissions;
+        }
+        List<String> rolePermissions = rolePermissionCache.permissionsOf(roles, roleVersion);
+        if (rolePermissions.isEmpty()) {
+            return permissions;
+        }
+        if (permissions.isEmpty()) {
+            return rolePermissions;
+        }
+        Set<String> merged = new LinkedHashSet<>(permissions);
+        merged.addAll(rolePermissions);
+        return List.copyOf(merged);
+    }
+
+    /**
+     * 剔除全部本地权限缓存并广播全量失效消息（角色权限集合变更时使用）
+     */
+    private void publishInvalidationAll() {
+        localAuthorityCache.invalidateAll();
+        try {
+            redisTemplate.convertAndSend(securityProperties.getPermission().getLocalCache().getInvalidationChannel(),
+                    AuthorityInvalidationListener.INVALIDATE_ALL);
+        } catch (Exception e) {
+            log.error("广播权限缓存全量失效消息失败", e);
+        }
+    }
+
+    /**
+     * 剔除本地权限缓存并广播失效消息，通知其他服务实例
+     */
+    private void publishInvalidation(Long userId) {
+        localAuthorityCache.invalidate(userId);
+        try {
+            redisTemplate.convertAndSend(
+                    securityProperties.getPermission().getLocalCache().getInvalidationChannel(), String.valueOf(userId));
+        } catch (Exception e) {
+            log.error("广播权限缓存失效消息失败，用户ID: {}", userId, e);
+        }
+    }
     
+    /**
+     * 解析权限编码：优先解码位图，位图含有当前索引未收录的位时限流重载索引；
+     * 仍无法解码则回退到字符串字段，字符串字段也不存在时只保留已收录的权限
+     */
+    private List<String> resolvePermissions(Long userId, AuthorityValues values) {
+        if (values.permissionBits() == null) {
+            return splitValue(values.permissions());
+        }
+
+        BitSet bits = BitSet.valueOf(Base64.getDecoder().decode(values.permissionBits()));
+        List<String> permissions = permissionIndexRegistry.current().decode(bits);
+        if (permissions == null) {
+            permissions = permissionIndexRegistry.reloadIfStale().decode(bits);
+        }
+        if (permissions != null) {
+            return permissions;
+        }
+        if (values.permissions() != null) {
+            return splitValue(values.permissions());
+        }
+        log.warn("【权限缓存】权限位图含有未收录的位，已忽略未知权限，用户ID: {}", userId);
+        return permissionIndexRegistry.current().decodeKnown(bits);
+    }
+
     @Override
     public boolean hasPermission(Long userId, String permission) {
-        return getUserPermissions(userId).contains(permission);
+        return getUserAuthorities(userId).hasPermission(permission);
     }
     
     @Override
     public boolean hasRole(Long userId, String role) {
-        List<String> userRoles = getUserRoles(userId);
-        return userRoles.contains(role) || userRoles.contains("ROLE_" + role);
+        return getUserAuthorities(userId).hasRole(role);
     }
     
     @Override
     public boolean hasAnyPermission(Long userId, String... permissions) {
-        List<String> userPermissions = getUserPermissions(userId);
-        return Arrays.stream(permissions).anyMatch(userPermissions::contains);
+        return getUserAuthorities(userId).hasAnyPermission(permissions);
     }
     
     @Override
     public boolean hasAllPermissions(Long userId, String... permissions) {
-        List<String> userPermissions = getUserPermissions(userId);
-        return Arrays.stream(permissions).allMatch(userPermissions::contains);
+        return getUserAuthorities(userId).hasAllPermissions(permissions);
     }
     
     @Override
@@ -177,9 +291,8 @@ public class SecurityCacheServiceImpl implements SecurityCacheService {
     @Override
     public void clearUserPermissions(Long userId) {
         try {
-            String permissionKey = buildPermissionKey(userId);
-            redisTemplate.delete(permissionKey);
-
+            clearAuthorityField(userId, PERMISSION_SUFFIX);
+            publishInvalidation(userId);
             log.info("用户权限缓存已清除，用户ID: {}", userId);
         } catch (Exception e) {
             log.error("清除用户权限缓存失败，用户ID: {}", userId, e);
@@ -189,9 +302,8 @@ public class SecurityCacheServiceImpl implements SecurityCacheService {
     @Override
     public void clearUserRoles(Long userId) {
         try {
-            String roleKey = buildRoleKey(userId);
-            redisTemplate.delete(roleKey);
-
+            clearAuthorityField(userId, ROLE_SUFFIX);
+            publishInvalidation(userId);
             log.info("用户角色缓存已清除，用户ID: {}", userId);
         } catch (Exception e) {
             log.error("清除用户角色缓存失败，用户ID: {}", userId, e);
@@ -199,17 +311,199 @@ public class SecurityCacheServiceImpl implements SecurityCacheService {
     }
     
     /**
-     * 构建权限缓存键
+     * 构建旧布局的字符串键：{@code <prefix><userId>:permissions} / {@code :roles}
      */
-    private String buildPermissionKey(Long userId) {
-        return securityProperties.getPermission().getCacheKeyPrefix() + userId + ":" + PERMISSION_SUFFIX;
+    private String buildLegacyKey(Long userId, String field) {
+        return securityProperties.getPermission().getCacheKeyPrefix() + userId + ":" + field;
     }
-    
+
+    /**
+     * 构建哈希布局的键：{@code <prefix><userId>:authorities}
+     */
+    private String buildAuthorityKey(Long userId) {
+        return securityProperties.getPermission().getCacheKeyPrefix() + userId + ":" + AUTHORITY_SUFFIX;
+    }
+
+    private AuthorityLayout layout() {
+        return securityProperties.getPermission().getLayout();
+    }
+
+    /**
+     * 一次往返读取用户的权限和角色
+     */
+    @SuppressWarnings("unchecked")
+    private AuthorityValues readAuthorityValues(Long userId) {
+        AuthorityLayout layout = layout();
+        String versionKey = rolePermissionCache.versionKey();
+        String roleVersion = null;
+        if (layout != AuthorityLayout.LEGACY) {
+            // HMGET 与角色集合版本号同一管道发送
+            String authorityKey = buildAuthorityKey(userId);
+            List<Object> results = redisTemplate.executePipelined(new SessionCallback<Object>() {
+                @Override
+                public Object execute(RedisOperations operations) throws DataAccessException {
+                    operations.opsForHash().multiGet(authorityKey, AUTHORITY_FIELDS);
+                    operations.opsForValue().get(versionKey);
+                    return null;
+                }
+            });
+            List<Object> values = (List<Object>) results.get(0);
+            roleVersion = (String) results.get(1);
+            AuthorityValues hashValues = new AuthorityValues(
+                    (String) values.get(0), (String) values.get(1), (String) values.get(2), roleVersion);
+            if (!hashValues.isEmpty() || layout == AuthorityLayout.HASH) {
+                return hashValues;
+            }
+        }
+
+        List<String> keys = layout == AuthorityLayout.LEGACY
+                ? List.of(buildLegacyKey(userId, PERMISSION_SUFFIX), buildLegacyKey(userId, ROLE_SUFFIX), versionKey)
+                : List.of(buildLegacyKey(userId, PERMISSION_SUFFIX), buildLegacyKey(userId, ROLE_SUFFIX));
+        List<String> values = redisTemplate.opsForValue().multiGet(keys);
+        if (values == null) {
+            return AuthorityValues.EMPTY;
+        }
+        if (layout == AuthorityLayout.LEGACY) {
+            roleVersion = values.get(2);
+        }
+        return new AuthorityValues(values.get(0), values.get(1), null, roleVersion);
+    }
+
+    private List<String> splitValue(String value) {
+        if (value == null || value.isEmpty()) {
+            return Collections.emptyList();
+        }
+        return Arrays.stream(value.split(DELIMITER))
+                .filter(item -> !item.trim().isEmpty())
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * 写入权限或角色字段
+     * 哈希布局下整个哈希共用一个过期时间，以最后一次写入为准
+     *
+     * @param hashFields      写入哈希的字段
+     * @param staleHashFields 需从哈希中删除的过期字段
+     */
+    private void writeAuthorityField(Long userId, String field, String value,
+                                     Map<String, String> hashFields, List<Object> staleHashFields,
+                                     long expireTime, TimeUnit timeUnit) {
+        AuthorityLayout layout = layout();
+        String legacyKey = buildLegacyKey(userId, field);
+        if (layout == AuthorityLayout.LEGACY) {
+            redisTemplate.opsForValue().set(legacyKey, value, expireTime, timeUnit);
+            return;
+        }
+
+        String authorityKey = buildAuthorityKey(userId);
+        redisTemplate.executePipelined(new SessionCallback<Object>() {
+            @Override
+            @SuppressWarnings("unchecked")
+            public Object execute(RedisOperations operations) throws DataAccessException {
+                operations.opsForHash().putAll(authorityKey, hashFields);
+                if (!staleHashFields.isEmpty()) {
+                    operations.opsForHash().delete(authorityKey, staleHashFields.toArray());
+                }
+                operations.expire(authorityKey, expireTime, timeUnit);
+                if (layout == AuthorityLayout.DUAL) {
+                    operations.opsForValue().set(legacyKey, value, expireTime, timeUnit);
+                }
+                return null;
+            }
+        });
+    }
+
+    /**
+     * 将权限编码为 Base64 位图；未启用位图、布局为 LEGACY 或存在索引未收录的编码时返回 null
+     */
+    private String encodePermissionBits(List<String> permissions) {
+        if (layout() == AuthorityLayout.LEGACY) {
+            return null;
+        }
+        PermissionIndex index = permissionIndexRegistry.current();
+        if (index.isEmpty()) {
+            return null;
+        }
+        BitSet bits = index.encode(permissions);
+        if (bits == null) {
+            index = permissionIndexRegistry.reloadIfStale();
+            bits = index.encode(permissions);
+        }
+        return bits != null ? Base64.getEncoder().encodeToString(bits.toByteArray()) : null;
+    }
+
+    /**
+     * 权限写入哈希的字段：位图可用时 HASH 布局只存位图，DUAL 布局保留字符串供旧版本读取
+     */
+    private Map<String, String> permissionHashFields(String value, String bits) {
+        Map<String, String> hashFields = new LinkedHashMap<>();
+        if (bits != null) {
+            hashFields.put(PERMISSION_BITS_FIELD, bits);
+            if (layout() != AuthorityLayout.HASH) {
+                hashFields.put(PERMISSION_SUFFIX, value);
+            }
+        } else {
+            hashFields.put(PERMISSION_SUFFIX, value);
+        }
+        return hashFields;
+    }
+
+    /**
+     * 权限写入时需从哈希中删除的字段：位图不可用时清除旧位图，HASH 布局存位图时清除字符串
+     */
+    private List<Object> stalePermissionHashFields(String bits) {
+        if (bits == null) {
+            return List.of(PERMISSION_BITS_FIELD);
+        }
+        return layout() == AuthorityLayout.HASH ? List.of(PERMISSION_SUFFIX) : Collections.emptyList();
+    }
+
+    /**
+     * 权限或角色在哈希布局中对应的字段，权限同时包含字符串与位图两个字段
+     */
+    private Object[] hashFieldsOf(String field) {
+        return PERMISSION_SUFFIX.equals(field)
+                ? new Object[]{PERMISSION_SUFFIX, PERMISSION_BITS_FIELD}
+                : new Object[]{field};
+    }
+
+    /**
+     * 清除权限或角色字段，两种布局一并清理，避免迁移期残留旧数据
+     */
+    private void clearAuthorityField(Long userId, String field) {
+        redisTemplate.opsForHash().delete(buildAuthorityKey(userId), hashFieldsOf(field));
+        redisTemplate.delete(buildLegacyKey(userId, field));
+    }
+
+    private boolean hasHashField(Long userId, String field) {
+        List<Object> values = redisTemplate.opsForHash().multiGet(buildAuthorityKey(userId), List.of(hashFieldsOf(field)));
+        return values.stream().anyMatch(Objects::nonNull);
+    }
+
+    private boolean hasAuthorityField(Long userId, String field) {
+        AuthorityLayout layout = layout();
+        if (layout != AuthorityLayout.LEGACY && hasHashField(userId, field)) {
+            return true;
+        }
+        return layout != AuthorityLayout.HASH && Boolean.TRUE.equals(redisTemplate.hasKey(buildLegacyKey(userId, field)));
+    }
+
     /**
-     * 构建角色缓存键
+     * 刷新权限或角色缓存的过期时间，返回是否存在可刷新的缓存
      */
-    private String buildRoleKey(Long userId) {
-        return securityProperties.getPermission().getCacheKeyPrefix() + userId + ":" + ROLE_SUFFIX;
+    private boolean expireAuthorityField(Long userId, String field, long expireTime, TimeUnit timeUnit) {
+        AuthorityLayout layout = layout();
+        boolean refreshed = false;
+        if (layout != AuthorityLayout.LEGACY && hasHashField(userId, field)) {
+            redisTemplate.expire(buildAuthorityKey(userId), expireTime, timeUnit);
+            refreshed = true;
+        }
+        String legacyKey = buildLegacyKey(userId, field);
+        if (layout != AuthorityLayout.HASH && Boolean.TRUE.equals(redisTemplate.hasKey(legacyKey))) {
+            redisTemplate.expire(legacyKey, expireTime, timeUnit);
+            refreshed = true;
+        }
+        return refreshed;
     }
 
     // ==================== 新增的缓存管理方法 ====================
@@ -217,16 +511,17 @@ public class SecurityCacheServiceImpl implements SecurityCacheService {
     @Override
     public void cacheUserPermissions(Long userId, List<String> permissions, long expireTime, TimeUnit timeUnit) {
         try {
-            String key = buildPermissionKey(userId);
-            String value = permissions != null && !permissions.isEmpty()
-                ? String.join(DELIMITER, permissions)
-                : "";
+            List<String> codes = permissions != null ? permissions : Collections.emptyList();
+            String value = String.join(DELIMITER, codes);
+            String bits = encodePermissionBits(codes);
 
-            redisTemplate.opsForValue().set(key, value, expireTime, timeUnit);
+            writeAuthorityField(userId, PERMISSION_SUFFIX, value, permissionHashFields(value, bits),
+                    stalePermissionHashFields(bits), expireTime, timeUnit);
+            publishInvalidation(userId);
 
             // 始终打印缓存信息，便于调试
-            log.info("【权限缓存】设置权限缓存，key: {}, 权限数量: {}, 过期时间: {} {}",
-                    key, permissions != null ? permissions.size() : 0, expireTime, timeUnit);
+            log.info("【权限缓存】设置权限缓存，用户ID: {}, 布局: {}, 位图: {}, 权限数量: {}, 过期时间: {} {}",
+                    userId, layout(), bits != null, codes.size(), expireTime, timeUnit);
         } catch (Exception e) {
             log.error("缓存用户权限失败，用户ID: {}", userId, e);
             // 不抛出异常，避免影响主业务流程
@@ -236,33 +531,85 @@ public class SecurityCacheServiceImpl implements SecurityCacheService {
     @Override
     public void cacheUserRoles(Long userId, List<String> roles, long expireTime, TimeUnit timeUnit) {
         try {
-            String key = buildRoleKey(userId);
             String value = roles != null && !roles.isEmpty()
                 ? String.join(DELIMITER, roles)
                 : "";
 
-            redisTemplate.opsForValue().set(key, value, expireTime, timeUnit);
+            writeAuthorityField(userId, ROLE_SUFFIX, value, Map.of(ROLE_SUFFIX, value), Collections.emptyList(),
+                    expireTime, timeUnit);
+            publishInvalidation(userId);
 
             // 始终打印缓存信息，便于调试
-            log.info("【角色缓存】设置角色缓存，key: {}, 角色数量: {}, 过期时间: {} {}",
-                    key, roles != null ? roles.size() : 0, expireTime, timeUnit);
+            log.info("【角色缓存】设置角色缓存，用户ID: {}, 布局: {}, 角色数量: {}, 过期时间: {} {}",
+                    userId, layout(), roles != null ? roles.size() : 0, expireTime, timeUnit);
         } catch (Exception e) {
             log.error("缓存用户角色失败，用户ID: {}", userId, e);
             // 不抛出异常，避免影响主业务流程
         }
     }
 
+    @Override
+    public boolean isRoleVersioned() {
+        return securityProperties.getPermission().isRoleVersioned();
+    }
+
+    @Override
+    public void cacheRolePermissions(String roleCode, List<String> permissions) {
+        try {
+            rolePermissionCache.put(roleCode, permissions != null ? permissions : Collections.emptyList());
+            publishInvalidationAll();
+            log.info("【角色权限缓存】设置角色权限集合，角色: {}, 权限数量: {}",
+                    roleCode, permissions != null ? permissions.size() : 0);
+        } catch (Exception e) {
+            log.error("缓存角色权限集合失败，角色: {}", roleCode, e);
+        }
+    }
+
+    @Override
+    public boolean isRolePermissionsPublished() {
+        return rolePermissionCache.isPublished();
+    }
+
+    @Override
+    public void cacheAllRolePermissions(Map<String, List<String>> rolePermissions) {
+        try {
+            rolePermissionCache.putAll(rolePermissions);
+            publishInvalidationAll();
+            log.info("【角色权限缓存】全量发布角色权限集合，角色数量: {}", rolePermissions.size());
+        } catch (Exception e) {
+            log.error("全量缓存角色权限集合失败", e);
+        }
+    }
+
+    @Override
+    public void clearRolePermissions(String roleCode) {
+        try {
+            rolePermissionCache.remove(roleCode);
+            publishInvalidationAll();
+            log.info("【角色权限缓存】已清除角色权限集合，角色: {}", roleCode);
+        } catch (Exception e) {
+            log.error("清除角色权限集合失败，角色: {}", roleCode, e);
+        }
+    }
+
     @Override
     public void clearUserCache(Long userId) {
-        clearUserPermissions(userId);
-        clearUserRoles(userId);
+        try {
+            redisTemplate.delete(List.of(
+                    buildAuthorityKey(userId),
+                    buildLegacyKey(userId, PERMISSION_SUFFIX),
+                    buildLegacyKey(userId, ROLE_SUFFIX)));
+            publishInvalidation(userId);
+            log.info("用户权限和角色缓存已清除，用户ID: {}", userId);
+        } catch (Exception e) {
+            log.error("清除用户缓存失败，用户ID: {}", userId, e);
+        }
     }
 
     @Override
     public boolean hasUserPermissionsCache(Long userId) {
         try {
-            String key = buildPermissionKey(userId);
-            return redisTemplate.hasKey(key);
+            return hasAuthorityField(userId, PERMISSION_SUFFIX);
         } catch (Exception e) {
             log.error("检查用户权限缓存失败，用户ID: {}", userId, e);
             return false;
@@ -272,8 +619,7 @@ public class SecurityCacheServiceImpl implements SecurityCacheService {
     @Override
     public boolean hasUserRolesCache(Long userId) {
         try {
-            String key = buildRoleKey(userId);
-            return redisTemplate.hasKey(key);
+            return hasAuthorityField(userId, ROLE_SUFFIX);
         } catch (Exception e) {
             log.error("检查用户角色缓存失败，用户ID: {}", userId, e);
             return false;
@@ -283,10 +629,7 @@ public class SecurityCacheServiceImpl implements SecurityCacheService {
     @Override
     public void refreshUserPermissionsCache(Long userId, long expireTime, TimeUnit timeUnit) {
         try {
-            String key = buildPermissionKey(userId);
-            if (redisTemplate.hasKey(key)) {
-                redisTemplate.expire(key, expireTime, timeUnit);
-
+            if (expireAuthorityField(userId, PERMISSION_SUFFIX, expireTime, timeUnit)) {
                 if (securityProperties.getPermission().isLogEnabled()) {
                     log.debug("刷新用户权限缓存过期时间成功，用户ID: {}, 新过期时间: {}{}",
                             userId, expireTime, timeUnit);
@@ -304,10 +647,7 @@ public class SecurityCacheServiceImpl implements SecurityCacheService {
     @Override
     public void refreshUserRolesCache(Long userId, long expireTime, TimeUnit timeUnit) {
         try {
-            String key = buildRoleKey(userId);
-            if (redisTemplate.hasKey(key)) {
-                redisTemplate.expire(key, expireTime, timeUnit);
-
+            if (expireAuthorityField(userId, ROLE_SUFFIX, expireTime, timeUnit)) {
                 if (securityProperties.getPermission().isLogEnabled()) {
                     log.debug("刷新用户角色缓存过期时间成功，用户ID: {}, 新过期时间: {}{}",
                             userId, expireTime, timeUnit);
@@ -339,11 +679,8 @@ public class SecurityCacheServiceImpl implements SecurityCacheService {
                 return false;
             }
 
-            // 第二步：检查token在Redis中是否存在
-            String tokenKey = TOKEN_KEY_PREFIX + token;
-            boolean redisValid = objectRedisTemplate.hasKey(tokenKey);
-
-            if (!redisValid) {
+            // 第二步：检查会话在Redis中是否存在
+            if (!isTokenSessionActive(token)) {
                 log.debug("Token在Redis中不存在，用户可能已登出");
                 return false;
             }
@@ -358,6 +695,11 @@ public class SecurityCacheServiceImpl implements SecurityCacheService {
         }
     }
 
+    @Override
+    public boolean isTokenSessionActive(String token) {
+        return Boolean.TRUE.equals(redisTemplate.hasKey(activeSessionKeyOf(token)));
+    }
+
     @Override
     public void storeToken(String token, Object userInfo, long expireSeconds) {
         if (token == null || token.trim().isEmpty()) {
@@ -366,36 +708,49 @@ public class SecurityCacheServiceImpl implements SecurityCacheService {
         }
 
         try {
-            // 验证JWT格式是否正确
-            if (!jwtUtils.validateToken(token)) {
+            // 验证JWT格式是否正确（一次解析取得全部声明）
+            JwtClaims claims = jwtUtils.tryParse(token);
+            if (claims == null) {
                 log.warn("JWT格式无效，拒绝存储token");
                 return;
             }
 
-            // 尝试从JWT中获取过期时间，确保一致性
-            try {
-                Date jwtExpiration = jwtUtils.getExpirationDate(token);
-                long jwtExpireSeconds = (jwtExpiration.getTime() - System.currentTimeMillis()) / 1000;
-
-                // 使用JWT中的过期时间，但不超过传入的过期时间
-                long actualExpireSeconds = Math.min(expireSeconds, Math.max(jwtExpireSeconds, 0));
-
-                String tokenKey = TOKEN_KEY_PREFIX + token;
-                objectRedisTemplate.opsForValue().set(tokenKey, userInfo, actualExpireSeconds, TimeUnit.SECONDS);
+            // 使用JWT中的过期时间，但不超过传入的过期时间
+            long jwtExpireSeconds = (claims.expiresAtMillis() - System.currentTimeMillis()) / 1000;
+            long actualExpireSeconds = Math.min(expireSeconds, Math.max(jwtExpireSeconds, 0));
+            if (actualExpireSeconds <= 0) {
+                log.warn("Token已过期，拒绝存储token");
+                return;
+            }
 
-                log.debug("Token已存储到Redis: key={}, expireSeconds={} (JWT过期时间: {}秒)",
-                         tokenKey, actualExpireSeconds, jwtExpireSeconds);
+            TokenSession session = null;
+            if (sessionLayout() != TokenSessionLayout.LEGACY && claims.hasUser()) {
+                session = new TokenSession(claims.userId(), claims.username(),
+                        System.currentTimeMillis() + actualExpireSeconds * 1000);
+            }
+            writeTokenSession(token, session, userInfo, actualExpireSeconds);
 
-            } catch (Exception jwtException) {
-                // JWT解析失败时使用传入的过期时间
-                log.debug("无法解析JWT过期时间，使用默认过期时间: {}", jwtException.getMessage());
+        } catch (Exception e) {
+            log.error("存储token到Redis失败: {}", e.getMessage(), e);
+            // 不抛出异常，避免影响业务流程
+        }
+    }
 
-                String tokenKey = TOKEN_KEY_PREFIX + token;
-                objectRedisTemplate.opsForValue().set(tokenKey, userInfo, expireSeconds, TimeUnit.SECONDS);
+    @Override
+    public void storeTokenSession(String token, TokenSession session, Integer status) {
+        if (token == null || token.trim().isEmpty() || session == null) {
+            log.warn("Token或会话为空，无法存储");
+            return;
+        }
 
-                log.debug("Token已存储到Redis: key={}, expireSeconds={}", tokenKey, expireSeconds);
-            }
+        long expireSeconds = (session.expireAt() - System.currentTimeMillis() + 999) / 1000;
+        if (expireSeconds <= 0) {
+            log.warn("会话已过期，拒绝存储token");
+            return;
+        }
 
+        try {
+            writeTokenSession(token, session, legacyUserInfo(session, status), expireSeconds);
         } catch (Exception e) {
             log.error("存储token到Redis失败: {}", e.getMessage(), e);
             // 不抛出异常，避免影响业务流程
@@ -410,16 +765,197 @@ public class SecurityCacheServiceImpl implements SecurityCacheService {
         }
 
         try {
-            String tokenKey = TOKEN_KEY_PREFIX + token;
-            objectRedisTemplate.delete(tokenKey);
+            redisTemplate.delete(sessionKeysOf(token));
+            // 通知网关在内存中拒绝该Token
+            tokenRevocationPublisher.revoke(token);
 
-            log.debug("Token已从Redis中删除: key={}", tokenKey);
+            log.debug("Token会话已从Redis中删除，布局: {}", sessionLayout());
 
         } catch (Exception e) {
             log.error("从Redis删除token失败: {}", e.getMessage(), e);
         }
     }
 
+    @Override
+    public void removeTokens(List<String> tokens) {
+        if (tokens == null || tokens.isEmpty()) {
+            return;
+        }
+
+        redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            StringRedisConnection commands = (StringRedisConnection) connection;
+            for (String token : tokens) {
+                commands.del(sessionKeysOf(token).toArray(new String[0]));
+                tokenRevocationPublisher.appendRevocation(commands, token);
+            }
+            return null;
+        });
+        log.debug("已删除并吊销 {} 个Token会话，布局: {}", tokens.size(), sessionLayout());
+    }
+
+    /**
+     * 按摘要删除会话（设备映射只保存摘要时使用），吊销的过期时间取自会话记录
+     */
+    private void removeTokenSession(String digest) {
+        try {
+            String key = sessionKey(digest);
+            byte[] value = redisTemplate.execute((RedisCallback<byte[]>) connection ->
+                    connection.stringCommands().get(bytesOf(key)));
+            redisTemplate.delete(key);
+
+            TokenSession session = TokenSession.decode(value);
+            if (session != null) {
+                tokenRevocationPublisher.revoke(digest, session.expireAt());
+            }
+            log.debug("Token会话已按摘要删除: digest={}", digest);
+        } catch (Exception e) {
+            log.error("按摘要删除token会话失败: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * 按布局写入会话：摘要会话为二进制记录，旧键沿用对象模板序列化；DUAL布局两者在一次管道中写入
+     */
+    private void writeTokenSession(String token, TokenSession session, Object userInfo, long expireSeconds) {
+        Expiration expiration = Expiration.seconds(expireSeconds);
+        redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            appendTokenSession(connection, token, session, userInfo, expiration);
+            return null;
+        });
+        log.debug("Token会话已存储到Redis: layout={}, expireSeconds={}", sessionLayout(), expireSeconds);
+    }
+
+    /**
+     * 在管道中追加会话写入命令；LEGACY 布局或缺少会话记录时只写旧键
+     */
+    private void appendTokenSession(RedisConnection connection, String token, TokenSession session,
+                                    Object userInfo, Expiration expiration) {
+        TokenSessionLayout layout = sessionLayout();
+        if (layout != TokenSessionLayout.LEGACY && session != null) {
+            connection.stringCommands().set(bytesOf(sessionKey(TokenSession.digestOf(token))), session.encode(),
+                    expiration, RedisStringCommands.SetOption.upsert());
+        }
+        if (layout != TokenSessionLayout.DIGEST || session == null) {
+            @SuppressWarnings("unchecked")
+            RedisSerializer<Object> valueSerializer = (RedisSerializer<Object>) objectRedisTemplate.getValueSerializer();
+            connection.stringCommands().set(bytesOf(TOKEN_KEY_PREFIX + token), valueSerializer.serialize(userInfo),
+                    expiration, RedisStringCommands.SetOption.upsert());
+        }
+    }
+
+    /**
+     * 旧会话键的值：与旧版本登录写入的 JSON 字符串完全一致，迁移期内旧版本实例仍可读取
+     */
+    private static String legacyUserInfo(TokenSession session, Integer status) {
+        return String.format("{\"userId\":%d,\"username\":\"%s\",\"status\":%d}",
+                session.userId(), session.username(), status);
+    }
+
+    private static byte[] bytesOf(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * 判断会话是否有效时检查的键
+     * <p>
+     * DUAL 布局以旧键为准：旧版本实例登出时只删除旧键，旧键缺失即视为摘要会话已吊销
+     */
+    private String activeSessionKeyOf(String token) {
+        return sessionLayout() == TokenSessionLayout.DIGEST
+                ? sessionKey(TokenSession.digestOf(token))
+                : TOKEN_KEY_PREFIX + token;
+    }
+
+    /**
+     * Token 在当前布局下对应的全部会话键
+     */
+    private List<String> sessionKeysOf(String token) {
+        return switch (sessionLayout()) {
+            case LEGACY -> List.of(TOKEN_KEY_PREFIX + token);
+            case DUAL -> List.of(sessionKey(TokenSession.digestOf(token)), TOKEN_KEY_PREFIX + token);
+            case DIGEST -> List.of(sessionKey(TokenSession.digestOf(token)));
+        };
+    }
+
+    private String sessionKey(String digest) {
+        return securityProperties.getJwt().getSessionKeyPrefix() + digest;
+    }
+
+    private TokenSessionLayout sessionLayout() {
+        return securityProperties.getJwt().getSessionLayout();
+    }
+
+    @Override
+    public void writeLoginSession(LoginSession login) {
+        long expireSeconds = (login.expireAt() - System.currentTimeMillis() + 999) / 1000;
+        if (expireSeconds <= 0) {
+            log.warn("登录会话已过期，拒绝写入，用户ID: {}", login.userId());
+            return;
+        }
+
+        Long userId = login.userId();
+        List<String> permissions = login.permissions() != null ? login.permissions() : Collections.emptyList();
+        List<String> roles = login.roles() != null ? login.roles() : Collections.emptyList();
+        List<String> staleTokens = login.staleTokens() != null ? login.staleTokens() : Collections.emptyList();
+        String permissionValue = String.join(DELIMITER, permissions);
+        String roleValue = String.join(DELIMITER, roles);
+        String bits = encodePermissionBits(permissions);
+
+        AuthorityLayout layout = layout();
+        TokenSession session = new TokenSession(userId, login.username(), login.expireAt());
+        String userInfo = legacyUserInfo(session, login.status());
+        Expiration expiration = Expiration.seconds(expireSeconds);
+        String deviceKey = USER_DEVICE_TOKEN_PREFIX + userId + ":" + login.deviceType();
+        String deviceValue = sessionLayout() == TokenSessionLayout.DIGEST
+                ? TokenSession.digestOf(login.accessToken()) : login.accessToken();
+        @SuppressWarnings("unchecked")
+        RedisSerializer<Object> valueSerializer = (RedisSerializer<Object>) objectRedisTemplate.getValueSerializer();
+
+        redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            StringRedisConnection commands = (StringRedisConnection) connection;
+
+            // 1. 同端旧登录：删除会话并吊销
+            for (String staleToken : staleTokens) {
+                commands.del(sessionKeysOf(staleToken).toArray(new String[0]));
+                tokenRevocationPublisher.appendRevocation(commands, staleToken);
+            }
+
+            // 2. 权限与角色缓存，TTL与会话一致
+            if (layout != AuthorityLayout.LEGACY) {
+                String authorityKey = buildAuthorityKey(userId);
+                Map<String, String> hashFields = permissionHashFields(permissionValue, bits);
+                hashFields.put(ROLE_SUFFIX, roleValue);
+                commands.hMSet(authorityKey, hashFields);
+                List<Object> staleHashFields = stalePermissionHashFields(bits);
+                if (!staleHashFields.isEmpty()) {
+                    commands.hDel(authorityKey, staleHashFields.stream().map(Object::toString).toArray(String[]::new));
+                }
+                commands.expire(authorityKey, expireSeconds);
+            }
+            if (layout != AuthorityLayout.HASH) {
+                commands.set(buildLegacyKey(userId, PERMISSION_SUFFIX), permissionValue, expiration,
+                        RedisStringCommands.SetOption.upsert());
+                commands.set(buildLegacyKey(userId, ROLE_SUFFIX), roleValue, expiration,
+                        RedisStringCommands.SetOption.upsert());
+            }
+
+            // 3. 设备映射与访问/刷新令牌会话
+            connection.stringCommands().set(bytesOf(deviceKey), valueSerializer.serialize(deviceValue), expiration,
+                    RedisStringCommands.SetOption.upsert());
+            appendTokenSession(connection, login.accessToken(), session, userInfo, expiration);
+            appendTokenSession(connection, login.refreshToken(), session, userInfo, expiration);
+
+            // 4. 通知其他实例剔除本地权限缓存
+            commands.publish(securityProperties.getPermission().getLocalCache().getInvalidationChannel(),
+                    String.valueOf(userId));
+            return null;
+        });
+        localAuthorityCache.invalidate(userId);
+
+        log.info("【登录会话】已批量写入，用户ID: {}, 设备: {}, 权限布局: {}, 会话布局: {}, 位图: {}, 清理旧Token: {}, 过期时间: {}秒",
+                userId, login.deviceType(), layout, sessionLayout(), bits != null, staleTokens.size(), expireSeconds);
+    }
+
     // ==================== Token解析功能 ====================
 
     /**
@@ -513,7 +1049,9 @@ public class SecurityCacheServiceImpl implements SecurityCacheService {
 
         try {
             String key = USER_DEVICE_TOKEN_PREFIX + userId + ":" + deviceType;
-            objectRedisTemplate.opsForValue().set(key, token, expireSeconds, TimeUnit.SECONDS);
+            // DIGEST布局只保存摘要；DUAL布局仍保存完整Token，旧版本实例据此踢下线
+            String value = sessionLayout() == TokenSessionLayout.DIGEST ? TokenSession.digestOf(token) : token;
+            objectRedisTemplate.opsForValue().set(key, value, expireSeconds, TimeUnit.SECONDS);
             log.debug("用户设备token已存储: userId={}, deviceType={}", userId, deviceType);
         } catch (Exception e) {
             log.error("存储用户设备token失败: {}", e.getMessage(), e);
@@ -562,9 +1100,13 @@ public class SecurityCacheServiceImpl implements SecurityCacheService {
             // 1. 获取该设备类型的旧token
             String oldToken = getUserDeviceToken(userId, deviceType);
 
-            // 2. 如果存在旧token，删除它（使旧token失效）
+            // 2. 如果存在旧token，删除它（使旧token失效）；映射中可能是完整Token或摘要
             if (oldToken != null && !oldToken.isEmpty()) {
-                removeToken(oldToken);
+                if (TokenSession.isDigest(oldToken)) {
+                    removeTokenSession(oldToken);
+                } else {
+                    removeToken(oldToken);
+                }
                 log.info("同端互斥：已踢掉用户 {} 的 {} 设备旧登录", userId, deviceType);
             }
 
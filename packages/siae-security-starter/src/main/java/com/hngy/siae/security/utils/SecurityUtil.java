@@ -2,6 +2,8 @@ package com.hngy.siae.security.utils;
 
 import com.hngy.siae.core.asserts.AssertUtils;
 import com.hngy.siae.core.result.CommonResultCodeEnum;
+import com.hngy.siae.security.cache.UserAuthorities;
+import com.hngy.siae.security.filter.SiaeAuthenticationToken;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.GrantedAuthority;
@@ -80,22 +82,44 @@ public class SecurityUtil {
         return authorities.stream().map(GrantedAuthority::getAuthority).collect(Collectors.toSet());
     }
 
+    /**
+     * 获取当前用户的权限快照（网关/内部调用认证时携带），其他认证方式返回 null
+     */
+    private UserAuthorities getCurrentUserAuthoritySnapshot() {
+        Authentication authentication = getAuthentication();
+        if (authentication instanceof SiaeAuthenticationToken token && token.isAuthenticated()) {
+            return token.getUserAuthorities();
+        }
+        return null;
+    }
+
     // ==================== 权限判断（仅针对管理员 ROLE_ADMIN） ====================
 
     /** 当前用户是否是超级管理员 ROLE_ROOT */
     public boolean isSuperAdmin() {
+        UserAuthorities snapshot = getCurrentUserAuthoritySnapshot();
+        if (snapshot != null) return snapshot.hasRole("ROLE_ROOT");
         Set<String> authorities = getCurrentUserAuthorities();
         return authorities.contains("ROLE_ROOT");
     }
 
     /** 当前用户是否是普通管理员 ROLE_ADMIN */
     public boolean isAdmin() {
+        UserAuthorities snapshot = getCurrentUserAuthoritySnapshot();
+        if (snapshot != null) return snapshot.hasRole("ROLE_ADMIN");
         Set<String> authorities = getCurrentUserAuthorities();
         return authorities.contains("ROLE_ADMIN");
     }
 
     /** 当前用户是否拥有任意一个角色 */
     public boolean hasAnyRole(String... roles) {
+        UserAuthorities snapshot = getCurrentUserAuthoritySnapshot();
+        if (snapshot != null) {
+            for (String role : roles) {
+                if (snapshot.hasRole(role)) return true;
+            }
+            return false;
+        }
         Set<String> authorities = getCurrentUserAuthorities();
         for (String role : roles) {
             String roleWithPrefix = role.startsWith("ROLE_") ? role : "ROLE_" + role;
@@ -107,12 +131,16 @@ public class SecurityUtil {
     /** 当前用户是否拥有指定权限（仅管理员生效） */
     public boolean hasPermission(String permission) {
         if (!isAdmin()) return false;  // 仅管理员判断
+        UserAuthorities snapshot = getCurrentUserAuthoritySnapshot();
+        if (snapshot != null) return snapshot.hasPermission(permission);
         return getCurrentUserAuthorities().contains(permission);
     }
 
     /** 当前用户是否拥有任意一个权限（仅管理员生效） */
     public boolean hasAnyPermission(String... permissions) {
         if (!isAdmin()) return false;
+        UserAuthorities snapshot = getCurrentUserAuthoritySnapshot();
+        if (snapshot != null) return snapshot.hasAnyPermission(permissions);
         Set<String> authorities = getCurrentUserAuthorities();
         for (String permission : permissions) {
             if (authorities.contains(permission)) return true;
@@ -123,6 +151,8 @@ public class SecurityUtil {
     /** 当前用户是否拥有所有权限（仅管理员生效） */
     public boolean hasAllPermissions(String... permissions) {
         if (!isAdmin()) return false;
+        UserAuthorities snapshot = getCurrentUserAuthoritySnapshot();
+        if (snapshot != null) return snapshot.hasAllPermissions(permissions);
         Set<String> authorities = getCurrentUserAuthorities();
         for (String permission : permissions) {
             if (!authorities.contains(permission)) return false;
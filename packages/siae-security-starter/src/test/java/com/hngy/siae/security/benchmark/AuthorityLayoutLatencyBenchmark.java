@@ -0,0 +1,86 @@
+package com.hngy.siae.security.benchmark;
+
+import com.hngy.siae.core.config.AuthProperties;
+import com.hngy.siae.core.utils.JwtUtils;
+import com.hngy.siae.security.cache.LocalAuthorityCache;
+import com.hngy.siae.security.cache.PermissionIndexRegistry;
+import com.hngy.siae.security.cache.RolePermissionCache;
+import com.hngy.siae.security.cache.TokenRevocationPublisher;
+import com.hngy.siae.security.properties.SecurityProperties;
+import com.hngy.siae.security.properties.SecurityProperties.AuthorityLayout;
+import com.hngy.siae.security.service.impl.SecurityCacheServiceImpl;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 权限缓存布局延迟对比：旧版四次往返 vs LEGACY（一次 MGET）vs HASH（一次 HMGET）
+ * <p>
+ * 需要本地 Redis，可通过 -Dredis.host / -Dredis.port / -Dredis.password 指定，直接运行 main 方法
+ */
+public class AuthorityLayoutLatencyBenchmark {
+
+    private static final int WARMUP = 2_000;
+    private static final int ITERATIONS = 20_000;
+    private static final long USER_ID = 900001L;
+
+    public static void main(String[] args) {
+        RedisStandaloneConfiguration config = new RedisStandaloneConfiguration(
+                System.getProperty("redis.host", "localhost"),
+                Integer.getInteger("redis.port", 6379));
+        String password = System.getProperty("redis.password");
+        if (password != null) {
+            config.setPassword(password);
+        }
+        LettuceConnectionFactory connectionFactory = new LettuceConnectionFactory(config);
+        connectionFactory.afterPropertiesSet();
+        StringRedisTemplate redisTemplate = new StringRedisTemplate(connectionFactory);
+
+        List<String> permissions = List.of("content:view", "content:create", "attendance:record:view",
+                "attendance:checkin", "user:profile:view", "notification:view");
+        List<String> roles = List.of("ROLE_MEMBER", "ROLE_USER");
+
+        SecurityProperties properties = new SecurityProperties();
+        // 关闭本地缓存，只比较 Redis 往返
+        properties.getPermission().getLocalCache().setEnabled(false);
+        properties.getPermission().setLayout(AuthorityLayout.DUAL);
+        SecurityCacheServiceImpl service = new SecurityCacheServiceImpl(redisTemplate, null, properties, new JwtUtils(),
+                new LocalAuthorityCache(properties), new PermissionIndexRegistry(redisTemplate, properties),
+                new RolePermissionCache(redisTemplate, properties),
+                new TokenRevocationPublisher(redisTemplate, new AuthProperties(), new JwtUtils()));
+        service.cacheUserPermissions(USER_ID, permissions, 10, TimeUnit.MINUTES);
+        service.cacheUserRoles(USER_ID, roles, 10, TimeUnit.MINUTES);
+
+        String prefix = properties.getPermission().getCacheKeyPrefix() + USER_ID + ":";
+        Runnable legacyFourRoundTrips = () -> {
+            redisTemplate.opsForValue().get(prefix + "permissions");
+            redisTemplate.getExpire(prefix + "permissions");
+            redisTemplate.opsForValue().get(prefix + "roles");
+            redisTemplate.getExpire(prefix + "roles");
+        };
+
+        run("legacy GET+TTL x2", legacyFourRoundTrips);
+        properties.getPermission().setLayout(AuthorityLayout.LEGACY);
+        run("LEGACY MGET", () -> service.getAllUserAuthorities(USER_ID));
+        properties.getPermission().setLayout(AuthorityLayout.HASH);
+        run("HASH HMGET", () -> service.getAllUserAuthorities(USER_ID));
+
+        service.clearUserCache(USER_ID);
+        connectionFactory.destroy();
+    }
+
+    private static void run(String name, Runnable task) {
+        for (int i = 0; i < WARMUP; i++) {
+            task.run();
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            task.run();
+        }
+        double avgMicros = (System.nanoTime() - start) / 1000.0 / ITERATIONS;
+        System.out.printf("%-20s avg %.1f us/op%n", name, avgMicros);
+    }
+}
@@ -0,0 +1,88 @@
+package com.hngy.siae.security.benchmark;
+
+import com.hngy.siae.security.expression.SiaeExpressionEvaluator;
+import com.hngy.siae.security.expression.SiaeSecurityExpressionRoot;
+import com.hngy.siae.security.utils.SecurityUtil;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.expression.spel.SpelCompilerMode;
+import org.springframework.expression.spel.standard.SpelExpressionParser;
+import org.springframework.expression.spel.support.StandardEvaluationContext;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@code @SiaeAuthorize} 表达式求值基准测试：每次解析 + 解释执行 vs 缓存 + 编译
+ * <p>
+ * 表达式取自各服务 *Permissions 常量的实际用法（考勤、内容、媒体、认证、用户），直接运行 main 方法
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SiaeAuthorizeExpressionBenchmark {
+
+    @Param({
+            "isAuthenticated()",
+            "hasAnyRole('MEMBER', 'ADMIN', 'ROOT')",
+            "hasAuthority('content:statistics:view')",
+            "hasPermission('attendance:rule:update')",
+            "hasPermission('attendance:record:view') or isOwner(#id)",
+            "hasAnyRole('MEMBER', 'ADMIN', 'ROOT') and hasAuthority('user:award:list')"
+    })
+    public String expression;
+
+    private final SpelExpressionParser legacyParser = new SpelExpressionParser();
+    private SiaeExpressionEvaluator evaluator;
+    private Authentication authentication;
+    private SecurityUtil securityUtil;
+
+    @Setup
+    public void setup() {
+        authentication = new UsernamePasswordAuthenticationToken("benchmark-admin", null,
+                AuthorityUtils.createAuthorityList("ROLE_ADMIN", "content:statistics:view",
+                        "attendance:rule:update", "attendance:record:view", "user:award:list"));
+        SecurityContextHolder.getContext().setAuthentication(authentication);
+        securityUtil = new SecurityUtil();
+        evaluator = new SiaeExpressionEvaluator(SpelCompilerMode.MIXED);
+    }
+
+    @TearDown
+    public void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    /**
+     * 原有路径：每次调用解析表达式并新建求值上下文
+     */
+    @Benchmark
+    public Boolean parseEachCall() {
+        SiaeSecurityExpressionRoot root = new SiaeSecurityExpressionRoot(authentication, securityUtil);
+        StandardEvaluationContext context = new StandardEvaluationContext(root);
+        return legacyParser.parseExpression(expression).getValue(context, Boolean.class);
+    }
+
+    /**
+     * 缓存路径：表达式解析一次并编译，共享求值上下文
+     */
+    @Benchmark
+    public boolean cachedCompiled() {
+        return evaluator.evaluate(expression, new SiaeSecurityExpressionRoot(authentication, securityUtil));
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(SiaeAuthorizeExpressionBenchmark.class.getSimpleName())
+                .build();
+        new Runner(options).run();
+    }
+}
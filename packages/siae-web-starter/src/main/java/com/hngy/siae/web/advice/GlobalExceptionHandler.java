@@ -2,16 +2,19 @@ package com.hngy.siae.web.advice;
 
 import com.hngy.siae.core.exception.BusinessException;
 import com.hngy.siae.core.exception.ServiceException;
+import com.hngy.siae.core.exception.TooManyRequestsException;
 import com.hngy.siae.core.result.Result;
 import com.hngy.siae.core.result.CommonResultCodeEnum;
 import com.hngy.siae.web.properties.WebProperties;
 import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.ConstraintViolation;
 import jakarta.validation.ConstraintViolationException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.validation.BindException;
 import org.springframework.validation.FieldError;
@@ -49,6 +52,18 @@ public class GlobalExceptionHandler {
         return Result.error(ex.getCode(), ex.getMessage());
     }
 
+    /**
+     * 处理过载拒绝异常，返回 429 并提示重试间隔
+     */
+    @ExceptionHandler(TooManyRequestsException.class)
+    @ResponseStatus(HttpStatus.TOO_MANY_REQUESTS)
+    public Result<Void> handleTooManyRequestsException(TooManyRequestsException ex, HttpServletRequest request,
+                                                       HttpServletResponse response) {
+        log.warn("请求被拒绝（过载）：{}，路径：{}", ex.getMessage(), request.getRequestURI());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()));
+        return Result.error(ex.getCode(), ex.getMessage());
+    }
+
     /**
      * 处理服务异常（兼容旧版本）
      */
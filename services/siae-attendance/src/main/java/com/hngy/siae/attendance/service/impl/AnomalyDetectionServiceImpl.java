@@ -1,8 +1,8 @@
 package com.hngy.siae.attendance.service.impl;
 
 import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
-import com.hngy.siae.api.user.client.UserFeignClient;
 import com.hngy.siae.api.user.dto.response.UserProfileSimpleVO;
+import com.hngy.siae.api.user.loader.UserProfileLoader;
 import com.hngy.siae.attendance.dto.request.AnomalyQueryDTO;
 import com.hngy.siae.attendance.dto.response.AttendanceAnomalyVO;
 import com.hngy.siae.attendance.entity.AttendanceAnomaly;
@@ -52,7 +52,7 @@ public class AnomalyDetectionServiceImpl implements IAnomalyDetectionService {
     private final AttendanceRuleMapper attendanceRuleMapper;
     private final LeaveRequestMapper leaveRequestMapper;
     private final com.hngy.siae.security.utils.SecurityUtil securityUtil;
-    private final UserFeignClient userFeignClient;
+    private final UserProfileLoader userProfileLoader;
 
     /**
      * 检测考勤异常
@@ -667,7 +667,7 @@ public class AnomalyDetectionServiceImpl implements IAnomalyDetectionService {
         // 批量查询用户信息
         Map<Long, UserProfileSimpleVO> userMap;
         try {
-            userMap = userFeignClient.batchGetUserProfiles(new ArrayList<>(userIds));
+            userMap = userProfileLoader.getAll(userIds);
         } catch (Exception e) {
             log.warn("批量查询用户信息失败: {}", e.getMessage());
             return;
@@ -2,8 +2,8 @@ package com.hngy.siae.attendance.service.impl;
 
 import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
 import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
-import com.hngy.siae.api.user.client.UserFeignClient;
 import com.hngy.siae.api.user.dto.response.UserProfileSimpleVO;
+import com.hngy.siae.api.user.loader.UserProfileLoader;
 import com.hngy.siae.attendance.dto.request.AttendanceQueryDTO;
 import com.hngy.siae.attendance.dto.request.CheckInDTO;
 import com.hngy.siae.attendance.dto.request.CheckOutDTO;
@@ -57,7 +57,7 @@ public class AttendanceServiceImpl implements IAttendanceService {
     private final AttendanceAnomalyMapper attendanceAnomalyMapper;
     private final IAnomalyDetectionService anomalyDetectionService;
     private final com.hngy.siae.security.utils.SecurityUtil securityUtil;
-    private final UserFeignClient userFeignClient;
+    private final UserProfileLoader userProfileLoader;
 
     /**
      * 签到
@@ -560,7 +560,7 @@ public class AttendanceServiceImpl implements IAttendanceService {
 
         try {
             // 调用用户服务批量查询用户信息
-            Map<Long, UserProfileSimpleVO> userMap = userFeignClient.batchGetUserProfiles(userIds);
+            Map<Long, UserProfileSimpleVO> userMap = userProfileLoader.getAll(userIds);
 
             if (userMap != null && !userMap.isEmpty()) {
                 for (AttendanceRecordVO vo : voList) {
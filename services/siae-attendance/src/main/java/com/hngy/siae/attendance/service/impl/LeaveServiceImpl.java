@@ -4,8 +4,8 @@ import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
 import com.hngy.siae.api.media.client.MediaFeignClient;
 import com.hngy.siae.api.media.dto.request.BatchUrlDTO;
 import com.hngy.siae.api.media.dto.response.BatchUrlVO;
-import com.hngy.siae.api.user.client.UserFeignClient;
 import com.hngy.siae.api.user.dto.response.UserProfileSimpleVO;
+import com.hngy.siae.api.user.loader.UserProfileLoader;
 import com.hngy.siae.attendance.dto.request.LeaveApprovalDTO;
 import com.hngy.siae.attendance.dto.request.LeaveQueryDTO;
 import com.hngy.siae.attendance.dto.request.LeaveRequestCreateDTO;
@@ -53,7 +53,7 @@ public class LeaveServiceImpl implements ILeaveService {
     private final AttendanceRecordMapper attendanceRecordMapper;
     private final AttendanceAnomalyMapper attendanceAnomalyMapper;
     private final SecurityUtil securityUtil;
-    private final UserFeignClient userFeignClient;
+    private final UserProfileLoader userProfileLoader;
     private final MediaFeignClient mediaFeignClient;
 
     /**
@@ -945,7 +945,7 @@ public class LeaveServiceImpl implements ILeaveService {
      */
     private Map<Long, UserProfileSimpleVO> fetchUserProfiles(Set<Long> userIds) {
         try {
-            return userFeignClient.batchGetUserProfiles(new ArrayList<>(userIds));
+            return userProfileLoader.getAll(userIds);
         } catch (Exception e) {
             log.warn("批量获取用户信息失败: userIds={}, error={}", userIds, e.getMessage());
             return Collections.emptyMap();
@@ -4,6 +4,7 @@ import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.cloud.openfeign.EnableFeignClients;
 import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 /**
  * Auth服务启动类
@@ -11,6 +12,7 @@ import org.springframework.scheduling.annotation.EnableAsync;
  * @author KEYKB
  */
 @EnableAsync
+@EnableScheduling
 @EnableFeignClients(basePackages = "com.hngy.siae.api")
 @SpringBootApplication(scanBasePackages = "com.hngy.siae")
 public class SiaeAuthApplication {
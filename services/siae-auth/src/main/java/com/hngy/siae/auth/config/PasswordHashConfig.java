@@ -0,0 +1,57 @@
+package com.hngy.siae.auth.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+/**
+ * 密码编码器配置
+ * <p>
+ * 覆盖安全模块的默认编码器，成本因子由 {@link PasswordHashProperties} 决定；
+ * 启用自适应成本时按本机实测耗时选取不超过目标耗时的最大成本（BCrypt 成本每加一耗时翻倍）。
+ *
+ * @author KEYKB
+ */
+@Slf4j
+@Configuration
+public class PasswordHashConfig {
+
+    private static final int CALIBRATION_ROUNDS = 3;
+
+    /**
+     * 安全模块的默认编码器可能先于本配置注册，使用 {@code @Primary} 保证注入的是本编码器
+     */
+    @Bean
+    @Primary
+    public PasswordEncoder authPasswordEncoder(PasswordHashProperties properties) {
+        int strength = properties.isAdaptiveStrength() ? calibrateStrength(properties) : properties.getStrength();
+        log.info("配置密码编码器: BCryptPasswordEncoder, 成本因子: {}, 自适应: {}", strength, properties.isAdaptiveStrength());
+        return new BCryptPasswordEncoder(strength);
+    }
+
+    private int calibrateStrength(PasswordHashProperties properties) {
+        int baseStrength = properties.getStrength();
+        BCryptPasswordEncoder encoder = new BCryptPasswordEncoder(baseStrength);
+        // 预热一次，避免首次调用的类加载与JIT开销计入
+        encoder.encode("calibration");
+
+        long start = System.nanoTime();
+        for (int i = 0; i < CALIBRATION_ROUNDS; i++) {
+            encoder.encode("calibration");
+        }
+        double baseMillis = (System.nanoTime() - start) / 1_000_000.0 / CALIBRATION_ROUNDS;
+
+        int strength = baseStrength;
+        double estimated = baseMillis;
+        while (strength < properties.getMaxStrength() && estimated * 2 <= properties.getTargetHashMillis()) {
+            strength++;
+            estimated *= 2;
+        }
+        log.info("BCrypt成本校准: 成本{}实测{}ms, 目标{}ms, 选定成本{}(预计{}ms)",
+                baseStrength, Math.round(baseMillis), properties.getTargetHashMillis(), strength, Math.round(estimated));
+        return strength;
+    }
+}
@@ -0,0 +1,69 @@
+package com.hngy.siae.auth.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * 密码哈希配置属性
+ * <p>
+ * BCrypt 计算在独立的有界线程池中执行，排队深度超过准入阈值时直接拒绝（HTTP 429），
+ * 避免登录洪峰或撞库占满全部 CPU 与 Tomcat 线程。
+ *
+ * @author KEYKB
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "siae.auth.password-hash")
+public class PasswordHashProperties {
+
+    /**
+     * 哈希线程数，0 表示与 CPU 核数一致
+     */
+    private int poolSize = 0;
+
+    /**
+     * 等待队列容量（硬上限）
+     */
+    private int queueCapacity = 64;
+
+    /**
+     * 准入阈值：排队任务数达到该值时拒绝新的哈希请求
+     */
+    private int admissionQueueDepth = 32;
+
+    /**
+     * 请求线程等待哈希结果的超时时间（秒），超时按过载拒绝
+     */
+    private long timeout = 5;
+
+    /**
+     * 拒绝时建议客户端重试的间隔（秒），写入 Retry-After 响应头
+     */
+    private long retryAfter = 1;
+
+    /**
+     * BCrypt 成本因子，启用自适应成本时作为下限
+     */
+    private int strength = 10;
+
+    /**
+     * 是否在启动时按单次哈希目标耗时校准成本因子
+     */
+    private boolean adaptiveStrength = false;
+
+    /**
+     * 自适应成本的单次哈希目标耗时（毫秒）
+     */
+    private long targetHashMillis = 100;
+
+    /**
+     * 自适应成本的上限
+     */
+    private int maxStrength = 14;
+
+    /**
+     * 登录成功后，若存储的哈希成本低于当前成本，是否在后台重新哈希并更新
+     */
+    private boolean rehashOnLogin = true;
+}
@@ -3,6 +3,10 @@ package com.hngy.siae.auth.mapper;
 import com.baomidou.mybatisplus.core.mapper.BaseMapper;
 import com.hngy.siae.auth.entity.RolePermission;
 import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.annotations.Select;
+
+import java.util.List;
 
 /**
  * 角色权限关联Mapper接口
@@ -11,4 +15,15 @@ import org.apache.ibatis.annotations.Mapper;
  */
 @Mapper
 public interface RolePermissionMapper extends BaseMapper<RolePermission> {
+
+    /**
+     * 查询角色拥有的启用状态权限代码列表
+     *
+     * @param roleId 角色ID
+     * @return 权限代码列表
+     */
+    @Select("SELECT p.code FROM role_permission rp " +
+            "JOIN permission p ON rp.permission_id = p.id " +
+            "WHERE rp.role_id = #{roleId} AND p.status = 1")
+    List<String> selectPermissionCodesByRoleId(@Param("roleId") Long roleId);
 } 
\ No newline at end of file
@@ -64,4 +64,16 @@ public interface UserPermissionMapper extends BaseMapper<UserPermission> {
             "  WHERE ur.user_id = #{userId} " +
             ")")
     List<String> selectAllPermissionCodesByUserId(@Param("userId") Long userId);
+
+    /**
+     * 查询写入用户权限缓存的权限代码列表
+     * 按角色共享权限集合解析时只缓存直接分配的权限，角色权限由共享集合在读取时合并
+     *
+     * @param userId 用户ID
+     * @param roleVersioned 是否按角色共享权限集合解析
+     * @return 权限代码列表
+     */
+    default List<String> selectCachedPermissionCodesByUserId(Long userId, boolean roleVersioned) {
+        return roleVersioned ? selectPermissionCodesByUserId(userId) : selectAllPermissionCodesByUserId(userId);
+    }
 }
\ No newline at end of file
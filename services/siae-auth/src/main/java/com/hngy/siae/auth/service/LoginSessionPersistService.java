@@ -0,0 +1,20 @@
+package com.hngy.siae.auth.service;
+
+/**
+ * 登录后台任务服务接口
+ * <p>
+ * 认证记录在登录事务内同步替换，这里只保留不影响登录结果的后台任务。
+ *
+ * @author KEYKB
+ */
+public interface LoginSessionPersistService {
+
+    /**
+     * 异步以当前成本重新哈希密码并更新到用户服务（登录成功且存储的哈希成本偏低时调用）
+     * 哈希线程池繁忙时放弃本次重新哈希，留待下次登录
+     *
+     * @param userId 用户ID
+     * @param rawPassword 已校验通过的明文密码
+     */
+    void rehashPasswordAsync(Long userId, String rawPassword);
+}
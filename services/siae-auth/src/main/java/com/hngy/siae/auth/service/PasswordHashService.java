@@ -0,0 +1,42 @@
+package com.hngy.siae.auth.service;
+
+/**
+ * 密码哈希服务接口
+ * <p>
+ * BCrypt 计算统一提交到有界哈希线程池执行，排队过深时抛出
+ * {@link com.hngy.siae.core.exception.TooManyRequestsException}（HTTP 429）。
+ *
+ * @author KEYKB
+ */
+public interface PasswordHashService {
+
+    /**
+     * 准入检查：哈希排队已达阈值时立即拒绝，用于在远程调用等前置开销之前尽早失败
+     */
+    void checkAdmission();
+
+    /**
+     * 校验明文密码与存储的哈希是否匹配
+     *
+     * @param rawPassword 明文密码
+     * @param encodedPassword 存储的哈希
+     * @return 是否匹配
+     */
+    boolean matches(String rawPassword, String encodedPassword);
+
+    /**
+     * 计算密码哈希
+     *
+     * @param rawPassword 明文密码
+     * @return 哈希值
+     */
+    String encode(String rawPassword);
+
+    /**
+     * 存储的哈希成本是否低于当前成本，需要在登录时重新哈希
+     *
+     * @param encodedPassword 存储的哈希
+     * @return 是否需要重新哈希
+     */
+    boolean needsRehash(String encodedPassword);
+}
@@ -103,4 +103,8 @@ public interface RoleService extends IService<Role> {
      */
     boolean assignPermissions(Long roleId, List<Long> permissionIds);
 
-}
\ No newline at end of file
+    /**
+     * 全量发布启用角色的权限集合（权限启用、禁用、删除或改名后调用）
+     */
+    void publishAllRolePermissions();
+}
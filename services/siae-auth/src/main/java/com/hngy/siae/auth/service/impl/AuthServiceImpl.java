@@ -23,12 +23,18 @@ import com.hngy.siae.auth.mapper.UserAuthMapper;
 import com.hngy.siae.auth.mapper.UserPermissionMapper;
 import com.hngy.siae.auth.mapper.UserRoleMapper;
 import com.hngy.siae.auth.service.LogService;
+import com.hngy.siae.auth.service.LoginSessionPersistService;
+import com.hngy.siae.auth.service.PasswordHashService;
 import com.hngy.siae.auth.service.AuthService;
+import com.hngy.siae.security.cache.LoginSession;
+import com.hngy.siae.security.cache.TokenSession;
 import com.hngy.siae.security.service.SecurityCacheService;
 import com.hngy.siae.core.asserts.AssertUtils;
 import com.hngy.siae.core.result.AuthResultCodeEnum;
 import com.hngy.siae.core.utils.BeanConvertUtil;
 import com.hngy.siae.core.exception.ServiceException;
+import com.hngy.siae.core.exception.TooManyRequestsException;
+import com.hngy.siae.core.utils.JwtClaims;
 import com.hngy.siae.core.utils.JwtUtils;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -36,9 +42,10 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.time.LocalDateTime;
 import java.time.ZoneId;
@@ -63,12 +70,13 @@ public class AuthServiceImpl
     // TODO: 后面抽成外观模式
     private final UserFeignClient userClient;
     private final JwtUtils jwtUtils;
-    private final PasswordEncoder passwordEncoder;
+    private final PasswordHashService passwordHashService;
     private final LogService logService;
     private final RoleMapper roleMapper;
     private final UserPermissionMapper userPermissionMapper;
     private final UserRoleMapper userRoleMapper;
     private final SecurityCacheService securityCacheService;
+    private final LoginSessionPersistService loginSessionPersistService;
     
     /**
      * 用户登录认证
@@ -85,6 +93,9 @@ public class AuthServiceImpl
     @Transactional(rollbackFor = Exception.class)
     public LoginVO login(LoginDTO loginDTO, String clientIp, String browser, String os) {
         try {
+            // 密码哈希排队已满时在远程调用之前直接拒绝（429）
+            passwordHashService.checkAdmission();
+
             // 远程调用userClient接口获取用户信息
             UserLoginVO user = userClient.getUserByUsername(loginDTO.getUsername());
             
@@ -93,8 +104,14 @@ public class AuthServiceImpl
             assertUserEnabled(user, clientIp, browser, os);
             assertPasswordMatches(loginDTO.getPassword(), user, clientIp, browser, os);
 
-            // 查询用户权限和角色（包括通过角色获得的权限）
-            List<String> permissions = userPermissionMapper.selectAllPermissionCodesByUserId(user.getId());
+            // 存储的哈希成本低于当前成本时，后台重新哈希并更新
+            if (passwordHashService.needsRehash(user.getPassword())) {
+                loginSessionPersistService.rehashPasswordAsync(user.getId(), loginDTO.getPassword());
+            }
+
+            // 查询用户权限和角色（启用角色共享权限集合时只含直接权限）
+            List<String> permissions = userPermissionMapper.selectCachedPermissionCodesByUserId(
+                    user.getId(), securityCacheService.isRoleVersioned());
             List<String> roles = userRoleMapper.selectRoleCodesByUserId(user.getId());
 
             // 生成优化的JWT令牌（不包含权限信息）
@@ -105,26 +122,12 @@ public class AuthServiceImpl
 
             // TODO:后续需要邮箱验证码确认用户身份，消息队列
 
-            // 7. 将用户权限和角色分别缓存到Redis，TTL与JWT过期时间一致
-            log.info("【权限缓存调试】登录时缓存权限，用户ID: {}, 过期时间: {}秒 (约{}小时)", 
-                    user.getId(), tokenExpireSeconds, tokenExpireSeconds / 3600);
-            cacheUserPermissionsAndRolesToRedis(user.getId(), permissions, roles, tokenExpireSeconds);
-
-            // 8. 同端互斥：踢掉同类型设备的旧登录
+            // 7. 同端互斥：锁定并查询同类型设备的旧登录，同一设备的并发登录在此串行，旧Token随本次会话一并删除并吊销
             String deviceType = loginDTO.getDeviceType() != null ? loginDTO.getDeviceType() : "web";
             log.info("【登录】用户 {} 使用设备类型: {} 登录", user.getUsername(), deviceType);
-            
-            // 8.1 清理该用户该设备类型的旧token（从Redis和数据库）
-            cleanupOldTokensForDevice(user.getId(), deviceType);
-            
-            // 8.2 存储新的设备token映射
-            securityCacheService.storeUserDeviceToken(user.getId(), deviceType, accessToken, tokenExpireSeconds);
-            
-            // 9. 将token存储到Redis，实现统一的token验证机制
-            storeTokenToRedis(accessToken, user, tokenExpireSeconds);
-            storeTokenToRedis(refreshToken, user, tokenExpireSeconds);
+            List<UserAuth> oldAuths = listDeviceAuths(user.getId(), deviceType);
 
-            // 10. 保存认证信息到数据库
+            // 8. 在登录事务内替换数据库中的认证记录，刷新令牌以此校验
             UserAuth userAuth = new UserAuth();
             userAuth.setUserId(user.getId());
             userAuth.setDeviceType(deviceType);
@@ -133,6 +136,24 @@ public class AuthServiceImpl
             userAuth.setTokenType("Bearer");
             userAuth.setExpiresAt(LocalDateTime.ofInstant(expirationDate.toInstant(), ZoneId.systemDefault()));
             save(userAuth);
+            if (!oldAuths.isEmpty()) {
+                removeByIds(oldAuths.stream().map(UserAuth::getId).toList());
+            }
+
+            // 9. 一次管道写入全部会话状态：权限与角色缓存、旧Token清理、设备映射、访问与刷新令牌会话
+            LoginSession loginSession = LoginSession.builder()
+                    .userId(user.getId())
+                    .username(user.getUsername())
+                    .status(user.getStatus())
+                    .deviceType(deviceType)
+                    .accessToken(accessToken)
+                    .refreshToken(refreshToken)
+                    .expireAt(expirationDate.getTime())
+                    .permissions(permissions)
+                    .roles(roles)
+                    .staleTokens(tokensOf(oldAuths))
+                    .build();
+            writeLoginSessionAfterCommit(loginSession);
 
             // 10. 记录登录成功日志
             logService.saveLoginLogAsync(user.getId(), user.getUsername(), clientIp, browser, os, 1, "登录成功");
@@ -149,13 +170,33 @@ public class AuthServiceImpl
             return response;
         } catch (Exception e) {
             log.error("登录异常", e);
-            if (e instanceof ServiceException || e instanceof UsernameNotFoundException || e instanceof BadCredentialsException) {
+            if (e instanceof ServiceException || e instanceof TooManyRequestsException
+                    || e instanceof UsernameNotFoundException || e instanceof BadCredentialsException) {
                 throw e;
             }
             AssertUtils.fail("登录失败: " + e.getMessage());
             return null; // 永远不会执行到这里
         }
     }
+
+    /**
+     * 登录事务提交后再写入会话，设备认证记录的行锁随提交释放，不在持有行锁时等待 Redis
+     * <p>
+     * 写入失败时异常抛给调用方，新令牌不会返回给客户端；数据库中的认证记录已提交，
+     * 对应的会话不存在，该令牌无法通过校验
+     */
+    private void writeLoginSessionAfterCommit(LoginSession loginSession) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    securityCacheService.writeLoginSession(loginSession);
+                }
+            });
+        } else {
+            securityCacheService.writeLoginSession(loginSession);
+        }
+    }
     
     /**
      * 用户注册
@@ -179,7 +220,7 @@ public class AuthServiceImpl
             // 2. 检查用户名是否已存在，user服务插入时已经验证
             // 3. 构建用户DTO，使用BeanConvertUtil转换
             UserCreateDTO userDTO = BeanConvertUtil.to(registerDTO, UserCreateDTO.class);
-            userDTO.setPassword(passwordEncoder.encode(registerDTO.getPassword()));
+            userDTO.setPassword(passwordHashService.encode(registerDTO.getPassword()));
             userDTO.setStatus(1); // 默认启用
             
             // 4. 调用用户服务创建用户
@@ -220,8 +261,8 @@ public class AuthServiceImpl
             securityCacheService.storeUserDeviceToken(createdUser.getId(), "web", accessToken, tokenExpireSeconds);
             
             // 存储token到Redis
-            storeTokenToRedis(accessToken, BeanConvertUtil.to(createdUser, UserLoginVO.class), tokenExpireSeconds);
-            storeTokenToRedis(refreshToken, BeanConvertUtil.to(createdUser, UserLoginVO.class), tokenExpireSeconds);
+            storeTokenToRedis(accessToken, createdUser, expirationDate);
+            storeTokenToRedis(refreshToken, createdUser, expirationDate);
 
             // 10. 记录注册成功日志
             logService.saveLoginLogAsync(createdUser.getId(), createdUser.getUsername(), clientIp, browser, os, 1, "注册成功");
@@ -238,7 +279,7 @@ public class AuthServiceImpl
             return response;
         } catch (Exception e) {
             log.error("注册异常", e);
-            if (e instanceof ServiceException) {
+            if (e instanceof ServiceException || e instanceof TooManyRequestsException) {
                 throw e;
             }
             AssertUtils.fail(AuthResultCodeEnum.REGISTER_FAILED);
@@ -258,12 +299,13 @@ public class AuthServiceImpl
     public TokenRefreshVO refreshToken(TokenRefreshDTO request) {
         String refreshToken = request.getRefreshToken();
         
-        // 验证刷新令牌是否有效
-        AssertUtils.isTrue(jwtUtils.validateToken(refreshToken), "刷新令牌已过期或无效");
+        // 验证刷新令牌是否有效（一次解析取得全部声明）
+        JwtClaims claims = jwtUtils.tryParse(refreshToken);
+        AssertUtils.notNull(claims, "刷新令牌已过期或无效");
         
         // 从刷新令牌中获取用户ID和用户名
-        Long userId = jwtUtils.getUserId(refreshToken);
-        String username = jwtUtils.getUsername(refreshToken);
+        Long userId = claims.userId();
+        String username = claims.username();
         
         // 查询数据库中的认证信息
         UserAuth userAuth = getOne(
@@ -274,8 +316,9 @@ public class AuthServiceImpl
         
         AssertUtils.notNull(userAuth, "刷新令牌不存在");
         
-        // 查询用户权限和角色（包括通过角色获得的权限）
-        List<String> permissions = userPermissionMapper.selectAllPermissionCodesByUserId(userId);
+        // 查询用户权限和角色（启用角色共享权限集合时只含直接权限）
+        List<String> permissions = userPermissionMapper.selectCachedPermissionCodesByUserId(
+                userId, securityCacheService.isRoleVersioned());
         List<String> roles = userRoleMapper.selectRoleCodesByUserId(userId);
         
         // 生成新的优化JWT令牌（不包含权限信息）
@@ -307,7 +350,7 @@ public class AuthServiceImpl
     /**
      * 用户登出
      * <p>
-     * 清理用户认证信息和权限缓存，使令牌失效。
+     * 删除并吊销用户全部令牌的会话，清理认证信息和权限缓存，使令牌失效。
      *
      * @param userId 用户ID（由 Controller 从 Security 上下文获取）
      */
@@ -315,16 +358,21 @@ public class AuthServiceImpl
     public void logout(Long userId) {
         AssertUtils.notNull(userId, AuthResultCodeEnum.TOKEN_INVALID);
 
-        // 1. 从数据库中删除该用户的所有认证信息
-        remove(
-                new LambdaQueryWrapper<UserAuth>()
-                        .eq(UserAuth::getUserId, userId)
-        );
+        // 1. 删除该用户全部访问与刷新令牌的会话并广播吊销，网关据此在内存中拒绝；失败时不删除认证记录，登出失败可重试
+        List<UserAuth> auths = list(new LambdaQueryWrapper<UserAuth>()
+                .select(UserAuth::getId, UserAuth::getAccessToken, UserAuth::getRefreshToken)
+                .eq(UserAuth::getUserId, userId));
+        securityCacheService.removeTokens(tokensOf(auths));
+
+        // 2. 从数据库中删除该用户的所有认证信息
+        if (!auths.isEmpty()) {
+            removeByIds(auths.stream().map(UserAuth::getId).toList());
+        }
 
-        // 2. 清除 Redis 中的用户权限和角色缓存
+        // 3. 清除 Redis 中的用户权限和角色缓存
         clearUserCacheFromRedis(userId);
 
-        // 3. 清理 Spring Security 上下文
+        // 4. 清理 Spring Security 上下文
         SecurityContextHolder.clearContext();
 
         log.info("用户登出成功，用户ID: {}", userId);
@@ -381,15 +429,15 @@ public class AuthServiceImpl
         AssertUtils.notNull(userLogin, AuthResultCodeEnum.USER_NOT_FOUND);
 
         // 4. 验证旧密码是否正确
-        AssertUtils.isTrue(passwordEncoder.matches(changePasswordDTO.getOldPassword(), userLogin.getPassword()),
+        AssertUtils.isTrue(passwordHashService.matches(changePasswordDTO.getOldPassword(), userLogin.getPassword()),
                 AuthResultCodeEnum.PASSWORD_ERROR);
 
         // 5. 验证新密码不能与旧密码相同
-        AssertUtils.isTrue(!passwordEncoder.matches(changePasswordDTO.getNewPassword(), userLogin.getPassword()),
+        AssertUtils.isTrue(!passwordHashService.matches(changePasswordDTO.getNewPassword(), userLogin.getPassword()),
                 "新密码不能与旧密码相同");
 
         // 6. 调用用户服务更新密码
-        String encodedNewPassword = passwordEncoder.encode(changePasswordDTO.getNewPassword());
+        String encodedNewPassword = passwordHashService.encode(changePasswordDTO.getNewPassword());
         userClient.updatePassword(userId, encodedNewPassword);
 
         log.info("用户密码修改成功，用户ID: {}", userId);
@@ -533,7 +581,7 @@ public class AuthServiceImpl
      * @throws BadCredentialsException 当密码不匹配时抛出
      */
     private void assertPasswordMatches(String inputPassword, UserLoginVO user, String clientIp, String browser, String os) {
-        if (!passwordEncoder.matches(inputPassword, user.getPassword())) {
+        if (!passwordHashService.matches(inputPassword, user.getPassword())) {
             logService.saveLoginLogAsync(user.getId(), user.getUsername(), clientIp, browser, os, 0, AuthResultCodeEnum.PASSWORD_ERROR.getMessage());
             AssertUtils.fail(AuthResultCodeEnum.PASSWORD_ERROR);
         }
@@ -590,21 +638,20 @@ public class AuthServiceImpl
     }
 
     /**
-     * 将token存储到Redis
+     * 将token会话存储到Redis
+     * <p>
+     * 会话信息直接取自签发时的已知数据，不再重新解析JWT
      *
      * @param token JWT token
      * @param user 用户信息
-     * @param expireSeconds 过期时间（秒）
+     * @param expirationDate 会话过期时间（与访问令牌一致）
      */
-    private void storeTokenToRedis(String token, UserLoginVO user, long expireSeconds) {
+    private void storeTokenToRedis(String token, UserVO user, Date expirationDate) {
         try {
-            // 存储用户基本信息到Redis
-            String userInfo = String.format("{\"userId\":%d,\"username\":\"%s\",\"status\":%d}",
-                                          user.getId(), user.getUsername(), user.getStatus());
-
-            securityCacheService.storeToken(token, userInfo, expireSeconds);
+            securityCacheService.storeTokenSession(token,
+                    new TokenSession(user.getId(), user.getUsername(), expirationDate.getTime()), user.getStatus());
 
-            log.debug("Token已通过securityCacheService存储到Redis: expireSeconds={}", expireSeconds);
+            log.debug("Token已通过securityCacheService存储到Redis: expireAt={}", expirationDate);
 
         } catch (Exception e) {
             log.error("存储token到Redis失败: {}", e.getMessage(), e);
@@ -613,65 +660,38 @@ public class AuthServiceImpl
     }
 
     /**
-     * 从Redis中删除token
+     * 查询用户指定设备类型的旧认证记录（同端互斥），只取清理所需的列
      *
-     * @param token JWT token
+     * @param userId 用户ID
+     * @param deviceType 设备类型
+     * @return 旧认证记录
      */
-    private void removeTokenFromRedis(String token) {
-        try {
-            securityCacheService.removeToken(token);
-            log.debug("Token已通过securityCacheService从Redis中删除");
-        } catch (Exception e) {
-            log.error("从Redis删除token失败: {}", e.getMessage(), e);
+    private List<UserAuth> listDeviceAuths(Long userId, String deviceType) {
+        List<UserAuth> oldAuths = list(new LambdaQueryWrapper<UserAuth>()
+                .select(UserAuth::getId, UserAuth::getAccessToken, UserAuth::getRefreshToken)
+                .eq(UserAuth::getUserId, userId)
+                .eq(UserAuth::getDeviceType, deviceType)
+                .last("FOR UPDATE"));
+        if (!oldAuths.isEmpty()) {
+            log.info("【登录清理】用户 {} 设备 {} 发现 {} 条旧认证记录，随本次登录清理",
+                    userId, deviceType, oldAuths.size());
         }
+        return oldAuths;
     }
 
     /**
-     * 清理用户指定设备类型的旧token
-     * <p>
-     * 在用户登录时调用，实现同端互斥：
-     * 1. 从数据库查询该用户该设备类型的所有旧认证记录
-     * 2. 从Redis中删除这些旧token
-     * 3. 从数据库中删除这些旧认证记录
-     *
-     * @param userId 用户ID
-     * @param deviceType 设备类型
+     * 认证记录中的访问与刷新令牌
      */
-    private void cleanupOldTokensForDevice(Long userId, String deviceType) {
-        try {
-            // 1. 查询该用户该设备类型的所有旧认证记录
-            List<UserAuth> oldAuths = list(new LambdaQueryWrapper<UserAuth>()
-                    .eq(UserAuth::getUserId, userId)
-                    .eq(UserAuth::getDeviceType, deviceType));
-            
-            if (oldAuths.isEmpty()) {
-                log.debug("【登录清理】用户 {} 设备 {} 没有旧的认证记录", userId, deviceType);
-                return;
+    private List<String> tokensOf(List<UserAuth> auths) {
+        List<String> tokens = new ArrayList<>(auths.size() * 2);
+        for (UserAuth auth : auths) {
+            if (auth.getAccessToken() != null) {
+                tokens.add(auth.getAccessToken());
             }
-            
-            log.info("【登录清理】用户 {} 设备 {} 发现 {} 条旧认证记录，开始清理", 
-                    userId, deviceType, oldAuths.size());
-            
-            // 2. 从Redis中删除这些旧token
-            for (UserAuth oldAuth : oldAuths) {
-                if (oldAuth.getAccessToken() != null) {
-                    removeTokenFromRedis(oldAuth.getAccessToken());
-                }
-                if (oldAuth.getRefreshToken() != null) {
-                    removeTokenFromRedis(oldAuth.getRefreshToken());
-                }
+            if (auth.getRefreshToken() != null) {
+                tokens.add(auth.getRefreshToken());
             }
-            
-            // 3. 从数据库中删除这些旧认证记录
-            List<Long> oldAuthIds = oldAuths.stream().map(UserAuth::getId).toList();
-            removeByIds(oldAuthIds);
-            
-            log.info("【登录清理】用户 {} 设备 {} 清理完成，删除了 {} 条旧记录", 
-                    userId, deviceType, oldAuthIds.size());
-            
-        } catch (Exception e) {
-            log.error("清理用户旧token失败，userId: {}, deviceType: {}", userId, deviceType, e);
-            // 不抛出异常，避免影响登录流程
         }
+        return tokens;
     }
 }
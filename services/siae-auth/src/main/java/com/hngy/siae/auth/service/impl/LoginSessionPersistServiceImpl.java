@@ -0,0 +1,40 @@
+package com.hngy.siae.auth.service.impl;
+
+import com.hngy.siae.api.user.client.UserFeignClient;
+import com.hngy.siae.auth.service.LoginSessionPersistService;
+import com.hngy.siae.auth.service.PasswordHashService;
+import com.hngy.siae.core.exception.TooManyRequestsException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Service;
+
+/**
+ * 登录后台任务服务实现类
+ * <p>
+ * 认证记录由登录事务同步替换，这里只处理密码重新哈希等失败不影响登录的任务。
+ *
+ * @author KEYKB
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class LoginSessionPersistServiceImpl implements LoginSessionPersistService {
+
+    private final PasswordHashService passwordHashService;
+    private final UserFeignClient userClient;
+
+    @Override
+    @Async
+    public void rehashPasswordAsync(Long userId, String rawPassword) {
+        try {
+            String encodedPassword = passwordHashService.encode(rawPassword);
+            userClient.updatePassword(userId, encodedPassword);
+            log.info("登录时已按当前成本重新哈希密码，用户ID: {}", userId);
+        } catch (TooManyRequestsException e) {
+            log.debug("哈希线程池繁忙，跳过重新哈希，用户ID: {}", userId);
+        } catch (Exception e) {
+            log.error("重新哈希密码失败，用户ID: {}", userId, e);
+        }
+    }
+}
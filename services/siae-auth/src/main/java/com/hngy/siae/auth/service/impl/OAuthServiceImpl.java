@@ -170,8 +170,9 @@ public class OAuthServiceImpl implements OAuthService {
                         userId, provider, providerUserId);
             }
             
-            // 8. 查询用户权限和角色（包括通过角色获得的权限）
-            List<String> permissions = userPermissionMapper.selectAllPermissionCodesByUserId(userId);
+            // 8. 查询用户权限和角色（启用角色共享权限集合时只含直接权限）
+            List<String> permissions = userPermissionMapper.selectCachedPermissionCodesByUserId(
+                    userId, securityCacheService.isRoleVersioned());
             List<String> roles = userRoleMapper.selectRoleCodesByUserId(userId);
             
             // 9. 生成JWT令牌
@@ -369,8 +370,9 @@ public class OAuthServiceImpl implements OAuthService {
      * 生成登录响应
      */
     private LoginVO generateLoginResponse(Long userId, String username) {
-        // 查询用户权限和角色（包括通过角色获得的权限）
-        List<String> permissions = userPermissionMapper.selectAllPermissionCodesByUserId(userId);
+        // 查询用户权限和角色（启用角色共享权限集合时只含直接权限）
+        List<String> permissions = userPermissionMapper.selectCachedPermissionCodesByUserId(
+                userId, securityCacheService.isRoleVersioned());
         List<String> roles = userRoleMapper.selectRoleCodesByUserId(userId);
         
         // 生成JWT令牌
@@ -0,0 +1,145 @@
+package com.hngy.siae.auth.service.impl;
+
+import com.hngy.siae.auth.config.PasswordHashProperties;
+import com.hngy.siae.auth.service.PasswordHashService;
+import com.hngy.siae.core.exception.TooManyRequestsException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 密码哈希服务实现类
+ * <p>
+ * 固定大小线程池 + 有界队列，拒绝策略为直接抛出；请求线程提交前按排队深度做准入判断，
+ * 等待结果超时同样按过载拒绝。指标：
+ * <ul>
+ *   <li>{@code siae.auth.password.hash}：哈希耗时（op=matches/encode）</li>
+ *   <li>{@code siae.auth.password.hash.queue.depth} / {@code .active}：排队与执行中任务数</li>
+ *   <li>{@code siae.auth.password.hash.rejected}：准入拒绝次数（reason=queue/timeout）</li>
+ * </ul>
+ *
+ * @author KEYKB
+ */
+@Slf4j
+@Service
+public class PasswordHashServiceImpl implements PasswordHashService {
+
+    private static final String METRIC_HASH = "siae.auth.password.hash";
+    private static final String METRIC_QUEUE_DEPTH = "siae.auth.password.hash.queue.depth";
+    private static final String METRIC_ACTIVE = "siae.auth.password.hash.active";
+    private static final String METRIC_REJECTED = "siae.auth.password.hash.rejected";
+    private static final String REJECT_MESSAGE = "登录请求过多，请稍后重试";
+
+    private final PasswordEncoder passwordEncoder;
+    private final PasswordHashProperties properties;
+    private final ThreadPoolExecutor executor;
+    private final Timer matchesTimer;
+    private final Timer encodeTimer;
+    private final Counter queueRejectedCounter;
+    private final Counter timeoutRejectedCounter;
+
+    public PasswordHashServiceImpl(PasswordEncoder passwordEncoder, PasswordHashProperties properties,
+                                   MeterRegistry meterRegistry) {
+        this.passwordEncoder = passwordEncoder;
+        this.properties = properties;
+
+        int poolSize = properties.getPoolSize() > 0
+                ? properties.getPoolSize() : Runtime.getRuntime().availableProcessors();
+        AtomicInteger threadIndex = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(properties.getQueueCapacity()),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "password-hash-" + threadIndex.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+
+        this.matchesTimer = Timer.builder(METRIC_HASH).tag("op", "matches").register(meterRegistry);
+        this.encodeTimer = Timer.builder(METRIC_HASH).tag("op", "encode").register(meterRegistry);
+        this.queueRejectedCounter = Counter.builder(METRIC_REJECTED).tag("reason", "queue").register(meterRegistry);
+        this.timeoutRejectedCounter = Counter.builder(METRIC_REJECTED).tag("reason", "timeout").register(meterRegistry);
+        Gauge.builder(METRIC_QUEUE_DEPTH, executor, pool -> pool.getQueue().size()).register(meterRegistry);
+        Gauge.builder(METRIC_ACTIVE, executor, ThreadPoolExecutor::getActiveCount).register(meterRegistry);
+
+        log.info("密码哈希线程池已初始化: poolSize={}, queueCapacity={}, admissionQueueDepth={}",
+                poolSize, properties.getQueueCapacity(), properties.getAdmissionQueueDepth());
+    }
+
+    @Override
+    public void checkAdmission() {
+        if (executor.getQueue().size() >= properties.getAdmissionQueueDepth()) {
+            queueRejectedCounter.increment();
+            throw new TooManyRequestsException(REJECT_MESSAGE, properties.getRetryAfter());
+        }
+    }
+
+    @Override
+    public boolean matches(String rawPassword, String encodedPassword) {
+        return submit(() -> matchesTimer.record(() -> passwordEncoder.matches(rawPassword, encodedPassword)));
+    }
+
+    @Override
+    public String encode(String rawPassword) {
+        return submit(() -> encodeTimer.record(() -> passwordEncoder.encode(rawPassword)));
+    }
+
+    @Override
+    public boolean needsRehash(String encodedPassword) {
+        return properties.isRehashOnLogin() && passwordEncoder.upgradeEncoding(encodedPassword);
+    }
+
+    /**
+     * 准入判断后提交到哈希线程池并等待结果
+     */
+    private <T> T submit(Callable<T> task) {
+        checkAdmission();
+        Future<T> future;
+        try {
+            future = executor.submit(task);
+        } catch (RejectedExecutionException e) {
+            queueRejectedCounter.increment();
+            throw new TooManyRequestsException(REJECT_MESSAGE, properties.getRetryAfter());
+        }
+
+        try {
+            return future.get(properties.getTimeout(), TimeUnit.SECONDS);
+        } catch (TimeoutException e) {
+            // 仍在排队的任务直接出队，已开始的BCrypt计算无法中断，只能放弃结果
+            future.cancel(false);
+            timeoutRejectedCounter.increment();
+            log.warn("密码哈希等待超时（{}秒），当前排队: {}", properties.getTimeout(), executor.getQueue().size());
+            throw new TooManyRequestsException(REJECT_MESSAGE, properties.getRetryAfter());
+        } catch (InterruptedException e) {
+            future.cancel(false);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("等待密码哈希结果时线程被中断", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException("密码哈希计算失败", cause);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+}
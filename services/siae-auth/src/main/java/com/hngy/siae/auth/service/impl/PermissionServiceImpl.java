@@ -11,9 +11,14 @@ import java.util.Optional;
 import java.util.Set;
 import java.util.stream.Collectors;
 
-import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
 import com.baomidou.mybatisplus.core.metadata.IPage;
@@ -27,6 +32,7 @@ import com.hngy.siae.auth.dto.response.PermissionVO;
 import com.hngy.siae.auth.entity.Permission;
 import com.hngy.siae.auth.mapper.PermissionMapper;
 import com.hngy.siae.auth.service.PermissionService;
+import com.hngy.siae.auth.service.RoleService;
 import com.hngy.siae.core.asserts.AssertUtils;
 import com.hngy.siae.core.dto.PageDTO;
 import com.hngy.siae.core.dto.PageVO;
@@ -34,6 +40,7 @@ import com.hngy.siae.core.exception.ServiceException;
 import com.hngy.siae.core.result.AuthResultCodeEnum;
 import com.hngy.siae.core.utils.BeanConvertUtil;
 import com.hngy.siae.core.utils.PageConvertUtil;
+import com.hngy.siae.security.cache.PermissionIndexRegistry;
 
 import cn.hutool.core.util.StrUtil;
 
@@ -41,16 +48,76 @@ import cn.hutool.core.util.StrUtil;
  * 权限服务实现类
  * <p>
  * 提供系统权限的创建、查询、更新和删除功能，
- * 支持权限验证和分页查询。
+ * 支持权限验证和分页查询。权限创建、编码变化或删除后，在事务提交后重新发布权限位图索引；
+ * 权限编码、启用状态变化或删除后同时重新发布角色权限集合。
  *
  * @author KEYKB
  */
+@Slf4j
 @Service
-@RequiredArgsConstructor
 public class PermissionServiceImpl
         extends ServiceImpl<PermissionMapper, Permission>
         implements PermissionService {
 
+    private final PermissionIndexRegistry permissionIndexRegistry;
+    private final RoleService roleService;
+
+    public PermissionServiceImpl(PermissionIndexRegistry permissionIndexRegistry,
+                                 @Lazy RoleService roleService) {
+        this.permissionIndexRegistry = permissionIndexRegistry;
+        this.roleService = roleService;
+    }
+
+    /**
+     * 启动时发布权限位图索引
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void publishPermissionIndexOnStartup() {
+        publishPermissionIndex();
+    }
+
+    /**
+     * 权限变更后发布位图索引：处于事务中时等事务提交后再发布，避免回滚后 Redis 中的索引领先于数据库
+     *
+     * @param roleSetsChanged 角色权限集合是否受影响（权限编码、启用状态变化或删除），受影响时同时全量发布角色集合
+     */
+    private void publishAfterCommit(boolean roleSetsChanged) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    publishPermissionChanges(roleSetsChanged);
+                }
+            });
+        } else {
+            publishPermissionChanges(roleSetsChanged);
+        }
+    }
+
+    private void publishPermissionChanges(boolean roleSetsChanged) {
+        publishPermissionIndex();
+        if (roleSetsChanged) {
+            roleService.publishAllRolePermissions();
+        }
+    }
+
+    /**
+     * 发布权限编码到位下标（权限ID）的索引
+     * <p>
+     * 删除权限只把 status 置为 0，记录仍在表中，因此已删除、已禁用的权限同样收录，保证已写入的用户位图仍可解码；
+     * 同一编码存在多条记录时取最小 ID。发布失败只记录日志，读取方会回退为字符串权限判断。
+     */
+    private void publishPermissionIndex() {
+        try {
+            Map<String, Long> codeToId = list().stream()
+                    .filter(p -> StrUtil.isNotBlank(p.getCode()) && p.getId() != null)
+                    .collect(Collectors.toMap(Permission::getCode, Permission::getId, Math::min));
+            permissionIndexRegistry.publish(codeToId);
+        } catch (Exception e) {
+            log.error("发布权限位图索引失败", e);
+        }
+    }
+
     /**
      * 创建权限
      */
@@ -67,6 +134,7 @@ public class PermissionServiceImpl
         // 创建权限
         Permission permission = BeanConvertUtil.to(request, Permission.class);
         AssertUtils.isTrue(save(permission), "权限创建失败");
+        publishAfterCommit(false);
         
         // 构建响应
         return BeanConvertUtil.to(permission, PermissionVO.class);
@@ -112,6 +180,11 @@ public class PermissionServiceImpl
         Permission permission = BeanConvertUtil.to(dto, Permission.class);
         permission.setUpdatedAt(LocalDateTime.now());
         AssertUtils.isTrue(updateById(permission), "权限更新失败");
+        boolean codeChanged = dto.getCode() != null && !dto.getCode().equals(existing.getCode());
+        boolean statusChanged = dto.getStatus() != null && !dto.getStatus().equals(existing.getStatus());
+        if (codeChanged || statusChanged) {
+            publishAfterCommit(true);
+        }
 
         return BeanConvertUtil.to(permission, PermissionVO.class);
     }
@@ -138,11 +211,13 @@ public class PermissionServiceImpl
         collectAllChildrenIds(permissionId, allPermissionIds, parentMap);
 
         // 执行批量逻辑删除
-        return lambdaUpdate()
+        boolean deleted = lambdaUpdate()
                 .set(Permission::getStatus, 0)
                 .set(Permission::getUpdatedAt, LocalDateTime.now())
                 .in(Permission::getId, allPermissionIds)
                 .update();
+        publishAfterCommit(true);
+        return deleted;
     }
 
     /**
@@ -173,11 +248,13 @@ public class PermissionServiceImpl
         // TODO: 批量检查是否有角色关联这些权限
 
         // 批量逻辑删除：状态设为0，更新时间
-        return lambdaUpdate()
+        boolean deleted = lambdaUpdate()
                 .set(Permission::getStatus, 0)
                 .set(Permission::getUpdatedAt, LocalDateTime.now())
                 .in(Permission::getId, allDeleteIds)
                 .update();
+        publishAfterCommit(true);
+        return deleted;
     }
 
      /**
@@ -14,6 +14,7 @@ import com.hngy.siae.auth.entity.Role;
 import com.hngy.siae.auth.entity.RolePermission;
 import com.hngy.siae.auth.entity.UserRole;
 import com.hngy.siae.auth.mapper.RoleMapper;
+import com.hngy.siae.auth.mapper.RolePermissionMapper;
 import com.hngy.siae.auth.mapper.UserRoleMapper;
 
 import com.hngy.siae.auth.service.PermissionService;
@@ -31,12 +32,17 @@ import com.hngy.siae.core.utils.BeanConvertUtil;
 import com.hngy.siae.core.utils.PageConvertUtil;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import cn.hutool.core.util.StrUtil;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.stream.Collectors;
 
@@ -60,6 +66,56 @@ public class RoleServiceImpl
     private final PermissionService permissionService;
     private final SecurityCacheService securityCacheService;
     private final com.hngy.siae.auth.mapper.UserPermissionMapper userPermissionMapper;
+    private final RolePermissionMapper rolePermissionMapper;
+
+    /**
+     * 启动时全量发布启用角色的权限集合
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void publishRolePermissionsOnStartup() {
+        publishAllRolePermissions();
+    }
+
+    /**
+     * 定期检查角色权限集合版本号，缺失时（启动发布失败或 Redis 被清空）重新全量发布
+     */
+    @Scheduled(initialDelayString = "${siae.security.permission.role-republish-check-interval:30000}",
+            fixedDelayString = "${siae.security.permission.role-republish-check-interval:30000}")
+    public void republishRolePermissionsIfMissing() {
+        if (!securityCacheService.isRoleVersioned()) {
+            return;
+        }
+        try {
+            if (!securityCacheService.isRolePermissionsPublished()) {
+                log.warn("角色权限集合版本号缺失，重新全量发布");
+                publishAllRolePermissions();
+            }
+        } catch (Exception e) {
+            log.error("检查角色权限集合版本号失败", e);
+        }
+    }
+
+    /**
+     * 全量发布启用角色的权限集合
+     */
+    @Override
+    public void publishAllRolePermissions() {
+        if (!securityCacheService.isRoleVersioned()) {
+            return;
+        }
+        try {
+            Map<String, List<String>> rolePermissions = lambdaQuery()
+                    .eq(Role::getStatus, 1)
+                    .list()
+                    .stream()
+                    .collect(Collectors.toMap(Role::getCode,
+                            role -> rolePermissionMapper.selectPermissionCodesByRoleId(role.getId()),
+                            (first, second) -> first));
+            securityCacheService.cacheAllRolePermissions(rolePermissions);
+        } catch (Exception e) {
+            log.error("全量发布角色权限集合失败", e);
+        }
+    }
     
     /**
      * 创建角色
@@ -160,10 +216,21 @@ public class RoleServiceImpl
         checkSystemRoleProtection(role, AuthResultCodeEnum.SYSTEM_ROLE_CANNOT_UPDATE);
 
         // 更新角色信息
+        Integer oldStatus = role.getStatus();
         BeanConvertUtil.to(request, role, "id");
         role.setUpdatedAt(LocalDateTime.now());
 
-        return updateById(role);
+        boolean updated = updateById(role);
+
+        // 角色停用后不再贡献权限，重新启用时恢复其权限集合
+        if (updated && securityCacheService.isRoleVersioned() && !Objects.equals(oldStatus, role.getStatus())) {
+            if (Objects.equals(role.getStatus(), 1)) {
+                refreshRoleAuthorityCache(role);
+            } else {
+                securityCacheService.clearRolePermissions(role.getCode());
+            }
+        }
+        return updated;
     }
 
     /**
@@ -199,7 +266,11 @@ public class RoleServiceImpl
         );
 
         // 删除角色
-        return removeById(roleId);
+        boolean removed = removeById(roleId);
+        if (removed && securityCacheService.isRoleVersioned()) {
+            securityCacheService.clearRolePermissions(role.getCode());
+        }
+        return removed;
     }
 
     /**
@@ -236,7 +307,11 @@ public class RoleServiceImpl
         );
 
         // 删除角色本身
-        return removeByIds(roleIds);
+        boolean removed = removeByIds(roleIds);
+        if (removed && securityCacheService.isRoleVersioned()) {
+            roles.forEach(role -> securityCacheService.clearRolePermissions(role.getCode()));
+        }
+        return removed;
     }
     
     /**
@@ -346,9 +421,9 @@ public class RoleServiceImpl
         // 批量插入新的权限关联
         boolean result = batchRolePermissionLink(roleId, newPermissionIds);
         
-        // 清除该角色下所有用户的权限缓存
+        // 刷新角色权限集合（未启用角色共享权限集合时逐个刷新角色成员缓存）
         if (result && !newPermissionIds.isEmpty()) {
-            clearRoleUsersPermissionCache(roleId);
+            refreshRoleAuthorityCache(role);
         }
         
         return result;
@@ -386,9 +461,9 @@ public class RoleServiceImpl
         // 添加新的角色权限关联
         boolean result = batchRolePermissionLink(roleId, permissionIds);
         
-        // 清除该角色下所有用户的权限缓存
+        // 刷新角色权限集合（未启用角色共享权限集合时逐个刷新角色成员缓存）
         if (result) {
-            clearRoleUsersPermissionCache(roleId);
+            refreshRoleAuthorityCache(role);
         }
         
         return result;
@@ -465,6 +540,27 @@ public class RoleServiceImpl
         return BeanConvertUtil.toList(permissions, PermissionVO.class);
     }
     
+    /**
+     * 角色权限变更后刷新缓存
+     * <p>
+     * 启用角色共享权限集合时只重写该角色的集合并递增版本号，与角色成员数量无关；
+     * 否则回退为逐个刷新角色成员的权限缓存
+     *
+     * @param role 角色
+     */
+    private void refreshRoleAuthorityCache(Role role) {
+        if (!securityCacheService.isRoleVersioned()) {
+            clearRoleUsersPermissionCache(role.getId());
+            return;
+        }
+        try {
+            List<String> permissions = rolePermissionMapper.selectPermissionCodesByRoleId(role.getId());
+            securityCacheService.cacheRolePermissions(role.getCode(), permissions);
+        } catch (Exception e) {
+            log.error("刷新角色权限集合失败，roleId={}", role.getId(), e);
+        }
+    }
+
     /**
      * 清除角色下所有用户的权限缓存
      * <p>
@@ -517,8 +613,9 @@ public class RoleServiceImpl
      */
     private void reloadUserPermissionsToCache(Long userId) {
         try {
-            // 从数据库查询最新权限（包括角色权限）
-            List<String> permissions = userPermissionMapper.selectAllPermissionCodesByUserId(userId);
+            // 从数据库查询最新权限（启用角色共享权限集合时只含直接权限）
+            List<String> permissions = userPermissionMapper.selectCachedPermissionCodesByUserId(
+                    userId, securityCacheService.isRoleVersioned());
             
             // 缓存到Redis，设置较长的过期时间（24小时）
             securityCacheService.cacheUserPermissions(userId, permissions, 24, java.util.concurrent.TimeUnit.HOURS);
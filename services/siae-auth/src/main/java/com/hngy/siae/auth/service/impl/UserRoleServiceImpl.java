@@ -311,8 +311,9 @@ public class UserRoleServiceImpl
      */
     private void reloadUserCacheToRedis(Long userId) {
         try {
-            // 从数据库查询最新权限（包括角色权限）
-            List<String> permissions = userPermissionMapper.selectAllPermissionCodesByUserId(userId);
+            // 从数据库查询最新权限（启用角色共享权限集合时只含直接权限）
+            List<String> permissions = userPermissionMapper.selectCachedPermissionCodesByUserId(
+                    userId, securityCacheService.isRoleVersioned());
             List<String> roles = userRoleMapper.selectRoleCodesByUserId(userId);
             
             // 缓存到Redis，设置较长的过期时间（24小时）
@@ -1,12 +1,10 @@
 package com.hngy.siae.content.facade.impl;
 
 import cn.hutool.core.util.StrUtil;
-import com.hngy.siae.api.media.client.MediaFeignClient;
-import com.hngy.siae.api.media.dto.request.BatchUrlDTO;
-import com.hngy.siae.api.media.dto.response.BatchUrlVO;
+import com.hngy.siae.api.media.loader.MediaUrlLoader;
 import com.hngy.siae.api.media.util.MediaUrlUtil;
-import com.hngy.siae.api.user.client.UserFeignClient;
 import com.hngy.siae.api.user.dto.response.UserProfileSimpleVO;
+import com.hngy.siae.api.user.loader.UserProfileLoader;
 import com.hngy.siae.content.dto.request.content.ContentHotPageDTO;
 import com.hngy.siae.content.dto.request.content.ContentQueryDTO;
 import com.hngy.siae.content.dto.response.content.ContentQueryResultVO;
@@ -52,8 +50,8 @@ public class ContentReadFacadeImpl implements ContentReadFacade {
     private final ContentService contentService;
     private final StatisticsService statisticsService;
     private final ContentStrategyContext strategyContext;
-    private final MediaFeignClient mediaFeignClient;
-    private final UserFeignClient userFeignClient;
+    private final MediaUrlLoader mediaUrlLoader;
+    private final UserProfileLoader userProfileLoader;
 
     @Override
     public ContentVO<ContentDetailVO> queryContent(@NotNull Long contentId) {
@@ -121,16 +119,13 @@ public class ContentReadFacadeImpl implements ContentReadFacade {
             return;
         }
         try {
-            Map<Long, UserProfileSimpleVO> userMap = userFeignClient.batchGetUserProfiles(List.of(uploadedBy));
-            if (userMap != null && !userMap.isEmpty()) {
-                UserProfileSimpleVO userProfile = userMap.get(uploadedBy);
-                if (userProfile != null) {
-                    vo.setAuthorNickname(userProfile.getNickname());
-                    // 获取头像URL
-                    if (StrUtil.isNotBlank(userProfile.getAvatarFileId())) {
-                        Map<String, String> urlMap = batchGetUrls(List.of(userProfile.getAvatarFileId()));
-                        vo.setAuthorAvatarUrl(urlMap.get(userProfile.getAvatarFileId()));
-                    }
+            UserProfileSimpleVO userProfile = userProfileLoader.get(uploadedBy);
+            if (userProfile != null) {
+                vo.setAuthorNickname(userProfile.getNickname());
+                // 获取头像URL
+                if (StrUtil.isNotBlank(userProfile.getAvatarFileId())) {
+                    Map<String, String> urlMap = batchGetUrls(List.of(userProfile.getAvatarFileId()));
+                    vo.setAuthorAvatarUrl(urlMap.get(userProfile.getAvatarFileId()));
                 }
             }
         } catch (Exception e) {
@@ -189,10 +184,7 @@ public class ContentReadFacadeImpl implements ContentReadFacade {
      */
     private Map<String, String> batchGetUrls(List<String> fileIds) {
         try {
-            BatchUrlDTO request = new BatchUrlDTO();
-            request.setFileIds(fileIds);
-            BatchUrlVO response = mediaFeignClient.batchGetFileUrls(request);
-            return response != null && response.getUrls() != null ? response.getUrls() : Collections.emptyMap();
+            return mediaUrlLoader.getUrls(fileIds);
         } catch (Exception e) {
             log.error("批量获取媒体URL失败, fileIds={}", fileIds, e);
             return Collections.emptyMap();
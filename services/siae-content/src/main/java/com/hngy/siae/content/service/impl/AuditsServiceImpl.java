@@ -4,9 +4,7 @@ import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
 import com.baomidou.mybatisplus.core.metadata.IPage;
 import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
 import com.baomidou.mybatisplus.extension.service.impl.ServiceImpl;
-import com.hngy.siae.api.media.client.MediaFeignClient;
-import com.hngy.siae.api.media.dto.request.BatchUrlDTO;
-import com.hngy.siae.api.media.dto.response.BatchUrlVO;
+import com.hngy.siae.api.media.loader.MediaUrlLoader;
 import com.hngy.siae.content.strategy.audit.AuditHandler;
 import com.hngy.siae.content.strategy.audit.AuditHandlerContext;
 import com.hngy.siae.content.dto.request.audit.AuditQueryDTO;
@@ -58,7 +56,7 @@ public class AuditsServiceImpl
     private final ContentService contentService;
     private final CommentsService commentsService;
     private final AuditHandlerContext auditHandlerContext;
-    private final MediaFeignClient mediaFeignClient;
+    private final MediaUrlLoader mediaUrlLoader;
 
 
     @Override
@@ -204,14 +202,9 @@ public class AuditsServiceImpl
             }
 
             // 批量获取文件URL
-            BatchUrlDTO request = new BatchUrlDTO();
-            request.setFileIds(coverFileIds);
-            request.setExpirySeconds(86400); // 24小时过期
+            Map<String, String> urlMap = mediaUrlLoader.getUrls(coverFileIds);
 
-            BatchUrlVO response = mediaFeignClient.batchGetFileUrls(request);
-
-            if (response != null && response.getUrls() != null && !response.getUrls().isEmpty()) {
-                Map<String, String> urlMap = response.getUrls();
+            if (!urlMap.isEmpty()) {
                 // 填充封面URL
                 auditList.forEach(audit -> {
                     String coverFileId = audit.getContentCoverFileId();
@@ -20,16 +20,18 @@ import com.hngy.siae.content.dto.response.comment.CommentVO;
 import com.hngy.siae.content.entity.Comment;
 import com.hngy.siae.content.entity.Content;
 import com.hngy.siae.content.mapper.CommentMapper;
-import com.hngy.siae.api.user.client.UserFeignClient;
 import com.hngy.siae.api.user.dto.response.UserProfileSimpleVO;
+import com.hngy.siae.api.user.loader.UserProfileLoader;
 import com.hngy.siae.content.service.AuditsService;
 import com.hngy.siae.content.service.CommentsService;
 import com.hngy.siae.content.service.ContentService;
 import com.hngy.siae.content.service.StatisticsService;
 import com.hngy.siae.messaging.event.MessagingConstants;
 import com.hngy.siae.messaging.event.NotificationMessage;
+import com.hngy.siae.messaging.outbox.OutboxPublisher;
 import com.hngy.siae.messaging.producer.SiaeMessagingTemplate;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.context.annotation.Lazy;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -54,18 +56,21 @@ public class CommentsServiceImpl
 
     private final ContentService contentService;
     private final AuditsService auditsService;
-    private final UserFeignClient userFeignClient;
+    private final UserProfileLoader userProfileLoader;
+    private final ObjectProvider<OutboxPublisher> outboxPublisherProvider;
     private final SiaeMessagingTemplate messagingTemplate;
     private final StatisticsService statisticsService;
 
     public CommentsServiceImpl(ContentService contentService,
                                @Lazy AuditsService auditsService,
-                               UserFeignClient userFeignClient,
+                               UserProfileLoader userProfileLoader,
+                               ObjectProvider<OutboxPublisher> outboxPublisherProvider,
                                SiaeMessagingTemplate messagingTemplate,
                                StatisticsService statisticsService) {
         this.contentService = contentService;
         this.auditsService = auditsService;
-        this.userFeignClient = userFeignClient;
+        this.userProfileLoader = userProfileLoader;
+        this.outboxPublisherProvider = outboxPublisherProvider;
         this.messagingTemplate = messagingTemplate;
         this.statisticsService = statisticsService;
     }
@@ -193,7 +198,7 @@ public class CommentsServiceImpl
                 .collect(Collectors.toList());
 
         // 批量查询用户信息
-        Map<Long, UserProfileSimpleVO> userMap = userFeignClient.batchGetUserProfiles(userIds);
+        Map<Long, UserProfileSimpleVO> userMap = userProfileLoader.getAll(userIds);
 
         // 填充用户信息到评论VO
         commentVOs.forEach(commentVO -> {
@@ -257,9 +262,9 @@ public class CommentsServiceImpl
         try {
             // 获取评论者昵称
             String commenterNickname = "用户";
-            Map<Long, UserProfileSimpleVO> userMap = userFeignClient.batchGetUserProfiles(List.of(commentUserId));
-            if (userMap != null && userMap.containsKey(commentUserId)) {
-                commenterNickname = userMap.get(commentUserId).getNickname();
+            UserProfileSimpleVO commenter = userProfileLoader.get(commentUserId);
+            if (commenter != null) {
+                commenterNickname = commenter.getNickname();
             }
 
             // 情况1：回复某人的评论
@@ -274,11 +279,7 @@ public class CommentsServiceImpl
                         .businessType("COMMENT_REPLY")
                         .build();
 
-                messagingTemplate.send(
-                        MessagingConstants.NOTIFICATION_EXCHANGE,
-                        MessagingConstants.NOTIFICATION_COMMENT,
-                        replyNotification
-                );
+                publishNotification(MessagingConstants.NOTIFICATION_COMMENT, replyNotification);
                 log.info("发送评论回复通知: toUserId={}, commentId={}", comment.getReplyToUserId(), comment.getId());
             }
 
@@ -300,11 +301,7 @@ public class CommentsServiceImpl
                         .businessType("CONTENT_COMMENT")
                         .build();
 
-                messagingTemplate.send(
-                        MessagingConstants.NOTIFICATION_EXCHANGE,
-                        MessagingConstants.NOTIFICATION_COMMENT,
-                        contentNotification
-                );
+                publishNotification(MessagingConstants.NOTIFICATION_COMMENT, contentNotification);
                 log.info("发送内容评论通知: toUserId={}, contentId={}", contentAuthorId, content.getId());
             }
         } catch (Exception e) {
@@ -313,6 +310,19 @@ public class CommentsServiceImpl
         }
     }
 
+    /**
+     * 发布通知：开启发件箱时与业务数据同事务写入，同一接收者的通知按写入顺序投递；未开启时直接发送
+     */
+    private void publishNotification(String routingKey, NotificationMessage message) {
+        OutboxPublisher outboxPublisher = outboxPublisherProvider.getIfAvailable();
+        if (outboxPublisher != null) {
+            outboxPublisher.publish(MessagingConstants.NOTIFICATION_EXCHANGE, routingKey, message,
+                    "user:" + message.getUserId());
+        } else {
+            messagingTemplate.send(MessagingConstants.NOTIFICATION_EXCHANGE, routingKey, message);
+        }
+    }
+
     /**
      * 截断标题
      */
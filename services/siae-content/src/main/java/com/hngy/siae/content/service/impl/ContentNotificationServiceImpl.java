@@ -1,7 +1,7 @@
 package com.hngy.siae.content.service.impl;
 
-import com.hngy.siae.api.user.client.UserFeignClient;
 import com.hngy.siae.api.user.dto.response.UserProfileSimpleVO;
+import com.hngy.siae.api.user.loader.UserProfileLoader;
 import com.hngy.siae.content.constants.NotificationBusinessType;
 import com.hngy.siae.content.entity.Comment;
 import com.hngy.siae.content.entity.Content;
@@ -10,14 +10,13 @@ import com.hngy.siae.content.service.ContentNotificationService;
 import com.hngy.siae.content.service.ContentService;
 import com.hngy.siae.messaging.event.MessagingConstants;
 import com.hngy.siae.messaging.event.NotificationMessage;
+import com.hngy.siae.messaging.outbox.OutboxPublisher;
 import com.hngy.siae.messaging.producer.SiaeMessagingTemplate;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.context.annotation.Lazy;
 import org.springframework.stereotype.Service;
 
-import java.util.List;
-import java.util.Map;
-
 /**
  * 内容通知服务实现类
  * 负责封装所有内容相关的通知发送逻辑
@@ -33,18 +32,21 @@ public class ContentNotificationServiceImpl implements ContentNotificationServic
     private static final int MAX_TITLE_LENGTH = 20;
     private static final int MAX_COMMENT_LENGTH = 30;
 
+    private final ObjectProvider<OutboxPublisher> outboxPublisherProvider;
     private final SiaeMessagingTemplate messagingTemplate;
-    private final UserFeignClient userFeignClient;
+    private final UserProfileLoader userProfileLoader;
     private final ContentService contentService;
     private final CommentsService commentsService;
 
     public ContentNotificationServiceImpl(
+            ObjectProvider<OutboxPublisher> outboxPublisherProvider,
             SiaeMessagingTemplate messagingTemplate,
-            UserFeignClient userFeignClient,
+            UserProfileLoader userProfileLoader,
             @Lazy ContentService contentService,
             @Lazy CommentsService commentsService) {
+        this.outboxPublisherProvider = outboxPublisherProvider;
         this.messagingTemplate = messagingTemplate;
-        this.userFeignClient = userFeignClient;
+        this.userProfileLoader = userProfileLoader;
         this.contentService = contentService;
         this.commentsService = commentsService;
     }
@@ -68,11 +70,7 @@ public class ContentNotificationServiceImpl implements ContentNotificationServic
                     .businessType(NotificationBusinessType.CONTENT_APPROVED)
                     .build();
 
-            messagingTemplate.send(
-                    MessagingConstants.NOTIFICATION_EXCHANGE,
-                    MessagingConstants.NOTIFICATION_CONTENT,
-                    message
-            );
+            publishNotification(MessagingConstants.NOTIFICATION_CONTENT, message);
             log.info("发送内容审核通过通知成功: userId={}, contentId={}", content.getUploadedBy(), content.getId());
         } catch (Exception e) {
             log.error("发送内容审核通过通知失败: contentId={}", content.getId(), e);
@@ -105,11 +103,7 @@ public class ContentNotificationServiceImpl implements ContentNotificationServic
                     .businessType(NotificationBusinessType.CONTENT_LIKE)
                     .build();
 
-            messagingTemplate.send(
-                    MessagingConstants.NOTIFICATION_EXCHANGE,
-                    MessagingConstants.NOTIFICATION_CONTENT,
-                    message
-            );
+            publishNotification(MessagingConstants.NOTIFICATION_CONTENT, message);
             log.info("发送内容点赞通知成功: userId={}, contentId={}, likeUserId={}",
                     content.getUploadedBy(), content.getId(), likeUserId);
         } catch (Exception e) {
@@ -143,11 +137,7 @@ public class ContentNotificationServiceImpl implements ContentNotificationServic
                     .businessType(NotificationBusinessType.CONTENT_FAVORITE)
                     .build();
 
-            messagingTemplate.send(
-                    MessagingConstants.NOTIFICATION_EXCHANGE,
-                    MessagingConstants.NOTIFICATION_CONTENT,
-                    message
-            );
+            publishNotification(MessagingConstants.NOTIFICATION_CONTENT, message);
             log.info("发送内容收藏通知成功: userId={}, contentId={}, favoriteUserId={}",
                     content.getUploadedBy(), content.getId(), favoriteUserId);
         } catch (Exception e) {
@@ -182,11 +172,7 @@ public class ContentNotificationServiceImpl implements ContentNotificationServic
                     .businessType(NotificationBusinessType.COMMENT_LIKE)
                     .build();
 
-            messagingTemplate.send(
-                    MessagingConstants.NOTIFICATION_EXCHANGE,
-                    MessagingConstants.NOTIFICATION_COMMENT,
-                    message
-            );
+            publishNotification(MessagingConstants.NOTIFICATION_COMMENT, message);
             log.info("发送评论点赞通知成功: userId={}, commentId={}, likeUserId={}",
                     comment.getUserId(), comment.getId(), likeUserId);
         } catch (Exception e) {
@@ -202,9 +188,9 @@ public class ContentNotificationServiceImpl implements ContentNotificationServic
      */
     private String getUserNickname(Long userId) {
         try {
-            Map<Long, UserProfileSimpleVO> userMap = userFeignClient.batchGetUserProfiles(List.of(userId));
-            if (userMap != null && userMap.containsKey(userId)) {
-                String nickname = userMap.get(userId).getNickname();
+            UserProfileSimpleVO userProfile = userProfileLoader.get(userId);
+            if (userProfile != null) {
+                String nickname = userProfile.getNickname();
                 if (nickname != null && !nickname.isEmpty()) {
                     return nickname;
                 }
@@ -231,4 +217,17 @@ public class ContentNotificationServiceImpl implements ContentNotificationServic
         }
         return text.substring(0, maxLength) + "...";
     }
+
+    /**
+     * 发布通知：开启发件箱时与业务数据同事务写入，同一接收者的通知按写入顺序投递；未开启时直接发送
+     */
+    private void publishNotification(String routingKey, NotificationMessage message) {
+        OutboxPublisher outboxPublisher = outboxPublisherProvider.getIfAvailable();
+        if (outboxPublisher != null) {
+            outboxPublisher.publish(MessagingConstants.NOTIFICATION_EXCHANGE, routingKey, message,
+                    "user:" + message.getUserId());
+        } else {
+            messagingTemplate.send(MessagingConstants.NOTIFICATION_EXCHANGE, routingKey, message);
+        }
+    }
 }
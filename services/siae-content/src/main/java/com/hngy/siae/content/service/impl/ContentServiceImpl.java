@@ -5,11 +5,9 @@ import cn.hutool.core.util.StrUtil;
 import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
 import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
 import com.baomidou.mybatisplus.extension.service.impl.ServiceImpl;
-import com.hngy.siae.api.media.client.MediaFeignClient;
-import com.hngy.siae.api.media.dto.request.BatchUrlDTO;
-import com.hngy.siae.api.media.dto.response.BatchUrlVO;
-import com.hngy.siae.api.user.client.UserFeignClient;
+import com.hngy.siae.api.media.loader.MediaUrlLoader;
 import com.hngy.siae.api.user.dto.response.UserProfileSimpleVO;
+import com.hngy.siae.api.user.loader.UserProfileLoader;
 import com.hngy.siae.content.dto.response.content.ContentQueryResultVO;
 import com.hngy.siae.content.entity.FavoriteFolder;
 import com.hngy.siae.content.entity.FavoriteItem;
@@ -58,8 +56,8 @@ public class ContentServiceImpl
         implements ContentService {
 
     private final CategoryMapper categoryMapper;
-    private final UserFeignClient userFeignClient;
-    private final MediaFeignClient mediaFeignClient;
+    private final UserProfileLoader userProfileLoader;
+    private final MediaUrlLoader mediaUrlLoader;
     private final SecurityUtil securityUtil;
     private final FavoriteItemMapper favoriteItemMapper;
     private final FavoriteFolderMapper favoriteFolderMapper;
@@ -281,8 +279,7 @@ public class ContentServiceImpl
             }
 
             // 批量查询用户信息
-            Map<Long, UserProfileSimpleVO> userMap =
-                    userFeignClient.batchGetUserProfiles(userIds);
+            Map<Long, UserProfileSimpleVO> userMap = userProfileLoader.getAll(userIds);
 
             if (userMap != null && !userMap.isEmpty()) {
                 // 填充昵称和头像
@@ -338,14 +335,9 @@ public class ContentServiceImpl
             }
 
             // 批量获取文件URL
-            BatchUrlDTO request = new BatchUrlDTO();
-            request.setFileIds(coverFileIds);
-            request.setExpirySeconds(86400); // 24小时过期
+            Map<String, String> urlMap = mediaUrlLoader.getUrls(coverFileIds);
 
-            BatchUrlVO response = mediaFeignClient.batchGetFileUrls(request);
-
-            if (response != null && response.getUrls() != null && !response.getUrls().isEmpty()) {
-                Map<String, String> urlMap = response.getUrls();
+            if (!urlMap.isEmpty()) {
                 // 填充封面URL
                 contentList.forEach(content -> {
                     String coverFileId = content.getCoverFileId();
@@ -4,11 +4,9 @@ import cn.hutool.core.collection.CollUtil;
 import cn.hutool.core.util.StrUtil;
 import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
 import com.baomidou.mybatisplus.extension.service.impl.ServiceImpl;
-import com.hngy.siae.api.media.client.MediaFeignClient;
-import com.hngy.siae.api.media.dto.request.BatchUrlDTO;
-import com.hngy.siae.api.media.dto.response.BatchUrlVO;
-import com.hngy.siae.api.user.client.UserFeignClient;
+import com.hngy.siae.api.media.loader.MediaUrlLoader;
 import com.hngy.siae.api.user.dto.response.UserProfileSimpleVO;
+import com.hngy.siae.api.user.loader.UserProfileLoader;
 import com.hngy.siae.core.asserts.AssertUtils;
 import com.hngy.siae.core.dto.PageDTO;
 import com.hngy.siae.core.dto.PageVO;
@@ -57,8 +55,8 @@ public class FavoriteServiceImpl
     private final ContentService contentService;
     private final ContentMapper contentMapper;
     private final StatisticsService statisticsService;
-    private final UserFeignClient userFeignClient;
-    private final MediaFeignClient mediaFeignClient;
+    private final UserProfileLoader userProfileLoader;
+    private final MediaUrlLoader mediaUrlLoader;
 
     @Override
     @Transactional(rollbackFor = Exception.class)
@@ -433,7 +431,7 @@ public class FavoriteServiceImpl
             }
 
             // 批量查询用户信息
-            Map<Long, UserProfileSimpleVO> userMap = userFeignClient.batchGetUserProfiles(userIds);
+            Map<Long, UserProfileSimpleVO> userMap = userProfileLoader.getAll(userIds);
 
             if (userMap != null && !userMap.isEmpty()) {
                 // 填充昵称和头像
@@ -471,14 +469,9 @@ public class FavoriteServiceImpl
             }
 
             // 批量获取文件URL
-            BatchUrlDTO request = new BatchUrlDTO();
-            request.setFileIds(coverFileIds);
-            request.setExpirySeconds(86400); // 24小时过期
+            Map<String, String> urlMap = mediaUrlLoader.getUrls(coverFileIds);
 
-            BatchUrlVO response = mediaFeignClient.batchGetFileUrls(request);
-
-            if (response != null && response.getUrls() != null && !response.getUrls().isEmpty()) {
-                Map<String, String> urlMap = response.getUrls();
+            if (!urlMap.isEmpty()) {
                 // 填充封面URL
                 items.forEach(item -> {
                     String coverFileId = item.getCoverFileId();
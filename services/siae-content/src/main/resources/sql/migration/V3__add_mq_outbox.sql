@@ -0,0 +1,20 @@
+-- ========================================
+-- 消息发件箱表迁移
+-- 评论、审核等通知改为与业务数据同事务写入发件箱
+-- ========================================
+
+USE content_db;
+
+-- 消息发件箱表（与业务数据同事务写入，由 siae-messaging-starter 的投递线程发往 RabbitMQ）
+CREATE TABLE IF NOT EXISTS siae_mq_outbox (
+  id BIGINT UNSIGNED AUTO_INCREMENT PRIMARY KEY COMMENT '主键，决定投递顺序',
+  aggregate_key VARCHAR(128) NOT NULL DEFAULT '' COMMENT '聚合键，同键消息按写入顺序投递，空表示不要求顺序',
+  exchange VARCHAR(255) NOT NULL DEFAULT '' COMMENT '目标交换机',
+  routing_key VARCHAR(255) NOT NULL DEFAULT '' COMMENT '路由键',
+  payload_type VARCHAR(255) NOT NULL COMMENT '消息体类名',
+  payload MEDIUMTEXT NOT NULL COMMENT '消息体JSON',
+  headers TEXT COMMENT '消息头JSON（messageId、traceId等）',
+  attempts INT NOT NULL DEFAULT 0 COMMENT '失败次数，达到上限后停止投递',
+  last_error VARCHAR(500) DEFAULT NULL COMMENT '最近一次失败原因',
+  created_at DATETIME(3) NOT NULL DEFAULT CURRENT_TIMESTAMP(3) COMMENT '写入时间'
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci COMMENT='消息发件箱表';
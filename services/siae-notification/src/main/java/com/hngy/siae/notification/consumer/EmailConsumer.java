@@ -4,12 +4,17 @@ import com.hngy.siae.messaging.annotation.DeclareQueue;
 import com.hngy.siae.messaging.annotation.ExchangeType;
 import com.hngy.siae.messaging.event.EmailMessage;
 import com.hngy.siae.messaging.event.MessagingConstants;
+import com.hngy.siae.messaging.consumer.BatchAcknowledger;
 import com.hngy.siae.messaging.consumer.SiaeRabbitListener;
 import com.hngy.siae.notification.service.EmailLogService;
+import com.rabbitmq.client.Channel;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.messaging.Message;
 import org.springframework.stereotype.Component;
 
+import java.util.List;
+
 /**
  * 邮件消息消费者
  *
@@ -29,14 +34,24 @@ public class EmailConsumer {
     private final EmailLogService emailLogService;
 
     /**
-     * 消费邮件消息
+     * 批量消费邮件消息，整批复用同一个 SMTP 连接发送
+     * <p>
+     * 发送失败的邮件单独拒绝（进入死信队列）；整批全部失败时抛出异常，按消费者重试配置整批重试，
+     * 最后一次尝试仍全部失败时记录失败日志并逐条拒绝
      */
-    @SiaeRabbitListener(queues = MessagingConstants.EMAIL_QUEUE)
-    public void handleEmail(EmailMessage message) {
-        log.info("收到邮件消息: recipient={}, subject={}", 
-                message.getRecipient(), message.getSubject());
-        
+    @SiaeRabbitListener(queues = MessagingConstants.EMAIL_QUEUE, batchSize = 50, batchMaxWait = 500)
+    public void handleEmails(List<Message<EmailMessage>> messages, Channel channel) {
+        log.info("收到邮件消息: count={}", messages.size());
+
         // 委托给 Service 处理
-        emailLogService.handleEmailMessage(message);
+        List<Boolean> results = emailLogService.handleEmailMessages(
+                messages.stream().map(Message::getPayload).toList(), BatchAcknowledger.isFinalAttempt());
+        for (int i = 0; i < messages.size(); i++) {
+            if (results.get(i)) {
+                BatchAcknowledger.ack(channel, messages.get(i));
+            } else {
+                BatchAcknowledger.reject(channel, messages.get(i));
+            }
+        }
     }
 }
@@ -4,14 +4,20 @@ import com.hngy.siae.messaging.annotation.DeclareQueue;
 import com.hngy.siae.messaging.annotation.ExchangeType;
 import com.hngy.siae.messaging.event.MessagingConstants;
 import com.hngy.siae.messaging.event.NotificationMessage;
+import com.hngy.siae.messaging.consumer.BatchAcknowledger;
 import com.hngy.siae.messaging.consumer.SiaeRabbitListener;
 import com.hngy.siae.notification.dto.request.NotificationCreateDTO;
 import com.hngy.siae.notification.enums.NotificationType;
 import com.hngy.siae.notification.service.NotificationService;
+import com.rabbitmq.client.Channel;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.messaging.Message;
 import org.springframework.stereotype.Component;
 
+import java.util.ArrayList;
+import java.util.List;
+
 /**
  * 站内通知消息消费者
  *
@@ -31,34 +37,74 @@ public class NotificationConsumer {
     private final NotificationService notificationService;
 
     /**
-     * 消费站内通知消息
+     * 批量消费站内通知消息
+     * <p>
+     * 整批在一个事务内批量写入；批量写入失败时逐条写入，只拒绝写入失败的消息（进入死信队列）
      */
-    @SiaeRabbitListener(queues = MessagingConstants.NOTIFICATION_QUEUE)
-    public void handleNotification(NotificationMessage message) {
-        log.info("收到站内通知消息: userId={}, type={}, title={}", 
-                message.getUserId(), message.getType(), message.getTitle());
+    @SiaeRabbitListener(queues = MessagingConstants.NOTIFICATION_QUEUE, batchSize = 100, batchMaxWait = 500)
+    public void handleNotifications(List<Message<NotificationMessage>> messages, Channel channel) {
+        log.info("收到站内通知消息: count={}", messages.size());
 
-        try {
-            // 转换为 DTO
-            NotificationCreateDTO dto = new NotificationCreateDTO();
-            dto.setUserId(message.getUserId());
-            dto.setType(NotificationType.fromCode(message.getType()));
-            dto.setTitle(message.getTitle());
-            dto.setContent(message.getContent());
-            
-            // 直接存储相对路径，前端会自动拼接当前域名
-            dto.setLinkUrl(message.getLinkUrl());
+        List<Message<NotificationMessage>> accepted = new ArrayList<>(messages.size());
+        List<NotificationCreateDTO> dtos = new ArrayList<>(messages.size());
+        for (Message<NotificationMessage> message : messages) {
+            try {
+                dtos.add(toCreateDTO(message.getPayload()));
+                accepted.add(message);
+            } catch (Exception e) {
+                log.error("站内通知消息无法解析: userId={}, title={}",
+                        message.getPayload().getUserId(), message.getPayload().getTitle(), e);
+                BatchAcknowledger.reject(channel, message);
+            }
+        }
+        if (accepted.isEmpty()) {
+            return;
+        }
 
+        boolean batchSaved;
+        try {
             // 发送通知（保存到数据库 + SSE推送）
-            Long notificationId = notificationService.sendNotification(dto);
-
-            log.info("站内通知发送成功: notificationId={}, userId={}, linkUrl={}", 
-                    notificationId, message.getUserId(), message.getLinkUrl());
-
+            notificationService.sendNotifications(dtos);
+            batchSaved = true;
         } catch (Exception e) {
-            log.error("处理站内通知消息失败: userId={}, title={}", 
-                    message.getUserId(), message.getTitle(), e);
-            throw e; // 抛出异常触发重试
+            log.warn("站内通知批量写入失败，改为逐条写入: count={}", accepted.size(), e);
+            batchSaved = false;
         }
+        // 确认放在写入的 try 之外：确认失败不能触发逐条重写，否则已写入的通知会重复
+        if (batchSaved) {
+            accepted.forEach(message -> BatchAcknowledger.ack(channel, message));
+            log.info("站内通知批量发送成功: count={}", accepted.size());
+            return;
+        }
+
+        for (int i = 0; i < accepted.size(); i++) {
+            Message<NotificationMessage> message = accepted.get(i);
+            boolean saved;
+            try {
+                notificationService.sendNotification(dtos.get(i));
+                saved = true;
+            } catch (Exception ex) {
+                log.error("处理站内通知消息失败: userId={}, title={}",
+                        message.getPayload().getUserId(), message.getPayload().getTitle(), ex);
+                saved = false;
+            }
+            if (saved) {
+                BatchAcknowledger.ack(channel, message);
+            } else {
+                BatchAcknowledger.reject(channel, message);
+            }
+        }
+    }
+
+    private NotificationCreateDTO toCreateDTO(NotificationMessage message) {
+        NotificationCreateDTO dto = new NotificationCreateDTO();
+        dto.setUserId(message.getUserId());
+        dto.setType(NotificationType.fromCode(message.getType()));
+        dto.setTitle(message.getTitle());
+        dto.setContent(message.getContent());
+
+        // 直接存储相对路径，前端会自动拼接当前域名
+        dto.setLinkUrl(message.getLinkUrl());
+        return dto;
     }
 }
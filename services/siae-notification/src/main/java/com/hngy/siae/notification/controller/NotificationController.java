@@ -4,6 +4,7 @@ import cn.hutool.core.util.StrUtil;
 import com.hngy.siae.core.dto.PageVO;
 import com.hngy.siae.core.result.Result;
 import com.hngy.siae.notification.dto.request.NotificationCreateDTO;
+import com.hngy.siae.core.utils.JwtClaims;
 import com.hngy.siae.core.utils.JwtUtils;
 import com.hngy.siae.notification.dto.request.NotificationBroadcastDTO;
 import com.hngy.siae.notification.dto.response.NotificationVO;
@@ -63,8 +64,9 @@ public class NotificationController {
         // 其次从 token query parameter 获取（EventSource 直连）
         else if (StrUtil.isNotBlank(token)) {
             try {
-                if (jwtUtils.validateToken(token)) {
-                    userId = jwtUtils.getUserIdFromToken(token);
+                JwtClaims claims = jwtUtils.tryParse(token);
+                if (claims != null) {
+                    userId = claims.userId();
                     log.info("SSE stream auth from token param: userId={}", userId);
                 } else {
                     log.warn("SSE stream request with invalid token");
@@ -110,15 +112,19 @@ public class NotificationController {
         return Result.success(count);
     }
 
-    @Operation(summary = "获取我的通知列表", description = "分页获取当前用户的通知列表")
+    @Operation(summary = "获取我的通知列表",
+            description = "分页获取当前用户的通知列表；携带 cursor 参数（首页传空串）时按游标分页，响应中的 nextCursor 用于请求下一页")
     @GetMapping("/my")
     public Result<PageVO<NotificationVO>> getMyNotifications(
             @Parameter(description = "页码") @RequestParam(defaultValue = "1") Integer page,
             @Parameter(description = "每页数量") @RequestParam(defaultValue = "10") Integer size,
             @Parameter(description = "是否已读") @RequestParam(required = false) Boolean isRead,
+            @Parameter(description = "游标") @RequestParam(required = false) String cursor,
             Authentication authentication) {
         Long userId = getUserIdFromAuth(authentication);
-        PageVO<NotificationVO> result = notificationService.getUserNotifications(userId, page, size, isRead);
+        PageVO<NotificationVO> result = cursor != null
+                ? notificationService.getUserNotifications(userId, cursor, size, isRead)
+                : notificationService.getUserNotifications(userId, page, size, isRead);
         return Result.success(result);
     }
 
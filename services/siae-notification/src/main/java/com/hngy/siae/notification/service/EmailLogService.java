@@ -4,6 +4,8 @@ import com.baomidou.mybatisplus.extension.service.IService;
 import com.hngy.siae.messaging.event.EmailMessage;
 import com.hngy.siae.notification.entity.EmailLog;
 
+import java.util.List;
+
 /**
  * 邮件日志服务接口
  *
@@ -17,4 +19,15 @@ public interface EmailLogService extends IService<EmailLog> {
      * @param message 邮件消息
      */
     void handleEmailMessage(EmailMessage message);
+
+    /**
+     * 批量处理邮件消息：复用同一个 SMTP 连接发送，并批量记录日志。
+     * 全部发送失败且不是最后一次尝试时不记录日志并抛出异常，以便消息队列整批重试；
+     * 其余情况下每封邮件的结果已确定，一次写入全部日志；邮件已发出，日志写入失败只记录错误不抛出。
+     *
+     * @param messages 邮件消息
+     * @param finalAttempt 是否为消费重试的最后一次尝试
+     * @return 按入参顺序返回每封邮件是否发送成功
+     */
+    List<Boolean> handleEmailMessages(List<EmailMessage> messages, boolean finalAttempt);
 }
@@ -7,6 +7,8 @@ import com.hngy.siae.notification.dto.request.NotificationBroadcastDTO;
 import com.hngy.siae.notification.dto.response.NotificationVO;
 import com.hngy.siae.notification.entity.SystemNotification;
 
+import java.util.List;
+
 /**
  * 通知服务接口
  *
@@ -19,11 +21,25 @@ public interface NotificationService extends IService<SystemNotification> {
      */
     Long sendNotification(NotificationCreateDTO dto);
 
+    /**
+     * 批量发送系统通知，在同一事务内批量写入
+     *
+     * @return 按入参顺序返回的通知ID
+     */
+    List<Long> sendNotifications(List<NotificationCreateDTO> dtos);
+
     /**
      * 获取用户通知列表
      */
     PageVO<NotificationVO> getUserNotifications(Long userId, Integer page, Integer size, Boolean isRead);
 
+    /**
+     * 按游标获取用户通知列表（键集分页，不统计总数）
+     *
+     * @param cursor 上一页返回的游标，为空表示第一页
+     */
+    PageVO<NotificationVO> getUserNotifications(Long userId, String cursor, Integer size, Boolean isRead);
+
     /**
      * 标记通知为已读
      */
@@ -9,12 +9,18 @@ import com.hngy.siae.notification.service.EmailLogService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
 import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.mail.javamail.MimeMessageHelper;
 import org.springframework.stereotype.Service;
 
 import jakarta.mail.internet.MimeMessage;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
 
 /**
  * 邮件日志服务实现类
@@ -68,10 +74,86 @@ public class EmailLogServiceImpl extends ServiceImpl<EmailLogMapper, EmailLog> i
         }
     }
 
+    @Override
+    public List<Boolean> handleEmailMessages(List<EmailMessage> messages, boolean finalAttempt) {
+        log.info("开始批量处理邮件消息: count={}", messages.size());
+
+        List<EmailLog> emailLogs = new ArrayList<>(messages.size());
+        List<MimeMessage> mimeMessages = new ArrayList<>(messages.size());
+        Map<MimeMessage, EmailLog> logByMimeMessage = new IdentityHashMap<>(messages.size());
+        for (EmailMessage message : messages) {
+            EmailLog emailLog = new EmailLog();
+            emailLog.setRecipient(message.getRecipient());
+            emailLog.setSubject(message.getSubject());
+            emailLog.setContent(message.getContent());
+            emailLog.setStatus(SendStatus.PENDING);
+            emailLogs.add(emailLog);
+            try {
+                MimeMessage mimeMessage = buildMimeMessage(message);
+                mimeMessages.add(mimeMessage);
+                logByMimeMessage.put(mimeMessage, emailLog);
+            } catch (Exception e) {
+                markFailed(emailLog, e);
+            }
+        }
+
+        Map<Object, Exception> failedMessages = Map.of();
+        if (!mimeMessages.isEmpty()) {
+            try {
+                // 一次调用内复用同一个 SMTP 连接
+                mailSender.send(mimeMessages.toArray(new MimeMessage[0]));
+            } catch (MailSendException e) {
+                failedMessages = e.getFailedMessages();
+                if (failedMessages.isEmpty()) {
+                    mimeMessages.forEach(mimeMessage -> markFailed(logByMimeMessage.get(mimeMessage), e));
+                }
+            } catch (MailException e) {
+                mimeMessages.forEach(mimeMessage -> markFailed(logByMimeMessage.get(mimeMessage), e));
+            }
+        }
+        LocalDateTime sendTime = LocalDateTime.now();
+        for (MimeMessage mimeMessage : mimeMessages) {
+            EmailLog emailLog = logByMimeMessage.get(mimeMessage);
+            Exception failure = failedMessages.get(mimeMessage);
+            if (failure != null) {
+                markFailed(emailLog, failure);
+            } else if (emailLog.getStatus() == SendStatus.PENDING) {
+                emailLog.setStatus(SendStatus.SUCCESS);
+                emailLog.setSendTime(sendTime);
+            }
+        }
+        List<Boolean> results = emailLogs.stream().map(emailLog -> emailLog.getStatus() == SendStatus.SUCCESS).toList();
+        long successCount = results.stream().filter(Boolean::booleanValue).count();
+        log.info("批量邮件发送完成: success={}/{}", successCount, messages.size());
+        if (successCount == 0 && !messages.isEmpty() && !finalAttempt) {
+            // 结果未定，不记录日志，抛出异常触发消息队列重试，避免每次重试都写入一批失败日志
+            throw new RuntimeException("批量邮件发送全部失败: count=" + messages.size());
+        }
+
+        // 成功的邮件与被拒绝进入死信队列的邮件结果均已确定
+        try {
+            this.saveBatch(emailLogs);
+        } catch (Exception e) {
+            // 邮件已经发出，日志写入失败不能抛出，否则整批重试会重复发送
+            log.error("批量邮件日志保存失败: count={}, success={}", emailLogs.size(), successCount, e);
+        }
+        return results;
+    }
+
+    private void markFailed(EmailLog emailLog, Exception e) {
+        emailLog.setStatus(SendStatus.FAILED);
+        emailLog.setErrorMsg(e.getMessage());
+        log.error("邮件发送失败: recipient={}, error={}", emailLog.getRecipient(), e.getMessage());
+    }
+
     /**
      * 发送邮件
      */
     private void sendEmail(EmailMessage message) throws Exception {
+        mailSender.send(buildMimeMessage(message));
+    }
+
+    private MimeMessage buildMimeMessage(EmailMessage message) throws Exception {
         MimeMessage mimeMessage = mailSender.createMimeMessage();
         MimeMessageHelper helper = new MimeMessageHelper(mimeMessage, true, "UTF-8");
         
@@ -81,7 +163,6 @@ public class EmailLogServiceImpl extends ServiceImpl<EmailLogMapper, EmailLog> i
         
         // 支持HTML格式
         helper.setText(message.getContent(), true);
-        
-        mailSender.send(mimeMessage);
+        return mimeMessage;
     }
 }
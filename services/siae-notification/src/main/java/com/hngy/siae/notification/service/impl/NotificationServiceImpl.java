@@ -8,6 +8,7 @@ import com.hngy.siae.core.dto.PageVO;
 import com.hngy.siae.core.asserts.AssertUtils;
 import com.hngy.siae.core.utils.BeanConvertUtil;
 import com.hngy.siae.notification.events.NotificationCreatedEvent;
+import com.hngy.siae.core.utils.KeysetPageUtil;
 import com.hngy.siae.core.utils.PageConvertUtil;
 import com.hngy.siae.api.user.client.UserFeignClient;
 import com.hngy.siae.notification.dto.request.NotificationBroadcastDTO;
@@ -50,6 +51,19 @@ public class NotificationServiceImpl extends ServiceImpl<SystemNotificationMappe
         return notification.getId();
     }
 
+    @Override
+    @Transactional(rollbackFor = Exception.class)
+    public List<Long> sendNotifications(List<NotificationCreateDTO> dtos) {
+        List<SystemNotification> notifications = BeanConvertUtil.toList(dtos, SystemNotification.class);
+        notifications.forEach(notification -> notification.setIsRead(false));
+        saveBatch(notifications);
+        log.info("批量发送通知成功 - 数量: {}", notifications.size());
+
+        // 与单条发送一致，事务提交后逐条推送
+        notifications.forEach(notification -> publisher.publishEvent(new NotificationCreatedEvent(notification)));
+        return notifications.stream().map(SystemNotification::getId).toList();
+    }
+
     @Override
     public PageVO<NotificationVO> getUserNotifications(Long userId, Integer page, Integer size, Boolean isRead) {
         LambdaQueryWrapper<SystemNotification> wrapper = new LambdaQueryWrapper<>();
@@ -65,6 +79,20 @@ public class NotificationServiceImpl extends ServiceImpl<SystemNotificationMappe
         return PageConvertUtil.convert(pageResult, NotificationVO.class);
     }
 
+    @Override
+    public PageVO<NotificationVO> getUserNotifications(Long userId, String cursor, Integer size, Boolean isRead) {
+        LambdaQueryWrapper<SystemNotification> wrapper = new LambdaQueryWrapper<>();
+        wrapper.eq(SystemNotification::getUserId, userId);
+
+        if (isRead != null) {
+            wrapper.eq(SystemNotification::getIsRead, isRead);
+        }
+
+        KeysetPageUtil.seek(wrapper, cursor, size, SystemNotification::getCreatedAt, SystemNotification::getId, true);
+        return KeysetPageUtil.build(list(wrapper), size,
+                SystemNotification::getCreatedAt, SystemNotification::getId, NotificationVO.class);
+    }
+
     @Override
     @Transactional(rollbackFor = Exception.class)
     public void markAsRead(Long notificationId, Long userId) {
@@ -0,0 +1,37 @@
+package com.hngy.siae.user.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * 用户资料投影缓存配置属性
+ * 缓存 {@code batchGetUserProfiles} 组装好的用户资料（用户名、昵称、头像及头像访问链接），用户或头像变更时剔除
+ *
+ * @author KEYKB
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "siae.user.profile-projection")
+public class UserProfileProjectionProperties {
+
+    /**
+     * 是否启用用户资料投影缓存
+     */
+    private boolean enabled = true;
+
+    /**
+     * 缓存键前缀，完整键为 {@code <prefix><userId>}
+     */
+    private String keyPrefix = "siae:user:profile:";
+
+    /**
+     * 版本号键前缀，完整键为 {@code <prefix><userId>}，每次剔除递增，回写时校验
+     */
+    private String versionKeyPrefix = "siae:user:profile-version:";
+
+    /**
+     * 缓存过期时间（秒），须明显小于头像访问链接的有效期（24 小时）
+     */
+    private long expiration = 3600;
+}
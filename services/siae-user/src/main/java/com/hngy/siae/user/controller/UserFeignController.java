@@ -122,6 +122,19 @@ public class UserFeignController {
         return Result.success(userService.batchGetUserProfiles(userIds));
     }
 
+    /**
+     * 批量查询用户信息（请求体传参）
+     *
+     * @param userIds 用户ID列表
+     * @return 用户ID -> 用户信息的映射
+     */
+    @PostMapping("/batch")
+    @Operation(summary = "批量查询用户信息（请求体传参）", description = "根据请求体中的用户ID列表批量查询用户基本信息和昵称，适用于大批量查询")
+    public Result<java.util.Map<Long, UserProfileSimpleVO>> batchQueryUserProfiles(
+            @Parameter(description = "用户ID列表") @RequestBody java.util.List<Long> userIds) {
+        return Result.success(userService.batchGetUserProfiles(userIds));
+    }
+
     /**
      * 获取所有用户ID列表（用于广播通知）
      *
@@ -0,0 +1,52 @@
+package com.hngy.siae.user.service;
+
+import com.hngy.siae.api.user.dto.response.UserProfileSimpleVO;
+
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * 用户资料缓存服务接口
+ * <p>
+ * 维护 Redis 中的用户资料投影缓存（批量查询一次 MGET），并在用户基本信息、昵称或头像变更时
+ * 剔除投影缓存、通知各调用方剔除用户资料近端缓存。
+ *
+ * @author KEYKB
+ */
+public interface UserProfileCacheService {
+
+    /**
+     * 批量读取用户资料投影
+     *
+     * @param userIds 用户ID集合
+     * @return 命中的用户ID -> 用户资料映射，不包含未命中的用户；Redis 不可用时返回空映射
+     */
+    Map<Long, UserProfileSimpleVO> getProfiles(Collection<Long> userIds);
+
+    /**
+     * 批量读取用户资料投影的版本号，须在查库组装之前调用
+     *
+     * @param userIds 用户ID集合
+     * @return 用户ID -> 版本号映射（从未剔除过的用户为空字符串）；Redis 不可用时返回 null
+     */
+    Map<Long, String> getVersions(Collection<Long> userIds);
+
+    /**
+     * 批量写入用户资料投影
+     * <p>
+     * 只写入版本号仍与查库前读取的一致的用户，组装期间被剔除过的用户不回写，避免旧数据覆盖提交后的剔除
+     *
+     * @param profiles 组装好的用户资料
+     * @param versions 查库前由 {@link #getVersions} 读取的版本号
+     */
+    void putProfiles(Collection<UserProfileSimpleVO> profiles, Map<Long, String> versions);
+
+    /**
+     * 剔除用户资料投影、递增版本号并广播失效消息
+     * <p>
+     * 处于事务中时在事务提交后执行，避免在提交前被并发查询重新加载到旧数据
+     *
+     * @param userId 用户ID
+     */
+    void evict(Long userId);
+}
@@ -175,6 +175,8 @@ public interface UserService extends IService<User> {
 
     /**
      * 批量查询用户简要信息
+     * <p>
+     * 先批量读取用户资料投影缓存，只对未命中的用户查库并批量获取头像链接，组装结果写回缓存
      *
      * @param userIds 用户ID列表
      * @return 用户ID -> 用户简要信息的映射
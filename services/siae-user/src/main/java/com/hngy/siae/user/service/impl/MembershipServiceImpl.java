@@ -19,8 +19,7 @@ import com.hngy.siae.user.entity.MemberPosition;
 import com.hngy.siae.user.entity.Membership;
 import com.hngy.siae.user.enums.LifecycleStatusEnum;
 import com.hngy.siae.api.media.client.MediaFeignClient;
-import com.hngy.siae.api.media.dto.request.BatchUrlDTO;
-import com.hngy.siae.api.media.dto.response.BatchUrlVO;
+import com.hngy.siae.api.media.loader.MediaUrlLoader;
 import com.hngy.siae.user.mapper.MemberDepartmentMapper;
 import com.hngy.siae.user.mapper.MemberPositionMapper;
 import com.hngy.siae.user.mapper.MembershipMapper;
@@ -54,6 +53,7 @@ public class MembershipServiceImpl
     private final MemberDepartmentMapper memberDepartmentMapper;
     private final MemberPositionMapper memberPositionMapper;
     private final MediaFeignClient mediaFeignClient;
+    private final MediaUrlLoader mediaUrlLoader;
 
     @Override
     @Transactional(rollbackFor = Exception.class)
@@ -451,18 +451,8 @@ public class MembershipServiceImpl
         }
 
         try {
-            BatchUrlDTO request = new BatchUrlDTO();
-            request.setFileIds(fileIds);
-            request.setExpirySeconds(86400); // 24小时
-
-            BatchUrlVO result = mediaFeignClient.batchGetFileUrls(request);
-            
-            if (result != null && result.getUrls() != null) {
-                return result.getUrls();
-            } else {
-                log.warn("Media service returned empty result");
-                return Collections.emptyMap();
-            }
+            // 按分片上限拆分后并行获取，24小时过期
+            return mediaUrlLoader.getUrls(fileIds);
         } catch (Exception e) {
             log.error("Failed to call media service for batch URLs", e);
             return Collections.emptyMap();
@@ -1,8 +1,6 @@
 package com.hngy.siae.user.service.impl;
 
-import com.hngy.siae.api.media.client.MediaFeignClient;
-import com.hngy.siae.api.media.dto.request.BatchUrlDTO;
-import com.hngy.siae.api.media.dto.response.BatchUrlVO;
+import com.hngy.siae.api.media.loader.MediaUrlLoader;
 import com.hngy.siae.user.dto.response.statistics.*;
 import com.hngy.siae.user.mapper.StatisticsMapper;
 import com.hngy.siae.user.service.StatisticsService;
@@ -26,7 +24,7 @@ import java.util.stream.Collectors;
 public class StatisticsServiceImpl implements StatisticsService {
 
     private final StatisticsMapper statisticsMapper;
-    private final MediaFeignClient mediaFeignClient;
+    private final MediaUrlLoader mediaUrlLoader;
 
     @Override
     public MemberOverviewVO getMemberOverview() {
@@ -117,16 +115,10 @@ public class StatisticsServiceImpl implements StatisticsService {
         
         if (!fileIds.isEmpty()) {
             try {
-                // 批量获取文件URL
-                BatchUrlDTO request = new BatchUrlDTO();
-                request.setFileIds(fileIds);
-                request.setExpirySeconds(86400); // 24小时过期
+                // 批量获取文件URL（24小时过期）
+                Map<String, String> urlMap = mediaUrlLoader.getUrls(fileIds);
                 
-                BatchUrlVO result = mediaFeignClient.batchGetFileUrls(request);
-                
-                if (result != null && result.getUrls() != null) {
-                    Map<String, String> urlMap = result.getUrls();
-                    
+                if (!urlMap.isEmpty()) {
                     // 将文件ID替换为实际的URL
                     ranking.forEach(rank -> {
                         String fileId = rank.getAvatarUrl();
@@ -13,9 +13,7 @@ import com.hngy.siae.user.dto.request.UserAwardUpdateDTO;
 import com.hngy.siae.user.dto.response.UserAwardVO;
 import com.hngy.siae.user.dto.response.UserVO;
 import com.hngy.siae.user.entity.UserAward;
-import com.hngy.siae.api.media.client.MediaFeignClient;
-import com.hngy.siae.api.media.dto.request.BatchUrlDTO;
-import com.hngy.siae.api.media.dto.response.BatchUrlVO;
+import com.hngy.siae.api.media.loader.MediaUrlLoader;
 import com.hngy.siae.user.mapper.UserAwardMapper;
 import com.hngy.siae.user.service.AwardLevelService;
 import com.hngy.siae.user.service.AwardTypeService;
@@ -49,7 +47,7 @@ public class UserAwardServiceImpl
     private final UserService userService;
     private final AwardTypeService awardTypeService;
     private final AwardLevelService awardLevelService;
-    private final MediaFeignClient mediaFeignClient;
+    private final MediaUrlLoader mediaUrlLoader;
 
     /**
      * 创建用户获奖记录
@@ -154,14 +152,7 @@ public class UserAwardServiceImpl
                     Map<String, String> urlMap = new java.util.HashMap<>();
                     if (!fileIdsToFetch.isEmpty()) {
                         try {
-                            BatchUrlDTO request = new BatchUrlDTO();
-                            request.setFileIds(fileIdsToFetch);
-                            request.setExpirySeconds(86400); // 24小时
-                            BatchUrlVO urlResult = mediaFeignClient.batchGetFileUrls(request);
-                            
-                            if (urlResult != null && urlResult.getUrls() != null) {
-                                urlMap = urlResult.getUrls();
-                            }
+                            urlMap = mediaUrlLoader.getUrls(fileIdsToFetch);
                         } catch (Exception e) {
                             log.warn("批量获取文件URL失败: {}", e.getMessage());
                         }
@@ -202,14 +193,8 @@ public class UserAwardServiceImpl
             // 即使没有团队成员，也要获取证书URL
             if (StrUtil.isNotBlank(vo.getCertificateFileId())) {
                 try {
-                    BatchUrlDTO request = new BatchUrlDTO();
-                    request.setFileIds(List.of(vo.getCertificateFileId()));
-                    request.setExpirySeconds(86400);
-                    BatchUrlVO urlResult = mediaFeignClient.batchGetFileUrls(request);
-                    
-                    if (urlResult != null && urlResult.getUrls() != null) {
-                        vo.setCertificateUrl(urlResult.getUrls().get(vo.getCertificateFileId()));
-                    }
+                    vo.setCertificateUrl(mediaUrlLoader.getUrls(List.of(vo.getCertificateFileId()))
+                            .get(vo.getCertificateFileId()));
                 } catch (Exception e) {
                     log.warn("获取证书URL失败: {}", e.getMessage());
                 }
@@ -307,14 +292,7 @@ public class UserAwardServiceImpl
         Map<String, String> urlMap = new java.util.HashMap<>();
         if (!allFileIds.isEmpty()) {
             try {
-                BatchUrlDTO request = new BatchUrlDTO();
-                request.setFileIds(allFileIds);
-                request.setExpirySeconds(86400); // 24小时
-                BatchUrlVO urlResult = mediaFeignClient.batchGetFileUrls(request);
-                
-                if (urlResult != null && urlResult.getUrls() != null) {
-                    urlMap = urlResult.getUrls();
-                }
+                urlMap = mediaUrlLoader.getUrls(allFileIds);
             } catch (Exception e) {
                 log.warn("批量获取文件URL失败: {}", e.getMessage());
             }
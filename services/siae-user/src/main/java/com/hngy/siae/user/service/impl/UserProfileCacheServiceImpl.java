@@ -0,0 +1,204 @@
+package com.hngy.siae.user.service.impl;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hngy.siae.api.user.config.UserProfileCacheProperties;
+import com.hngy.siae.api.user.dto.response.UserProfileSimpleVO;
+import com.hngy.siae.user.config.UserProfileProjectionProperties;
+import com.hngy.siae.user.service.UserProfileCacheService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.RedisOperations;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 用户资料缓存服务实现类
+ * <p>
+ * 投影缓存每个用户一个 JSON 字符串键，批量读取为一次 MGET，批量写入为一次 Lua 脚本。
+ * 每个用户另有一个版本号键，失效时先递增版本号并删除投影键，再通过 Redis 发布订阅向
+ * {@link UserProfileCacheProperties#getInvalidationChannel()} 广播用户ID，各服务的用户资料近端缓存收到后剔除对应条目。
+ * 回写脚本只在版本号与查库前读取的一致时写入，查库期间提交的修改不会被旧数据覆盖。缓存读写失败只记录日志，不影响查询。
+ *
+ * @author KEYKB
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class UserProfileCacheServiceImpl implements UserProfileCacheService {
+
+    /**
+     * 条件回写脚本：KEYS 依次为投影键、版本号键，ARGV[1] 为过期秒数，其后依次为期望版本号、投影值
+     */
+    private static final DefaultRedisScript<Long> PUT_IF_VERSION_SCRIPT = new DefaultRedisScript<>(
+            "local written = 0\n" +
+            "for i = 1, #KEYS, 2 do\n" +
+            "  local current = redis.call('GET', KEYS[i + 1]) or ''\n" +
+            "  if current == ARGV[i + 1] then\n" +
+            "    redis.call('SET', KEYS[i], ARGV[i + 2], 'EX', ARGV[1])\n" +
+            "    written = written + 1\n" +
+            "  end\n" +
+            "end\n" +
+            "return written", Long.class);
+
+    private final StringRedisTemplate stringRedisTemplate;
+    private final ObjectMapper objectMapper;
+    private final UserProfileCacheProperties properties;
+    private final UserProfileProjectionProperties projectionProperties;
+
+    @Override
+    public Map<Long, UserProfileSimpleVO> getProfiles(Collection<Long> userIds) {
+        if (!projectionProperties.isEnabled() || userIds == null || userIds.isEmpty()) {
+            return new HashMap<>();
+        }
+        List<Long> ids = userIds.stream().filter(Objects::nonNull).distinct().toList();
+        List<String> keys = ids.stream().map(this::buildKey).toList();
+
+        List<String> values;
+        try {
+            values = stringRedisTemplate.opsForValue().multiGet(keys);
+        } catch (Exception e) {
+            log.warn("读取用户资料缓存失败, size={}: {}", keys.size(), e.getMessage());
+            return new HashMap<>();
+        }
+        if (values == null) {
+            return new HashMap<>();
+        }
+
+        Map<Long, UserProfileSimpleVO> result = new LinkedHashMap<>();
+        for (int i = 0; i < ids.size(); i++) {
+            String value = values.get(i);
+            if (value == null) {
+                continue;
+            }
+            try {
+                result.put(ids.get(i), objectMapper.readValue(value, UserProfileSimpleVO.class));
+            } catch (JsonProcessingException e) {
+                log.warn("用户资料缓存反序列化失败，用户ID: {}", ids.get(i));
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public Map<Long, String> getVersions(Collection<Long> userIds) {
+        if (!projectionProperties.isEnabled() || userIds == null || userIds.isEmpty()) {
+            return null;
+        }
+        List<Long> ids = userIds.stream().filter(Objects::nonNull).distinct().toList();
+        List<String> values;
+        try {
+            values = stringRedisTemplate.opsForValue().multiGet(ids.stream().map(this::buildVersionKey).toList());
+        } catch (Exception e) {
+            log.warn("读取用户资料缓存版本号失败, size={}: {}", ids.size(), e.getMessage());
+            return null;
+        }
+        if (values == null) {
+            return null;
+        }
+
+        Map<Long, String> versions = new HashMap<>();
+        for (int i = 0; i < ids.size(); i++) {
+            String value = values.get(i);
+            versions.put(ids.get(i), value != null ? value : "");
+        }
+        return versions;
+    }
+
+    @Override
+    public void putProfiles(Collection<UserProfileSimpleVO> profiles, Map<Long, String> versions) {
+        if (!projectionProperties.isEnabled() || profiles == null || profiles.isEmpty() || versions == null) {
+            return;
+        }
+        // 键与参数按用户成对排列，与脚本中的下标对应
+        List<String> keys = new ArrayList<>();
+        List<String> args = new ArrayList<>();
+        args.add(String.valueOf(projectionProperties.getExpiration()));
+        for (UserProfileSimpleVO profile : profiles) {
+            String version = versions.get(profile.getUserId());
+            if (version == null) {
+                continue;
+            }
+            try {
+                String value = objectMapper.writeValueAsString(profile);
+                keys.add(buildKey(profile.getUserId()));
+                keys.add(buildVersionKey(profile.getUserId()));
+                args.add(version);
+                args.add(value);
+            } catch (JsonProcessingException e) {
+                log.warn("用户资料缓存序列化失败，用户ID: {}", profile.getUserId());
+            }
+        }
+        if (keys.isEmpty()) {
+            return;
+        }
+
+        try {
+            Long written = stringRedisTemplate.execute(PUT_IF_VERSION_SCRIPT, keys, args.toArray());
+            if (written != null && written < keys.size() / 2) {
+                log.debug("用户资料在组装期间被修改，跳过回写 {} 条", keys.size() / 2 - written);
+            }
+        } catch (Exception e) {
+            log.warn("写入用户资料缓存失败, size={}: {}", keys.size() / 2, e.getMessage());
+        }
+    }
+
+    @Override
+    public void evict(Long userId) {
+        if (userId == null) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    doEvict(userId);
+                }
+            });
+        } else {
+            doEvict(userId);
+        }
+    }
+
+    private void doEvict(Long userId) {
+        long expiration = projectionProperties.getExpiration();
+        try {
+            // 先递增版本号再删除投影键，查库前读到旧版本号的并发查询不会再回写
+            stringRedisTemplate.executePipelined(new SessionCallback<Object>() {
+                @Override
+                @SuppressWarnings("unchecked")
+                public Object execute(RedisOperations operations) throws DataAccessException {
+                    operations.opsForValue().increment(buildVersionKey(userId));
+                    operations.expire(buildVersionKey(userId), expiration, TimeUnit.SECONDS);
+                    operations.delete(buildKey(userId));
+                    return null;
+                }
+            });
+            stringRedisTemplate.convertAndSend(properties.getInvalidationChannel(), String.valueOf(userId));
+        } catch (Exception e) {
+            log.warn("剔除用户资料缓存失败，用户ID: {}", userId, e);
+        }
+    }
+
+    private String buildKey(Long userId) {
+        return projectionProperties.getKeyPrefix() + userId;
+    }
+
+    private String buildVersionKey(Long userId) {
+        return projectionProperties.getVersionKeyPrefix() + userId;
+    }
+}
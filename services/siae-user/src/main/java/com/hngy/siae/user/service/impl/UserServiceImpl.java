@@ -5,8 +5,7 @@ import com.baomidou.mybatisplus.core.metadata.IPage;
 import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
 import com.baomidou.mybatisplus.extension.service.impl.ServiceImpl;
 import com.hngy.siae.api.media.client.MediaFeignClient;
-import com.hngy.siae.api.media.dto.request.BatchUrlDTO;
-import com.hngy.siae.api.media.dto.response.BatchUrlVO;
+import com.hngy.siae.api.media.loader.MediaUrlLoader;
 import com.hngy.siae.api.user.dto.response.UserFaceAuthVO;
 import com.hngy.siae.api.user.dto.response.UserProfileSimpleVO;
 import com.hngy.siae.core.asserts.AssertUtils;
@@ -33,6 +32,7 @@ import com.hngy.siae.user.mapper.MajorMapper;
 import com.hngy.siae.user.mapper.MembershipMapper;
 import com.hngy.siae.user.mapper.UserMapper;
 import com.hngy.siae.user.mapper.UserProfileMapper;
+import com.hngy.siae.user.service.UserProfileCacheService;
 import com.hngy.siae.user.service.UserService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -67,6 +67,8 @@ public class UserServiceImpl
     private final MajorMapper majorMapper;
     private final MembershipMapper membershipMapper;
     private final MediaFeignClient mediaFeignClient;
+    private final MediaUrlLoader mediaUrlLoader;
+    private final UserProfileCacheService userProfileCacheService;
 
     /**
      * 创建用户（一体化创建流程）
@@ -217,6 +219,9 @@ public class UserServiceImpl
             }
         }
 
+        // 通知调用方剔除用户资料缓存
+        userProfileCacheService.evict(user.getId());
+
         // 转换为视图对象并返回
         return BeanConvertUtil.to(user, UserVO.class);
     }
@@ -360,6 +365,8 @@ public class UserServiceImpl
             log.info("用户 {} 的成员记录已标记删除", id);
         }
 
+        userProfileCacheService.evict(id);
+
         // 使用 removeById 触发 MyBatis-Plus 的逻辑删除
         return removeById(id);
     }
@@ -475,6 +482,14 @@ public class UserServiceImpl
             return;
         }
 
+        // 优先使用用户资料投影缓存中的头像链接
+        UserProfileSimpleVO profile = batchGetUserProfiles(List.of(userVO.getId())).get(userVO.getId());
+        if (profile != null && userVO.getAvatarFileId().equals(profile.getAvatarFileId())
+                && profile.getAvatarUrl() != null) {
+            userVO.setAvatarUrl(profile.getAvatarUrl());
+            return;
+        }
+
         try {
             // 单个用户查询使用单个接口更简洁
             String url = mediaFeignClient.getFileUrl(userVO.getAvatarFileId(), 86400);
@@ -494,10 +509,30 @@ public class UserServiceImpl
             return;
         }
 
-        // 收集所有头像ID
-        List<String> avatarIds = users.stream()
+        // 优先使用用户资料投影缓存中的头像链接，头像不一致或缺少链接的再查媒体服务
+        List<Long> userIds = users.stream()
+                .filter(user -> StrUtil.isNotBlank(user.getAvatarFileId()))
+                .map(UserVO::getId)
+                .collect(Collectors.toList());
+        Map<Long, UserProfileSimpleVO> profiles = userIds.isEmpty()
+                ? Collections.emptyMap() : batchGetUserProfiles(userIds);
+        List<UserVO> remaining = new ArrayList<>();
+        for (UserVO user : users) {
+            if (StrUtil.isBlank(user.getAvatarFileId())) {
+                continue;
+            }
+            UserProfileSimpleVO profile = profiles.get(user.getId());
+            if (profile != null && user.getAvatarFileId().equals(profile.getAvatarFileId())
+                    && profile.getAvatarUrl() != null) {
+                user.setAvatarUrl(profile.getAvatarUrl());
+            } else {
+                remaining.add(user);
+            }
+        }
+
+        // 收集剩余的头像ID
+        List<String> avatarIds = remaining.stream()
                 .map(UserVO::getAvatarFileId)
-                .filter(StrUtil::isNotBlank)
                 .distinct()
                 .collect(Collectors.toList());
 
@@ -510,14 +545,10 @@ public class UserServiceImpl
             Map<String, String> urls = batchGetMediaUrls(avatarIds);
 
             // 填充到用户对象
-            users.forEach(user -> {
-                if (StrUtil.isNotBlank(user.getAvatarFileId())) {
-                    user.setAvatarUrl(urls.get(user.getAvatarFileId()));
-                }
-            });
+            remaining.forEach(user -> user.setAvatarUrl(urls.get(user.getAvatarFileId())));
 
             log.info("Enriched {} users with avatar URLs, success: {}/{}", 
-                    users.size(), urls.size(), avatarIds.size());
+                    remaining.size(), urls.size(), avatarIds.size());
         } catch (Exception e) {
             log.error("Failed to batch get avatar URLs", e);
         }
@@ -564,18 +595,8 @@ public class UserServiceImpl
         }
 
         try {
-            BatchUrlDTO request = new BatchUrlDTO();
-            request.setFileIds(fileIds);
-            request.setExpirySeconds(86400); // 24小时
-
-            BatchUrlVO result = mediaFeignClient.batchGetFileUrls(request);
-            
-            if (result != null && result.getUrls() != null) {
-                return result.getUrls();
-            } else {
-                log.warn("Media service returned empty result");
-                return Collections.emptyMap();
-            }
+            // 按分片上限拆分后并行获取，24小时过期
+            return mediaUrlLoader.getUrls(fileIds);
         } catch (Exception e) {
             log.error("Failed to call media service for batch URLs", e);
             return Collections.emptyMap();
@@ -588,6 +609,32 @@ public class UserServiceImpl
             return Collections.emptyMap();
         }
 
+        // 先读投影缓存（一次 MGET），只对未命中的用户查库并组装
+        Map<Long, UserProfileSimpleVO> result = userProfileCacheService.getProfiles(userIds);
+        List<Long> missIds = userIds.stream()
+                .filter(id -> id != null && !result.containsKey(id))
+                .distinct()
+                .collect(Collectors.toList());
+        if (missIds.isEmpty()) {
+            return result;
+        }
+
+        // 查库前读取版本号，回写时若期间发生过修改剔除则放弃回写
+        Map<Long, String> versions = userProfileCacheService.getVersions(missIds);
+        Map<Long, UserProfileSimpleVO> loaded = assembleUserProfiles(missIds);
+        // 头像链接获取失败的资料只返回不缓存，避免在缓存有效期内持续返回空头像
+        List<UserProfileSimpleVO> cacheable = loaded.values().stream()
+                .filter(profile -> StrUtil.isBlank(profile.getAvatarFileId()) || profile.getAvatarUrl() != null)
+                .collect(Collectors.toList());
+        userProfileCacheService.putProfiles(cacheable, versions);
+        result.putAll(loaded);
+        return result;
+    }
+
+    /**
+     * 查库组装用户资料：用户表、用户详情表各一次查询，头像链接一次批量调用
+     */
+    private Map<Long, UserProfileSimpleVO> assembleUserProfiles(List<Long> userIds) {
         // 查询用户基本信息
         List<User> users = this.lambdaQuery()
                 .in(User::getId, userIds)
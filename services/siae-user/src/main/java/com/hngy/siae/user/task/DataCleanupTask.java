@@ -3,6 +3,7 @@ package com.hngy.siae.user.task;
 import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
 import com.hngy.siae.messaging.event.MessagingConstants;
 import com.hngy.siae.messaging.event.UserDeletedEvent;
+import com.hngy.siae.messaging.outbox.OutboxPublisher;
 import com.hngy.siae.messaging.producer.SiaeMessagingTemplate;
 import com.hngy.siae.user.entity.MajorClassEnrollment;
 import com.hngy.siae.user.entity.Membership;
@@ -14,10 +15,14 @@ import com.hngy.siae.user.mapper.UserMapper;
 import com.hngy.siae.user.mapper.UserProfileMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -39,7 +44,12 @@ public class DataCleanupTask {
     private final UserProfileMapper userProfileMapper;
     private final MembershipMapper membershipMapper;
     private final MajorClassEnrollmentMapper majorClassEnrollmentMapper;
+    /**
+     * 发件箱未开启（siae.messaging.rabbit.outbox.enabled）时为空，回退为事务提交后直接发送
+     */
+    private final ObjectProvider<OutboxPublisher> outboxPublisherProvider;
     private final SiaeMessagingTemplate messagingTemplate;
+    private final TransactionTemplate transactionTemplate;
 
     /**
      * 数据保留天数，超过此天数的已删除数据将被物理删除
@@ -66,8 +76,8 @@ public class DataCleanupTask {
             LocalDateTime cutoffTime = LocalDateTime.now().minusDays(retentionDays);
             log.info("清理 {} 天前已删除的数据，截止时间：{}", retentionDays, cutoffTime);
 
-            // 1. 清理已删除用户的关联数据
-            int deletedUsers = cleanupDeletedUsers(cutoffTime);
+            // 1. 清理已删除用户的关联数据（同类内调用不经过事务代理，显式开启事务）
+            int deletedUsers = transactionTemplate.execute(status -> cleanupDeletedUsers(cutoffTime));
 
             // 2. 清理已删除的成员数据
             int deletedMemberships = cleanupDeletedMemberships(cutoffTime);
@@ -127,36 +137,60 @@ public class DataCleanupTask {
         int userCount = userMapper.deleteBatchIds(userIds);
         log.info("删除用户主表: {} 条", userCount);
 
-        // 发送用户删除事件，通知其他服务清理关联数据
+        // 用户删除事件与删除操作同事务写入发件箱，事务提交后投递，通知其他服务清理关联数据
         sendUserDeletedEvent(userIds);
 
         return userCount;
     }
 
     /**
-     * 发送用户删除事件到消息队列
-     * 通知 Content、Notification、Media 等服务清理关联数据
+     * 写入用户删除事件到发件箱
+     * 通知 Content、Notification、Media 等服务清理关联数据；写入失败时整批删除回滚，下次清理任务重新处理。
+     * 未开启发件箱时在事务提交后直接发送，发送失败只记录日志
      */
     private void sendUserDeletedEvent(List<Long> userIds) {
-        try {
-            UserDeletedEvent event = UserDeletedEvent.builder()
-                    .eventId(UUID.randomUUID().toString())
-                    .userIds(userIds)
-                    .eventTime(LocalDateTime.now())
-                    .sourceService("siae-user")
-                    .reason("定时清理已删除用户数据")
-                    .build();
+        UserDeletedEvent event = UserDeletedEvent.builder()
+                .eventId(UUID.randomUUID().toString())
+                .userIds(userIds)
+                .eventTime(LocalDateTime.now())
+                .sourceService("siae-user")
+                .reason("定时清理已删除用户数据")
+                .build();
+
+        OutboxPublisher outboxPublisher = outboxPublisherProvider.getIfAvailable();
+        if (outboxPublisher != null) {
+            outboxPublisher.publish(
+                    MessagingConstants.CLEANUP_EXCHANGE,
+                    MessagingConstants.CLEANUP_USER_DELETED,
+                    event
+            );
+            log.info("已写入用户删除事件，userIds: {}", userIds);
+            return;
+        }
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    doSendUserDeletedEvent(event);
+                }
+            });
+        } else {
+            doSendUserDeletedEvent(event);
+        }
+    }
 
+    private void doSendUserDeletedEvent(UserDeletedEvent event) {
+        try {
             messagingTemplate.send(
                     MessagingConstants.CLEANUP_EXCHANGE,
                     MessagingConstants.CLEANUP_USER_DELETED,
                     event
             );
-
-            log.info("已发送用户删除事件，userIds: {}", userIds);
+            log.info("已发送用户删除事件，userIds: {}", event.getUserIds());
         } catch (Exception e) {
-            log.error("发送用户删除事件失败，userIds: {}", userIds, e);
-            // 消息发送失败不影响主流程，下次清理任务会重新处理
+            // 数据已删除，事件丢失只能由下游自行核对
+            log.error("发送用户删除事件失败，userIds: {}", event.getUserIds(), e);
         }
     }
 
@@ -0,0 +1,133 @@
+package com.hngy.siae.gateway.auth;
+
+import com.hngy.siae.core.config.AuthProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ZSetOperations;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 网关 Token 吊销表
+ * <p>
+ * 以 Token 的 SHA-256 摘要为键保存已吊销 Token 的过期时间，条目在 exp 之后自动失效（过期 Token 本就会被验签拒绝）。
+ * siae-auth 通过 Redis 发布订阅推送吊销事件，启动时从吊销有序集合补齐错过的事件；
+ * 请求路径上只查询内存，不访问 Redis。
+ *
+ * @author KEYKB
+ */
+@Slf4j
+@Component
+public class TokenRevocationRegistry {
+
+    private static final String METRIC_REJECTED = "siae.gateway.token.revoked.rejected";
+    private static final String METRIC_SIZE = "siae.gateway.token.revoked.size";
+    private static final long PURGE_INTERVAL_NANOS = TimeUnit.MINUTES.toNanos(1);
+
+    private final StringRedisTemplate redisTemplate;
+    private final AuthProperties authProperties;
+    private final Map<String, Long> revoked = new ConcurrentHashMap<>();
+    private final Counter rejectedCounter;
+
+    private volatile long lastPurgeNanos = System.nanoTime();
+
+    public TokenRevocationRegistry(StringRedisTemplate redisTemplate, AuthProperties authProperties,
+                                   MeterRegistry meterRegistry) {
+        this.redisTemplate = redisTemplate;
+        this.authProperties = authProperties;
+        this.rejectedCounter = Counter.builder(METRIC_REJECTED).register(meterRegistry);
+        Gauge.builder(METRIC_SIZE, revoked, Map::size).register(meterRegistry);
+    }
+
+    /**
+     * Token 摘要是否已吊销
+     */
+    public boolean isRevoked(String digest) {
+        if (revoked.isEmpty()) {
+            return false;
+        }
+        Long expireAt = revoked.get(digest);
+        if (expireAt == null) {
+            return false;
+        }
+        if (expireAt <= System.currentTimeMillis()) {
+            revoked.remove(digest, expireAt);
+            return false;
+        }
+        rejectedCounter.increment();
+        return true;
+    }
+
+    /**
+     * 登记吊销的 Token 摘要，保留到 Token 过期时间
+     */
+    public void revoke(String digest, long expireAt) {
+        long now = System.currentTimeMillis();
+        if (expireAt <= now) {
+            return;
+        }
+        revoked.merge(digest, expireAt, Math::max);
+        purgeExpiredIfDue(now);
+    }
+
+    /**
+     * 解析吊销消息 {@code <digest>:<expireAt>} 并登记
+     */
+    public void onRevocationMessage(String body) {
+        int separator = body.lastIndexOf(':');
+        if (separator <= 0) {
+            log.warn("无法解析Token吊销消息: {}", body);
+            return;
+        }
+        try {
+            revoke(body.substring(0, separator), Long.parseLong(body.substring(separator + 1).trim()));
+        } catch (NumberFormatException e) {
+            log.warn("无法解析Token吊销消息: {}", body);
+        }
+    }
+
+    /**
+     * 从 Redis 吊销有序集合加载尚未过期的吊销记录（启动时补齐）
+     */
+    public void loadFromRedis() {
+        long now = System.currentTimeMillis();
+        try {
+            Set<ZSetOperations.TypedTuple<String>> entries = redisTemplate.opsForZSet()
+                    .rangeByScoreWithScores(authProperties.getTokenRevocationKey(), now, Double.MAX_VALUE);
+            if (entries == null) {
+                return;
+            }
+            for (ZSetOperations.TypedTuple<String> entry : entries) {
+                if (entry.getValue() != null && entry.getScore() != null) {
+                    revoke(entry.getValue(), entry.getScore().longValue());
+                }
+            }
+            log.info("已加载Token吊销记录 {} 条", revoked.size());
+        } catch (Exception e) {
+            log.error("加载Token吊销记录失败，仅依赖实时广播: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * 当前吊销条目数
+     */
+    public int size() {
+        return revoked.size();
+    }
+
+    private void purgeExpiredIfDue(long now) {
+        long nanos = System.nanoTime();
+        if (nanos - lastPurgeNanos < PURGE_INTERVAL_NANOS) {
+            return;
+        }
+        lastPurgeNanos = nanos;
+        revoked.values().removeIf(expireAt -> expireAt <= now);
+    }
+}
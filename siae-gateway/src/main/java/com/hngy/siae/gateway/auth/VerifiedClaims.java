@@ -0,0 +1,20 @@
+package com.hngy.siae.gateway.auth;
+
+/**
+ * 已验签的 Token 声明（不可变）
+ * 网关只关心用户ID、用户名和过期时间，一次解析后即可复用
+ *
+ * @param userId     用户ID
+ * @param username   用户名
+ * @param expireTime JWT 过期时间（毫秒时间戳）
+ * @author KEYKB
+ */
+public record VerifiedClaims(Long userId, String username, long expireTime) {
+
+    /**
+     * 判断声明在给定时间点是否已过期
+     */
+    public boolean isExpired(long now) {
+        return expireTime <= now;
+    }
+}
@@ -0,0 +1,145 @@
+package com.hngy.siae.gateway.auth;
+
+import cn.hutool.crypto.digest.DigestUtil;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.hngy.siae.core.utils.JwtClaims;
+import com.hngy.siae.core.utils.JwtUtils;
+import com.hngy.siae.gateway.config.ClaimsCacheProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 网关已验签 Token 声明缓存
+ * <p>
+ * 以 Token 的 SHA-256 摘要为键缓存一次验签得到的 {@link VerifiedClaims}，
+ * 条目在 Token 的 exp 时刻失效，超出容量时由 Caffeine 按访问频率淘汰。同一 Token 只需验签一次，后续请求直接从内存读取。
+ * 摘要覆盖完整 Token（含签名），篡改后的 Token 必然未命中并重新验签。
+ *
+ * @author KEYKB
+ */
+@Slf4j
+@Component
+public class VerifiedClaimsCache {
+
+    private static final String METRIC_REQUESTS = "siae.gateway.claims.cache";
+    private static final String METRIC_SIZE = "siae.gateway.claims.cache.size";
+
+    private final JwtUtils jwtUtils;
+    private final ClaimsCacheProperties properties;
+    private final Cache<String, VerifiedClaims> cache;
+
+    private final Counter hitCounter;
+    private final Counter missCounter;
+    private final Counter invalidCounter;
+
+    public VerifiedClaimsCache(JwtUtils jwtUtils, ClaimsCacheProperties properties, MeterRegistry meterRegistry) {
+        this.jwtUtils = jwtUtils;
+        this.properties = properties;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(properties.getMaxSize())
+                .expireAfter(new ExpireAtTokenExp())
+                .build();
+        this.hitCounter = Counter.builder(METRIC_REQUESTS).tag("result", "hit").register(meterRegistry);
+        this.missCounter = Counter.builder(METRIC_REQUESTS).tag("result", "miss").register(meterRegistry);
+        this.invalidCounter = Counter.builder(METRIC_REQUESTS).tag("result", "invalid").register(meterRegistry);
+        Gauge.builder(METRIC_SIZE, cache, Cache::estimatedSize).register(meterRegistry);
+    }
+
+    /**
+     * 获取 Token 对应的已验签声明，未命中时解析并验签一次
+     *
+     * @param token JWT Token
+     * @return 已验签声明；Token 无效、过期或缺少用户信息时返回 null
+     */
+    public VerifiedClaims getOrVerify(String token) {
+        return getOrVerify(token, DigestUtil.sha256Hex(token));
+    }
+
+    /**
+     * 获取 Token 对应的已验签声明，调用方已计算摘要时使用，避免重复计算
+     *
+     * @param token  JWT Token
+     * @param digest Token 的 SHA-256 摘要（十六进制）
+     * @return 已验签声明；Token 无效、过期或缺少用户信息时返回 null
+     */
+    public VerifiedClaims getOrVerify(String token, String digest) {
+        if (!properties.isEnabled()) {
+            return verify(token);
+        }
+
+        long now = System.currentTimeMillis();
+        VerifiedClaims cached = cache.getIfPresent(digest);
+        if (cached != null && !cached.isExpired(now)) {
+            hitCounter.increment();
+            return cached;
+        }
+
+        missCounter.increment();
+        VerifiedClaims claims = verify(token);
+        if (claims != null && !claims.isExpired(now)) {
+            cache.put(digest, claims);
+        }
+        return claims;
+    }
+
+    /**
+     * 当前缓存条目数
+     */
+    public long size() {
+        return cache.estimatedSize();
+    }
+
+    /**
+     * 清空缓存
+     */
+    public void clear() {
+        cache.invalidateAll();
+    }
+
+    /**
+     * 解析并验签 Token（一次解析）
+     */
+    private VerifiedClaims verify(String token) {
+        try {
+            JwtClaims claims = jwtUtils.parseOnce(token);
+            if (claims.expiresAt() == null || !claims.hasUser()) {
+                invalidCounter.increment();
+                return null;
+            }
+            return new VerifiedClaims(claims.userId(), claims.username(), claims.expiresAtMillis());
+        } catch (Exception e) {
+            log.warn("Token验证失败: {}", e.getMessage());
+            invalidCounter.increment();
+            return null;
+        }
+    }
+
+    /**
+     * 条目在 Token 的 exp 时刻过期，读取不延长有效期
+     */
+    private static final class ExpireAtTokenExp implements Expiry<String, VerifiedClaims> {
+
+        @Override
+        public long expireAfterCreate(String digest, VerifiedClaims claims, long currentTime) {
+            long remainingMillis = claims.expireTime() - System.currentTimeMillis();
+            return TimeUnit.MILLISECONDS.toNanos(Math.max(0L, remainingMillis));
+        }
+
+        @Override
+        public long expireAfterUpdate(String digest, VerifiedClaims claims, long currentTime, long currentDuration) {
+            return expireAfterCreate(digest, claims, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String digest, VerifiedClaims claims, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
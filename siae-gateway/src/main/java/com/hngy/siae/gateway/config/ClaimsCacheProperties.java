@@ -0,0 +1,26 @@
+package com.hngy.siae.gateway.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * 网关已验签 Token 声明缓存配置
+ *
+ * @author KEYKB
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "siae.gateway.claims-cache")
+public class ClaimsCacheProperties {
+
+    /**
+     * 是否启用已验签声明缓存，关闭后每个请求都重新验签
+     */
+    private boolean enabled = true;
+
+    /**
+     * 最大缓存条目数，超出后按访问频率淘汰
+     */
+    private int maxSize = 10000;
+}
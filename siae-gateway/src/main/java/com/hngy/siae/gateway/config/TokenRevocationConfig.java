@@ -0,0 +1,53 @@
+package com.hngy.siae.gateway.config;
+
+import com.hngy.siae.core.config.AuthProperties;
+import com.hngy.siae.gateway.auth.TokenRevocationRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Token 吊销订阅配置
+ * 订阅 siae-auth 广播的吊销事件，启动完成后从 Redis 补齐订阅建立前的吊销记录
+ *
+ * @author KEYKB
+ */
+@Slf4j
+@Configuration
+public class TokenRevocationConfig {
+
+    private final TokenRevocationRegistry tokenRevocationRegistry;
+
+    public TokenRevocationConfig(TokenRevocationRegistry tokenRevocationRegistry) {
+        this.tokenRevocationRegistry = tokenRevocationRegistry;
+    }
+
+    @Bean
+    public RedisMessageListenerContainer tokenRevocationListenerContainer(RedisConnectionFactory connectionFactory,
+                                                                          AuthProperties authProperties) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        container.addMessageListener(
+                (message, pattern) -> tokenRevocationRegistry.onRevocationMessage(
+                        new String(message.getBody(), StandardCharsets.UTF_8)),
+                new ChannelTopic(authProperties.getTokenRevocationChannel()));
+
+        log.info("网关Token吊销订阅已启用，频道: {}", authProperties.getTokenRevocationChannel());
+        return container;
+    }
+
+    /**
+     * 订阅建立后再加载历史记录，两者之间的吊销事件不会遗漏
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadRevokedTokens() {
+        tokenRevocationRegistry.loadFromRedis();
+    }
+}
@@ -4,7 +4,9 @@ import cn.hutool.core.util.StrUtil;
 import cn.hutool.crypto.digest.DigestUtil;
 import com.hngy.siae.core.config.AuthProperties;
 import com.hngy.siae.core.dto.GatewayUserInfo;
-import com.hngy.siae.core.utils.JwtUtils;
+import com.hngy.siae.gateway.auth.TokenRevocationRegistry;
+import com.hngy.siae.gateway.auth.VerifiedClaims;
+import com.hngy.siae.gateway.auth.VerifiedClaimsCache;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.cloud.gateway.filter.GatewayFilterChain;
@@ -34,7 +36,8 @@ import java.util.List;
 @RequiredArgsConstructor
 public class GatewayAuthFilter implements GlobalFilter, Ordered {
 
-    private final JwtUtils jwtUtils;
+    private final VerifiedClaimsCache verifiedClaimsCache;
+    private final TokenRevocationRegistry tokenRevocationRegistry;
     private final AuthProperties authProperties;
 
     private static final String ACCESS_TOKEN_COOKIE = "ACCESS_TOKEN";
@@ -79,21 +82,24 @@ public class GatewayAuthFilter implements GlobalFilter, Ordered {
         }
 
         try {
-            // 1. 校验JWT Token有效性（这里只做一次JWT解析）
-            if (!jwtUtils.validateToken(token)) {
+            // 0. 拒绝已吊销的Token（登出、同端互斥踢下线），仅查询内存
+            String digest = DigestUtil.sha256Hex(token);
+            if (tokenRevocationRegistry.isRevoked(digest)) {
+                log.warn("Revoked token rejected for path {}", path);
+                return unauthorized(exchange, "Token has been revoked");
+            }
+
+            // 1. 校验JWT Token有效性并提取基础用户信息（同一Token只验签一次，后续命中缓存）
+            VerifiedClaims claims = verifiedClaimsCache.getOrVerify(token, digest);
+            if (claims == null) {
                 log.warn("Invalid or expired token for path {}", path);
                 return unauthorized(exchange, "Invalid or expired token");
             }
 
             // 2. 提取基础用户信息（不查询权限，减少网关处理时间）
-            Long userId = jwtUtils.getUserIdFromToken(token);
-            String username = jwtUtils.getUsernameFromToken(token);
-            Long expireTime = jwtUtils.getExpirationFromToken(token);
-
-            if (userId == null || StrUtil.isBlank(username)) {
-                log.warn("Token missing user info for path {}", path);
-                return unauthorized(exchange, "Invalid user information in token");
-            }
+            Long userId = claims.userId();
+            String username = claims.username();
+            Long expireTime = claims.expireTime();
 
             // 3. 构建简化的用户信息对象
             GatewayUserInfo userInfo = GatewayUserInfo.builder()
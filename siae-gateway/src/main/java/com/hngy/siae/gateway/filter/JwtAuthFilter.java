@@ -1,5 +1,6 @@
 package com.hngy.siae.gateway.filter;
 
+import com.hngy.siae.core.utils.JwtClaims;
 import com.hngy.siae.core.utils.JwtUtils;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -61,7 +62,8 @@ public class JwtAuthFilter implements WebFilter {
             String token = extractToken(exchange);
             log.info("开始校验 JWT：{}，方法：{}，路径：{}", token, exchange.getRequest().getMethod(), exchange.getRequest().getURI().getPath());
 
-            if (!StringUtils.hasText(token) || !validateToken(token)) {
+            JwtClaims claims = StringUtils.hasText(token) ? jwtUtils.tryParse(token) : null;
+            if (claims == null) {
                 log.warn("JWT 校验失败");
 
                 exchange.getResponse().setStatusCode(HttpStatus.UNAUTHORIZED);
@@ -76,7 +78,7 @@ public class JwtAuthFilter implements WebFilter {
 
             log.info("JWT 校验通过");
 
-            Long userId = jwtUtils.getUserId(token);
+            Long userId = claims.userId();
             Authentication auth = new UsernamePasswordAuthenticationToken(userId, null, List.of());
 
             return chain.filter(exchange)
@@ -99,13 +101,4 @@ public class JwtAuthFilter implements WebFilter {
         }
         return null;
     }
-
-    private boolean validateToken(String token) {
-        try {
-            return jwtUtils.validateToken(token);
-        } catch (Exception e) {
-            log.error("Token 验证异常: {}", e.getMessage());
-            return false;
-        }
-    }
 }
@@ -0,0 +1,68 @@
+package com.hngy.siae.gateway.benchmark;
+
+import com.hngy.siae.core.utils.JwtUtils;
+import com.hngy.siae.gateway.auth.VerifiedClaims;
+import com.hngy.siae.gateway.auth.VerifiedClaimsCache;
+import com.hngy.siae.gateway.config.ClaimsCacheProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 网关 Token 校验基准测试：原有四次解析路径 vs 已验签声明缓存
+ * <p>
+ * 运行方式：在 IDE 中直接执行 main 方法
+ *
+ * @author KEYKB
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class VerifiedClaimsCacheBenchmark {
+
+    private JwtUtils jwtUtils;
+    private VerifiedClaimsCache cache;
+    private String token;
+
+    @Setup
+    public void setup() {
+        jwtUtils = new JwtUtils();
+        cache = new VerifiedClaimsCache(jwtUtils, new ClaimsCacheProperties(), new SimpleMeterRegistry());
+        token = jwtUtils.createAccessToken(10001L, "benchmark-user");
+    }
+
+    /**
+     * 原有路径：validateToken + 三次 getXxxFromToken，共四次解析验签
+     */
+    @Benchmark
+    public void legacyFourParses(Blackhole bh) {
+        bh.consume(jwtUtils.validateToken(token));
+        bh.consume(jwtUtils.getUserIdFromToken(token));
+        bh.consume(jwtUtils.getUsernameFromToken(token));
+        bh.consume(jwtUtils.getExpirationFromToken(token));
+    }
+
+    /**
+     * 缓存路径：热 Token 命中内存，只计算一次摘要
+     */
+    @Benchmark
+    public VerifiedClaims cachedClaims() {
+        return cache.getOrVerify(token);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(VerifiedClaimsCacheBenchmark.class.getSimpleName())
+                .build();
+        new Runner(options).run();
+    }
+}